@@ -0,0 +1,208 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * <p>
+ * 类的属性访问器
+ * </p>
+ * 每个类对应一个访问器，访问器按照 {@link ClassUtil#fields(Class)} 返回的顺序为字段编号，
+ * 并为每个字段预先生成读写句柄。在循环中读写大量对象时，可以先通过 {@link #indexOf(String)} 获取字段的序号，
+ * 再通过 {@link #get(Object, int)} 与 {@link #set(Object, int, Object)} 按序号访问，避免每次都根据名字查找字段。
+ *
+ * <pre>
+ * {@code
+ * BeanAccessor accessor = BeanAccessor.of(User.class);
+ * int index = accessor.indexOf("name");
+ * for (User user : users) {
+ *     Object name = accessor.get(user, index);
+ * }
+ * }
+ * </pre>
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class BeanAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassCache<BeanAccessor> ACCESSOR_CACHE = new ClassCache<>("BeanAccessor", BeanAccessor::new);
+
+    private final Class<?> type;
+
+    private final Field[] fields;
+
+    private final Map<String, Integer> indexes;
+
+    private final MethodHandle[] getters;
+
+    private final MethodHandle[] setters;
+
+    /**
+     * 获取指定类的属性访问器
+     *
+     * @param type 类
+     * @return 属性访问器
+     */
+    public static BeanAccessor of(Class<?> type) {
+        return ACCESSOR_CACHE.get(type);
+    }
+
+    private BeanAccessor(Class<?> type) {
+        this.type = type;
+        this.fields = ClassUtil.fields(type).toArray(new Field[0]);
+        this.indexes = new HashMap<>(fields.length * 4 / 3 + 1);
+        this.getters = new MethodHandle[fields.length];
+        this.setters = new MethodHandle[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            // 子类与父类存在同名字段时，与 ClassUtil 一致使用子类中的字段
+            indexes.putIfAbsent(fields[i].getName(), i);
+            getters[i] = PropertyCopier.getter(fields[i]).asType(GETTER_TYPE);
+            setters[i] = PropertyCopier.setter(fields[i]).asType(SETTER_TYPE);
+        }
+    }
+
+    /**
+     * 获取访问器对应的类
+     *
+     * @return 访问器对应的类
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * 获取字段的数量
+     *
+     * @return 字段的数量
+     */
+    public int size() {
+        return fields.length;
+    }
+
+    /**
+     * 获取字段的序号
+     *
+     * @param name 字段的名字
+     * @return 字段的序号，不存在该字段时返回-1
+     */
+    public int indexOf(String name) {
+        Integer index = null == name ? null : indexes.get(name);
+        return null == index ? -1 : index;
+    }
+
+    /**
+     * 获取指定序号的字段
+     *
+     * @param index 字段的序号
+     * @return 字段
+     */
+    public Field field(int index) {
+        return fields[index];
+    }
+
+    /**
+     * 获取所有的字段，顺序与字段的序号一致
+     *
+     * @return 所有的字段
+     */
+    public List<Field> fields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * 读取指定序号的字段的值
+     *
+     * @param bean  待读取的对象
+     * @param index 字段的序号
+     * @return 字段的值
+     * @throws UncheckedException 读取字段时出现问题
+     */
+    public Object get(Object bean, int index) {
+        try {
+            return (Object) getters[index].invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException("读取字段 " + fields[index].getName() + " 的值时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 读取指定名字的字段的值
+     *
+     * @param bean 待读取的对象
+     * @param name 字段的名字
+     * @return 字段的值
+     * @throws IllegalArgumentException 不存在该字段
+     * @throws UncheckedException       读取字段时出现问题
+     */
+    public Object get(Object bean, String name) {
+        return get(bean, requireIndex(name));
+    }
+
+    /**
+     * 设置指定序号的字段的值
+     *
+     * @param bean  待设置的对象
+     * @param index 字段的序号
+     * @param value 字段的值
+     * @throws IllegalArgumentException 值的类型与字段的类型不匹配
+     * @throws UncheckedException       设置字段时出现问题
+     */
+    public void set(Object bean, int index, Object value) {
+        try {
+            setters[index].invokeExact(bean, value);
+        } catch (ClassCastException | NullPointerException e) {
+            // 句柄不支持基本类型的拓宽转换，交由Field处理，类型确实不匹配时Field会抛出IllegalArgumentException
+            setByField(bean, index, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException("设置字段 " + fields[index].getName() + " 的值时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 设置指定名字的字段的值
+     *
+     * @param bean  待设置的对象
+     * @param name  字段的名字
+     * @param value 字段的值
+     * @throws IllegalArgumentException 不存在该字段或者值的类型与字段的类型不匹配
+     * @throws UncheckedException       设置字段时出现问题
+     */
+    public void set(Object bean, String name, Object value) {
+        set(bean, requireIndex(name), value);
+    }
+
+    private void setByField(Object bean, int index, Object value) {
+        try {
+            fields[index].set(bean, value);
+        } catch (IllegalAccessException e) {
+            throw new UncheckedException("设置字段 " + fields[index].getName() + " 的值时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    private int requireIndex(String name) {
+        int index = indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("No field named " + name + " in " + type.getName());
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanAccessor{" + type.getName() + ", fields=" + indexes.keySet() + "}";
+    }
+}
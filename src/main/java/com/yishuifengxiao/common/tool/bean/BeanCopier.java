@@ -0,0 +1,221 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * 预编译的属性复制器
+ * </p>
+ * 针对一组 (源类型, 目标类型) 只解析一次字段映射与类型转换策略，之后的每次复制都直接通过
+ * {@link java.lang.invoke.MethodHandle} 读写字段，不再进行字段查找、可访问性切换与类型兼容性判断。
+ * <p>
+ * 复制语义与 {@link BeanUtil#copy(Object, Object)} 保持一致：
+ * </p>
+ * <ul>
+ * <li>按属性名匹配源对象与目标对象的字段</li>
+ * <li>源属性值为null时不覆盖目标属性</li>
+ * <li>类型不兼容的属性直接忽略</li>
+ * </ul>
+ * 复制器是不可变对象，可以在多个线程之间共享使用。
+ *
+ * @param <S> 源对象的类型
+ * @param <T> 目标对象的类型
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class BeanCopier<S, T> {
+
+    /**
+     * 复制器缓存，第一层为源类型，第二层为目标类型。第二层同样是类元数据缓存，复制器挂在目标类型上，
+     * 源类型对应的缓存值不会强引用目标类型
+     */
+    private static final ClassCache<ClassCache<BeanCopier<?, ?>>> COPIER_CACHE = new ClassCache<>("BeanCopier",
+            sourceType -> new ClassCache<>(targetType -> build(sourceType, targetType)));
+
+    private final Class<S> sourceType;
+
+    private final Class<T> targetType;
+
+    private final PropertyCopier[] copiers;
+
+    private BeanCopier(Class<S> sourceType, Class<T> targetType, PropertyCopier[] copiers) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.copiers = copiers;
+    }
+
+    /**
+     * 获取指定源类型与目标类型对应的复制器，复制器在首次获取时构建并缓存
+     *
+     * @param sourceType 源对象的类型
+     * @param targetType 目标对象的类型
+     * @param <S>        源对象的类型
+     * @param <T>        目标对象的类型
+     * @return 复制器
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> BeanCopier<S, T> create(Class<S> sourceType, Class<T> targetType) {
+        if (null == sourceType || null == targetType) {
+            throw new NullPointerException("Class cannot be null");
+        }
+        return (BeanCopier<S, T>) COPIER_CACHE.get(sourceType).get(targetType);
+    }
+
+    /**
+     * 将源对象里属性值复制给目标对象
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     * @return 复制后的目标对象
+     */
+    public T copy(S source, T target) {
+        if (null == source || null == target) {
+            return target;
+        }
+        for (PropertyCopier copier : copiers) {
+            try {
+                copier.copy(source, target);
+            } catch (RuntimeException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("复制属性{}时出现问题，从{}到{}，问题原因：{}", copier.name, sourceType.getSimpleName(), targetType.getSimpleName(), e.getMessage(), e);
+                }
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UncheckedException(e.getMessage(), e);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 获取源对象的类型
+     *
+     * @return 源对象的类型
+     */
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * 获取目标对象的类型
+     *
+     * @return 目标对象的类型
+     */
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * 获取参与复制的属性的名字
+     *
+     * @return 参与复制的属性的名字
+     */
+    public List<String> getPropertyNames() {
+        List<String> names = new ArrayList<>(copiers.length);
+        for (PropertyCopier copier : copiers) {
+            names.add(copier.name);
+        }
+        return names;
+    }
+
+    /**
+     * 解析源类型与目标类型之间的字段映射，生成复制器
+     */
+    private static <S, T> BeanCopier<S, T> build(Class<S> sourceType, Class<T> targetType) {
+        // 与BeanUtil.copy保持一致：同名字段以子类中声明的字段为准
+        Map<String, Field> sourceFieldMap = new LinkedHashMap<>();
+        for (Field field : ClassUtil.fields(sourceType, true)) {
+            sourceFieldMap.putIfAbsent(field.getName(), field);
+        }
+
+        List<PropertyCopier> copiers = new ArrayList<>();
+        for (Field targetField : ClassUtil.fields(targetType, true)) {
+            Field sourceField = sourceFieldMap.get(targetField.getName());
+            if (null == sourceField) {
+                continue;
+            }
+            // 静态常量无法被赋值，直接忽略
+            if (Modifier.isStatic(targetField.getModifiers()) && Modifier.isFinal(targetField.getModifiers())) {
+                continue;
+            }
+            if (!BeanUtil.isTypeCompatible(sourceField.getType(), targetField.getType())) {
+                if (log.isTraceEnabled()) {
+                    log.trace("类型不匹配，忽略字段'{}': 源类型={}, 目标类型={}", targetField.getName(), sourceField.getType().getSimpleName(), targetField.getType().getSimpleName());
+                }
+                continue;
+            }
+            try {
+                copiers.add(PropertyCopier.of(sourceField, targetField, converterFor(sourceField.getType(), targetField.getType())));
+            } catch (RuntimeException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("无法为字段{}生成访问句柄，问题原因：{}", targetField.getName(), e.getMessage(), e);
+                }
+            }
+        }
+        return new BeanCopier<>(sourceType, targetType, copiers.toArray(new PropertyCopier[0]));
+    }
+
+    /**
+     * 根据源字段类型与目标字段类型确定转换策略，返回null表示无需转换
+     */
+    static Converter<Object, Object> converterFor(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(sourceType) || isBoxingPair(sourceType, targetType)) {
+            return null;
+        }
+        if (targetType.isEnum() && sourceType == String.class) {
+            return value -> BeanUtil.convertToEnum(value, targetType);
+        }
+        if (BeanUtil.isDateTimeType(targetType) && sourceType == String.class) {
+            return value -> BeanUtil.convertToDateTime(value, targetType);
+        }
+        if (targetType.isArray() && sourceType.isArray()) {
+            return value -> targetType.isInstance(value) ? value : BeanUtil.convertArray(value, targetType);
+        }
+        if (Number.class.isAssignableFrom(sourceType) && Number.class.isAssignableFrom(targetType)) {
+            return numberConverter(targetType);
+        }
+        return value -> BeanUtil.convertValue(value, targetType);
+    }
+
+    /**
+     * 数字包装类型之间的转换
+     */
+    static Converter<Object, Object> numberConverter(Class<?> targetType) {
+        if (targetType == Integer.class) {
+            return value -> value instanceof Integer ? value : Integer.valueOf(((Number) value).intValue());
+        } else if (targetType == Long.class) {
+            return value -> value instanceof Long ? value : Long.valueOf(((Number) value).longValue());
+        } else if (targetType == Double.class) {
+            return value -> value instanceof Double ? value : Double.valueOf(((Number) value).doubleValue());
+        } else if (targetType == Float.class) {
+            return value -> value instanceof Float ? value : Float.valueOf(((Number) value).floatValue());
+        } else if (targetType == Byte.class) {
+            return value -> value instanceof Byte ? value : Byte.valueOf(((Number) value).byteValue());
+        } else if (targetType == Short.class) {
+            return value -> value instanceof Short ? value : Short.valueOf(((Number) value).shortValue());
+        }
+        // 其他数字类型仅在值本身即为目标类型时才能复制
+        return value -> targetType.isInstance(value) ? value : null;
+    }
+
+    /**
+     * 判断两个类型是否为基本类型与其对应的包装类型
+     */
+    private static boolean isBoxingPair(Class<?> sourceType, Class<?> targetType) {
+        if (sourceType.isPrimitive() == targetType.isPrimitive()) {
+            return false;
+        }
+        return PropertyCopier.wrap(sourceType) == PropertyCopier.wrap(targetType);
+    }
+}
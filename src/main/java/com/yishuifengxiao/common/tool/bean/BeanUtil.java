@@ -18,7 +18,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Parameter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
@@ -47,71 +50,119 @@ public final class BeanUtil {
      * @param source 源对象
      * @param target 目标对象
      * @return 复制后的目标对象
+     * @see BeanCopier
      */
+    @SuppressWarnings("unchecked")
     public static <S, T> T copy(S source, T target) {
-        // 工具类方法通常不需要同步，除非有明确的线程安全需求
         if (null == source || null == target) {
             return target;
         }
+        // 字段映射与类型转换策略按(源类型, 目标类型)只解析一次
+        BeanCopier<Object, Object> copier = (BeanCopier<Object, Object>) BeanCopier.create(source.getClass(), target.getClass());
+        copier.copy(source, target);
+        return target;
+    }
 
-        // 直接使用ClassUtil提供的方法过滤特殊修饰符的字段
-        List<Field> targetFields = ClassUtil.fields(target.getClass(), true);
-        List<Field> sourceFields = ClassUtil.fields(source.getClass(), true);
+    /**
+     * <p>批量复制集合中的对象</p>
+     * <p>字段映射只在第一次遇到某个源类型时解析一次，之后的元素直接复用同一个复制器；源集合中的null元素在结果中仍为null</p>
+     *
+     * @param <S>            源对象的类型
+     * @param <T>            目标对象的类型
+     * @param sources        源对象集合
+     * @param targetSupplier 目标对象的创建方式，例如 <code>UserVO::new</code>
+     * @return 复制后的目标对象列表，顺序与源集合一致
+     */
+    public static <S, T> List<T> copyAll(Collection<? extends S> sources, Supplier<T> targetSupplier) {
+        return copyAll(sources, targetSupplier, false);
+    }
 
-        // 构建source字段映射表用于快速查找
-        Map<String, Field> sourceFieldMap = sourceFields.stream().collect(Collectors.toMap(Field::getName, f -> f, (existing, replacement) -> existing));
+    /**
+     * <p>批量复制集合中的对象</p>
+     * <p>开启并行模式时使用公共的 ForkJoinPool 分段复制，适用于数十万级别的大集合；小集合使用并行模式反而会更慢</p>
+     *
+     * @param <S>            源对象的类型
+     * @param <T>            目标对象的类型
+     * @param sources        源对象集合
+     * @param targetSupplier 目标对象的创建方式，并行模式下必须是线程安全的
+     * @param parallel       是否并行复制
+     * @return 复制后的目标对象列表，顺序与源集合一致
+     */
+    public static <S, T> List<T> copyAll(Collection<? extends S> sources, Supplier<T> targetSupplier, boolean parallel) {
+        if (null == sources || sources.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (null == targetSupplier) {
+            throw new IllegalArgumentException("Target supplier cannot be null");
+        }
+        BulkCopier<S, T> copier = new BulkCopier<>(targetSupplier);
+        if (parallel) {
+            return sources.parallelStream().map(copier).collect(Collectors.toList());
+        }
+        List<T> result = new ArrayList<>(sources.size());
+        for (S source : sources) {
+            result.add(copier.apply(source));
+        }
+        return result;
+    }
 
-        for (Field targetField : targetFields) {
-            String fieldName = targetField.getName();
-            Field sourceField = sourceFieldMap.get(fieldName);
-            if (sourceField == null) {
-                continue;
-            }
+    /**
+     * <p>批量复制流中的对象</p>
+     * <p>返回的流是惰性的，只有在终止操作时才会执行复制；如需并行复制，可以传入并行流</p>
+     *
+     * @param <S>            源对象的类型
+     * @param <T>            目标对象的类型
+     * @param sources        源对象流
+     * @param targetSupplier 目标对象的创建方式，并行流中必须是线程安全的
+     * @return 目标对象流
+     */
+    public static <S, T> Stream<T> copyAll(Stream<? extends S> sources, Supplier<T> targetSupplier) {
+        if (null == sources) {
+            return Stream.empty();
+        }
+        if (null == targetSupplier) {
+            throw new IllegalArgumentException("Target supplier cannot be null");
+        }
+        return sources.map(new BulkCopier<S, T>(targetSupplier));
+    }
 
-            boolean isTargetAccessible = targetField.isAccessible();
-            boolean isSourceAccessible = sourceField.isAccessible();
-            try {
-                targetField.setAccessible(true);
-                sourceField.setAccessible(true);
-
-                Object value = sourceField.get(source);
-                if (value != null) {
-                    // 改进的类型兼容性检查
-                    if (isTypeCompatible(sourceField.getType(), targetField.getType())) {
-                        // 如果是基本类型和包装类型之间的转换，需要特殊处理
-                        Object convertedValue = convertValue(value, targetField.getType());
-                        if (convertedValue != null) {
-                            targetField.set(target, convertedValue);
-                        } else {
-                            if (log.isTraceEnabled()) {
-                                log.trace("类型转换结果为null，跳过字段'{}'的复制", fieldName);
-                            }
-                        }
-                    } else {
-                        if (log.isTraceEnabled()) {
-                            log.trace("类型不匹配，复制字段'{}'时失败: 源类型={}, 目标类型={}", fieldName, sourceField.getType().getSimpleName(), targetField.getType().getSimpleName());
-                        }
-                    }
-                }
-            } catch (IllegalAccessException | IllegalArgumentException e) {
-                if (log.isDebugEnabled()) {
-                    log.debug("复制属性{}时出现问题，从{}到{}，问题原因：{}", fieldName, source.getClass().getSimpleName(), target.getClass().getSimpleName(), e.getMessage(), e);
-                }
-            } finally {
-                // 还原字段可访问性
-                targetField.setAccessible(isTargetAccessible);
-                sourceField.setAccessible(isSourceAccessible);
-            }
+    /**
+     * 批量复制时使用的复制函数，记住上一次使用的复制器，源类型不变时无需再次查找
+     */
+    private static final class BulkCopier<S, T> implements Function<S, T> {
+
+        private final Supplier<T> targetSupplier;
+
+        private volatile BeanCopier<Object, Object> last;
+
+        private BulkCopier(Supplier<T> targetSupplier) {
+            this.targetSupplier = targetSupplier;
         }
 
-        return target;
+        @Override
+        @SuppressWarnings("unchecked")
+        public T apply(S source) {
+            if (null == source) {
+                return null;
+            }
+            T target = targetSupplier.get();
+            if (null == target) {
+                return null;
+            }
+            BeanCopier<Object, Object> copier = last;
+            if (null == copier || copier.getSourceType() != source.getClass() || copier.getTargetType() != target.getClass()) {
+                copier = (BeanCopier<Object, Object>) BeanCopier.create(source.getClass(), target.getClass());
+                last = copier;
+            }
+            return (T) copier.copy(source, target);
+        }
     }
 
     /**
      * 检查源类型和目标类型是否兼容
      * 包括基本类型和对应的包装类型、枚举类型、数组类型等
      */
-    private static boolean isTypeCompatible(Class<?> sourceType, Class<?> targetType) {
+    static boolean isTypeCompatible(Class<?> sourceType, Class<?> targetType) {
         // 类型相同或源类型是目标类型的子类
         if (targetType.isAssignableFrom(sourceType)) {
             return true;
@@ -166,7 +217,7 @@ public final class BeanUtil {
      * 以及数组类型和枚举类型的转换处理
      */
     @SuppressWarnings("unchecked")
-    private static <T> T convertValue(Object value, Class<T> targetType) {
+    static <T> T convertValue(Object value, Class<T> targetType) {
         // 如果类型相同，直接返回
         if (targetType.isInstance(value)) {
             return (T) value;
@@ -308,7 +359,7 @@ public final class BeanUtil {
     /**
      * 判断是否为日期时间类型
      */
-    private static boolean isDateTimeType(Class<?> type) {
+    static boolean isDateTimeType(Class<?> type) {
         return java.util.Date.class.isAssignableFrom(type) || java.time.temporal.TemporalAccessor.class.isAssignableFrom(type) || java.time.Instant.class.isAssignableFrom(type);
     }
 
@@ -412,7 +463,7 @@ public final class BeanUtil {
      * 转换为日期时间类型
      */
     @SuppressWarnings("unchecked")
-    private static <T> T convertToDateTime(Object value, Class<T> targetType) {
+    static <T> T convertToDateTime(Object value, Class<T> targetType) {
         try {
             // 简化处理，实际项目中可能需要更复杂的日期格式化和解析
             if (value instanceof String) {
@@ -470,7 +521,7 @@ public final class BeanUtil {
      * 转换为枚举类型
      */
     @SuppressWarnings("unchecked")
-    private static <T> T convertToEnum(Object value, Class<T> enumType) {
+    static <T> T convertToEnum(Object value, Class<T> enumType) {
         try {
             if (value instanceof String) {
                 String enumName = ((String) value).trim();
@@ -516,7 +567,7 @@ public final class BeanUtil {
      * 转换数组类型
      */
     @SuppressWarnings("unchecked")
-    private static <T> T convertArray(Object sourceArray, Class<T> targetArrayType) {
+    static <T> T convertArray(Object sourceArray, Class<T> targetArrayType) {
         try {
             Class<?> targetComponentType = targetArrayType.getComponentType();
             Class<?> sourceComponentType = sourceArray.getClass().getComponentType();
@@ -650,6 +701,32 @@ public final class BeanUtil {
         return t;
     }
 
+    /**
+     * 使用指定的编解码器将Java对象编码为二进制数据
+     *
+     * @param obj   需要编码的对象
+     * @param codec 编解码器，例如 {@link BinaryCodec#compact()}
+     * @return 二进制数据
+     * @see BinaryCodec
+     */
+    public static byte[] objectToByte(Object obj, BinaryCodec codec) {
+        return codec.toBytes(obj);
+    }
+
+    /**
+     * 使用指定的编解码器将二进制数据解码为对象
+     *
+     * @param <T>   目标对象的类型
+     * @param bytes 编码后的二进制数据
+     * @param clazz 目标对象的类型
+     * @param codec 编解码器，必须与编码时使用的编解码器一致
+     * @return 解码之后的对象
+     * @see BinaryCodec
+     */
+    public static <T> T byteToObject(byte[] bytes, Class<T> clazz, BinaryCodec codec) {
+        return codec.fromBytes(bytes, clazz);
+    }
+
     /**
      * 将Map转成指定的JavaBean对象
      *
@@ -835,7 +912,8 @@ public final class BeanUtil {
     }
 
     /**
-     * 对象深克隆
+     * <p>对象深克隆</p>
+     * <p>通过 {@link DeepCloner} 逐个字段克隆对象，支持循环引用，不再要求对象实现 {@link java.io.Serializable} 接口</p>
      *
      * @param val 待克隆的对象
      * @return 克隆后的对象
@@ -844,37 +922,26 @@ public final class BeanUtil {
         if (null == val) {
             return null;
         }
-        //@formatter:off
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-         ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-        // 将原始对象写入字节数组
-        oos.writeObject(val);
-        // 获取字节数组
-        byte[] byteArr = bos.toByteArray();
-
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(byteArr);
-             ObjectInputStream ois = new ObjectInputStream(bis)) {
-            // 从字节数组中读取对象
-            return ois.readObject();
-        }
-    } catch (Exception e) {
-        if (log.isInfoEnabled()) {
-            log.info("克隆对象时出现问题，对象类型：{}", val.getClass().getName(), e);
-        }
-        throw new UncheckedException(e.getMessage());
-    }
-    //@formatter:on
+        try {
+            return DeepCloner.clone(val);
+        } catch (RuntimeException e) {
+            if (log.isInfoEnabled()) {
+                log.info("克隆对象时出现问题，对象类型：{}", val.getClass().getName(), e);
+            }
+            throw e instanceof UncheckedException ? e : new UncheckedException(e.getMessage(), e);
+        }
     }
 
 
     /**
-     * 使用jackson的方式实现深克隆
+     * <p>对象深克隆</p>
+     * <p>与 {@link #cloneVal(Object)} 相同，通过 {@link DeepCloner} 实现，如需基于json的克隆方式请使用 {@link JsonUtil#deepClone(Object)}</p>
      *
      * @param val 待克隆的的对象
      * @return 克隆后的对象
      */
     public static Object deepClone(Object val) {
-        return JsonUtil.deepClone(val);
+        return cloneVal(val);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * 对象二进制编解码器
+ * </p>
+ * 与 {@link BeanUtil#objectToByte(Object)} 使用的java序列化不同，编解码器直接读写调用者提供的 {@link ByteBuffer}，
+ * 可以写入堆外缓冲区或者从一个更大的缓冲区的片段中读取，不产生中间数组。
+ * <p>
+ * 默认实现为 {@link CompactBinaryCodec}，可以通过 {@link #compact()} 获取。编解码器的实现必须是线程安全的。
+ * </p>
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface BinaryCodec {
+
+    /**
+     * 获取默认的紧凑二进制编解码器
+     *
+     * @return 紧凑二进制编解码器
+     */
+    static BinaryCodec compact() {
+        return CompactBinaryCodec.INSTANCE;
+    }
+
+    /**
+     * 创建只允许解码指定类的紧凑二进制编解码器，用于解码来自共享缓存等不完全可信的数据
+     *
+     * @param classFilter 类过滤器，编码数据中按名字写入的类只有在过滤器返回true时才能被解码
+     * @return 紧凑二进制编解码器
+     * @see CompactBinaryCodec#create(Predicate)
+     */
+    static BinaryCodec compact(Predicate<? super Class<?>> classFilter) {
+        return CompactBinaryCodec.create(classFilter);
+    }
+
+    /**
+     * 将对象编码后写入缓冲区，写入从缓冲区当前的position开始，写入完成后position位于编码数据之后
+     *
+     * @param value  待编码的对象，可以为null
+     * @param buffer 目标缓冲区
+     * @throws BufferOverflowException 缓冲区剩余空间不足，此时缓冲区中的内容与position是不确定的
+     */
+    void write(Object value, ByteBuffer buffer);
+
+    /**
+     * 从缓冲区当前的position开始读取一个对象，读取完成后position位于编码数据之后
+     *
+     * @param buffer 源缓冲区
+     * @param type   对象的类型
+     * @param <T>    对象的类型
+     * @return 解码后的对象
+     */
+    <T> T read(ByteBuffer buffer, Class<T> type);
+
+    /**
+     * 将对象编码为二进制数据
+     *
+     * @param value 待编码的对象，可以为null
+     * @return 编码后的二进制数据
+     */
+    default byte[] toBytes(Object value) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        while (true) {
+            try {
+                write(value, buffer);
+                return Arrays.copyOf(buffer.array(), buffer.position());
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() << 1);
+            }
+        }
+    }
+
+    /**
+     * 将二进制数据解码为对象
+     *
+     * @param bytes 二进制数据
+     * @param type  对象的类型
+     * @param <T>   对象的类型
+     * @return 解码后的对象
+     */
+    default <T> T fromBytes(byte[] bytes, Class<T> type) {
+        return read(ByteBuffer.wrap(bytes), type);
+    }
+}
@@ -0,0 +1,267 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * 基于 {@link ClassValue} 的类元数据缓存
+ * </p>
+ * 与以类名拼接字符串作为键的Map相比，具备以下的特点
+ * <ol>
+ * <li>查找时不需要构建键，不产生临时对象</li>
+ * <li>缓存的值挂在类自身上，类与其类加载器被卸载时缓存的值随之释放，即使缓存的值引用了作为键的类</li>
+ * <li>jdk中的类等由当前类库的上级类加载器加载的类不使用 {@link ClassValue}，而是保存在缓存自身的Map中，
+ * 避免这些长期存活的类持有缓存的值而导致当前类库的类加载器在重新部署后无法被卸载</li>
+ * <li>记录命中次数、未命中次数与当前的条目数，可以通过 {@link #statistics()} 获取所有缓存的统计信息</li>
+ * </ol>
+ * 缓存的值不应强引用键以外的其他类加载器加载的类，否则这些类会在键对应的类存活期间无法被卸载。
+ *
+ * @param <V> 缓存的值的类型
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class ClassCache<V> {
+
+    private static final Map<String, ClassCache<?>> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * 当前类库的类加载器
+     */
+    private static final ClassLoader OWN_LOADER = ClassCache.class.getClassLoader();
+
+    private final String name;
+
+    private final Function<Class<?>, V> loader;
+
+    /**
+     * 由上级类加载器以外的类加载器加载的类对应的缓存值
+     */
+    private final ClassValue<V> values;
+
+    /**
+     * 由上级类加载器加载的类对应的缓存值，这些类的存活时间不短于当前类库
+     */
+    private final Map<Class<?>, V> parentValues = new ConcurrentHashMap<>();
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 已经计算过值的类，弱引用，不影响类的卸载
+     */
+    private final Set<Class<?>> entries = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * 创建一个类元数据缓存，同名的缓存会替换之前注册的统计信息
+     *
+     * @param name   缓存的名字，用于统计信息
+     * @param loader 根据类计算缓存值的方法，不能返回null
+     */
+    public ClassCache(String name, Function<Class<?>, V> loader) {
+        this(name, loader, true);
+    }
+
+    /**
+     * 创建一个不参与 {@link #statistics()} 统计的类元数据缓存，用于嵌套在其他缓存值中的缓存
+     *
+     * @param loader 根据类计算缓存值的方法，不能返回null
+     */
+    ClassCache(Function<Class<?>, V> loader) {
+        this(null, loader, false);
+    }
+
+    private ClassCache(String name, Function<Class<?>, V> loader, boolean register) {
+        this.name = name;
+        this.loader = loader;
+        this.values = new ClassValue<V>() {
+            @Override
+            protected V computeValue(Class<?> type) {
+                return compute(type);
+            }
+        };
+        if (register) {
+            REGISTRY.put(name, this);
+        }
+    }
+
+    /**
+     * 获取指定类对应的缓存值，不存在时计算并缓存
+     *
+     * @param type 类
+     * @return 缓存值
+     */
+    public V get(Class<?> type) {
+        requests.increment();
+        if (!isParent(type.getClassLoader())) {
+            return values.get(type);
+        }
+        V value = parentValues.get(type);
+        if (null == value) {
+            value = compute(type);
+            V previous = parentValues.putIfAbsent(type, value);
+            if (null != previous) {
+                value = previous;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 移除指定类对应的缓存值
+     *
+     * @param type 类
+     */
+    public void remove(Class<?> type) {
+        if (isParent(type.getClassLoader())) {
+            parentValues.remove(type);
+        } else {
+            values.remove(type);
+        }
+        entries.remove(type);
+    }
+
+    private V compute(Class<?> type) {
+        misses.increment();
+        V value = loader.apply(type);
+        entries.add(type);
+        return value;
+    }
+
+    /**
+     * 类加载器是否为当前类库的类加载器的上级加载器(不包括当前类库的类加载器自身)，启动类加载器为所有类加载器的上级。
+     * 这些类加载器加载的类的存活时间不短于当前类库，缓存的值不能挂在类自身上
+     */
+    static boolean isParent(ClassLoader loader) {
+        if (null == loader) {
+            return true;
+        }
+        if (null == OWN_LOADER) {
+            return false;
+        }
+        for (ClassLoader current = OWN_LOADER.getParent(); null != current; current = current.getParent()) {
+            if (current == loader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取缓存的名字
+     *
+     * @return 缓存的名字
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取缓存的统计信息
+     *
+     * @return 统计信息
+     */
+    public Stats stats() {
+        long total = requests.sum();
+        long missCount = misses.sum();
+        return new Stats(name, Math.max(0L, total - missCount), missCount, entries.size());
+    }
+
+    /**
+     * 获取所有类元数据缓存的统计信息
+     *
+     * @return 缓存的名字与统计信息
+     */
+    public static Map<String, Stats> statistics() {
+        Map<String, Stats> result = new TreeMap<>();
+        for (ClassCache<?> cache : REGISTRY.values()) {
+            result.put(cache.name, cache.stats());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return stats().toString();
+    }
+
+    /**
+     * 类元数据缓存的统计信息
+     *
+     * @author yishui
+     * @version 1.0.0
+     * @since 1.0.0
+     */
+    public static final class Stats {
+
+        private final String name;
+
+        private final long hits;
+
+        private final long misses;
+
+        private final int entries;
+
+        Stats(String name, long hits, long misses, int entries) {
+            this.name = name;
+            this.hits = hits;
+            this.misses = misses;
+            this.entries = entries;
+        }
+
+        /**
+         * 获取缓存的名字
+         *
+         * @return 缓存的名字
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 获取命中的次数
+         *
+         * @return 命中的次数
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * 获取未命中的次数，即计算缓存值的次数
+         *
+         * @return 未命中的次数
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * 获取当前缓存的条目数，已被卸载的类不计算在内
+         *
+         * @return 当前缓存的条目数
+         */
+        public int getEntries() {
+            return entries;
+        }
+
+        /**
+         * 获取命中率
+         *
+         * @return 命中率，没有请求时为0
+         */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0D : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{name=" + name + ", hits=" + hits + ", misses=" + misses + ", entries=" + entries + "}";
+        }
+    }
+}
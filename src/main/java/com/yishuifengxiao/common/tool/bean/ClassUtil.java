@@ -3,6 +3,7 @@
  */
 package com.yishuifengxiao.common.tool.bean;
 
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
@@ -18,7 +19,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 
 /**
@@ -32,6 +32,7 @@ import java.util.function.BiConsumer;
  * <ul>
  * <li>获取类的所有属性字段</li>
  * <li>根据属性的名字获取对象的属性的值</li>
+ * <li>按字段序号读写属性，参见 {@link BeanAccessor}</li>
  * </ul>
  *
  * @author yishui
@@ -41,9 +42,24 @@ import java.util.function.BiConsumer;
 @Slf4j
 public final class ClassUtil {
     /**
-     * 字段缓存，提高重复调用性能
+     * 字段缓存，提高重复调用性能，缓存随类的卸载而释放
      */
-    private static final Map<String, List<Field>> FIELDS_CACHE = new ConcurrentHashMap<>();
+    private static final ClassCache<List<Field>> FIELDS_CACHE = new ClassCache<>("ClassUtil.fields", type -> collectFields(type, false));
+
+    /**
+     * 不过滤特殊修饰符字段的字段缓存
+     */
+    private static final ClassCache<List<Field>> ALL_FIELDS_CACHE = new ClassCache<>("ClassUtil.allFields", type -> collectFields(type, true));
+
+    /**
+     * 获取类元数据缓存的统计信息，包括字段缓存以及属性访问、复制、克隆与编解码使用的缓存
+     *
+     * @return 缓存的名字与统计信息
+     * @see ClassCache#statistics()
+     */
+    public static Map<String, ClassCache.Stats> cacheStats() {
+        return ClassCache.statistics();
+    }
 
     /**
      * 提取出一个类里所有的属性字段(包括父类里的属性字段)
@@ -115,43 +131,49 @@ public final class ClassUtil {
      * @return 指定类及其父类的所有字段列表，如果启用了过滤则只包含非特殊修饰符字段
      */
     private static <T> List<Field> getFieldsFromCache(Class<T> clazz, boolean noSpecialModifier) {
-        // 构建缓存键，包含类名和过滤标志
-        String cacheKey = clazz.getName() + ":" + noSpecialModifier;
+        return noSpecialModifier ? ALL_FIELDS_CACHE.get(clazz) : FIELDS_CACHE.get(clazz);
+    }
 
-        return FIELDS_CACHE.computeIfAbsent(cacheKey, key -> {
-            List<Field> result = new ArrayList<>();
-            Class<?> current = clazz;
+    /**
+     * 提取指定类及其父类的字段列表
+     *
+     * @param clazz 要获取字段的类
+     * @param noSpecialModifier 是否不过滤特殊修饰符字段的标志
+     * @return 不可修改的字段列表
+     */
+    private static List<Field> collectFields(Class<?> clazz, boolean noSpecialModifier) {
+        List<Field> result = new ArrayList<>();
+        Class<?> current = clazz;
 
-            // 遍历类及其所有父类（直到Object类）
-            while (current != null && current != Object.class) {
-                try {
-                    Field[] declaredFields = current.getDeclaredFields();
-
-                    // 对于每个字段，检查是否需要过滤
-                    for (Field field : declaredFields) {
-                        // 确保字段不为null
-                        if (field != null) {
-                            // 修复逻辑：只有当字段不是特殊修饰时才添加到结果中
-                            // 当noSpecialModifier为true时，不过滤任何字段；为false时，只返回非特殊修饰符字段
-                            if (noSpecialModifier || !isSpecialModifier(field)) {
-                                // 设置字段为可访问，确保能获取私有字段
-                                field.setAccessible(true);
-                                result.add(field);
-                            }
+        // 遍历类及其所有父类（直到Object类）
+        while (current != null && current != Object.class) {
+            try {
+                Field[] declaredFields = current.getDeclaredFields();
+
+                // 对于每个字段，检查是否需要过滤
+                for (Field field : declaredFields) {
+                    // 确保字段不为null
+                    if (field != null) {
+                        // 修复逻辑：只有当字段不是特殊修饰时才添加到结果中
+                        // 当noSpecialModifier为true时，不过滤任何字段；为false时，只返回非特殊修饰符字段
+                        if (noSpecialModifier || !isSpecialModifier(field)) {
+                            // 设置字段为可访问，确保能获取私有字段
+                            field.setAccessible(true);
+                            result.add(field);
                         }
                     }
-                } catch (SecurityException e) {
-                    if (log != null && log.isWarnEnabled()) {
-                        log.warn("获取字段时发生安全异常，类名：{}", current.getName(), e);
-                    }
                 }
-
-                current = current.getSuperclass();
+            } catch (SecurityException e) {
+                if (log != null && log.isWarnEnabled()) {
+                    log.warn("获取字段时发生安全异常，类名：{}", current.getName(), e);
+                }
             }
 
-            // 返回不可修改的列表，防止外部修改
-            return Collections.unmodifiableList(result);
-        });
+            current = current.getSuperclass();
+        }
+
+        // 返回不可修改的列表，防止外部修改
+        return Collections.unmodifiableList(result);
     }
 
 
@@ -201,11 +223,6 @@ public final class ClassUtil {
     }
 
 
-    /**
-     * 字段查找缓存，提高 extractValue 方法性能
-     */
-    private static final Map<String, Field> FIELD_LOOKUP_CACHE = new ConcurrentHashMap<>();
-
     /**
      * 根据属性名字获取对象里对应属性的值
      *
@@ -268,16 +285,14 @@ public final class ClassUtil {
         }
 
         try {
-            // 查找对象中的指定字段
-            Field field = findField(data.getClass(), fieldName);
-            if (field == null) {
+            // 通过属性访问器查找字段的序号
+            BeanAccessor accessor = BeanAccessor.of(data.getClass());
+            int index = accessor.indexOf(fieldName);
+            if (index < 0) {
                 return null;
             }
-
-            // 设置字段可访问并获取字段值
-            field.setAccessible(true);
-            return field.get(data);
-        } catch (IllegalAccessException e) {
+            return accessor.get(data, index);
+        } catch (UncheckedException e) {
             if (log.isWarnEnabled()) {
                 log.warn("根据属性名获取属性值时发生访问异常，属性名：{}，异常原因：{}", fieldName, e.getMessage(), e);
             }
@@ -290,39 +305,6 @@ public final class ClassUtil {
     }
 
 
-
-    /**
-     * 在指定类中查找指定名称的字段
-     *
-     * @param clazz 要查找字段的类
-     * @param fieldName 要查找的字段名称
-     * @return 找到的字段对象，如果未找到则返回null
-     */
-    private static Field findField(Class<?> clazz, String fieldName) {
-        // 构造缓存键值
-        String cacheKey = clazz.getName() + ":" + fieldName;
-
-        // 从缓存中获取字段，如果不存在则进行查找并缓存结果
-        return FIELD_LOOKUP_CACHE.computeIfAbsent(cacheKey, key -> {
-            // 获取类的所有字段
-            List<Field> allFields = fields(clazz);
-            // 遍历所有字段查找匹配的字段名
-            for (Field field : allFields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-            return null;
-        });
-    }
-
-
-
-    /**
-     * 字段访问缓存，提高 forEach 方法性能
-     */
-    private static final Map<String, Boolean> FIELD_ACCESSIBLE_CACHE = new ConcurrentHashMap<>();
-
     /**
      * 遍历对象所有的属性和值
      *
@@ -334,15 +316,13 @@ public final class ClassUtil {
             return;
         }
 
-        List<Field> fields = fields(data.getClass());
-        for (Field field : fields) {
+        BeanAccessor accessor = BeanAccessor.of(data.getClass());
+        for (int i = 0; i < accessor.size(); i++) {
+            Field field = accessor.field(i);
             try {
-                // 检查并设置字段可访问性
-                ensureFieldAccessible(field);
-
-                Object value = field.get(data);
+                Object value = accessor.get(data, i);
                 action.accept(field, value);
-            } catch (IllegalAccessException e) {
+            } catch (UncheckedException e) {
                 if (log.isWarnEnabled()) {
                     log.warn("访问字段时发生异常，字段名：{}，异常原因：{}", field.getName(), e.getMessage(), e);
                 }
@@ -366,17 +346,17 @@ public final class ClassUtil {
             return;
         }
 
-        List<Field> fields = fields(data.getClass());
-        for (Field field : fields) {
+        BeanAccessor accessor = BeanAccessor.of(data.getClass());
+        for (int i = 0; i < accessor.size(); i++) {
+            Field field = accessor.field(i);
             if (!fieldFilter.test(field)) {
                 continue;
             }
 
             try {
-                ensureFieldAccessible(field);
-                Object value = field.get(data);
+                Object value = accessor.get(data, i);
                 action.accept(field, value);
-            } catch (IllegalAccessException e) {
+            } catch (UncheckedException e) {
                 if (log.isWarnEnabled()) {
                     log.warn("访问字段时发生异常，字段名：{}，异常原因：{}", field.getName(), e.getMessage(), e);
                 }
@@ -411,15 +391,15 @@ public final class ClassUtil {
             return;
         }
 
-        List<Field> fields = fields(data.getClass());
-        for (Field field : fields) {
+        BeanAccessor accessor = BeanAccessor.of(data.getClass());
+        for (int i = 0; i < accessor.size(); i++) {
+            Field field = accessor.field(i);
             String fieldName = field.getName();
             if (values.containsKey(fieldName)) {
                 try {
-                    ensureFieldAccessible(field);
                     Object value = values.get(fieldName);
-                    field.set(data, value);
-                } catch (IllegalAccessException e) {
+                    accessor.set(data, i, value);
+                } catch (UncheckedException e) {
                     if (log.isWarnEnabled()) {
                         log.warn("设置字段值时发生异常，字段名：{}，异常原因：{}", fieldName, e.getMessage(), e);
                     }
@@ -433,24 +413,6 @@ public final class ClassUtil {
         }
     }
 
-    /**
-     * 确保字段可访问，使用缓存提高性能
-     */
-    private static void ensureFieldAccessible(Field field) {
-        String cacheKey = field.getDeclaringClass().getName() + ":" + field.getName();
-
-        if (!FIELD_ACCESSIBLE_CACHE.computeIfAbsent(cacheKey, key -> {
-            boolean accessible = field.isAccessible();
-            if (!accessible) {
-                field.setAccessible(true);
-            }
-            return true;
-        })) {
-            // 如果缓存值为false，重新设置可访问性
-            field.setAccessible(true);
-        }
-    }
-
 
     /**
      * 根据pojo类的属性的Function函数获取原始属性的名字
@@ -0,0 +1,956 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ * 紧凑二进制编解码器
+ * </p>
+ * 按照类的字段结构(schema)编码对象，字段的名字不会写入编码数据中，具备以下的特点
+ * <ol>
+ * <li>字段按名字排序后依次写入，基本类型字段直接写入值，不写入类型标记</li>
+ * <li>int、long等整数使用zigzag变长编码，字符串使用UTF-8编码</li>
+ * <li>属性值的实际类型与字段声明的类型一致时不写入类名，集合与Map中的元素按照字段声明的泛型参数判断</li>
+ * <li>同一个类名在一次编码中只写入一次，之后只写入该类名的序号</li>
+ * <li>字段结构来自 {@link ClassUtil#fields(Class)}，transient 修饰的字段不会被编码</li>
+ * </ol>
+ * 编码与解码两端必须使用相同版本的类，不支持包含循环引用的对象。集合类型在解码时优先使用字段声明的具体类型，
+ * 否则使用 ArrayList、LinkedHashSet 与 LinkedHashMap。
+ * <p>
+ * 解码时编码数据中写入的类名必须与声明的类型兼容，否则解码失败。解码来自共享缓存等不完全可信的数据时，
+ * 应通过 {@link #create(Predicate)} 指定允许解码的类，例如
+ * </p>
+ * <pre>
+ * BinaryCodec codec = BinaryCodec.compact(type -&gt; type.getName().startsWith("com.example.model."));
+ * </pre>
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class CompactBinaryCodec implements BinaryCodec {
+
+    static final CompactBinaryCodec INSTANCE = new CompactBinaryCodec(type -> true);
+
+    private static final byte VERSION = 2;
+
+    private static final int NULL = 0;
+    private static final int BOOLEAN = 1;
+    private static final int BYTE = 2;
+    private static final int SHORT = 3;
+    private static final int CHAR = 4;
+    private static final int INT = 5;
+    private static final int LONG = 6;
+    private static final int FLOAT = 7;
+    private static final int DOUBLE = 8;
+    private static final int STRING = 9;
+    private static final int BYTES = 10;
+    private static final int BIG_INTEGER = 11;
+    private static final int BIG_DECIMAL = 12;
+    private static final int DATE = 13;
+    private static final int LOCAL_DATE = 14;
+    private static final int LOCAL_TIME = 15;
+    private static final int LOCAL_DATE_TIME = 16;
+    private static final int INSTANT = 17;
+    private static final int ENUM = 18;
+    private static final int ARRAY = 19;
+    private static final int LIST = 20;
+    private static final int SET = 21;
+    private static final int MAP = 22;
+    private static final int OBJECT = 23;
+
+    /**
+     * 类型标记中的标志位，表示标记之后紧跟着类名的序号，序号为0时之后紧跟着新出现的类名
+     */
+    private static final int NAMED = 0x80;
+
+    /**
+     * 使用专门的类型标记编码的类型
+     */
+    private static final Set<Class<?>> VALUE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class, Byte.class,
+            Short.class, Character.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class,
+            BigDecimal.class, Date.class, LocalDate.class, LocalTime.class, LocalDateTime.class, Instant.class));
+
+    private static final ClassCache<Schema> SCHEMA_CACHE = new ClassCache<>("CompactBinaryCodec.schema", Schema::new);
+
+    private static final ClassCache<Object[]> ENUM_CACHE = new ClassCache<>("CompactBinaryCodec.enum", Class::getEnumConstants);
+
+    /**
+     * 编码数据中按名字写入的类必须通过该过滤器才能被解码，数组类型按元素类型判断
+     */
+    private final Predicate<? super Class<?>> classFilter;
+
+    /**
+     * 获取紧凑二进制编解码器的实例，该实例允许解码任意与声明类型兼容的类
+     *
+     * @return 紧凑二进制编解码器
+     */
+    public static CompactBinaryCodec getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 创建只允许解码指定类的紧凑二进制编解码器
+     *
+     * @param classFilter 类过滤器，编码数据中按名字写入的类只有在过滤器返回true时才能被解码，数组类型按元素类型判断
+     * @return 紧凑二进制编解码器
+     */
+    public static CompactBinaryCodec create(Predicate<? super Class<?>> classFilter) {
+        if (null == classFilter) {
+            throw new IllegalArgumentException("Class filter cannot be null");
+        }
+        return new CompactBinaryCodec(classFilter);
+    }
+
+    private CompactBinaryCodec(Predicate<? super Class<?>> classFilter) {
+        this.classFilter = classFilter;
+    }
+
+    @Override
+    public void write(Object value, ByteBuffer buffer) {
+        try {
+            buffer.put(VERSION);
+            writeValue(value, Object.class, buffer, new ClassTable());
+        } catch (BufferOverflowException | UncheckedException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException("编码对象时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T read(ByteBuffer buffer, Class<T> type) {
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new UncheckedException("不支持的编码版本：" + version);
+            }
+            Object value = readValue(buffer, type.isPrimitive() ? PropertyCopier.wrap(type) : type, new ClassTable());
+            if (null != value && !PropertyCopier.wrap(type).isInstance(value)) {
+                throw new UncheckedException("解码结果的类型 " + value.getClass().getName() + " 与期望的类型 " + type.getName() + " 不一致");
+            }
+            return (T) value;
+        } catch (BufferUnderflowException | UncheckedException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException("解码对象时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    // ==================== 编码 ====================
+
+    private static void writeValue(Object value, Class<?> declared, ByteBuffer buffer, ClassTable names) throws Throwable {
+        writeValue(value, declared, Object.class, Object.class, buffer, names);
+    }
+
+    /**
+     * 编码一个值
+     *
+     * @param value    值
+     * @param declared 声明的类型，实际类型与声明的类型一致时不写入类名
+     * @param key      Map中的键声明的类型
+     * @param element  集合中的元素或者Map中的值声明的类型
+     * @param buffer   目标缓冲区
+     * @param names    本次编码中已经写入的类名
+     */
+    private static void writeValue(Object value, Class<?> declared, Class<?> key, Class<?> element, ByteBuffer buffer,
+                                   ClassTable names) throws Throwable {
+        if (null == value) {
+            buffer.put((byte) NULL);
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (type == String.class) {
+            buffer.put((byte) STRING);
+            writeString((String) value, buffer);
+        } else if (type == Integer.class) {
+            buffer.put((byte) INT);
+            writeVarInt((Integer) value, buffer);
+        } else if (type == Long.class) {
+            buffer.put((byte) LONG);
+            writeVarLong((Long) value, buffer);
+        } else if (type == Boolean.class) {
+            buffer.put((byte) BOOLEAN);
+            buffer.put((byte) ((Boolean) value ? 1 : 0));
+        } else if (type == Double.class) {
+            buffer.put((byte) DOUBLE);
+            buffer.putDouble((Double) value);
+        } else if (type == Float.class) {
+            buffer.put((byte) FLOAT);
+            buffer.putFloat((Float) value);
+        } else if (type == Short.class) {
+            buffer.put((byte) SHORT);
+            writeVarInt((Short) value, buffer);
+        } else if (type == Byte.class) {
+            buffer.put((byte) BYTE);
+            buffer.put((Byte) value);
+        } else if (type == Character.class) {
+            buffer.put((byte) CHAR);
+            writeVarUInt((Character) value, buffer);
+        } else if (type == byte[].class) {
+            byte[] bytes = (byte[]) value;
+            buffer.put((byte) BYTES);
+            writeVarUInt(bytes.length, buffer);
+            buffer.put(bytes);
+        } else if (type == BigInteger.class) {
+            buffer.put((byte) BIG_INTEGER);
+            writeBytes(((BigInteger) value).toByteArray(), buffer);
+        } else if (type == BigDecimal.class) {
+            buffer.put((byte) BIG_DECIMAL);
+            writeVarInt(((BigDecimal) value).scale(), buffer);
+            writeBytes(((BigDecimal) value).unscaledValue().toByteArray(), buffer);
+        } else if (type == Date.class) {
+            buffer.put((byte) DATE);
+            writeVarLong(((Date) value).getTime(), buffer);
+        } else if (type == LocalDate.class) {
+            buffer.put((byte) LOCAL_DATE);
+            writeVarLong(((LocalDate) value).toEpochDay(), buffer);
+        } else if (type == LocalTime.class) {
+            buffer.put((byte) LOCAL_TIME);
+            writeVarLong(((LocalTime) value).toNanoOfDay(), buffer);
+        } else if (type == LocalDateTime.class) {
+            buffer.put((byte) LOCAL_DATE_TIME);
+            writeVarLong(((LocalDateTime) value).toLocalDate().toEpochDay(), buffer);
+            writeVarLong(((LocalDateTime) value).toLocalTime().toNanoOfDay(), buffer);
+        } else if (type == Instant.class) {
+            buffer.put((byte) INSTANT);
+            writeVarLong(((Instant) value).getEpochSecond(), buffer);
+            writeVarInt(((Instant) value).getNano(), buffer);
+        } else if (value instanceof Enum) {
+            Class<?> enumType = ((Enum<?>) value).getDeclaringClass();
+            writeTag(ENUM, enumType, declared, buffer, names);
+            writeVarUInt(((Enum<?>) value).ordinal(), buffer);
+        } else if (type.isArray()) {
+            writeTag(ARRAY, type, declared, buffer, names);
+            writeArray(value, type.getComponentType(), buffer, names);
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            buffer.put((byte) (value instanceof Set ? SET : LIST));
+            writeVarUInt(collection.size(), buffer);
+            for (Object item : collection) {
+                writeValue(item, element, buffer, names);
+            }
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            buffer.put((byte) MAP);
+            writeVarUInt(map.size(), buffer);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(entry.getKey(), key, buffer, names);
+                writeValue(entry.getValue(), element, buffer, names);
+            }
+        } else {
+            writeTag(OBJECT, type, declared, buffer, names);
+            schema(type).write(value, buffer, names);
+        }
+    }
+
+    private static void writeTag(int tag, Class<?> type, Class<?> declared, ByteBuffer buffer, ClassTable names) {
+        if (type == declared) {
+            buffer.put((byte) tag);
+            return;
+        }
+        if (!declared.isAssignableFrom(type)) {
+            // 集合中混入了与泛型参数不一致的元素时，解码端无法按照声明的类型读取
+            throw new UncheckedException("类 " + type.getName() + " 与声明的类型 " + declared.getName() + " 不兼容");
+        }
+        buffer.put((byte) (tag | NAMED));
+        int index = names.indexOf(type);
+        if (index < 0) {
+            writeVarUInt(0, buffer);
+            writeString(type.getName(), buffer);
+            names.add(type);
+        } else {
+            writeVarUInt(index + 1, buffer);
+        }
+    }
+
+    private static void writeArray(Object array, Class<?> componentType, ByteBuffer buffer, ClassTable names) throws Throwable {
+        int length = Array.getLength(array);
+        writeVarUInt(length, buffer);
+        if (componentType == int.class) {
+            for (int value : (int[]) array) {
+                writeVarInt(value, buffer);
+            }
+        } else if (componentType == long.class) {
+            for (long value : (long[]) array) {
+                writeVarLong(value, buffer);
+            }
+        } else if (componentType == double.class) {
+            for (double value : (double[]) array) {
+                buffer.putDouble(value);
+            }
+        } else if (componentType == float.class) {
+            for (float value : (float[]) array) {
+                buffer.putFloat(value);
+            }
+        } else if (componentType == short.class) {
+            for (short value : (short[]) array) {
+                writeVarInt(value, buffer);
+            }
+        } else if (componentType == char.class) {
+            for (char value : (char[]) array) {
+                writeVarUInt(value, buffer);
+            }
+        } else if (componentType == boolean.class) {
+            for (boolean value : (boolean[]) array) {
+                buffer.put((byte) (value ? 1 : 0));
+            }
+        } else if (componentType == byte.class) {
+            buffer.put((byte[]) array);
+        } else {
+            for (Object value : (Object[]) array) {
+                writeValue(value, componentType, buffer, names);
+            }
+        }
+    }
+
+    private static void writeBytes(byte[] bytes, ByteBuffer buffer) {
+        writeVarUInt(bytes.length, buffer);
+        buffer.put(bytes);
+    }
+
+    /**
+     * 以UTF-8编码直接写入字符串，不生成中间数组
+     */
+    private static void writeString(String value, ByteBuffer buffer) {
+        int length = value.length();
+        int utf8Length = utf8Length(value);
+        writeVarUInt(utf8Length, buffer);
+        if (utf8Length == length) {
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int result = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    result += 2;
+                    i++;
+                } else {
+                    result += 2;
+                }
+            } else if (c >= 0x80) {
+                result += 1;
+            }
+        }
+        return result;
+    }
+
+    private static void writeVarInt(int value, ByteBuffer buffer) {
+        writeVarUInt((value << 1) ^ (value >> 31), buffer);
+    }
+
+    private static void writeVarUInt(int value, ByteBuffer buffer) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static void writeVarLong(long value, ByteBuffer buffer) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        buffer.put((byte) zigzag);
+    }
+
+    // ==================== 解码 ====================
+
+    private Object readValue(ByteBuffer buffer, Class<?> declared, ClassTable names) throws Throwable {
+        return readValue(buffer, declared, Object.class, Object.class, names);
+    }
+
+    /**
+     * 解码一个值，声明的类型与编码时一致
+     *
+     * @param buffer   源缓冲区
+     * @param declared 声明的类型
+     * @param key      Map中的键声明的类型
+     * @param element  集合中的元素或者Map中的值声明的类型
+     * @param names    本次解码中已经读取的类名
+     * @return 值
+     */
+    private Object readValue(ByteBuffer buffer, Class<?> declared, Class<?> key, Class<?> element, ClassTable names) throws Throwable {
+        int tag = buffer.get() & 0xFF;
+        boolean named = (tag & NAMED) != 0;
+        switch (tag & ~NAMED) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case BYTE:
+                return buffer.get();
+            case SHORT:
+                return (short) readVarInt(buffer);
+            case CHAR:
+                return (char) readVarUInt(buffer);
+            case INT:
+                return readVarInt(buffer);
+            case LONG:
+                return readVarLong(buffer);
+            case FLOAT:
+                return buffer.getFloat();
+            case DOUBLE:
+                return buffer.getDouble();
+            case STRING:
+                return readString(buffer);
+            case BYTES:
+                return readBytes(buffer);
+            case BIG_INTEGER:
+                return new BigInteger(readBytes(buffer));
+            case BIG_DECIMAL:
+                int scale = readVarInt(buffer);
+                return new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+            case DATE:
+                return new Date(readVarLong(buffer));
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(readVarLong(buffer));
+            case LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(readVarLong(buffer));
+            case LOCAL_DATE_TIME:
+                LocalDate date = LocalDate.ofEpochDay(readVarLong(buffer));
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(readVarLong(buffer)));
+            case INSTANT:
+                long seconds = readVarLong(buffer);
+                return Instant.ofEpochSecond(seconds, readVarInt(buffer));
+            case ENUM:
+                Class<?> enumType = named ? namedClass(buffer, declared, names) : declared;
+                if (!enumType.isEnum()) {
+                    throw new UncheckedException(enumType.getName() + " 不是枚举类型");
+                }
+                Object[] constants = enumConstants(enumType);
+                int ordinal = readVarUInt(buffer);
+                if (ordinal < 0 || ordinal >= constants.length) {
+                    throw new UncheckedException("枚举 " + enumType.getName() + " 中不存在序号为 " + ordinal + " 的常量");
+                }
+                return constants[ordinal];
+            case ARRAY:
+                Class<?> arrayType = named ? namedClass(buffer, declared, names) : declared;
+                if (!arrayType.isArray()) {
+                    throw new UncheckedException(arrayType.getName() + " 不是数组类型");
+                }
+                return readArray(buffer, arrayType.getComponentType(), names);
+            case LIST:
+            case SET:
+                return readCollection(buffer, declared, element, (tag & ~NAMED) == SET, names);
+            case MAP:
+                return readMap(buffer, declared, key, element, names);
+            case OBJECT:
+                Class<?> type = named ? namedClass(buffer, declared, names) : declared;
+                if (!isObjectType(type)) {
+                    throw new UncheckedException(type.getName() + " 不能按照对象结构解码");
+                }
+                return schema(type).read(this, buffer, names);
+            default:
+                throw new UncheckedException("无法识别的类型标记：" + tag);
+        }
+    }
+
+    private Object readArray(ByteBuffer buffer, Class<?> componentType, ClassTable names) throws Throwable {
+        int length = readLength(buffer, componentType == double.class ? 8 : componentType == float.class ? 4 : 1);
+        if (componentType == int.class) {
+            int[] array = new int[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = readVarInt(buffer);
+            }
+            return array;
+        } else if (componentType == long.class) {
+            long[] array = new long[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = readVarLong(buffer);
+            }
+            return array;
+        } else if (componentType == double.class) {
+            double[] array = new double[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = buffer.getDouble();
+            }
+            return array;
+        } else if (componentType == float.class) {
+            float[] array = new float[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = buffer.getFloat();
+            }
+            return array;
+        } else if (componentType == short.class) {
+            short[] array = new short[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = (short) readVarInt(buffer);
+            }
+            return array;
+        } else if (componentType == char.class) {
+            char[] array = new char[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = (char) readVarUInt(buffer);
+            }
+            return array;
+        } else if (componentType == boolean.class) {
+            boolean[] array = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = buffer.get() != 0;
+            }
+            return array;
+        } else if (componentType == byte.class) {
+            byte[] array = new byte[length];
+            buffer.get(array);
+            return array;
+        }
+        Object[] array = (Object[]) Array.newInstance(componentType, length);
+        for (int i = 0; i < length; i++) {
+            array[i] = readValue(buffer, componentType, names);
+        }
+        return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readCollection(ByteBuffer buffer, Class<?> declared, Class<?> element, boolean set, ClassTable names) throws Throwable {
+        int size = readLength(buffer, 1);
+        Collection<Object> collection;
+        if (Collection.class.isAssignableFrom(declared) && isInstantiable(declared)) {
+            collection = (Collection<Object>) declared.getConstructor().newInstance();
+        } else {
+            collection = set ? new LinkedHashSet<>(size * 4 / 3 + 1) : new ArrayList<>(size);
+        }
+        for (int i = 0; i < size; i++) {
+            collection.add(readValue(buffer, element, names));
+        }
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readMap(ByteBuffer buffer, Class<?> declared, Class<?> keyType, Class<?> valueType, ClassTable names) throws Throwable {
+        int size = readLength(buffer, 2);
+        Map<Object, Object> map;
+        if (Map.class.isAssignableFrom(declared) && isInstantiable(declared)) {
+            map = (Map<Object, Object>) declared.getConstructor().newInstance();
+        } else {
+            map = new LinkedHashMap<>(size * 4 / 3 + 1);
+        }
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(buffer, keyType, names);
+            map.put(key, readValue(buffer, valueType, names));
+        }
+        return map;
+    }
+
+    private static boolean isInstantiable(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return false;
+        }
+        try {
+            type.getConstructor();
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[readLength(buffer, 1)];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * 读取数组、集合等的长度，在分配内存之前校验剩余的数据是否足够
+     *
+     * @param buffer   源缓冲区
+     * @param minBytes 每个元素编码后至少占用的字节数
+     * @return 长度
+     */
+    private static int readLength(ByteBuffer buffer, int minBytes) {
+        int length = readVarUInt(buffer);
+        if (length < 0) {
+            throw new UncheckedException("长度格式错误：" + length);
+        }
+        if ((long) length * minBytes > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+
+    /**
+     * 直接从缓冲区解码UTF-8字符串，不生成中间的字节数组
+     */
+    private static String readString(ByteBuffer buffer) {
+        int length = readLength(buffer, 1);
+        char[] chars = new char[length];
+        int count = 0;
+        int position = buffer.position();
+        int end = position + length;
+        while (position < end) {
+            int c = buffer.get(position++) & 0xFF;
+            if (c < 0x80) {
+                chars[count++] = (char) c;
+            } else if ((c >> 5) == 0x06) {
+                chars[count++] = (char) (((c & 0x1F) << 6) | (buffer.get(position++) & 0x3F));
+            } else if ((c >> 4) == 0x0E) {
+                chars[count++] = (char) (((c & 0x0F) << 12) | ((buffer.get(position++) & 0x3F) << 6) | (buffer.get(position++) & 0x3F));
+            } else {
+                int codePoint = ((c & 0x07) << 18) | ((buffer.get(position++) & 0x3F) << 12) | ((buffer.get(position++) & 0x3F) << 6) | (buffer.get(position++) & 0x3F);
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        buffer.position(end);
+        return new String(chars, 0, count);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = readVarUInt(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int readVarUInt(ByteBuffer buffer) {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new UncheckedException("变长整数格式错误");
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return (result >>> 1) ^ -(result & 1);
+            }
+        }
+        throw new UncheckedException("变长整数格式错误");
+    }
+
+    /**
+     * 读取编码数据中写入的类名或者之前读取过的类名的序号，该类必须与声明的类型兼容，新出现的类必须通过类过滤器
+     */
+    private Class<?> namedClass(ByteBuffer buffer, Class<?> declared, ClassTable names) {
+        int reference = readVarUInt(buffer);
+        Class<?> type = 0 == reference ? loadClass(readString(buffer)) : names.get(reference - 1);
+        if (!declared.isAssignableFrom(type)) {
+            throw new UncheckedException("编码数据中的类 " + type.getName() + " 与声明的类型 " + declared.getName() + " 不兼容");
+        }
+        if (0 == reference) {
+            Class<?> checked = type;
+            while (checked.isArray()) {
+                checked = checked.getComponentType();
+            }
+            if (!checked.isPrimitive() && !classFilter.test(checked)) {
+                throw new UncheckedException("不允许解码的类：" + type.getName());
+            }
+            names.add(type);
+        }
+        return type;
+    }
+
+    /**
+     * 判断类型是否按照对象结构编码，与 {@link #writeValue(Object, Class, Class, Class, ByteBuffer, ClassTable)} 中的判断保持一致
+     */
+    private static boolean isObjectType(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !Enum.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type)
+                && !Map.class.isAssignableFrom(type) && !VALUE_TYPES.contains(type);
+    }
+
+    private static Class<?> loadClass(String name) {
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            return Class.forName(name, false, null == loader ? CompactBinaryCodec.class.getClassLoader() : loader);
+        } catch (ClassNotFoundException e) {
+            throw new UncheckedException("找不到类：" + name, e);
+        }
+    }
+
+    private static Object[] enumConstants(Class<?> enumType) {
+        return ENUM_CACHE.get(enumType);
+    }
+
+    private static Schema schema(Class<?> type) {
+        return SCHEMA_CACHE.get(type);
+    }
+
+    /**
+     * 一次编码或解码中按名字写入的类，按照出现的顺序编号，编码与解码两端的编号一致
+     */
+    private static final class ClassTable {
+
+        private Map<Class<?>, Integer> indexes;
+
+        private List<Class<?>> classes;
+
+        int indexOf(Class<?> type) {
+            Integer index = null == indexes ? null : indexes.get(type);
+            return null == index ? -1 : index;
+        }
+
+        Class<?> get(int index) {
+            if (null == classes || index >= classes.size()) {
+                throw new UncheckedException("类名的序号不存在：" + (index + 1));
+            }
+            return classes.get(index);
+        }
+
+        void add(Class<?> type) {
+            if (null == classes) {
+                indexes = new HashMap<>(8);
+                classes = new ArrayList<>(8);
+            }
+            indexes.put(type, classes.size());
+            classes.add(type);
+        }
+    }
+
+    /**
+     * 一个类的编码结构，由字段的类型与访问句柄组成
+     */
+    private static final class Schema {
+
+        private static final int K_REFERENCE = 0;
+        private static final int K_BOOLEAN = 1;
+        private static final int K_BYTE = 2;
+        private static final int K_SHORT = 3;
+        private static final int K_CHAR = 4;
+        private static final int K_INT = 5;
+        private static final int K_LONG = 6;
+        private static final int K_FLOAT = 7;
+        private static final int K_DOUBLE = 8;
+
+        private final MethodHandle instantiator;
+
+        private final int[] kinds;
+
+        private final Class<?>[] types;
+
+        /**
+         * 集合与Map字段中的键声明的类型，来自字段的泛型参数，无法确定时为Object
+         */
+        private final Class<?>[] keyTypes;
+
+        /**
+         * 集合字段中的元素与Map字段中的值声明的类型，来自字段的泛型参数，无法确定时为Object
+         */
+        private final Class<?>[] elementTypes;
+
+        /**
+         * 基本类型字段的读取句柄类型为 (Object)基本类型，引用类型字段为 (Object)Object
+         */
+        private final MethodHandle[] getters;
+
+        /**
+         * 基本类型字段的写入句柄类型为 (Object, 基本类型)void，引用类型字段为 (Object, Object)void
+         */
+        private final MethodHandle[] setters;
+
+        Schema(Class<?> type) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                throw new UncheckedException("无法编码抽象类型：" + type.getName());
+            }
+            List<Field> fields = new ArrayList<>();
+            try {
+                for (Field field : ClassUtil.fields(type)) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        fields.add(field);
+                    }
+                }
+            } catch (RuntimeException e) {
+                throw new UncheckedException("不支持编码的类型：" + type.getName(), e);
+            }
+            // 按名字排序，保证字段顺序不依赖于反射返回的顺序
+            fields.sort(Comparator.comparing(Field::getName).thenComparing(field -> field.getDeclaringClass().getName()));
+
+            this.instantiator = PropertyCopier.instantiator(type);
+            int size = fields.size();
+            this.kinds = new int[size];
+            this.types = new Class<?>[size];
+            this.keyTypes = new Class<?>[size];
+            this.elementTypes = new Class<?>[size];
+            this.getters = new MethodHandle[size];
+            this.setters = new MethodHandle[size];
+            for (int i = 0; i < size; i++) {
+                Field field = fields.get(i);
+                Class<?> fieldType = field.getType();
+                kinds[i] = kind(fieldType);
+                types[i] = fieldType;
+                keyTypes[i] = Object.class;
+                elementTypes[i] = Object.class;
+                if (Collection.class.isAssignableFrom(fieldType)) {
+                    elementTypes[i] = typeArgument(field.getGenericType(), 0, 1);
+                } else if (Map.class.isAssignableFrom(fieldType)) {
+                    keyTypes[i] = typeArgument(field.getGenericType(), 0, 2);
+                    elementTypes[i] = typeArgument(field.getGenericType(), 1, 2);
+                }
+                Class<?> handleType = fieldType.isPrimitive() ? fieldType : Object.class;
+                getters[i] = PropertyCopier.getter(field).asType(MethodType.methodType(handleType, Object.class));
+                setters[i] = PropertyCopier.setter(field).asType(MethodType.methodType(void.class, Object.class, handleType));
+            }
+        }
+
+        /**
+         * 获取jdk集合类型的泛型参数，例如 List&lt;Item&gt; 中的 Item，无法确定时返回Object
+         *
+         * @param type  字段的泛型类型
+         * @param index 泛型参数的位置
+         * @param count jdk集合类型的泛型参数个数，自定义的集合类型的泛型参数含义不确定，不使用
+         * @return 泛型参数
+         */
+        private static Class<?> typeArgument(Type type, int index, int count) {
+            if (!(type instanceof ParameterizedType)) {
+                return Object.class;
+            }
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (arguments.length != count || !(parameterized.getRawType() instanceof Class)
+                    || !((Class<?>) parameterized.getRawType()).getName().startsWith("java.")) {
+                return Object.class;
+            }
+            Type argument = arguments[index];
+            if (argument instanceof ParameterizedType) {
+                argument = ((ParameterizedType) argument).getRawType();
+            }
+            return argument instanceof Class ? (Class<?>) argument : Object.class;
+        }
+
+        private static int kind(Class<?> type) {
+            if (type == int.class) {
+                return K_INT;
+            } else if (type == long.class) {
+                return K_LONG;
+            } else if (type == boolean.class) {
+                return K_BOOLEAN;
+            } else if (type == double.class) {
+                return K_DOUBLE;
+            } else if (type == float.class) {
+                return K_FLOAT;
+            } else if (type == short.class) {
+                return K_SHORT;
+            } else if (type == byte.class) {
+                return K_BYTE;
+            } else if (type == char.class) {
+                return K_CHAR;
+            }
+            return K_REFERENCE;
+        }
+
+        void write(Object value, ByteBuffer buffer, ClassTable names) throws Throwable {
+            for (int i = 0; i < kinds.length; i++) {
+                MethodHandle getter = getters[i];
+                switch (kinds[i]) {
+                    case K_INT:
+                        writeVarInt((int) getter.invokeExact(value), buffer);
+                        break;
+                    case K_LONG:
+                        writeVarLong((long) getter.invokeExact(value), buffer);
+                        break;
+                    case K_BOOLEAN:
+                        buffer.put((byte) ((boolean) getter.invokeExact(value) ? 1 : 0));
+                        break;
+                    case K_DOUBLE:
+                        buffer.putDouble((double) getter.invokeExact(value));
+                        break;
+                    case K_FLOAT:
+                        buffer.putFloat((float) getter.invokeExact(value));
+                        break;
+                    case K_SHORT:
+                        writeVarInt((short) getter.invokeExact(value), buffer);
+                        break;
+                    case K_BYTE:
+                        buffer.put((byte) getter.invokeExact(value));
+                        break;
+                    case K_CHAR:
+                        writeVarUInt((char) getter.invokeExact(value), buffer);
+                        break;
+                    default:
+                        writeValue((Object) getter.invokeExact(value), types[i], keyTypes[i], elementTypes[i], buffer, names);
+                }
+            }
+        }
+
+        Object read(CompactBinaryCodec codec, ByteBuffer buffer, ClassTable names) throws Throwable {
+            Object value = (Object) instantiator.invokeExact();
+            for (int i = 0; i < kinds.length; i++) {
+                MethodHandle setter = setters[i];
+                switch (kinds[i]) {
+                    case K_INT:
+                        setter.invokeExact(value, readVarInt(buffer));
+                        break;
+                    case K_LONG:
+                        setter.invokeExact(value, readVarLong(buffer));
+                        break;
+                    case K_BOOLEAN:
+                        setter.invokeExact(value, buffer.get() != 0);
+                        break;
+                    case K_DOUBLE:
+                        setter.invokeExact(value, buffer.getDouble());
+                        break;
+                    case K_FLOAT:
+                        setter.invokeExact(value, buffer.getFloat());
+                        break;
+                    case K_SHORT:
+                        setter.invokeExact(value, (short) readVarInt(buffer));
+                        break;
+                    case K_BYTE:
+                        setter.invokeExact(value, buffer.get());
+                        break;
+                    case K_CHAR:
+                        setter.invokeExact(value, (char) readVarUInt(buffer));
+                        break;
+                    default:
+                        setter.invokeExact(value, codec.readValue(buffer, types[i], keyTypes[i], elementTypes[i], names));
+                }
+            }
+            return value;
+        }
+    }
+}
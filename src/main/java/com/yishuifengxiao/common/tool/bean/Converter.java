@@ -0,0 +1,64 @@
+package com.yishuifengxiao.common.tool.bean;
+
+/**
+ * <p>
+ * 属性值转换器
+ * </p>
+ * 在 {@link CopyPlan} 中将源属性的值转换为目标属性需要的类型，转换结果为null时不会覆盖目标属性。
+ * 转换器会被多个线程同时使用，实现类必须是线程安全的。
+ *
+ * @param <S> 源属性值的类型
+ * @param <T> 目标属性值的类型
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface Converter<S, T> {
+
+    /**
+     * 转换属性值
+     *
+     * @param source 源属性值，不会为null
+     * @return 转换后的值，返回null表示跳过该属性
+     */
+    T convert(S source);
+
+    /**
+     * 将字符串转换为日期时间类型，支持 {@link java.util.Date} 及 java.time 中的常用类型
+     *
+     * @param targetType 目标日期时间类型
+     * @param <T>        目标日期时间类型
+     * @return 转换器
+     */
+    static <T> Converter<Object, T> dateTime(Class<T> targetType) {
+        if (!BeanUtil.isDateTimeType(targetType)) {
+            throw new IllegalArgumentException("Unsupported date time type: " + targetType.getName());
+        }
+        return value -> BeanUtil.convertToDateTime(value, targetType);
+    }
+
+    /**
+     * 在数字类型之间转换
+     *
+     * @param targetType 目标数字类型，基本类型会被转换为对应的包装类型
+     * @param <T>        目标数字类型
+     * @return 转换器
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Converter<Number, T> number(Class<T> targetType) {
+        Converter<Object, Object> converter = BeanCopier.numberConverter(PropertyCopier.wrap(targetType));
+        return value -> (T) converter.convert(value);
+    }
+
+    /**
+     * 将枚举名字(忽略大小写)或枚举序号转换为枚举值
+     *
+     * @param enumType 目标枚举类型
+     * @param <E>      目标枚举类型
+     * @return 转换器
+     */
+    static <E extends Enum<E>> Converter<Object, E> enumeration(Class<E> enumType) {
+        return value -> BeanUtil.convertToEnum(value, enumType);
+    }
+}
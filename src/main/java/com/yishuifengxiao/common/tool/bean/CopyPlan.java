@@ -0,0 +1,571 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * <p>
+ * 属性复制计划
+ * </p>
+ * 在 {@link BeanUtil#copy(Object, Object)} 按属性名匹配的基础上，支持以下的映射方式
+ * <ol>
+ * <li>源属性与目标属性名字不同的映射</li>
+ * <li>忽略指定的目标属性，包括嵌套属性</li>
+ * <li>嵌套属性路径，例如 <code>address.city</code></li>
+ * <li>按属性或按类型注册的 {@link Converter}</li>
+ * </ol>
+ * 复制计划在 {@link Builder#build()} 时完成校验与编译，构建完成后不可修改，可以在多个线程之间共享使用。
+ * <p>
+ * 使用示例
+ * </p>
+ * <pre>
+ * CopyPlan&lt;UserDTO, User&gt; plan = CopyPlan.builder(UserDTO.class, User.class)
+ *         .map("userName", "name")
+ *         .map("address.city", "city")
+ *         .map("birthday", "birthday", Converter.dateTime(LocalDate.class))
+ *         .ignore("password")
+ *         .build();
+ * User user = plan.copy(dto);
+ * </pre>
+ *
+ * @param <S> 源对象的类型
+ * @param <T> 目标对象的类型
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CopyPlan<S, T> {
+
+    private final Class<S> sourceType;
+
+    private final Class<T> targetType;
+
+    private final PropertyCopier[] copiers;
+
+    /**
+     * 创建目标对象的句柄，目标类型没有无参构造函数时为null
+     */
+    private final MethodHandle factory;
+
+    private CopyPlan(Class<S> sourceType, Class<T> targetType, PropertyCopier[] copiers, MethodHandle factory) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.copiers = copiers;
+        this.factory = factory;
+    }
+
+    /**
+     * 创建复制计划的构建器
+     *
+     * @param sourceType 源对象的类型
+     * @param targetType 目标对象的类型
+     * @param <S>        源对象的类型
+     * @param <T>        目标对象的类型
+     * @return 复制计划的构建器
+     */
+    public static <S, T> Builder<S, T> builder(Class<S> sourceType, Class<T> targetType) {
+        return new Builder<>(sourceType, targetType);
+    }
+
+    /**
+     * 将源对象里属性值复制给目标对象
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     * @return 复制后的目标对象
+     */
+    public T copy(S source, T target) {
+        if (null == source || null == target) {
+            return target;
+        }
+        for (PropertyCopier copier : copiers) {
+            try {
+                copier.copy(source, target);
+            } catch (RuntimeException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("复制属性{}时出现问题，从{}到{}，问题原因：{}", copier.name, sourceType.getSimpleName(), targetType.getSimpleName(), e.getMessage(), e);
+                }
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UncheckedException(e.getMessage(), e);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 创建一个目标对象并将源对象里属性值复制给它
+     *
+     * @param source 源对象
+     * @return 复制后的目标对象，源对象为null时返回null
+     */
+    public T copy(S source) {
+        if (null == source) {
+            return null;
+        }
+        return copy(source, newTarget());
+    }
+
+    /**
+     * 通过目标类型的无参构造函数创建目标对象
+     *
+     * @return 目标对象
+     */
+    @SuppressWarnings("unchecked")
+    T newTarget() {
+        if (null == factory) {
+            throw new UncheckedException(targetType.getName() + " 没有可用的无参构造函数");
+        }
+        try {
+            return (T) (Object) factory.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取源对象的类型
+     *
+     * @return 源对象的类型
+     */
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * 获取目标对象的类型
+     *
+     * @return 目标对象的类型
+     */
+    public Class<T> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * 获取参与复制的目标属性路径
+     *
+     * @return 参与复制的目标属性路径
+     */
+    public List<String> getPropertyNames() {
+        List<String> names = new ArrayList<>(copiers.length);
+        for (PropertyCopier copier : copiers) {
+            names.add(copier.name);
+        }
+        return names;
+    }
+
+    /**
+     * <p>
+     * 复制计划构建器
+     * </p>
+     * 构建器本身不是线程安全的，应在单个线程中完成配置后调用 {@link #build()}
+     *
+     * @param <S> 源对象的类型
+     * @param <T> 目标对象的类型
+     */
+    public static final class Builder<S, T> {
+
+        private final Class<S> sourceType;
+
+        private final Class<T> targetType;
+
+        /**
+         * 显式映射，key为目标属性路径，value为源属性路径与转换器
+         */
+        private final Map<String, Mapping> mappings = new LinkedHashMap<>();
+
+        private final Set<String> ignored = new LinkedHashSet<>();
+
+        private final Map<Class<?>, Map<Class<?>, Converter<?, ?>>> converters = new HashMap<>();
+
+        private boolean implicit = true;
+
+        private Builder(Class<S> sourceType, Class<T> targetType) {
+            if (null == sourceType || null == targetType) {
+                throw new NullPointerException("Class cannot be null");
+            }
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        /**
+         * 将源属性映射到目标属性，属性路径支持以 <code>.</code> 分隔的嵌套属性
+         *
+         * @param sourcePath 源属性路径
+         * @param targetPath 目标属性路径
+         * @return 构建器
+         */
+        public Builder<S, T> map(String sourcePath, String targetPath) {
+            return map(sourcePath, targetPath, null);
+        }
+
+        /**
+         * 将源属性经过转换后映射到目标属性，属性路径支持以 <code>.</code> 分隔的嵌套属性
+         *
+         * @param sourcePath 源属性路径
+         * @param targetPath 目标属性路径
+         * @param converter  转换器，为null时按默认规则转换
+         * @return 构建器
+         */
+        public Builder<S, T> map(String sourcePath, String targetPath, Converter<?, ?> converter) {
+            if (StringUtils.isBlank(sourcePath) || StringUtils.isBlank(targetPath)) {
+                throw new IllegalArgumentException("Property path cannot be blank");
+            }
+            mappings.put(normalize(targetPath), new Mapping(normalize(sourcePath), converter));
+            return this;
+        }
+
+        /**
+         * 使用指定的复制计划复制同名的嵌套对象属性
+         *
+         * @param property 属性名字
+         * @param plan     嵌套对象的复制计划
+         * @return 构建器
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<S, T> nested(String property, CopyPlan<?, ?> plan) {
+            if (null == plan) {
+                throw new IllegalArgumentException("Nested plan cannot be null");
+            }
+            CopyPlan<Object, Object> nestedPlan = (CopyPlan<Object, Object>) plan;
+            return map(property, property, (Converter<Object, Object>) nestedPlan::copy);
+        }
+
+        /**
+         * 忽略指定的目标属性，属性路径支持以 <code>.</code> 分隔的嵌套属性，
+         * 忽略嵌套属性时其父属性不会被整体复制，只复制父属性中其余的同名属性
+         *
+         * @param properties 目标属性的路径
+         * @return 构建器
+         */
+        public Builder<S, T> ignore(String... properties) {
+            if (null != properties) {
+                for (String property : properties) {
+                    if (StringUtils.isNotBlank(property)) {
+                        ignored.add(normalize(property));
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * 注册按类型匹配的转换器，源属性类型与目标属性类型完全一致时使用该转换器
+         *
+         * @param sourceType 源属性的类型
+         * @param targetType 目标属性的类型
+         * @param converter  转换器
+         * @param <A>        源属性的类型
+         * @param <B>        目标属性的类型
+         * @return 构建器
+         */
+        public <A, B> Builder<S, T> converter(Class<A> sourceType, Class<B> targetType, Converter<? super A, ? extends B> converter) {
+            if (null == sourceType || null == targetType || null == converter) {
+                throw new IllegalArgumentException("Converter registration cannot contain null");
+            }
+            converters.computeIfAbsent(PropertyCopier.wrap(sourceType), key -> new HashMap<>()).put(PropertyCopier.wrap(targetType), converter);
+            return this;
+        }
+
+        /**
+         * 是否自动复制未显式映射的同名属性，默认为true
+         *
+         * @param implicit 是否自动复制未显式映射的同名属性
+         * @return 构建器
+         */
+        public Builder<S, T> implicit(boolean implicit) {
+            this.implicit = implicit;
+            return this;
+        }
+
+        /**
+         * 校验并编译复制计划
+         *
+         * @return 复制计划
+         * @throws UncheckedException 属性路径不存在或者属性类型无法转换
+         */
+        public CopyPlan<S, T> build() {
+            for (String property : ignored) {
+                if (null == fields(targetType, property)) {
+                    throw new UncheckedException("忽略的属性 " + property + " 在 " + targetType.getName() + " 中不存在");
+                }
+            }
+
+            List<PropertyCopier> copiers = new ArrayList<>();
+            Set<String> explicitTargets = new HashSet<>();
+            for (Map.Entry<String, Mapping> entry : mappings.entrySet()) {
+                String targetPath = entry.getKey();
+                if (isIgnored(targetPath)) {
+                    continue;
+                }
+                explicitTargets.add(targetPath);
+                Field[] sourceFields = resolve(sourceType, entry.getValue().sourcePath);
+                Field[] targetFields = resolve(targetType, targetPath);
+                Field targetField = targetFields[targetFields.length - 1];
+                if (Modifier.isStatic(targetField.getModifiers()) && Modifier.isFinal(targetField.getModifiers())) {
+                    throw new UncheckedException("目标属性 " + targetPath + " 是静态常量，无法赋值");
+                }
+                Converter<Object, Object> converter = converterFor(sourceFields[sourceFields.length - 1].getType(), targetField.getType(), entry.getValue().converter);
+                if (null == converter && !BeanUtil.isTypeCompatible(sourceFields[sourceFields.length - 1].getType(), targetField.getType())) {
+                    throw new UncheckedException("属性 " + entry.getValue().sourcePath + " 的类型 " + sourceFields[sourceFields.length - 1].getType().getName() + " 无法转换为 " + targetPath + " 的类型 " + targetField.getType().getName());
+                }
+                copiers.add(PropertyCopier.of(targetPath, sourceFields, targetFields, converter));
+            }
+
+            // 嵌套的目标路径的每一级父路径都不能再整体赋值，否则会覆盖嵌套路径上已经写入的值
+            Set<String> parents = new HashSet<>();
+            for (String path : explicitTargets) {
+                parents.addAll(parentsOf(path));
+            }
+            for (String parent : parents) {
+                if (explicitTargets.contains(parent)) {
+                    throw new UncheckedException("目标属性 " + parent + " 与其嵌套属性不能同时映射");
+                }
+            }
+
+            if (implicit) {
+                for (String property : ignored) {
+                    parents.addAll(parentsOf(property));
+                }
+                compileImplicit(copiers, explicitTargets, parents, "", new Field[0], new Field[0], sourceType, targetType);
+            }
+
+            MethodHandle factory = null;
+            try {
+                factory = PropertyCopier.constructor(targetType);
+            } catch (IllegalArgumentException e) {
+                if (log.isTraceEnabled()) {
+                    log.trace("{} 没有可用的无参构造函数", targetType.getName());
+                }
+            }
+            return new CopyPlan<>(sourceType, targetType, copiers.toArray(new PropertyCopier[0]), factory);
+        }
+
+        /**
+         * 编译未显式映射的同名属性。
+         * 属于显式映射或忽略的嵌套路径的父路径的属性不整体复制，而是继续编译其内部未显式映射的同名属性
+         */
+        private void compileImplicit(List<PropertyCopier> copiers, Set<String> explicitTargets, Set<String> parents, String prefix,
+                                     Field[] sourcePrefix, Field[] targetPrefix, Class<?> sourceClass, Class<?> targetClass) {
+            Map<String, Field> sourceFieldMap = new HashMap<>();
+            for (Field field : ClassUtil.fields(sourceClass, true)) {
+                sourceFieldMap.putIfAbsent(field.getName(), field);
+            }
+            Set<String> visited = new HashSet<>();
+            for (Field targetField : ClassUtil.fields(targetClass, true)) {
+                String name = targetField.getName();
+                String path = prefix + name;
+                if (!visited.add(name) || explicitTargets.contains(path) || ignored.contains(path)) {
+                    continue;
+                }
+                Field sourceField = sourceFieldMap.get(name);
+                if (null == sourceField || Modifier.isStatic(targetField.getModifiers()) && Modifier.isFinal(targetField.getModifiers())) {
+                    continue;
+                }
+                Field[] sourcePath = append(sourcePrefix, sourceField);
+                Field[] targetPath = append(targetPrefix, targetField);
+                if (parents.contains(path)) {
+                    if (isBeanType(sourceField.getType()) && isBeanType(targetField.getType())) {
+                        compileImplicit(copiers, explicitTargets, parents, path + ".", sourcePath, targetPath, sourceField.getType(), targetField.getType());
+                    }
+                    continue;
+                }
+                Converter<Object, Object> converter = converterFor(sourceField.getType(), targetField.getType(), null);
+                if (null == converter && !BeanUtil.isTypeCompatible(sourceField.getType(), targetField.getType())) {
+                    continue;
+                }
+                try {
+                    copiers.add(PropertyCopier.of(path, sourcePath, targetPath, converter));
+                } catch (RuntimeException e) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("无法为字段{}生成访问句柄，问题原因：{}", path, e.getMessage(), e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 目标属性路径本身或者它的某一级父路径被忽略
+         */
+        private boolean isIgnored(String path) {
+            if (ignored.contains(path)) {
+                return true;
+            }
+            for (String parent : parentsOf(path)) {
+                if (ignored.contains(parent)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 确定属性的转换器，优先级依次为：显式指定的转换器、按类型注册的转换器、默认转换规则、嵌套对象复制
+         */
+        @SuppressWarnings("unchecked")
+        private Converter<Object, Object> converterFor(Class<?> sourceFieldType, Class<?> targetFieldType, Converter<?, ?> explicit) {
+            if (null != explicit) {
+                return (Converter<Object, Object>) explicit;
+            }
+            Map<Class<?>, Converter<?, ?>> candidates = converters.get(PropertyCopier.wrap(sourceFieldType));
+            if (null != candidates && candidates.containsKey(PropertyCopier.wrap(targetFieldType))) {
+                return (Converter<Object, Object>) candidates.get(PropertyCopier.wrap(targetFieldType));
+            }
+            if (BeanUtil.isTypeCompatible(sourceFieldType, targetFieldType)) {
+                return BeanCopier.converterFor(sourceFieldType, targetFieldType);
+            }
+            if (isBeanType(sourceFieldType) && isBeanType(targetFieldType)) {
+                try {
+                    return new NestedConverter(sourceFieldType, targetFieldType);
+                } catch (IllegalArgumentException e) {
+                    if (log.isTraceEnabled()) {
+                        log.trace("{} 没有可用的无参构造函数，无法复制嵌套对象", targetFieldType.getName());
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 解析属性路径上的每一级字段
+         */
+        private static Field[] resolve(Class<?> type, String path) {
+            Field[] fields = fields(type, path);
+            if (null == fields) {
+                throw new UncheckedException("属性 " + path + " 在 " + type.getName() + " 中不存在");
+            }
+            return fields;
+        }
+
+        /**
+         * 解析属性路径上的每一级字段，属性不存在时返回null
+         */
+        private static Field[] fields(Class<?> type, String path) {
+            String[] parts = path.split("\\.");
+            Field[] fields = new Field[parts.length];
+            Class<?> current = type;
+            for (int i = 0; i < parts.length; i++) {
+                Field field = findField(current, parts[i].trim());
+                if (null == field) {
+                    return null;
+                }
+                fields[i] = field;
+                current = field.getType();
+            }
+            return fields;
+        }
+
+        /**
+         * 获取属性路径的所有父路径，例如 <code>a.b.c</code> 的父路径为 <code>a</code> 与 <code>a.b</code>
+         */
+        private static List<String> parentsOf(String path) {
+            List<String> parents = new ArrayList<>();
+            for (int index = path.indexOf('.'); index > 0; index = path.indexOf('.', index + 1)) {
+                parents.add(path.substring(0, index));
+            }
+            return parents;
+        }
+
+        /**
+         * 去除属性路径中每一级属性名字两端的空白
+         */
+        private static String normalize(String path) {
+            String[] parts = path.split("\\.");
+            StringBuilder builder = new StringBuilder(path.length());
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    builder.append('.');
+                }
+                builder.append(parts[i].trim());
+            }
+            return builder.toString();
+        }
+
+        private static Field[] append(Field[] fields, Field field) {
+            Field[] result = Arrays.copyOf(fields, fields.length + 1);
+            result[fields.length] = field;
+            return result;
+        }
+
+        private static Field findField(Class<?> type, String name) {
+            for (Field field : ClassUtil.fields(type, true)) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 判断类型是否为可以递归复制的java bean
+         */
+        private static boolean isBeanType(Class<?> type) {
+            if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                return false;
+            }
+            return null == type.getPackage() || !type.getPackage().getName().startsWith("java.");
+        }
+    }
+
+    /**
+     * 显式映射的配置
+     */
+    private static final class Mapping {
+
+        private final String sourcePath;
+
+        private final Converter<?, ?> converter;
+
+        private Mapping(String sourcePath, Converter<?, ?> converter) {
+            this.sourcePath = sourcePath;
+            this.converter = converter;
+        }
+    }
+
+    /**
+     * 嵌套对象的复制，目标对象的构造函数在构建计划时解析，嵌套对象的复制器在首次使用时解析
+     */
+    private static final class NestedConverter implements Converter<Object, Object> {
+
+        private final Class<?> sourceType;
+
+        private final Class<?> targetType;
+
+        private final MethodHandle factory;
+
+        private volatile BeanCopier<Object, Object> copier;
+
+        private NestedConverter(Class<?> sourceType, Class<?> targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+            this.factory = PropertyCopier.constructor(targetType);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object convert(Object source) {
+            BeanCopier<Object, Object> current = copier;
+            if (null == current) {
+                current = (BeanCopier<Object, Object>) BeanCopier.create(sourceType, targetType);
+                copier = current;
+            }
+            try {
+                return current.copy(source, (Object) factory.invokeExact());
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UncheckedException(e.getMessage(), e);
+            }
+        }
+    }
+}
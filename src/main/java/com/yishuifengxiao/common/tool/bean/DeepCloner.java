@@ -0,0 +1,608 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * 对象深克隆工具
+ * </p>
+ * 通过预先编译的字段访问句柄逐个复制对象的属性，与基于序列化的克隆方式相比，具备以下的特点
+ * <ol>
+ * <li>同一个对象在对象图中出现多次时只会被克隆一次，支持循环引用</li>
+ * <li>String、包装类型、java.time 中的类型等不可变对象直接复用原引用</li>
+ * <li>数组、常用的集合与Map在内部直接复制，不经过反射</li>
+ * <li>不要求对象实现 {@link Serializable} 接口，也不要求对象具有无参构造函数</li>
+ * </ol>
+ * 与java序列化不同的是，transient 修饰的属性也会被克隆。jdk集合的克隆结果与原集合的类型相同，并保留排序规则与访问顺序，
+ * 无法在内部重建的jdk集合(例如 List.of 创建的不可变集合)通过java序列化克隆。
+ * 继承jdk集合或Map的自定义类型通过无参构造函数创建，复制子类自身声明的字段后逐个克隆其中的元素。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class DeepCloner {
+
+    /**
+     * 可以直接复用引用的不可变类型
+     */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class,
+            Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, Class.class, UUID.class, Locale.class, Currency.class, URI.class,
+            Pattern.class, Object.class));
+
+    /**
+     * 类的克隆策略缓存
+     */
+    private static final ClassCache<ObjectCloner> CLONER_CACHE = new ClassCache<>("DeepCloner", DeepCloner::createCloner);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 深克隆一个对象
+     *
+     * @param value 待克隆的对象
+     * @param <T>   对象的类型
+     * @return 克隆后的对象
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T clone(T value) {
+        if (null == value || isImmutable(value.getClass())) {
+            return value;
+        }
+        return (T) new Context().clone(value);
+    }
+
+    /**
+     * 判断类型是否为不可变类型
+     */
+    private static boolean isImmutable(Class<?> type) {
+        if (type.isPrimitive() || type.isEnum() || IMMUTABLE_TYPES.contains(type)) {
+            return true;
+        }
+        // 枚举常量带有类体时其类型为枚举的匿名子类
+        if (null != type.getSuperclass() && type.getSuperclass().isEnum()) {
+            return true;
+        }
+        String name = type.getName();
+        return name.startsWith("java.time.") || name.contains("$$Lambda");
+    }
+
+    /**
+     * 单次克隆操作的上下文，记录已经克隆过的对象
+     */
+    private static final class Context {
+
+        private final IdentityHashMap<Object, Object> cloned = new IdentityHashMap<>();
+
+        Object clone(Object value) {
+            if (null == value) {
+                return null;
+            }
+            Class<?> type = value.getClass();
+            if (isImmutable(type)) {
+                return value;
+            }
+            Object copy = cloned.get(value);
+            if (null != copy) {
+                return copy;
+            }
+            if (type.isArray()) {
+                return cloneArray(value, type);
+            }
+            try {
+                return cloner(type).clone(value, this);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UncheckedException("克隆对象时出现问题，对象类型：" + type.getName(), e);
+            }
+        }
+
+        void register(Object original, Object copy) {
+            cloned.put(original, copy);
+        }
+
+        private Object cloneArray(Object value, Class<?> type) {
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive()) {
+                Object copy = primitiveArrayClone(value);
+                register(value, copy);
+                return copy;
+            }
+            Object[] source = (Object[]) value;
+            Object[] copy = (Object[]) Array.newInstance(componentType, source.length);
+            register(value, copy);
+            for (int i = 0; i < source.length; i++) {
+                copy[i] = clone(source[i]);
+            }
+            return copy;
+        }
+
+        private static Object primitiveArrayClone(Object value) {
+            if (value instanceof byte[]) {
+                return ((byte[]) value).clone();
+            } else if (value instanceof int[]) {
+                return ((int[]) value).clone();
+            } else if (value instanceof long[]) {
+                return ((long[]) value).clone();
+            } else if (value instanceof char[]) {
+                return ((char[]) value).clone();
+            } else if (value instanceof double[]) {
+                return ((double[]) value).clone();
+            } else if (value instanceof float[]) {
+                return ((float[]) value).clone();
+            } else if (value instanceof short[]) {
+                return ((short[]) value).clone();
+            }
+            return ((boolean[]) value).clone();
+        }
+    }
+
+    /**
+     * 获取指定类型的克隆策略
+     */
+    private static ObjectCloner cloner(Class<?> type) {
+        return CLONER_CACHE.get(type);
+    }
+
+    private static ObjectCloner createCloner(Class<?> type) {
+        if (type.getName().startsWith("java.")) {
+            ObjectCloner cloner = null;
+            if (Collection.class.isAssignableFrom(type)) {
+                cloner = CollectionCloner.of(type);
+            } else if (Map.class.isAssignableFrom(type)) {
+                cloner = MapCloner.of(type);
+            }
+            if (null != cloner) {
+                return cloner;
+            }
+            if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                // 无法保持原有类型与配置的jdk集合不替换为其他的类型
+                return new FallbackCloner(type);
+            }
+        } else if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            // jdk集合内部的字段无法访问，只能通过集合的接口复制元素
+            try {
+                return new SubclassCloner(type);
+            } catch (RuntimeException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("无法通过无参构造函数克隆集合类型{}，问题原因：{}", type.getName(), e.getMessage());
+                }
+            }
+            return new FallbackCloner(type);
+        }
+        try {
+            return new FieldCloner(type);
+        } catch (RuntimeException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("无法通过字段克隆类型{}，问题原因：{}", type.getName(), e.getMessage());
+            }
+        }
+        return new FallbackCloner(type);
+    }
+
+    /**
+     * 对象的克隆策略
+     */
+    private interface ObjectCloner {
+
+        /**
+         * 克隆对象
+         *
+         * @param value   待克隆的对象
+         * @param context 克隆上下文
+         * @return 克隆后的对象
+         * @throws Throwable 克隆时出现问题
+         */
+        Object clone(Object value, Context context) throws Throwable;
+    }
+
+    /**
+     * 逐个字段复制的克隆策略
+     */
+    private static final class FieldCloner implements ObjectCloner {
+
+        private final MethodHandle allocator;
+
+        /**
+         * 基本类型字段的复制句柄，类型为 (Object target, Object source)void
+         */
+        private final MethodHandle[] primitives;
+
+        private final MethodHandle[] getters;
+
+        private final MethodHandle[] setters;
+
+        FieldCloner(Class<?> type) {
+            this(instantiator(type), ClassUtil.fields(type, true));
+        }
+
+        /**
+         * @param allocator 创建对象的句柄，类型为 ()Object
+         * @param fields    需要复制的字段，静态字段会被忽略
+         */
+        FieldCloner(MethodHandle allocator, List<Field> fields) {
+            this.allocator = allocator;
+            List<MethodHandle> primitives = new ArrayList<>();
+            List<MethodHandle> getters = new ArrayList<>();
+            List<MethodHandle> setters = new ArrayList<>();
+            for (Field field : fields) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                MethodHandle getter = PropertyCopier.getter(field);
+                MethodHandle setter = PropertyCopier.setter(field);
+                if (field.getType().isPrimitive()) {
+                    primitives.add(MethodHandles.collectArguments(setter, 1, getter).asType(SETTER_TYPE));
+                } else {
+                    getters.add(getter.asType(GETTER_TYPE));
+                    setters.add(setter.asType(SETTER_TYPE));
+                }
+            }
+            this.primitives = primitives.toArray(new MethodHandle[0]);
+            this.getters = getters.toArray(new MethodHandle[0]);
+            this.setters = setters.toArray(new MethodHandle[0]);
+        }
+
+        private static MethodHandle instantiator(Class<?> type) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                throw new IllegalArgumentException("Cannot instantiate " + type.getName());
+            }
+            return PropertyCopier.instantiator(type);
+        }
+
+        @Override
+        public Object clone(Object value, Context context) throws Throwable {
+            Object copy = allocate();
+            context.register(value, copy);
+            copyFields(value, copy, context);
+            return copy;
+        }
+
+        Object allocate() throws Throwable {
+            return (Object) allocator.invokeExact();
+        }
+
+        void copyFields(Object value, Object copy, Context context) throws Throwable {
+            for (MethodHandle primitive : primitives) {
+                primitive.invokeExact(copy, value);
+            }
+            for (int i = 0; i < getters.length; i++) {
+                Object fieldValue = (Object) getters[i].invokeExact(value);
+                setters[i].invokeExact(copy, context.clone(fieldValue));
+            }
+        }
+    }
+
+    /**
+     * 继承jdk集合或Map的自定义类型的克隆策略，通过无参构造函数创建对象，复制子类自身声明的字段后逐个克隆其中的元素。
+     * 父类不是可以重建的jdk集合，或者无参构造函数创建的对象与原对象的排序规则不同时，通过java序列化克隆
+     */
+    private static final class SubclassCloner implements ObjectCloner {
+
+        private final FieldCloner fields;
+
+        private final FallbackCloner fallback;
+
+        SubclassCloner(Class<?> type) {
+            Class<?> base = type;
+            List<Field> declared = new ArrayList<>();
+            while (!base.getName().startsWith("java.")) {
+                for (Field field : base.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        declared.add(field);
+                    }
+                }
+                base = base.getSuperclass();
+            }
+            if (null == CollectionCloner.of(base) && null == MapCloner.of(base)) {
+                throw new IllegalArgumentException("Unsupported base type " + base.getName());
+            }
+            this.fields = new FieldCloner(PropertyCopier.constructor(type), declared);
+            this.fallback = new FallbackCloner(type);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object clone(Object value, Context context) throws Throwable {
+            Object copy = fields.allocate();
+            if (!Objects.equals(comparator(value), comparator(copy))) {
+                return fallback.clone(value, context);
+            }
+            context.register(value, copy);
+            fields.copyFields(value, copy, context);
+            if (copy instanceof Map) {
+                Map<Object, Object> map = (Map<Object, Object>) copy;
+                // 构造函数中添加的默认内容以原对象为准
+                map.clear();
+                for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                    map.put(context.clone(entry.getKey()), context.clone(entry.getValue()));
+                }
+            } else {
+                Collection<Object> collection = (Collection<Object>) copy;
+                collection.clear();
+                for (Object element : (Collection<Object>) value) {
+                    collection.add(context.clone(element));
+                }
+            }
+            return copy;
+        }
+
+        private static Object comparator(Object value) {
+            if (value instanceof SortedMap) {
+                return ((SortedMap<?, ?>) value).comparator();
+            } else if (value instanceof SortedSet) {
+                return ((SortedSet<?>) value).comparator();
+            } else if (value instanceof PriorityQueue) {
+                return ((PriorityQueue<?>) value).comparator();
+            } else if (value instanceof PriorityBlockingQueue) {
+                return ((PriorityBlockingQueue<?>) value).comparator();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * jdk中集合类型的克隆策略，克隆结果与原集合的类型以及排序规则相同
+     */
+    private static final class CollectionCloner implements ObjectCloner {
+
+        /**
+         * 通过公开无参构造函数即可完整重建的集合类型
+         */
+        private static final Set<Class<?>> PLAIN_TYPES = new HashSet<>(Arrays.asList(ArrayList.class, LinkedList.class,
+                HashSet.class, LinkedHashSet.class, ArrayDeque.class, Vector.class, Stack.class, CopyOnWriteArrayList.class,
+                CopyOnWriteArraySet.class, ConcurrentLinkedQueue.class, ConcurrentLinkedDeque.class));
+
+        private static final Class<?> ARRAYS_LIST = Arrays.asList().getClass();
+
+        /**
+         * 不可修改的视图类型，value为创建视图的方法与视图内部使用的集合的类型
+         */
+        private static final Map<Class<?>, Function<Collection<Object>, Collection<Object>>> VIEWS = new HashMap<>();
+
+        private static final Map<Class<?>, Class<?>> VIEW_DELEGATES = new HashMap<>();
+
+        static {
+            view(collection -> Collections.unmodifiableList((List<Object>) collection), ArrayList.class);
+            view(collection -> Collections.unmodifiableList((List<Object>) collection), LinkedList.class);
+            view(collection -> Collections.unmodifiableSet((Set<Object>) collection), LinkedHashSet.class);
+            view(Collections::unmodifiableCollection, ArrayList.class);
+        }
+
+        private final Class<?> type;
+
+        /**
+         * 根据原集合创建相同类型与配置的空集合
+         */
+        private final Function<Collection<Object>, Collection<Object>> factory;
+
+        /**
+         * 不可修改的视图的创建方法，不是视图类型时为null
+         */
+        private final Function<Collection<Object>, Collection<Object>> view;
+
+        private CollectionCloner(Class<?> type, Function<Collection<Object>, Collection<Object>> factory, Function<Collection<Object>, Collection<Object>> view) {
+            this.type = type;
+            this.factory = factory;
+            this.view = view;
+        }
+
+        /**
+         * 获取集合类型的克隆策略
+         *
+         * @param type 集合类型
+         * @return 克隆策略，无法保持原有的类型与配置时返回null
+         */
+        @SuppressWarnings("unchecked")
+        static CollectionCloner of(Class<?> type) {
+            if (EnumSet.class.isAssignableFrom(type) || type == ARRAYS_LIST) {
+                return new CollectionCloner(type, null, null);
+            }
+            if (type == TreeSet.class) {
+                return new CollectionCloner(type, source -> new TreeSet<>(((SortedSet<Object>) source).comparator()), null);
+            }
+            if (type == ConcurrentSkipListSet.class) {
+                return new CollectionCloner(type, source -> new ConcurrentSkipListSet<>(((SortedSet<Object>) source).comparator()), null);
+            }
+            if (type == PriorityQueue.class) {
+                return new CollectionCloner(type, source -> new PriorityQueue<>(Math.max(1, source.size()), ((PriorityQueue<Object>) source).comparator()), null);
+            }
+            if (type == PriorityBlockingQueue.class) {
+                return new CollectionCloner(type, source -> new PriorityBlockingQueue<>(Math.max(1, source.size()), ((PriorityBlockingQueue<Object>) source).comparator()), null);
+            }
+            if (VIEWS.containsKey(type)) {
+                MethodHandle constructor = publicConstructor(VIEW_DELEGATES.get(type));
+                return new CollectionCloner(type, source -> newInstance(constructor), VIEWS.get(type));
+            }
+            if (PLAIN_TYPES.contains(type)) {
+                MethodHandle constructor = publicConstructor(type);
+                return new CollectionCloner(type, source -> newInstance(constructor), null);
+            }
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object clone(Object value, Context context) throws Throwable {
+            Collection<Object> source = (Collection<Object>) value;
+            if (source instanceof EnumSet) {
+                Object copy = ((EnumSet) source).clone();
+                context.register(value, copy);
+                return copy;
+            }
+            if (type == ARRAYS_LIST) {
+                Object[] elements = new Object[source.size()];
+                List<Object> copy = Arrays.asList(elements);
+                context.register(value, copy);
+                int index = 0;
+                for (Object element : source) {
+                    elements[index++] = context.clone(element);
+                }
+                return copy;
+            }
+            Collection<Object> copy = factory.apply(source);
+            // 不可修改的视图先注册视图本身，再向视图内部的集合中添加元素
+            Collection<Object> result = null == view ? copy : view.apply(copy);
+            context.register(value, result);
+            for (Object element : source) {
+                copy.add(context.clone(element));
+            }
+            return result;
+        }
+
+        private static void view(Function<Collection<Object>, Collection<Object>> view, Class<?> delegate) {
+            Class<?> type = view.apply(newInstance(publicConstructor(delegate))).getClass();
+            VIEWS.put(type, view);
+            VIEW_DELEGATES.put(type, delegate);
+        }
+    }
+
+    /**
+     * jdk中Map类型的克隆策略，克隆结果与原Map的类型、排序规则以及访问顺序相同
+     */
+    private static final class MapCloner implements ObjectCloner {
+
+        /**
+         * 通过公开无参构造函数即可完整重建的Map类型
+         */
+        private static final Set<Class<?>> PLAIN_TYPES = new HashSet<>(Arrays.asList(HashMap.class, Hashtable.class,
+                IdentityHashMap.class, WeakHashMap.class, ConcurrentHashMap.class));
+
+        private static final Class<?> UNMODIFIABLE_MAP = Collections.unmodifiableMap(new HashMap<>()).getClass();
+
+        private final Class<?> type;
+
+        private final MethodHandle factory;
+
+        private MapCloner(Class<?> type, MethodHandle factory) {
+            this.type = type;
+            this.factory = factory;
+        }
+
+        /**
+         * 获取Map类型的克隆策略
+         *
+         * @param type Map类型
+         * @return 克隆策略，无法保持原有的类型与配置时返回null
+         */
+        static MapCloner of(Class<?> type) {
+            if (type == TreeMap.class || type == ConcurrentSkipListMap.class || type == LinkedHashMap.class
+                    || type == UNMODIFIABLE_MAP || type == EnumMap.class) {
+                return new MapCloner(type, null);
+            }
+            return PLAIN_TYPES.contains(type) ? new MapCloner(type, publicConstructor(type)) : null;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object clone(Object value, Context context) throws Throwable {
+            Map<Object, Object> source = (Map<Object, Object>) value;
+            Map<Object, Object> copy;
+            Object result = null;
+            if (type == TreeMap.class) {
+                copy = new TreeMap<>(((SortedMap<Object, Object>) source).comparator());
+            } else if (type == ConcurrentSkipListMap.class) {
+                copy = new ConcurrentSkipListMap<>(((SortedMap<Object, Object>) source).comparator());
+            } else if (type == LinkedHashMap.class) {
+                // LinkedHashMap没有公开访问顺序的设置，通过clone保留访问顺序后再清空
+                copy = (Map<Object, Object>) ((LinkedHashMap<Object, Object>) source).clone();
+                copy.clear();
+            } else if (type == UNMODIFIABLE_MAP) {
+                copy = new LinkedHashMap<>(source.size() * 4 / 3 + 1);
+                result = Collections.unmodifiableMap(copy);
+            } else if (source instanceof EnumMap) {
+                copy = new EnumMap((EnumMap) source);
+            } else {
+                copy = (Map<Object, Object>) (Object) factory.invokeExact();
+            }
+            if (null == result) {
+                result = copy;
+            }
+            context.register(value, result);
+            for (Map.Entry<Object, Object> entry : source.entrySet()) {
+                copy.put(context.clone(entry.getKey()), context.clone(entry.getValue()));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 无法逐个字段复制时的克隆策略，使用java序列化。对象自身的clone方法通常是浅克隆，因此不会使用
+     */
+    private static final class FallbackCloner implements ObjectCloner {
+
+        private final Class<?> type;
+
+        FallbackCloner(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object clone(Object value, Context context) throws Throwable {
+            if (!(value instanceof Serializable)) {
+                throw new UncheckedException("无法克隆对象，对象类型：" + type.getName());
+            }
+            Object copy = serializeClone(value);
+            context.register(value, copy);
+            return copy;
+        }
+
+        private static Object serializeClone(Object value) throws Exception {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+                return ois.readObject();
+            }
+        }
+    }
+
+    /**
+     * 获取jdk集合类型的公开无参构造函数，不存在时返回null
+     */
+    private static MethodHandle publicConstructor(Class<?> type) {
+        try {
+            return MethodHandles.publicLookup().findConstructor(type, MethodType.methodType(void.class)).asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> newInstance(MethodHandle constructor) {
+        try {
+            return (Collection<Object>) (Object) constructor.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UncheckedException(e.getMessage(), e);
+        }
+    }
+}
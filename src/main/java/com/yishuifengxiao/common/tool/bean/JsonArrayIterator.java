@@ -0,0 +1,126 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>
+ * json数组的惰性迭代器
+ * </p>
+ * 基于jackson的 {@link JsonParser} 逐个读取顶层json数组中的元素，每次只在内存中保留一个元素，
+ * 适用于读取体积很大的json文件。迭代结束、出现异常或者调用 {@link #close()} 时会关闭底层的解析器与数据源。
+ *
+ * @param <T> 数组元素的类型
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+    private final JsonParser parser;
+
+    private final ObjectReader reader;
+
+    /**
+     * 是否已经读取了下一个元素的起始标记
+     */
+    private boolean ready;
+
+    private boolean finished;
+
+    /**
+     * 构造一个json数组的惰性迭代器
+     *
+     * @param parser json解析器，当前位置必须位于顶层数组之前
+     * @param reader 读取数组元素使用的ObjectReader
+     * @throws UncheckedException 数据不是以json数组开始
+     */
+    JsonArrayIterator(JsonParser parser, ObjectReader reader) {
+        this.parser = parser;
+        this.reader = reader;
+        try {
+            JsonToken token = parser.nextToken();
+            if (JsonToken.START_ARRAY != token) {
+                throw new UncheckedException("json数据不是以数组开始，实际为：" + token);
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedException("读取json数组时出现问题：" + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+        if (!ready) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (null == token || JsonToken.END_ARRAY == token) {
+                    close();
+                    return false;
+                }
+                ready = true;
+            } catch (IOException e) {
+                close();
+                throw new UncheckedException("读取json数组时出现问题：" + e.getMessage(), e);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        try {
+            return reader.readValue(parser);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw new UncheckedException("读取json数组元素时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 将迭代器转换为顺序流，关闭流时会关闭迭代器
+     *
+     * @return 顺序流
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false).onClose(this::close);
+    }
+
+    /**
+     * 关闭底层的解析器与数据源，可以重复调用
+     */
+    @Override
+    public void close() {
+        finished = true;
+        try {
+            parser.close();
+        } catch (IOException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("关闭json解析器时出现问题：{}", e.getMessage(), e);
+            }
+        }
+    }
+}
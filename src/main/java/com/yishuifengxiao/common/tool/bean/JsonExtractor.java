@@ -0,0 +1,108 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.jayway.jsonpath.DocumentContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * <p>
+ * json数据提取器
+ * </p>
+ * 提取器创建时只解析一次json文档，之后可以根据多个json提取表达式从同一个文档中提取内容，
+ * 避免 {@link JsonUtil#extract(String, String)} 每次调用都重新解析整个文档。提取表达式使用 {@link JsonUtil} 中的编译缓存。
+ *
+ * <pre>
+ * {@code
+ * JsonExtractor extractor = JsonUtil.extractor(json);
+ * String author = extractor.extract("$.store.book[0].author");
+ * Map<String, Object> values = extractor.extractAll("$.store.bicycle.color", "$.store.book.length()");
+ * }
+ * </pre>
+ * 提取器不是线程安全的。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class JsonExtractor {
+
+    private final DocumentContext document;
+
+    JsonExtractor(DocumentContext document) {
+        this.document = document;
+    }
+
+    /**
+     * 根据json提取表达式提取内容
+     *
+     * @param <T>      java对象类型
+     * @param jsonPath 提取表达式
+     * @return 提取出来的内容，表达式错误或者不存在对应的内容时返回null
+     */
+    public <T> T extract(String jsonPath) {
+        if (null == document) {
+            return null;
+        }
+        try {
+            return document.read(JsonUtil.compile(jsonPath));
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("There was a problem extracting data based on expression {}. The problem is {}", jsonPath, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 根据json提取表达式提取内容,并将提取的内容转换为JAVA对象
+     *
+     * @param <T>      java对象类型
+     * @param jsonPath 提取表达式
+     * @param clazz    待转换的java对象
+     * @return 转换后的java对象
+     */
+    public <T> T extract(String jsonPath, Class<T> clazz) {
+        return JsonUtil.convert(extract(jsonPath), clazz);
+    }
+
+    /**
+     * 根据json提取表达式提取内容,并将提取的内容转换为JAVA对象集合
+     *
+     * @param <T>      java对象类型
+     * @param jsonPath 提取表达式
+     * @param clazz    待转换的java对象
+     * @return 转换后的java对象集合
+     */
+    public <T> List<T> extractList(String jsonPath, Class<T> clazz) {
+        return JsonUtil.convertList(extract(jsonPath), clazz);
+    }
+
+    /**
+     * 根据多个json提取表达式一次提取所有的内容
+     *
+     * @param jsonPaths 提取表达式
+     * @return 提取表达式与提取出来的内容，顺序与表达式的顺序一致，无法提取的表达式对应的值为null
+     */
+    public Map<String, Object> extractAll(String... jsonPaths) {
+        return null == jsonPaths ? new LinkedHashMap<>() : extractAll(Arrays.asList(jsonPaths));
+    }
+
+    /**
+     * 根据多个json提取表达式一次提取所有的内容
+     *
+     * @param jsonPaths 提取表达式
+     * @return 提取表达式与提取出来的内容，顺序与表达式的顺序一致，无法提取的表达式对应的值为null
+     */
+    public Map<String, Object> extractAll(Collection<String> jsonPaths) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (null == jsonPaths) {
+            return result;
+        }
+        for (String jsonPath : jsonPaths) {
+            result.put(jsonPath, extract(jsonPath));
+        }
+        return result;
+    }
+}
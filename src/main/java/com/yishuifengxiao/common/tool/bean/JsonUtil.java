@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -19,10 +20,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * <p>json转换提取工具</p>
@@ -442,6 +451,11 @@ public final class JsonUtil {
      */
     static ObjectMapper default_mapper = new ObjectMapper();
 
+    /**
+     * 构建ObjectReader与ObjectWriter缓存时使用的ObjectMapper，default_mapper被替换后不再使用缓存
+     */
+    private static final ObjectMapper cached_mapper = default_mapper;
+
     /**
      * ObjectMapper with @class
      */
@@ -452,6 +466,35 @@ public final class JsonUtil {
      */
     private static ObjectMapper none_null_mapper = null;
 
+    /**
+     * 按类型缓存的ObjectReader，下标0忽略未知属性，下标1遇到未知属性时抛出异常
+     */
+    private static final ClassCache<ObjectReader[]> READER_CACHE = new ClassCache<>("JsonUtil.reader",
+            type -> readers(default_mapper.readerFor(type)));
+
+    /**
+     * 按元素类型缓存的List的ObjectReader，下标含义与 READER_CACHE 相同
+     */
+    private static final ClassCache<ObjectReader[]> LIST_READER_CACHE = new ClassCache<>("JsonUtil.listReader",
+            type -> readers(default_mapper.readerFor(default_mapper.getTypeFactory().constructCollectionType(List.class, type))));
+
+    /**
+     * 按类型缓存的ObjectWriter，下标0不包含空值，下标1包含空值
+     */
+    private static final ClassCache<ObjectWriter[]> WRITER_CACHE = new ClassCache<>("JsonUtil.writer",
+            type -> new ObjectWriter[]{none_null_mapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET),
+                    default_mapper.writerFor(type).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)});
+
+    /**
+     * 编译后的json提取表达式的最大缓存数量
+     */
+    private static final int PATH_CACHE_SIZE = 512;
+
+    /**
+     * 编译后的json提取表达式缓存，命中时不加锁
+     */
+    private static final Map<String, JsonPath> PATH_CACHE = new ConcurrentHashMap<>(64);
+
 
     static {
         try {
@@ -548,10 +591,8 @@ public final class JsonUtil {
         }
         try {
             String trimmedJson = json.trim();
-            // 创建一个临时的ObjectMapper，配置为在遇到未知字段时抛出异常
-            ObjectMapper tempMapper = default_mapper.copy();
-            tempMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknownProperties);
-            return tempMapper.readValue(trimmedJson, clazz);
+            // 使用按类型缓存的ObjectReader，不再为每次调用复制ObjectMapper
+            return reader(clazz, failOnUnknownProperties).readValue(trimmedJson);
         } catch (JsonProcessingException e) {
             // 记录警告级别日志，包含完整的异常堆栈
             log.warn("Failed to convert JSON string to Java object: clazz={}, error={}",
@@ -592,13 +633,8 @@ public final class JsonUtil {
 
         try {
             String trimmedJson = json.trim();
-            // 创建一个临时的ObjectMapper，根据failOnUnknownProperties参数配置反序列化行为
-            ObjectMapper tempMapper = default_mapper.copy();
-            tempMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknownProperties);
-
-            // 使用TypeFactory构造包含具体类型的JavaType，避免泛型类型擦除问题
-            JavaType javaType = tempMapper.getTypeFactory().constructCollectionType(List.class, clazz);
-            return tempMapper.readValue(trimmedJson, javaType);
+            // 使用按元素类型缓存的ObjectReader，根据failOnUnknownProperties参数选择反序列化行为
+            return listReader(clazz, failOnUnknownProperties).readValue(trimmedJson);
         } catch (Exception e) {
             if (log.isDebugEnabled()) {
                 log.debug("There was a problem converting the string {} to the {} List, the " +
@@ -665,7 +701,7 @@ public final class JsonUtil {
             return null;
         }
         try {
-            return JsonPath.read(json.trim(), jsonPath);
+            return compile(jsonPath).read(json.trim());
         } catch (Exception e) {
 
             if (log.isDebugEnabled()) {
@@ -692,7 +728,18 @@ public final class JsonUtil {
             throw new IllegalArgumentException("参数不能为空: json=" + json + ", jsonPath=" + jsonPath + ", clazz=" + clazz);
         }
 
-        Object data = extract(json, jsonPath);
+        return convert(extract(json, jsonPath), clazz);
+    }
+
+    /**
+     * 将提取出来的内容转换为JAVA对象
+     *
+     * @param <T>   java对象类型
+     * @param data  提取出来的内容
+     * @param clazz 待转换的java对象
+     * @return 转换后的java对象
+     */
+    static <T> T convert(Object data, Class<T> clazz) {
         if (null == data) {
             return null;
         }
@@ -728,7 +775,18 @@ public final class JsonUtil {
             return null;
         }
 
-        Object data = extract(json, jsonPath);
+        return convertList(extract(json, jsonPath), clazz);
+    }
+
+    /**
+     * 将提取出来的内容转换为JAVA对象集合
+     *
+     * @param <T>   java对象类型
+     * @param data  提取出来的内容
+     * @param clazz 待转换的java对象
+     * @return 转换后的java对象集合
+     */
+    static <T> List<T> convertList(Object data, Class<T> clazz) {
         if (null == data) {
             return null;
         }
@@ -743,6 +801,51 @@ public final class JsonUtil {
         }
     }
 
+    /**
+     * <p>
+     * 解析json格式的字符串并返回数据提取器
+     * </p>
+     * 需要从同一个json字符串中提取多个内容时，使用提取器只需要解析一次文档
+     *
+     * @param json json格式的字符串
+     * @return 数据提取器，json为空或者格式错误时提取器的所有提取结果都为null
+     */
+    public static JsonExtractor extractor(String json) {
+        if (StringUtils.isBlank(json)) {
+            return new JsonExtractor(null);
+        }
+        try {
+            return new JsonExtractor(JsonPath.parse(json.trim()));
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("There was a problem parsing string {}. The problem is {}", json, e.getMessage());
+            }
+            return new JsonExtractor(null);
+        }
+    }
+
+    /**
+     * 获取编译后的json提取表达式，编译结果会被缓存，缓存满时随机淘汰一个表达式
+     *
+     * @param jsonPath json提取表达式
+     * @return 编译后的json提取表达式
+     */
+    static JsonPath compile(String jsonPath) {
+        JsonPath path = PATH_CACHE.get(jsonPath);
+        if (null != path) {
+            return path;
+        }
+        if (PATH_CACHE.size() >= PATH_CACHE_SIZE) {
+            Iterator<String> iterator = PATH_CACHE.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        // 同一个表达式只编译一次
+        return PATH_CACHE.computeIfAbsent(jsonPath, JsonPath::compile);
+    }
+
 
     /**
      * 将json格式的字符串转换为map对象
@@ -774,6 +877,253 @@ public final class JsonUtil {
     }
 
 
+    /**
+     * 从输入流中读取json数据并转为JAVA对象，读取完成后会关闭输入流
+     *
+     * @param <T>   JAVA对象类型
+     * @param in    json数据的输入流
+     * @param clazz JAVA对象
+     * @return 转换后的JAVA对象
+     * @throws UncheckedException 读取或者转换时出现问题
+     */
+    public static <T> T stream2Bean(InputStream in, Class<T> clazz) {
+        return stream2Bean(in, clazz, true);
+    }
+
+    /**
+     * 从输入流中读取json数据并转为JAVA对象，读取完成后会关闭输入流
+     * <p>
+     * 与 {@link #str2Bean(String, Class, boolean)} 不同，数据不会先被读取为字符串
+     * </p>
+     *
+     * @param <T>                     JAVA对象类型
+     * @param in                      json数据的输入流
+     * @param clazz                   JAVA对象
+     * @param failOnUnknownProperties 当为true时，如果json中包含目标类中不存在的属性则抛出异常；false时忽略未知属性
+     * @return 转换后的JAVA对象
+     * @throws UncheckedException 读取或者转换时出现问题
+     */
+    public static <T> T stream2Bean(InputStream in, Class<T> clazz, boolean failOnUnknownProperties) {
+        try {
+            return reader(clazz, failOnUnknownProperties).readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to read JSON stream to " + clazz.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从字符流中读取json数据并转为JAVA对象，读取完成后会关闭字符流
+     *
+     * @param <T>    JAVA对象类型
+     * @param reader json数据的字符流
+     * @param clazz  JAVA对象
+     * @return 转换后的JAVA对象
+     * @throws UncheckedException 读取或者转换时出现问题
+     */
+    public static <T> T stream2Bean(Reader reader, Class<T> clazz) {
+        try {
+            return reader(clazz, true).readValue(reader);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to read JSON stream to " + clazz.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从文件中读取json数据并转为JAVA对象
+     *
+     * @param <T>   JAVA对象类型
+     * @param path  json文件的路径
+     * @param clazz JAVA对象
+     * @return 转换后的JAVA对象
+     * @throws UncheckedException 读取或者转换时出现问题
+     */
+    public static <T> T stream2Bean(Path path, Class<T> clazz) {
+        try {
+            return stream2Bean(Files.newInputStream(path), clazz);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to open JSON file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从输入流中读取json对象并转换为map对象，读取完成后会关闭输入流
+     *
+     * @param in json数据的输入流
+     * @return 转换后的map对象
+     * @throws UncheckedException 读取或者转换时出现问题
+     */
+    public static Map<String, Object> stream2Map(InputStream in) {
+        try {
+            return default_mapper.readerFor(new TypeReference<Map<String, Object>>() {
+            }).readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to read JSON stream to map: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * <p>
+     * 获取输入流中顶层json数组的惰性迭代器
+     * </p>
+     * 元素在迭代时才会被逐个解析，内存占用与数组的大小无关。迭代结束后会自动关闭输入流，
+     * 提前结束迭代时需要调用 {@link JsonArrayIterator#close()}。
+     *
+     * <pre>
+     * {@code
+     * try (JsonArrayIterator<User> users = JsonUtil.iterator(in, User.class)) {
+     *     while (users.hasNext()) {
+     *         User user = users.next();
+     *     }
+     * }
+     * }
+     * </pre>
+     *
+     * @param <T>   数组元素的类型
+     * @param in    json数据的输入流
+     * @param clazz 数组元素的类型
+     * @return json数组的惰性迭代器
+     * @throws UncheckedException 读取时出现问题或者数据不是json数组
+     */
+    public static <T> JsonArrayIterator<T> iterator(InputStream in, Class<T> clazz) {
+        return iterator(in, clazz, true);
+    }
+
+    /**
+     * 获取输入流中顶层json数组的惰性迭代器
+     *
+     * @param <T>                     数组元素的类型
+     * @param in                      json数据的输入流
+     * @param clazz                   数组元素的类型
+     * @param failOnUnknownProperties 当为true时，如果json中包含目标类中不存在的属性则抛出异常；false时忽略未知属性
+     * @return json数组的惰性迭代器
+     * @throws UncheckedException 读取时出现问题或者数据不是json数组
+     */
+    public static <T> JsonArrayIterator<T> iterator(InputStream in, Class<T> clazz, boolean failOnUnknownProperties) {
+        ObjectReader reader = reader(clazz, failOnUnknownProperties);
+        try {
+            return new JsonArrayIterator<>(reader.createParser(in), reader);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to read JSON array: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取字符流中顶层json数组的惰性迭代器
+     *
+     * @param <T>    数组元素的类型
+     * @param reader json数据的字符流
+     * @param clazz  数组元素的类型
+     * @return json数组的惰性迭代器
+     * @throws UncheckedException 读取时出现问题或者数据不是json数组
+     */
+    public static <T> JsonArrayIterator<T> iterator(Reader reader, Class<T> clazz) {
+        ObjectReader objectReader = reader(clazz, true);
+        try {
+            return new JsonArrayIterator<>(objectReader.createParser(reader), objectReader);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to read JSON array: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取json文件中顶层json数组的惰性迭代器
+     *
+     * @param <T>   数组元素的类型
+     * @param path  json文件的路径
+     * @param clazz 数组元素的类型
+     * @return json数组的惰性迭代器
+     * @throws UncheckedException 读取时出现问题或者数据不是json数组
+     */
+    public static <T> JsonArrayIterator<T> iterator(Path path, Class<T> clazz) {
+        try {
+            return iterator(Files.newInputStream(path), clazz);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to open JSON file " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取输入流中顶层json数组元素的惰性顺序流，使用完后需要关闭流
+     *
+     * @param <T>   数组元素的类型
+     * @param in    json数据的输入流
+     * @param clazz 数组元素的类型
+     * @return 数组元素的顺序流
+     * @throws UncheckedException 读取时出现问题或者数据不是json数组
+     */
+    public static <T> Stream<T> stream(InputStream in, Class<T> clazz) {
+        return iterator(in, clazz).stream();
+    }
+
+    /**
+     * 获取json文件中顶层json数组元素的惰性顺序流，使用完后需要关闭流
+     *
+     * <pre>
+     * {@code
+     * try (Stream<User> users = JsonUtil.stream(path, User.class)) {
+     *     users.filter(User::isActive).forEach(repository::save);
+     * }
+     * }
+     * </pre>
+     *
+     * @param <T>   数组元素的类型
+     * @param path  json文件的路径
+     * @param clazz 数组元素的类型
+     * @return 数组元素的顺序流
+     * @throws UncheckedException 读取时出现问题或者数据不是json数组
+     */
+    public static <T> Stream<T> stream(Path path, Class<T> clazz) {
+        return iterator(path, clazz).stream();
+    }
+
+    /**
+     * 获取指定类型的ObjectReader，ObjectReader是不可变的，按类型缓存后可以在线程间共享
+     *
+     * @param clazz                   目标类型
+     * @param failOnUnknownProperties 遇到未知属性时是否抛出异常
+     * @return ObjectReader
+     */
+    static ObjectReader reader(Class<?> clazz, boolean failOnUnknownProperties) {
+        if (default_mapper != cached_mapper) {
+            return readers(default_mapper.readerFor(clazz))[failOnUnknownProperties ? 1 : 0];
+        }
+        return READER_CACHE.get(clazz)[failOnUnknownProperties ? 1 : 0];
+    }
+
+    /**
+     * 获取指定元素类型的List的ObjectReader
+     *
+     * @param clazz                   元素类型
+     * @param failOnUnknownProperties 遇到未知属性时是否抛出异常
+     * @return ObjectReader
+     */
+    static ObjectReader listReader(Class<?> clazz, boolean failOnUnknownProperties) {
+        if (default_mapper != cached_mapper) {
+            return readers(default_mapper.readerFor(default_mapper.getTypeFactory().constructCollectionType(List.class, clazz)))[failOnUnknownProperties ? 1 : 0];
+        }
+        return LIST_READER_CACHE.get(clazz)[failOnUnknownProperties ? 1 : 0];
+    }
+
+    /**
+     * 获取指定类型的ObjectWriter，写入输出流后不会关闭输出流
+     *
+     * @param clazz       待序列化的类型
+     * @param includeNull 是否包含空值
+     * @return ObjectWriter，default_mapper被替换后返回null
+     */
+    static ObjectWriter writer(Class<?> clazz, boolean includeNull) {
+        if (default_mapper != cached_mapper) {
+            return null;
+        }
+        return WRITER_CACHE.get(clazz)[includeNull ? 1 : 0];
+    }
+
+    private static ObjectReader[] readers(ObjectReader reader) {
+        return new ObjectReader[]{reader.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES),
+                reader.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)};
+    }
+
+
     /**
      * 判断字符串是否为json对象格式
      *
@@ -874,7 +1224,8 @@ public final class JsonUtil {
             if (value == null) {
                 return null;
             }
-            return mapper.writeValueAsString(value);
+            ObjectWriter writer = writer(value.getClass(), includeNull);
+            return null == writer ? mapper.writeValueAsString(value) : writer.writeValueAsString(value);
         } catch (JsonProcessingException e) {
             log.error("There was a problem converting data {} to a JSON format string", value, e);
             if (log.isDebugEnabled()) {
@@ -884,6 +1235,67 @@ public final class JsonUtil {
         }
     }
 
+    /**
+     * 将对象转换为json格式的UTF-8字节数组，不生成中间的字符串
+     *
+     * @param value 待转换的数据
+     * @return json格式的字节数组
+     */
+    public static byte[] toJSONBytes(Object value) {
+        return toJSONBytes(true, value);
+    }
+
+    /**
+     * 将对象转换为json格式的UTF-8字节数组，不生成中间的字符串
+     *
+     * @param includeNull 是否包含空值
+     * @param value       待转换的数据
+     * @return json格式的字节数组
+     */
+    public static byte[] toJSONBytes(boolean includeNull, Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            ObjectWriter writer = writer(value.getClass(), includeNull);
+            return null == writer ? (includeNull ? default_mapper : none_null_mapper).writeValueAsBytes(value) : writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            log.error("There was a problem converting data {} to JSON format bytes", value, e);
+            return null;
+        }
+    }
+
+    /**
+     * 将对象以json格式写入输出流，写入完成后不会关闭输出流
+     *
+     * @param out   输出流
+     * @param value 待转换的数据，为null时写入 null
+     * @throws UncheckedException 写入时出现问题
+     */
+    public static void writeTo(OutputStream out, Object value) {
+        writeTo(true, out, value);
+    }
+
+    /**
+     * 将对象以json格式写入输出流，写入完成后不会关闭输出流
+     *
+     * @param includeNull 是否包含空值
+     * @param out         输出流
+     * @param value       待转换的数据，为null时写入 null
+     * @throws UncheckedException 写入时出现问题
+     */
+    public static void writeTo(boolean includeNull, OutputStream out, Object value) {
+        try {
+            ObjectWriter writer = writer(null == value ? Object.class : value.getClass(), includeNull);
+            if (null == writer) {
+                writer = (includeNull ? default_mapper : none_null_mapper).writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            }
+            writer.writeValue(out, value);
+        } catch (IOException e) {
+            throw new UncheckedException("Failed to write object as JSON to output stream", e);
+        }
+    }
+
 
     /**
      * Factory method for constructing ObjectWriter that will serialize objects using the default
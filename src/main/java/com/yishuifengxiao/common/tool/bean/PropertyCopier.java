@@ -0,0 +1,272 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>
+ * 单个属性的复制步骤
+ * </p>
+ * 由 {@link BeanCopier} 与 {@link CopyPlan} 在构建时生成，所有字段访问句柄与转换器都在构建时确定，
+ * 复制时只按顺序调用这些句柄。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+final class PropertyCopier {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+    private static final MethodHandle[] EMPTY = new MethodHandle[0];
+
+    private static final MethodHandle FIELD_GET;
+
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            FIELD_GET = lookup.findVirtual(Field.class, "get", GETTER_TYPE);
+            FIELD_SET = lookup.findVirtual(Field.class, "set", SETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    final String name;
+
+    /**
+     * 源字段与目标字段为同一基本类型时使用的句柄，类型为 (Object target, Object source)void
+     */
+    private final MethodHandle direct;
+
+    /**
+     * 依次读取源属性路径上每一级的值
+     */
+    private final MethodHandle[] readers;
+
+    /**
+     * 目标属性路径上的中间对象的读取句柄、写入句柄与创建句柄
+     */
+    private final MethodHandle[] parentGetters;
+
+    private final MethodHandle[] parentSetters;
+
+    private final MethodHandle[] parentFactories;
+
+    private final MethodHandle writer;
+
+    private final Converter<Object, Object> converter;
+
+    private PropertyCopier(String name, MethodHandle direct, MethodHandle[] readers, MethodHandle[] parentGetters,
+                           MethodHandle[] parentSetters, MethodHandle[] parentFactories, MethodHandle writer,
+                           Converter<Object, Object> converter) {
+        this.name = name;
+        this.direct = direct;
+        this.readers = readers;
+        this.parentGetters = parentGetters;
+        this.parentSetters = parentSetters;
+        this.parentFactories = parentFactories;
+        this.writer = writer;
+        this.converter = converter;
+    }
+
+    /**
+     * 生成同名字段之间的复制步骤
+     *
+     * @param sourceField 源字段
+     * @param targetField 目标字段
+     * @param converter   转换器，为null表示直接赋值
+     * @return 复制步骤
+     */
+    static PropertyCopier of(Field sourceField, Field targetField, Converter<Object, Object> converter) {
+        MethodHandle getter = getter(sourceField);
+        MethodHandle setter = setter(targetField);
+        if (null == converter && sourceField.getType().isPrimitive() && sourceField.getType() == targetField.getType()) {
+            // 基本类型之间直接传递，避免装箱
+            MethodHandle direct = MethodHandles.collectArguments(setter, 1, getter).asType(SETTER_TYPE);
+            return new PropertyCopier(targetField.getName(), direct, null, null, null, null, null, null);
+        }
+        return new PropertyCopier(targetField.getName(), null, new MethodHandle[]{getter.asType(GETTER_TYPE)}, EMPTY, EMPTY, EMPTY, setter.asType(SETTER_TYPE), converter);
+    }
+
+    /**
+     * 生成属性路径之间的复制步骤
+     *
+     * @param name         目标属性路径
+     * @param sourcePath   源属性路径上的字段
+     * @param targetPath   目标属性路径上的字段
+     * @param converter    转换器，为null表示直接赋值
+     * @return 复制步骤
+     */
+    static PropertyCopier of(String name, Field[] sourcePath, Field[] targetPath, Converter<Object, Object> converter) {
+        if (sourcePath.length == 1 && targetPath.length == 1) {
+            return of(sourcePath[0], targetPath[0], converter);
+        }
+        MethodHandle[] readers = new MethodHandle[sourcePath.length];
+        for (int i = 0; i < sourcePath.length; i++) {
+            readers[i] = getter(sourcePath[i]).asType(GETTER_TYPE);
+        }
+        int depth = targetPath.length - 1;
+        MethodHandle[] parentGetters = new MethodHandle[depth];
+        MethodHandle[] parentSetters = new MethodHandle[depth];
+        MethodHandle[] parentFactories = new MethodHandle[depth];
+        for (int i = 0; i < depth; i++) {
+            parentGetters[i] = getter(targetPath[i]).asType(GETTER_TYPE);
+            parentSetters[i] = setter(targetPath[i]).asType(SETTER_TYPE);
+            parentFactories[i] = constructor(targetPath[i].getType());
+        }
+        return new PropertyCopier(name, null, readers, parentGetters, parentSetters, parentFactories, setter(targetPath[depth]).asType(SETTER_TYPE), converter);
+    }
+
+    /**
+     * 执行复制
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     * @throws Throwable 读写字段或转换时出现问题
+     */
+    void copy(Object source, Object target) throws Throwable {
+        if (null != direct) {
+            direct.invokeExact(target, source);
+            return;
+        }
+        Object value = source;
+        for (MethodHandle reader : readers) {
+            value = (Object) reader.invokeExact(value);
+            if (null == value) {
+                return;
+            }
+        }
+        if (null != converter) {
+            value = converter.convert(value);
+            if (null == value) {
+                return;
+            }
+        }
+        Object owner = target;
+        for (int i = 0; i < parentGetters.length; i++) {
+            Object next = (Object) parentGetters[i].invokeExact(owner);
+            if (null == next) {
+                next = (Object) parentFactories[i].invokeExact();
+                parentSetters[i].invokeExact(owner, next);
+            }
+            owner = next;
+        }
+        writer.invokeExact(owner, value);
+    }
+
+    /**
+     * 生成读取字段的句柄，类型为 (Object)字段类型
+     *
+     * @param field 字段
+     * @return 读取字段的句柄
+     */
+    static MethodHandle getter(Field field) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            return FIELD_GET.bindTo(field).asType(MethodType.methodType(field.getType(), Object.class));
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(handle.type().changeParameterType(0, Object.class));
+    }
+
+    /**
+     * 生成写入字段的句柄，类型为 (Object, 字段类型)void
+     *
+     * @param field 字段
+     * @return 写入字段的句柄
+     */
+    static MethodHandle setter(Field field) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            return FIELD_SET.bindTo(field).asType(MethodType.methodType(void.class, Object.class, field.getType()));
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asType(handle.type().changeParameterType(0, Object.class));
+    }
+
+    /**
+     * 生成调用无参构造函数的句柄，类型为 ()Object
+     *
+     * @param type 待创建的类型
+     * @return 调用无参构造函数的句柄
+     * @throws IllegalArgumentException 该类型没有可用的无参构造函数
+     */
+    static MethodHandle constructor(Class<?> type) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(FACTORY_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("No usable no-arg constructor for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * 生成创建对象的句柄，类型为 ()Object，不会调用该类型自身的构造函数
+     *
+     * @param type 待创建的类型
+     * @return 创建对象的句柄
+     * @throws IllegalArgumentException 无法创建该类型的对象
+     */
+    static MethodHandle instantiator(Class<?> type) {
+        MethodHandle handle = serializationConstructor(type);
+        if (null == handle) {
+            handle = constructor(type);
+        }
+        return handle;
+    }
+
+    /**
+     * 通过 ReflectionFactory 生成跳过构造函数的实例化句柄，与java反序列化创建对象的方式相同
+     */
+    private static MethodHandle serializationConstructor(Class<?> type) {
+        try {
+            Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            Object factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            Method method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            Constructor<?> constructor = (Constructor<?>) method.invoke(factory, type, Object.class.getDeclaredConstructor());
+            constructor.setAccessible(true);
+            // 该构造函数声明在父类中，不能通过unreflectConstructor转换为句柄，只能通过newInstance调用
+            MethodHandle newInstance = MethodHandles.lookup().findVirtual(Constructor.class, "newInstance", MethodType.methodType(Object.class, Object[].class));
+            return MethodHandles.insertArguments(newInstance.bindTo(constructor), 0, (Object) new Object[0]);
+        } catch (Exception | LinkageError e) {
+            if (log.isTraceEnabled()) {
+                log.trace("无法为类型{}生成跳过构造函数的实例化句柄", type.getName(), e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 获取基本类型对应的包装类型
+     *
+     * @param type 类型
+     * @return 基本类型对应的包装类型，非基本类型原样返回
+     */
+    static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+}
@@ -4,11 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.crypto.Cipher;
-import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
 import java.util.Base64;
 
 /**
@@ -16,6 +13,7 @@ import java.util.Base64;
  * AES加密工具
  * </p>
  * <p>基于DES加解密实现的加密工具，该工具可以进行可逆加密，加密时的秘钥很重要，一定要自己改秘钥，打死也不要告诉其他人。</p>
+ * <p>使用同一个密钥反复加解密时，可以使用 {@link CipherSession#aes(String)} 避免每次都生成密钥。</p>
  *
  * @author yishui
  * @version 1.0.0
@@ -29,6 +27,8 @@ public class AES {
      */
     private static final String PASSWORD_CRYPT_KEY = "yishui@#";
 
+    private static final String ALGORITHM = "AES";
+
     /**
      * 用默认的密钥进行数据加密
      *
@@ -54,19 +54,17 @@ public class AES {
             return null;
         }
         try {
-            // 1.构造密钥生成器，指定为AES算法,不区分大小写
-            KeyGenerator keygen = KeyGenerator.getInstance("AES");
-            // 2.根据ecnodeRules规则初始化密钥生成器,然后生成一个128位的随机源,根据传入的字节数组
-            keygen.init(128, new SecureRandom(key.getBytes(StandardCharsets.UTF_8)));
-            // 3.产生原始对称密钥，获得原始对称密钥的字节数组，然后根据字节数组生成AES密钥
-            SecretKey aesKey = new SecretKeySpec(keygen.generateKey().getEncoded(), "AES");
-            // 4.根据指定算法AES自成密码器
-            Cipher cipher = Cipher.getInstance("AES");
-            // 5.初始化密码器，第一个参数为加密(Encrypt_mode)或者解密解密(Decrypt_mode)操作，第二个参数为使用的KEY
-            cipher.init(Cipher.ENCRYPT_MODE, aesKey);
-            // 8.获取加密内容的字节数组(这里要设置为utf-8)不然内容中如果有中文和英文混合中文就会解密为乱码,然后根据密码器的初始化方式--加密：将数据加密，最后将加密后的数据转换为字符串
-            return new String(Base64.getEncoder().encode(cipher.doFinal(data.getBytes(StandardCharsets.UTF_8))),
-                    StandardCharsets.UTF_8);
+            // 1.根据传入的字符串生成128位的AES密钥，相同的字符串总是生成相同的密钥
+            SecretKey aesKey = CipherSession.aesKey(key);
+            return CryptoServices.timed(ALGORITHM, Cipher.class, () -> {
+                // 4.获取当前线程的AES密码器
+                Cipher cipher = CryptoServices.cipher(ALGORITHM);
+                // 5.初始化密码器，第一个参数为加密(Encrypt_mode)或者解密解密(Decrypt_mode)操作，第二个参数为使用的KEY
+                cipher.init(Cipher.ENCRYPT_MODE, aesKey);
+                // 8.获取加密内容的字节数组(这里要设置为utf-8)不然内容中如果有中文和英文混合中文就会解密为乱码,然后根据密码器的初始化方式--加密：将数据加密，最后将加密后的数据转换为字符串
+                return new String(Base64.getEncoder().encode(cipher.doFinal(data.getBytes(StandardCharsets.UTF_8))),
+                        StandardCharsets.UTF_8);
+            });
         } catch (Exception e) {
             if (log.isInfoEnabled()) {
                 log.info("There is a problem encrypting data {}  with a key, and the reason for "
@@ -105,19 +103,17 @@ public class AES {
             return null;
         }
         try {
-            // 1.构造密钥生成器，指定为AES算法,不区分大小写
-            KeyGenerator keygen = KeyGenerator.getInstance("AES");
-            // 2.根据ecnodeRules规则初始化密钥生成器，然后生成一个128位的随机源,根据传入的字节数组
-            keygen.init(128, new SecureRandom(key.getBytes(StandardCharsets.UTF_8)));
-            // 3.产生原始对称密钥，然后获得原始对称密钥的字节数组，接下来根据字节数组生成AES密钥
-            SecretKey aesKey = new SecretKeySpec(keygen.generateKey().getEncoded(), "AES");
-            // 4.根据指定算法AES自成密码器
-            Cipher cipher = Cipher.getInstance("AES");
-            // 5.初始化密码器，第一个参数为加密(Encrypt_mode)或者解密(Decrypt_mode)操作，第二个参数为使用的KEY
-            cipher.init(Cipher.DECRYPT_MODE, aesKey);
-            // 6.将加密并编码后的内容解码成字节数组
-            return new String(cipher.doFinal(Base64.getDecoder().decode(data.getBytes(StandardCharsets.UTF_8))),
-                    StandardCharsets.UTF_8);
+            // 1.根据传入的字符串生成128位的AES密钥，相同的字符串总是生成相同的密钥
+            SecretKey aesKey = CipherSession.aesKey(key);
+            return CryptoServices.timed(ALGORITHM, Cipher.class, () -> {
+                // 4.获取当前线程的AES密码器
+                Cipher cipher = CryptoServices.cipher(ALGORITHM);
+                // 5.初始化密码器，第一个参数为加密(Encrypt_mode)或者解密(Decrypt_mode)操作，第二个参数为使用的KEY
+                cipher.init(Cipher.DECRYPT_MODE, aesKey);
+                // 6.将加密并编码后的内容解码成字节数组
+                return new String(cipher.doFinal(Base64.getDecoder().decode(data.getBytes(StandardCharsets.UTF_8))),
+                        StandardCharsets.UTF_8);
+            });
         } catch (Exception e) {
             if (log.isInfoEnabled()) {
                 log.info("There was a problem decrypting data {} using the key, and the reason for the problem is {}",
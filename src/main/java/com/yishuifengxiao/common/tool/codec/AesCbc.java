@@ -59,14 +59,14 @@ public class AesCbc {
             // 创建IV规范
             IvParameterSpec ivParameterSpec = new IvParameterSpec(iv);
 
-            // 创建密码器
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivParameterSpec);
-
-            // 加密
-            byte[] encrypted = cipher.doFinal(data);
-
-            return encrypted;
+            return CryptoServices.timed(TRANSFORMATION, Cipher.class, () -> {
+                // 获取当前线程的密码器
+                Cipher cipher = CryptoServices.cipher(TRANSFORMATION);
+                cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivParameterSpec);
+
+                // 加密
+                return cipher.doFinal(data);
+            });
         } catch (IllegalArgumentException e) {
             throw e;
         } catch (Exception e) {
@@ -129,14 +129,14 @@ public class AesCbc {
         // 创建IV规范
         IvParameterSpec ivParameterSpec = new IvParameterSpec(iv);
 
-        // 创建密码器
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivParameterSpec);
+        return CryptoServices.timed(TRANSFORMATION, Cipher.class, () -> {
+            // 获取当前线程的密码器
+            Cipher cipher = CryptoServices.cipher(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, secretKeySpec, ivParameterSpec);
 
-        // 解密
-        byte[] decrypted = cipher.doFinal(encryptedData);
-
-        return decrypted;
+            // 解密
+            return cipher.doFinal(encryptedData);
+        });
     }
 
     /**
@@ -17,6 +17,16 @@ import java.util.Arrays;
  */
 public class CMAC {
 
+    /**
+     * 统计信息中使用的算法名字
+     */
+    static final String ALGORITHM = "AES-CMAC";
+
+    /**
+     * 计算CMAC时使用的AES转换
+     */
+    static final String TRANSFORMATION = "AES/ECB/NoPadding";
+
     private static final int BLOCK_SIZE = 16;
     private static final byte CONST_RB = (byte) 0x87;
 
@@ -33,12 +43,15 @@ public class CMAC {
      * @param keyHex  十六进制格式的密钥（必须是16字节的AES密钥）
      * @return 十六进制格式的CMAC值
      * @throws Exception 加密过程中可能抛出的异常
+     * @see CmacEngine
      */
     public static String calculateCMAC(String dataHex, String keyHex) throws Exception {
-        byte[] data = Hex.hexToBytes(dataHex);
-        byte[] key = Hex.hexToBytes(keyHex);
+        return CryptoServices.timed(ALGORITHM, Cipher.class, TRANSFORMATION,
+                () -> calculateCMAC(Hex.hexToBytes(dataHex), Hex.hexToBytes(keyHex), CryptoServices.cipher(TRANSFORMATION)));
+    }
+
+    private static String calculateCMAC(byte[] data, byte[] key, Cipher cipher) throws Exception {
         // 步骤1: 计算L = AES(K, 0)
-        Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
         cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
         byte[] zero = new byte[BLOCK_SIZE];
         byte[] L = cipher.doFinal(zero);
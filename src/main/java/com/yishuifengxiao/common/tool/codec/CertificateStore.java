@@ -0,0 +1,408 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * 内存中的证书库
+ * </p>
+ * 证书加入证书库时只解析一次，并缓存 {@link X509Helper#extractFullInfo(X509Certificate)} 提取的证书信息，
+ * 同时按照以下的方式建立索引
+ * <ol>
+ * <li>密钥标识符：SKID（包括 {@link X509Helper.Cert#getSkid()} 与去掉TLV包装后的 {@link X509Helper.Cert#getCipkid()} 两种形式）</li>
+ * <li>颁发者与序列号</li>
+ * <li>主题</li>
+ * </ol>
+ * {@link #loadPem(String)} 可以在多个线程中并行解析包含大量证书的PEM证书包。
+ * 查找颁发者、判断签发关系与验证证书链时直接使用缓存的证书信息与索引，不需要重新解析证书，
+ * 签名的验证结果缓存在 {@link CertificateValidationCache} 中。{@link #buildChain(X509Certificate)}
+ * 根据AKID与SKID在证书库中逐级查找颁发者，从无序的证书中组装出证书链。
+ * <p>
+ * 缓存的证书信息在证书加入证书库时提取，其中的 {@code isValid} 表示的是提取时证书是否在有效期内，并且不应被修改。
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * CertificateStore store = new CertificateStore();
+ * store.load(Paths.get("ca-bundle.pem"));
+ * X509Certificate[] chain = store.buildChain(certificate);
+ * boolean valid = store.validateCertificateChain(chain);
+ * }
+ * </pre>
+ * 证书库是线程安全的。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CertificateStore {
+
+    /**
+     * 组装证书链时最多查找的层级
+     */
+    private static final int MAX_CHAIN_LENGTH = 16;
+
+    private static final Pattern PEM_BLOCK = Pattern.compile("-----BEGIN CERTIFICATE-----(.*?)-----END CERTIFICATE-----", Pattern.DOTALL);
+
+    /**
+     * 证书与缓存的证书信息
+     */
+    private final Map<X509Certificate, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 按加入顺序排列的证书
+     */
+    private final List<X509Certificate> certificates = new CopyOnWriteArrayList<>();
+
+    private final Map<String, X509Certificate> byKeyId = new ConcurrentHashMap<>();
+
+    private final Map<String, X509Certificate> byIssuerSerial = new ConcurrentHashMap<>();
+
+    private final Map<String, List<X509Certificate>> bySubject = new ConcurrentHashMap<>();
+
+    private final CertificateValidationCache validationCache;
+
+    /**
+     * 创建证书库，签名的验证结果缓存在 {@link CertificateValidationCache#getInstance()} 中
+     */
+    public CertificateStore() {
+        this(CertificateValidationCache.getInstance());
+    }
+
+    /**
+     * 创建证书库
+     *
+     * @param validationCache 签名验证结果的缓存
+     * @throws IllegalArgumentException 缓存为null
+     */
+    public CertificateStore(CertificateValidationCache validationCache) {
+        if (null == validationCache) {
+            throw new IllegalArgumentException("签名验证结果的缓存不能为空");
+        }
+        this.validationCache = validationCache;
+    }
+
+    /**
+     * 并行解析PEM证书包并加入证书库，已经存在的证书（颁发者与序列号相同）会被忽略
+     *
+     * @param bundle 包含一个或多个PEM格式证书的字符串
+     * @return 新加入证书库的证书数量
+     * @throws CertificateException 证书包中的某个证书无法解析，此时不会加入任何证书
+     */
+    public int loadPem(String bundle) throws CertificateException {
+        List<String> blocks = new ArrayList<>();
+        Matcher matcher = PEM_BLOCK.matcher(null == bundle ? "" : bundle);
+        while (matcher.find()) {
+            blocks.add(matcher.group(1));
+        }
+        List<Entry> parsed;
+        try {
+            parsed = IntStream.range(0, blocks.size()).parallel().mapToObj(i -> {
+                try {
+                    byte[] bytes = Base64.getMimeDecoder().decode(blocks.get(i));
+                    X509Certificate certificate = X509Helper.parseCertificateBytes(bytes);
+                    return new Entry(certificate);
+                } catch (CertificateException | IllegalArgumentException e) {
+                    throw new UncheckedException("解析第" + (i + 1) + "个证书时出现问题：" + e.getMessage(), e);
+                }
+            }).collect(Collectors.toList());
+        } catch (UncheckedException e) {
+            throw new CertificateException(e.getMessage(), e.getCause());
+        }
+        int added = 0;
+        for (Entry entry : parsed) {
+            if (add(entry)) {
+                added++;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("从证书包中解析出 {} 个证书，新加入证书库 {} 个", parsed.size(), added);
+        }
+        return added;
+    }
+
+    /**
+     * 读取PEM证书包文件并加入证书库
+     *
+     * @param file PEM证书包文件
+     * @return 新加入证书库的证书数量
+     * @throws IOException          读取文件时出现问题
+     * @throws CertificateException 证书包中的某个证书无法解析
+     */
+    public int load(Path file) throws IOException, CertificateException {
+        return loadPem(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 将证书加入证书库
+     *
+     * @param certificate 证书
+     * @return 证书库中原先不存在颁发者与序列号相同的证书时返回true
+     */
+    public boolean add(X509Certificate certificate) {
+        return null != certificate && add(new Entry(certificate));
+    }
+
+    /**
+     * 将多个证书加入证书库
+     *
+     * @param certificates 证书
+     * @return 新加入证书库的证书数量
+     */
+    public int addAll(Collection<X509Certificate> certificates) {
+        int added = 0;
+        for (X509Certificate certificate : certificates) {
+            if (add(certificate)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private synchronized boolean add(Entry entry) {
+        X509Certificate certificate = entry.certificate;
+        X509Helper.Cert info = entry.info;
+        String issuerSerial = issuerSerial(info.getIssuer(), certificate.getSerialNumber());
+        if (byIssuerSerial.putIfAbsent(issuerSerial, certificate) != null) {
+            return false;
+        }
+        entries.put(certificate, entry);
+        certificates.add(certificate);
+        if (null != info.getSkid()) {
+            byKeyId.putIfAbsent(info.getSkid().toUpperCase(), certificate);
+        }
+        if (null != info.getCipkid()) {
+            byKeyId.putIfAbsent(info.getCipkid().toUpperCase(), certificate);
+        }
+        bySubject.computeIfAbsent(info.getSubject(), k -> new CopyOnWriteArrayList<>()).add(certificate);
+        return true;
+    }
+
+    /**
+     * 获取证书库中证书的数量
+     *
+     * @return 证书的数量
+     */
+    public int size() {
+        return certificates.size();
+    }
+
+    /**
+     * 获取证书库中所有的证书
+     *
+     * @return 所有的证书，顺序与加入的顺序一致
+     */
+    public List<X509Certificate> certificates() {
+        return Collections.unmodifiableList(certificates);
+    }
+
+    /**
+     * 获取证书的信息，证书库中的证书直接返回缓存的信息
+     *
+     * @param certificate 证书
+     * @return 证书的信息，证书为null时返回null
+     */
+    public X509Helper.Cert info(X509Certificate certificate) {
+        if (null == certificate) {
+            return null;
+        }
+        Entry entry = entries.get(certificate);
+        return null != entry ? entry.info : X509Helper.extractFullInfo(certificate);
+    }
+
+    /**
+     * 根据密钥标识符查找证书
+     *
+     * @param keyId 十六进制的密钥标识符，可以是 SKID 或者 CIPKID
+     * @return 证书，不存在时返回null
+     */
+    public X509Certificate findByKeyId(String keyId) {
+        return null == keyId ? null : byKeyId.get(keyId.toUpperCase());
+    }
+
+    /**
+     * 根据颁发者与序列号查找证书
+     *
+     * @param issuer       颁发者，格式与 {@link X509Helper.Cert#getIssuer()} 相同
+     * @param serialNumber 序列号
+     * @return 证书，不存在时返回null
+     */
+    public X509Certificate findByIssuerAndSerial(String issuer, BigInteger serialNumber) {
+        return null == issuer || null == serialNumber ? null : byIssuerSerial.get(issuerSerial(issuer, serialNumber));
+    }
+
+    /**
+     * 根据主题查找证书
+     *
+     * @param subject 主题，格式与 {@link X509Helper.Cert#getSubject()} 相同
+     * @return 主题相同的所有证书
+     */
+    public List<X509Certificate> findBySubject(String subject) {
+        List<X509Certificate> list = null == subject ? null : bySubject.get(subject);
+        return null == list ? Collections.emptyList() : Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 在证书库中查找证书的颁发者证书。优先根据证书的AKID查找，找不到时在主题与证书颁发者相同的证书中查找
+     *
+     * @param certificate 证书
+     * @return 颁发者证书，不存在时返回null
+     */
+    public X509Certificate findIssuer(X509Certificate certificate) {
+        X509Helper.Cert info = info(certificate);
+        if (null == info) {
+            return null;
+        }
+        X509Certificate issuer = findByKeyId(info.getAkid());
+        if (null != issuer && isIssuedBy(issuer, certificate)) {
+            return issuer;
+        }
+        for (X509Certificate candidate : findBySubject(info.getIssuer())) {
+            if (candidate != issuer && isIssuedBy(candidate, certificate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从证书开始，根据AKID与SKID（没有AKID时根据颁发者）在证书库中逐级查找颁发者证书，组装出证书链。
+     * 找到自签名的根证书、找不到颁发者证书或者出现循环时停止
+     *
+     * @param certificate 终端证书，可以不在证书库中
+     * @return 证书链，从终端证书到根证书。证书库中缺少根证书时，最后一个证书不是自签名证书
+     */
+    public X509Certificate[] buildChain(X509Certificate certificate) {
+        if (null == certificate) {
+            return new X509Certificate[0];
+        }
+        List<X509Certificate> chain = new ArrayList<>();
+        Set<X509Certificate> visited = new HashSet<>();
+        X509Certificate current = certificate;
+        while (visited.add(current) && chain.size() < MAX_CHAIN_LENGTH) {
+            chain.add(current);
+            X509Certificate issuer = findIssuer(current);
+            if (null == issuer || issuer.equals(current)) {
+                break;
+            }
+            current = issuer;
+        }
+        return chain.toArray(new X509Certificate[0]);
+    }
+
+    /**
+     * 获取签名验证结果的缓存
+     *
+     * @return 签名验证结果的缓存
+     */
+    public CertificateValidationCache getValidationCache() {
+        return validationCache;
+    }
+
+    /**
+     * 判断证书是否由颁发者证书签发，与 {@link X509Helper#isIssuedBy(X509Certificate, X509Certificate)} 的结果一致。
+     * 先比较缓存的主题、颁发者与密钥标识符，都匹配时才验证签名，验证结果缓存在 {@link #getValidationCache()} 中
+     *
+     * @param issuerCert  颁发者证书
+     * @param subjectCert 被签发的证书
+     * @return true表示证书由颁发者证书签发
+     * @throws UncheckedException 证书为null
+     */
+    public boolean isIssuedBy(X509Certificate issuerCert, X509Certificate subjectCert) {
+        if (issuerCert == null || subjectCert == null) {
+            throw new UncheckedException("证书对象不能为空");
+        }
+        X509Helper.Cert issuer = info(issuerCert);
+        X509Helper.Cert subject = info(subjectCert);
+        if (!issuer.getSubject().equals(subject.getIssuer())) {
+            return false;
+        }
+        // 两个密钥标识符都存在但是不相同时，一定不是由该证书签发的
+        if (null != subject.getAkid() && null != issuer.getCipkid() && !subject.getAkid().equalsIgnoreCase(issuer.getCipkid())) {
+            return false;
+        }
+        return verify(issuerCert, subjectCert);
+    }
+
+    /**
+     * 验证证书链的完整性，与 {@link X509Helper#validateCertificateChain(X509Certificate[])} 的结果一致
+     *
+     * @param certificateChain 证书链，按顺序排列（从终端证书到根证书）
+     * @return true表示证书链完整有效，false表示不完整
+     * @throws UncheckedException 证书链少于两个证书
+     */
+    public boolean validateCertificateChain(X509Certificate[] certificateChain) {
+        if (certificateChain == null || certificateChain.length < 2) {
+            throw new UncheckedException("证书链至少需要包含两个证书");
+        }
+        for (int i = 0; i < certificateChain.length - 1; i++) {
+            if (!isIssuedBy(certificateChain[i + 1], certificateChain[i])) {
+                if (log.isWarnEnabled()) {
+                    log.warn("证书链验证失败，第{}个证书不是由第{}个证书签发", i, i + 1);
+                }
+                return false;
+            }
+        }
+        X509Certificate root = certificateChain[certificateChain.length - 1];
+        if (!isIssuedBy(root, root)) {
+            if (log.isWarnEnabled()) {
+                log.warn("根证书不是自签名证书");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean verify(X509Certificate issuerCert, X509Certificate subjectCert) {
+        String issuerFingerprint = fingerprint(issuerCert);
+        String subjectFingerprint = fingerprint(subjectCert);
+        if (null == issuerFingerprint || null == subjectFingerprint) {
+            return X509Helper.verifyIssuedBy(issuerCert, subjectCert);
+        }
+        return validationCache.isIssuedBy(issuerFingerprint, issuerCert, subjectFingerprint, subjectCert);
+    }
+
+    private String fingerprint(X509Certificate certificate) {
+        Entry entry = entries.get(certificate);
+        return null != entry ? entry.fingerprint : CertificateValidationCache.fingerprint(certificate);
+    }
+
+    private static String issuerSerial(String issuer, BigInteger serialNumber) {
+        return issuer + "#" + serialNumber.toString(16);
+    }
+
+    /**
+     * 证书与加入证书库时提取的信息
+     */
+    private static final class Entry {
+
+        private final X509Certificate certificate;
+
+        private final X509Helper.Cert info;
+
+        private final String fingerprint;
+
+        private Entry(X509Certificate certificate) {
+            this.certificate = certificate;
+            this.info = X509Helper.extractFullInfo(certificate);
+            this.fingerprint = CertificateValidationCache.fingerprint(certificate);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.lang.Hex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 证书签发关系验证结果的缓存
+ * </p>
+ * 以颁发者证书与被签发证书的SHA-256指纹作为键，缓存 {@link X509Helper#isIssuedBy(X509Certificate, X509Certificate)}
+ * 的验证结果（包括验证失败的结果），中间证书不变时重复验证同一条证书链不需要再次验证签名。
+ * <ol>
+ * <li>缓存的结果在指定的有效时间后过期，过期后重新验证</li>
+ * <li>缓存的数量有上限，超出时淘汰最久未使用的结果</li>
+ * <li>记录命中次数与未命中次数</li>
+ * </ol>
+ * 验证结果只取决于两个证书的内容，因此缓存不会改变验证的结果。缓存是线程安全的。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CertificateValidationCache {
+
+    /**
+     * 默认最多缓存的验证结果数量
+     */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    /**
+     * 默认的验证结果有效时间
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    private static final CertificateValidationCache DEFAULT = new CertificateValidationCache(DEFAULT_MAX_SIZE, DEFAULT_TTL);
+
+    private final Map<String, Entry> results;
+
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 创建证书签发关系验证结果的缓存
+     *
+     * @param maxSize 最多缓存的验证结果数量
+     * @param ttl     验证结果的有效时间
+     * @throws IllegalArgumentException 缓存数量或有效时间不是正数
+     */
+    public CertificateValidationCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("缓存的验证结果数量必须是正数");
+        }
+        if (null == ttl || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("验证结果的有效时间必须是正数");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.results = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * 获取默认的缓存，最多缓存 {@link #DEFAULT_MAX_SIZE} 个验证结果，有效时间为 {@link #DEFAULT_TTL}。
+     * {@link X509Helper#isIssuedBy(X509Certificate, X509Certificate)} 使用的就是该缓存
+     *
+     * @return 默认的缓存
+     */
+    public static CertificateValidationCache getInstance() {
+        return DEFAULT;
+    }
+
+    /**
+     * 判断证书是否由颁发者证书签发，优先使用缓存的验证结果
+     *
+     * @param issuerCert  颁发者证书
+     * @param subjectCert 被签发的证书
+     * @return true表示证书由颁发者证书签发
+     */
+    public boolean isIssuedBy(X509Certificate issuerCert, X509Certificate subjectCert) {
+        String issuerFingerprint = fingerprint(issuerCert);
+        String subjectFingerprint = fingerprint(subjectCert);
+        if (null == issuerFingerprint || null == subjectFingerprint) {
+            // 无法编码的证书不缓存
+            return X509Helper.verifyIssuedBy(issuerCert, subjectCert);
+        }
+        return isIssuedBy(issuerFingerprint, issuerCert, subjectFingerprint, subjectCert);
+    }
+
+    /**
+     * 使用已经计算好的证书指纹判断证书是否由颁发者证书签发
+     */
+    boolean isIssuedBy(String issuerFingerprint, X509Certificate issuerCert, String subjectFingerprint, X509Certificate subjectCert) {
+        String key = issuerFingerprint + ":" + subjectFingerprint;
+        long now = System.nanoTime();
+        Entry entry = results.get(key);
+        if (null != entry && now - entry.expiresAt < 0) {
+            hits.increment();
+            return entry.issued;
+        }
+        misses.increment();
+        boolean issued = X509Helper.verifyIssuedBy(issuerCert, subjectCert);
+        results.put(key, new Entry(issued, now + ttlNanos));
+        return issued;
+    }
+
+    /**
+     * 获取命中的次数
+     *
+     * @return 命中的次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取未命中的次数，即实际验证签名的次数
+     *
+     * @return 未命中的次数
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取当前缓存的验证结果数量，其中可能包含已经过期但是尚未被替换的结果
+     *
+     * @return 当前缓存的验证结果数量
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * 清空缓存的验证结果与命中统计
+     */
+    public void clear() {
+        results.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "CertificateValidationCache{hits=" + getHits() + ", misses=" + getMisses() + ", size=" + size() + "}";
+    }
+
+    /**
+     * 计算证书的SHA-256指纹
+     *
+     * @param certificate 证书
+     * @return 小写的十六进制指纹，证书无法编码时返回null
+     */
+    static String fingerprint(X509Certificate certificate) {
+        try {
+            return Hex.bytesToHex(FileDigester.sha256().digest(certificate.getEncoded()), false);
+        } catch (CertificateEncodingException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("计算证书 {} 的指纹时出现问题，问题为 {}", certificate.getSubjectX500Principal(), e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    private static final class Entry {
+
+        private final boolean issued;
+
+        private final long expiresAt;
+
+        private Entry(boolean issued, long expiresAt) {
+            this.issued = issued;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
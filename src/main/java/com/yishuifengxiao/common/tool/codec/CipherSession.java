@@ -0,0 +1,571 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.DESKeySpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * <p>
+ * 预先生成密钥的加解密会话
+ * </p>
+ * 会话创建时只生成一次密钥，每个线程持有各自已经初始化的 {@link Cipher}，适用于使用同一个密钥反复加解密的场景。
+ * 加解密的结果与对应的静态工具一致
+ * <ul>
+ * <li>{@link #aes(String)} 与 {@link AES} 一致，使用 AES/ECB/PKCS5Padding</li>
+ * <li>{@link #des(String)} 与 {@link DES} 一致，使用 DES/ECB/PKCS5Padding</li>
+ * <li>{@link #tripleDes(String)} 与 {@link TripleDES} 一致，使用 DESede/CBC/PKCS5Padding，密文前附带随机生成的IV</li>
+ * <li>{@link #aesCbc(byte[], byte[])} 与 {@link AesCbc} 一致，使用 AES/CBC/NoPadding 与固定的IV</li>
+ * <li>{@link #aesCbcPadded(byte[], byte[])} 与先调用 {@link AesCbc#padData(byte[])} 再加密的结果一致，使用 AES/CBC/PKCS5Padding</li>
+ * </ul>
+ * 除了一次性加解密内存中的数据，会话还支持流式加解密：{@link #encrypt(InputStream, OutputStream)}、
+ * {@link #encrypt(ReadableByteChannel, WritableByteChannel)} 与 {@link #encrypt(Path, Path)} 使用固定大小的直接缓冲区分段处理，
+ * {@link #encrypting(OutputStream)} 与 {@link #decrypting(InputStream)} 返回加解密的包装流。
+ * 流式处理时填充只在最后一个分组上进行，内存占用与数据的大小无关，适用于加解密很大的文件。
+ * 会话是线程安全的，应当创建一次后重复使用。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class CipherSession {
+
+    /**
+     * 默认的密钥，与 AES 和 DES 工具的默认密钥一致
+     */
+    private static final String DEFAULT_KEY = "yishui@#";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 流式加解密时每次读取的数据的大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String transformation;
+
+    private final SecretKey key;
+
+    /**
+     * 固定的IV，为null表示不使用IV或者使用随机IV
+     */
+    private final IvParameterSpec iv;
+
+    /**
+     * 随机IV的长度，大于0时每次加密都会生成新的IV并写在密文之前
+     */
+    private final int randomIvLength;
+
+    /**
+     * 明文与密文的长度必须是该值的倍数，为0表示不限制
+     */
+    private final int blockSize;
+
+    private final ThreadLocal<Cipher> encryptors;
+
+    private final ThreadLocal<Cipher> decryptors;
+
+    private CipherSession(String transformation, SecretKey key, IvParameterSpec iv, int randomIvLength, int blockSize) {
+        this.transformation = transformation;
+        this.key = key;
+        this.iv = iv;
+        this.randomIvLength = randomIvLength;
+        this.blockSize = blockSize;
+        this.encryptors = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+        this.decryptors = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+        // 提前检查算法与密钥是否可用
+        newCipher(Cipher.ENCRYPT_MODE);
+    }
+
+    /**
+     * 创建AES加解密会话，密钥的生成方式与 {@link AES#encrypt(String, String)} 相同
+     *
+     * @param key 密钥，为空时使用默认的密钥
+     * @return AES加解密会话
+     * @throws UncheckedException 生成密钥时出现问题
+     */
+    public static CipherSession aes(String key) {
+        try {
+            return new CipherSession("AES/ECB/PKCS5Padding", aesKey(key), null, 0, 0);
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("生成AES密钥时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 创建DES加解密会话，密钥的处理方式与 {@link DES#encrypt(String, String)} 相同
+     *
+     * @param key 密钥，为空时使用默认的密钥，长度不是8的倍数时会自动补0
+     * @return DES加解密会话
+     * @throws UncheckedException 生成密钥时出现问题
+     */
+    public static CipherSession des(String key) {
+        try {
+            DESKeySpec spec = new DESKeySpec(desKey(key).getBytes(StandardCharsets.UTF_8));
+            return new CipherSession("DES/ECB/PKCS5Padding", CryptoServices.secretKeyFactory("DES").generateSecret(spec), null, 0, 0);
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("生成DES密钥时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 创建3DES加解密会话，密文的格式与 {@link TripleDES#encrypt(String, String)} 相同，为IV与密文的组合
+     *
+     * @param base64Key base64编码的密钥
+     * @return 3DES加解密会话
+     */
+    public static CipherSession tripleDes(String base64Key) {
+        return new CipherSession("DESede/CBC/PKCS5Padding", new SecretKeySpec(Base64.getDecoder().decode(base64Key), "DESede"), null, 8, 0);
+    }
+
+    /**
+     * 创建AES CBC无填充加解密会话，与 {@link AesCbc#encrypt(byte[], byte[], byte[])} 相同，明文与密文的长度必须是16字节的倍数
+     *
+     * @param key 密钥（16字节：AES-128, 24字节：AES-192, 32字节：AES-256）
+     * @param iv  初始向量（16字节）
+     * @return AES CBC加解密会话
+     * @throws IllegalArgumentException 密钥或者初始向量的长度不符合要求
+     */
+    public static CipherSession aesCbc(byte[] key, byte[] iv) {
+        checkAesCbc(key, iv);
+        return new CipherSession("AES/CBC/NoPadding", new SecretKeySpec(key, "AES"), new IvParameterSpec(iv), 0, 16);
+    }
+
+    /**
+     * 创建AES CBC PKCS7填充加解密会话，加密的结果与 {@code AesCbc.encrypt(AesCbc.padData(data), key, iv)} 相同，
+     * 明文的长度不受限制，流式加密时只在最后一个分组上填充，不需要像 {@link AesCbc#padData(byte[])} 一样复制全部的数据
+     *
+     * @param key 密钥（16字节：AES-128, 24字节：AES-192, 32字节：AES-256）
+     * @param iv  初始向量（16字节）
+     * @return AES CBC加解密会话
+     * @throws IllegalArgumentException 密钥或者初始向量的长度不符合要求
+     */
+    public static CipherSession aesCbcPadded(byte[] key, byte[] iv) {
+        checkAesCbc(key, iv);
+        // 分组长度为16字节时PKCS5填充与PKCS7填充相同
+        return new CipherSession("AES/CBC/PKCS5Padding", new SecretKeySpec(key, "AES"), new IvParameterSpec(iv), 0, 0);
+    }
+
+    private static void checkAesCbc(byte[] key, byte[] iv) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("密钥长度必须是16字节（AES-128）、24字节（AES-192）或32字节（AES-256）");
+        }
+        if (iv.length != 16) {
+            throw new IllegalArgumentException("初始向量长度必须是16字节");
+        }
+    }
+
+    /**
+     * 加密数据
+     *
+     * @param data 明文
+     * @return 密文
+     * @throws UncheckedException 加密时出现问题
+     */
+    public byte[] encrypt(byte[] data) {
+        checkBlock(data.length, "明文");
+        return CryptoServices.timed(transformation, () -> {
+            Cipher cipher = encryptors.get();
+            try {
+                if (randomIvLength == 0) {
+                    return cipher.doFinal(data);
+                }
+                byte[] randomIv = randomIv(cipher);
+                byte[] result = new byte[randomIvLength + cipher.getOutputSize(data.length)];
+                System.arraycopy(randomIv, 0, result, 0, randomIvLength);
+                int length = randomIvLength + cipher.doFinal(data, 0, data.length, result, randomIvLength);
+                return length == result.length ? result : Arrays.copyOf(result, length);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw failure(encryptors, "加密", e);
+            }
+        });
+    }
+
+    /**
+     * 解密数据
+     *
+     * @param data 密文
+     * @return 明文
+     * @throws UncheckedException 解密时出现问题，例如密钥错误
+     */
+    public byte[] decrypt(byte[] data) {
+        checkBlock(data.length - randomIvLength, "密文");
+        return CryptoServices.timed(transformation, () -> {
+            Cipher cipher = decryptors.get();
+            try {
+                if (randomIvLength == 0) {
+                    return cipher.doFinal(data);
+                }
+                cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(data, 0, randomIvLength));
+                return cipher.doFinal(data, randomIvLength, data.length - randomIvLength);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw failure(decryptors, "解密", e);
+            }
+        });
+    }
+
+    /**
+     * 加密输入缓冲区中剩余的数据并写入输出缓冲区，完成后输入缓冲区的position位于limit，输出缓冲区的position位于写入的数据之后
+     *
+     * @param input  明文缓冲区
+     * @param output 密文缓冲区，剩余空间至少为 {@link #maxEncryptedSize(int)}
+     * @return 写入输出缓冲区的字节数
+     * @throws UncheckedException 加密时出现问题或者输出缓冲区的空间不足
+     */
+    public int encrypt(ByteBuffer input, ByteBuffer output) {
+        checkBlock(input.remaining(), "明文");
+        return CryptoServices.timed(transformation, () -> {
+            Cipher cipher = encryptors.get();
+            try {
+                if (randomIvLength == 0) {
+                    return cipher.doFinal(input, output);
+                }
+                if (output.remaining() < randomIvLength) {
+                    throw new UncheckedException("输出缓冲区的空间不足");
+                }
+                output.put(randomIv(cipher));
+                return randomIvLength + cipher.doFinal(input, output);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw failure(encryptors, "加密", e);
+            }
+        });
+    }
+
+    /**
+     * 解密输入缓冲区中剩余的数据并写入输出缓冲区，完成后输入缓冲区的position位于limit，输出缓冲区的position位于写入的数据之后
+     *
+     * @param input  密文缓冲区
+     * @param output 明文缓冲区，剩余空间至少为密文的长度
+     * @return 写入输出缓冲区的字节数
+     * @throws UncheckedException 解密时出现问题或者输出缓冲区的空间不足
+     */
+    public int decrypt(ByteBuffer input, ByteBuffer output) {
+        checkBlock(input.remaining() - randomIvLength, "密文");
+        return CryptoServices.timed(transformation, () -> {
+            Cipher cipher = decryptors.get();
+            try {
+                if (randomIvLength > 0) {
+                    byte[] dataIv = new byte[randomIvLength];
+                    input.get(dataIv);
+                    cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(dataIv));
+                }
+                return cipher.doFinal(input, output);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw failure(decryptors, "解密", e);
+            }
+        });
+    }
+
+    /**
+     * 流式加密，从输入通道中分段读取明文，加密后写入输出通道，读取到输入通道的末尾时结束，不会关闭通道
+     *
+     * @param in  明文输入通道，例如 {@link FileChannel}
+     * @param out 密文输出通道
+     * @return 写入输出通道的字节数
+     * @throws IOException        读写通道时出现问题
+     * @throws UncheckedException 加密时出现问题，例如无填充模式下明文的长度不是分组长度的倍数
+     */
+    public long encrypt(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        return CryptoServices.timed(transformation, () -> {
+            Cipher cipher = encryptors.get();
+            try {
+                long written = 0;
+                if (randomIvLength > 0) {
+                    written = write(ByteBuffer.wrap(randomIv(cipher)), out);
+                }
+                return written + pump(cipher, in, out);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw failure(encryptors, "加密", e);
+            } catch (IOException e) {
+                encryptors.remove();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * 流式解密，从输入通道中分段读取密文，解密后写入输出通道，读取到输入通道的末尾时结束，不会关闭通道
+     *
+     * @param in  密文输入通道，例如 {@link FileChannel}
+     * @param out 明文输出通道
+     * @return 写入输出通道的字节数
+     * @throws IOException        读写通道时出现问题
+     * @throws UncheckedException 解密时出现问题，例如密钥错误或者密文不完整
+     */
+    public long decrypt(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        return CryptoServices.timed(transformation, () -> {
+            Cipher cipher = decryptors.get();
+            try {
+                if (randomIvLength > 0) {
+                    cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(readIv(in)));
+                }
+                return pump(cipher, in, out);
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw failure(decryptors, "解密", e);
+            } catch (IOException e) {
+                decryptors.remove();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * 流式加密，从输入流中分段读取明文，加密后写入输出流，不会关闭输入流与输出流
+     *
+     * @param in  明文输入流
+     * @param out 密文输出流
+     * @return 写入输出流的字节数
+     * @throws IOException        读写流时出现问题
+     * @throws UncheckedException 加密时出现问题
+     */
+    public long encrypt(InputStream in, OutputStream out) throws IOException {
+        return encrypt(Channels.newChannel(in), Channels.newChannel(out));
+    }
+
+    /**
+     * 流式解密，从输入流中分段读取密文，解密后写入输出流，不会关闭输入流与输出流
+     *
+     * @param in  密文输入流
+     * @param out 明文输出流
+     * @return 写入输出流的字节数
+     * @throws IOException        读写流时出现问题
+     * @throws UncheckedException 解密时出现问题
+     */
+    public long decrypt(InputStream in, OutputStream out) throws IOException {
+        return decrypt(Channels.newChannel(in), Channels.newChannel(out));
+    }
+
+    /**
+     * 加密文件，目标文件已经存在时会被覆盖
+     *
+     * @param source 明文文件
+     * @param target 密文文件
+     * @return 密文文件的大小
+     * @throws IOException        读写文件时出现问题
+     * @throws UncheckedException 加密时出现问题
+     */
+    public long encrypt(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return encrypt(in, out);
+        }
+    }
+
+    /**
+     * 解密文件，目标文件已经存在时会被覆盖
+     *
+     * @param source 密文文件
+     * @param target 明文文件
+     * @return 明文文件的大小
+     * @throws IOException        读写文件时出现问题
+     * @throws UncheckedException 解密时出现问题
+     */
+    public long decrypt(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return decrypt(in, out);
+        }
+    }
+
+    /**
+     * 包装输出流，写入包装流的明文会被加密后写入原始的输出流。
+     * 必须关闭包装流才会写出最后一个分组，关闭包装流时会同时关闭原始的输出流。
+     *
+     * @param out 原始的输出流
+     * @return 加密的输出流
+     * @throws IOException        写入随机IV时出现问题
+     * @throws UncheckedException 初始化加密算法时出现问题
+     */
+    public OutputStream encrypting(OutputStream out) throws IOException {
+        // 包装流可能在其他线程中使用，不能共享当前线程的Cipher
+        Cipher cipher = newCipher(Cipher.ENCRYPT_MODE);
+        if (randomIvLength > 0) {
+            try {
+                out.write(randomIv(cipher));
+            } catch (GeneralSecurityException e) {
+                throw new UncheckedException("加密数据时出现问题：" + e.getMessage(), e);
+            }
+        }
+        return new CipherOutputStream(out, cipher);
+    }
+
+    /**
+     * 包装输入流，从包装流中读取的是原始输入流中的密文解密后的明文，关闭包装流时会同时关闭原始的输入流。
+     * 解密失败时读取包装流会抛出 {@link IOException}
+     *
+     * @param in 原始的输入流
+     * @return 解密的输入流
+     * @throws IOException        读取随机IV时出现问题
+     * @throws UncheckedException 初始化加密算法时出现问题
+     */
+    public InputStream decrypting(InputStream in) throws IOException {
+        Cipher cipher = newCipher(Cipher.DECRYPT_MODE);
+        if (randomIvLength > 0) {
+            try {
+                cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(readIv(Channels.newChannel(in))));
+            } catch (GeneralSecurityException e) {
+                throw new UncheckedException("解密数据时出现问题：" + e.getMessage(), e);
+            }
+        }
+        return new CipherInputStream(in, cipher);
+    }
+
+    /**
+     * 获取加密指定长度的明文后密文的最大长度
+     *
+     * @param length 明文的长度
+     * @return 密文的最大长度
+     */
+    public int maxEncryptedSize(int length) {
+        return randomIvLength + encryptors.get().getOutputSize(length);
+    }
+
+    /**
+     * 获取会话使用的加密算法
+     *
+     * @return 加密算法，例如 AES/ECB/PKCS5Padding
+     */
+    public String getTransformation() {
+        return transformation;
+    }
+
+    private Cipher newCipher(int mode) {
+        try {
+            // 会话持有与密钥绑定的Cipher，不能使用线程缓存的实例
+            Cipher cipher = CryptoServices.newCipher(transformation);
+            if (randomIvLength > 0) {
+                // 使用随机IV时每次加解密前都会重新初始化，这里只是为了能够计算输出的长度
+                cipher.init(mode, key, new IvParameterSpec(new byte[randomIvLength]));
+            } else if (null == iv) {
+                cipher.init(mode, key);
+            } else {
+                cipher.init(mode, key, iv);
+            }
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("初始化加密算法 " + transformation + " 时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    private byte[] randomIv(Cipher cipher) throws GeneralSecurityException {
+        byte[] randomIv = new byte[randomIvLength];
+        RANDOM.nextBytes(randomIv);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(randomIv));
+        return randomIv;
+    }
+
+    /**
+     * 使用固定大小的直接缓冲区分段加解密，只有最后一次调用 doFinal 时才会处理填充
+     */
+    private static long pump(Cipher cipher, ReadableByteChannel in, WritableByteChannel out) throws IOException, GeneralSecurityException {
+        ByteBuffer input = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        // 解密时Cipher最多会暂存一个分组，输出缓冲区需要额外预留一个分组的空间
+        ByteBuffer output = ByteBuffer.allocateDirect(cipher.getOutputSize(BUFFER_SIZE) + cipher.getBlockSize());
+        long written = 0;
+        while (in.read(input) >= 0) {
+            if (input.hasRemaining()) {
+                continue;
+            }
+            input.flip();
+            output.clear();
+            cipher.update(input, output);
+            input.clear();
+            output.flip();
+            written += write(output, out);
+        }
+        input.flip();
+        output.clear();
+        cipher.doFinal(input, output);
+        output.flip();
+        return written + write(output, out);
+    }
+
+    private static int write(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        return length;
+    }
+
+    private byte[] readIv(ReadableByteChannel in) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(randomIvLength);
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                throw new UncheckedException("密文长度不足，无法读取IV");
+            }
+        }
+        return buffer.array();
+    }
+
+    private void checkBlock(int length, String name) {
+        if (length < 0) {
+            throw new IllegalArgumentException(name + "长度不足");
+        }
+        if (blockSize > 0 && length % blockSize != 0) {
+            throw new IllegalArgumentException(name + "长度必须是" + blockSize + "字节的倍数");
+        }
+    }
+
+    /**
+     * 出现异常后Cipher的状态是不确定的，丢弃当前线程的Cipher，下次使用时重新创建
+     */
+    private static UncheckedException failure(ThreadLocal<Cipher> ciphers, String operation, Exception e) {
+        ciphers.remove();
+        return e instanceof UncheckedException ? (UncheckedException) e
+                : new UncheckedException(operation + "数据时出现问题：" + e.getMessage(), e);
+    }
+
+    /**
+     * 根据字符串生成128位的AES密钥，相同的字符串总是生成相同的密钥
+     *
+     * @param key 密钥字符串，为空时使用默认的密钥
+     * @return AES密钥
+     * @throws GeneralSecurityException 生成密钥时出现问题
+     */
+    static SecretKey aesKey(String key) throws GeneralSecurityException {
+        String value = StringUtils.isBlank(key) ? DEFAULT_KEY : key;
+        // 明确使用SHA1PRNG，直接使用 new SecureRandom(seed) 时在部分平台上种子只是补充熵，生成的密钥并不固定
+        SecureRandom random = CryptoServices.newSecureRandom("SHA1PRNG");
+        random.setSeed(value.getBytes(StandardCharsets.UTF_8));
+        KeyGenerator generator = CryptoServices.newKeyGenerator("AES");
+        generator.init(128, random);
+        return new SecretKeySpec(generator.generateKey().getEncoded(), "AES");
+    }
+
+    /**
+     * 对DES的密钥进行补位，与 DES 工具的处理方式相同
+     */
+    private static String desKey(String key) {
+        if (StringUtils.isBlank(key)) {
+            return DEFAULT_KEY;
+        }
+        StringBuilder sb = new StringBuilder(key.trim());
+        while (sb.length() % 8 != 0) {
+            sb.append('0');
+        }
+        return sb.toString();
+    }
+}
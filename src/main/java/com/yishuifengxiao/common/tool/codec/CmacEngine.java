@@ -0,0 +1,269 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import com.yishuifengxiao.common.tool.lang.Hex;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * 预先生成子密钥的AES-CMAC计算引擎
+ * </p>
+ * 与 {@link CMAC#calculateCMAC(String, String)} 的结果一致（RFC 4493），区别在于
+ * <ol>
+ * <li>创建时只初始化一次 AES/ECB/NoPadding 的 {@link Cipher} 并计算子密钥K1与K2，之后每次计算都复用</li>
+ * <li>支持通过 {@link #update(byte[], int, int)} 分段输入数据，最后通过 {@link #doFinal()} 获取结果，不需要把数据拼接在一起</li>
+ * <li>输入与输出都是字节数组，不需要转换为十六进制字符串</li>
+ * </ol>
+ *
+ * <pre>
+ * {@code
+ * CmacEngine engine = new CmacEngine(sessionKey);
+ * engine.update(header, 0, header.length);
+ * engine.update(body, 0, body.length);
+ * byte[] mac = engine.doFinal();
+ * }
+ * </pre>
+ * 与 {@link javax.crypto.Mac} 一样，引擎保存了计算的中间状态，不是线程安全的，每个线程应当使用各自的引擎。
+ * {@link #doFinal()} 之后引擎自动重置，可以继续计算下一段数据的CMAC值。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class CmacEngine {
+
+    /**
+     * 分组与CMAC值的长度
+     */
+    public static final int BLOCK_SIZE = 16;
+
+    private static final byte CONST_RB = (byte) 0x87;
+
+    private final Cipher cipher;
+
+    private final byte[] k1;
+
+    private final byte[] k2;
+
+    /**
+     * CBC-MAC的中间状态
+     */
+    private final byte[] state = new byte[BLOCK_SIZE];
+
+    /**
+     * 尚未处理的数据，最后一个分组需要等到 {@link #doFinal()} 时才能处理
+     */
+    private final byte[] buffer = new byte[BLOCK_SIZE];
+
+    private int bufferLength;
+
+    /**
+     * 创建CMAC计算引擎
+     *
+     * @param key AES密钥，长度为16、24或32字节
+     * @throws IllegalArgumentException 密钥的长度不正确
+     * @throws UncheckedException       初始化AES算法时出现问题
+     */
+    public CmacEngine(byte[] key) {
+        if (null == key || (key.length != 16 && key.length != 24 && key.length != 32)) {
+            throw new IllegalArgumentException("AES密钥的长度必须是16、24或32字节");
+        }
+        try {
+            // 引擎持有与密钥绑定的Cipher，不能使用线程缓存的实例
+            this.cipher = CryptoServices.newCipher(CMAC.TRANSFORMATION);
+            this.cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("初始化CMAC计算引擎时出现问题：" + e.getMessage(), e);
+        }
+        // L = AES(K, 0)，K1 = L << 1，K2 = K1 << 1，最高位为1时与Rb异或
+        byte[] l = new byte[BLOCK_SIZE];
+        encrypt(l);
+        this.k1 = subkey(l);
+        this.k2 = subkey(k1);
+    }
+
+    /**
+     * 根据十六进制格式的密钥创建CMAC计算引擎
+     *
+     * @param keyHex 十六进制格式的AES密钥
+     * @return CMAC计算引擎
+     * @throws IllegalArgumentException 密钥不是十六进制字符串或者长度不正确
+     */
+    public static CmacEngine of(String keyHex) {
+        return new CmacEngine(null == keyHex ? null : Hex.hexToBytes(keyHex));
+    }
+
+    /**
+     * 输入一个字节
+     *
+     * @param input 输入的字节
+     * @return 当前引擎
+     */
+    public CmacEngine update(byte input) {
+        if (bufferLength == BLOCK_SIZE) {
+            process(buffer, 0);
+            bufferLength = 0;
+        }
+        buffer[bufferLength++] = input;
+        return this;
+    }
+
+    /**
+     * 输入数据
+     *
+     * @param input 输入的数据
+     * @return 当前引擎
+     */
+    public CmacEngine update(byte[] input) {
+        return update(input, 0, input.length);
+    }
+
+    /**
+     * 输入数据中的一段
+     *
+     * @param input  输入的数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 当前引擎
+     * @throws IndexOutOfBoundsException 起始位置或者长度超出了数据的范围
+     */
+    public CmacEngine update(byte[] input, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > input.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", size: " + input.length);
+        }
+        if (length == 0) {
+            return this;
+        }
+        // 先补满缓冲区，只有后面还有数据时才处理缓冲区中的分组
+        if (bufferLength > 0) {
+            int count = Math.min(BLOCK_SIZE - bufferLength, length);
+            System.arraycopy(input, offset, buffer, bufferLength, count);
+            bufferLength += count;
+            offset += count;
+            length -= count;
+            if (length == 0) {
+                return this;
+            }
+            process(buffer, 0);
+            bufferLength = 0;
+        }
+        // 直接处理完整的分组，保留最后一个分组（可能是完整的）
+        while (length > BLOCK_SIZE) {
+            process(input, offset);
+            offset += BLOCK_SIZE;
+            length -= BLOCK_SIZE;
+        }
+        System.arraycopy(input, offset, buffer, 0, length);
+        bufferLength = length;
+        return this;
+    }
+
+    /**
+     * 完成计算并重置引擎
+     *
+     * @return 16字节的CMAC值
+     */
+    public byte[] doFinal() {
+        byte[] subkey;
+        if (bufferLength == BLOCK_SIZE) {
+            subkey = k1;
+        } else {
+            buffer[bufferLength] = (byte) 0x80;
+            Arrays.fill(buffer, bufferLength + 1, BLOCK_SIZE, (byte) 0);
+            subkey = k2;
+        }
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            state[i] ^= buffer[i] ^ subkey[i];
+        }
+        encrypt(state);
+        byte[] mac = state.clone();
+        reset();
+        return mac;
+    }
+
+    /**
+     * 输入最后一段数据，完成计算并重置引擎
+     *
+     * @param input 输入的数据
+     * @return 16字节的CMAC值
+     */
+    public byte[] doFinal(byte[] input) {
+        return update(input).doFinal();
+    }
+
+    /**
+     * 计算数据的CMAC值，之前输入的数据会被丢弃
+     *
+     * @param data 数据
+     * @return 16字节的CMAC值
+     */
+    public byte[] mac(byte[] data) {
+        return CryptoServices.timed(CMAC.ALGORITHM, () -> {
+            reset();
+            return doFinal(data);
+        });
+    }
+
+    /**
+     * 验证数据的CMAC值，之前输入的数据会被丢弃。比较时使用固定时间的比较方式
+     *
+     * @param data 数据
+     * @param mac  待验证的CMAC值
+     * @return true表示CMAC值正确
+     */
+    public boolean verify(byte[] data, byte[] mac) {
+        return null != mac && MessageDigest.isEqual(mac(data), mac);
+    }
+
+    /**
+     * 丢弃已经输入的数据，重置引擎
+     */
+    public void reset() {
+        Arrays.fill(state, (byte) 0);
+        Arrays.fill(buffer, (byte) 0);
+        bufferLength = 0;
+    }
+
+    /**
+     * 处理一个不是最后一个分组的完整分组
+     */
+    private void process(byte[] input, int offset) {
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            state[i] ^= input[offset + i];
+        }
+        encrypt(state);
+    }
+
+    /**
+     * 原地加密一个分组
+     */
+    private void encrypt(byte[] block) {
+        try {
+            cipher.update(block, 0, BLOCK_SIZE, block, 0);
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("计算CMAC时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 左移一位，最高位为1时与Rb异或
+     */
+    private static byte[] subkey(byte[] input) {
+        byte[] output = new byte[BLOCK_SIZE];
+        int carry = 0;
+        for (int i = BLOCK_SIZE - 1; i >= 0; i--) {
+            int value = input[i] & 0xFF;
+            output[i] = (byte) ((value << 1) | carry);
+            carry = value >>> 7;
+        }
+        if ((input[0] & 0x80) != 0) {
+            output[BLOCK_SIZE - 1] ^= CONST_RB;
+        }
+        return output;
+    }
+}
@@ -0,0 +1,671 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKeyFactory;
+import java.security.*;
+import java.security.cert.CertificateFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * JCA服务的统一入口
+ * </p>
+ * codec 包中的工具都通过该类获取 {@link Cipher}、{@link MessageDigest}、{@link Signature} 等JCA服务，具备以下的特点
+ * <ol>
+ * <li>可以为每种算法指定优先使用的 {@link Provider}，例如将 AES 交给硬件加速的Provider。
+ * 未指定时按照JCA默认的Provider顺序查找，指定的Provider不支持该算法时同样回退到默认的顺序</li>
+ * <li>{@link #cipher(String)}、{@link #messageDigest(String)} 等方法返回当前线程缓存的实例，不需要每次都重新创建。
+ * 修改优先使用的Provider后，各个线程缓存的实例在下次获取时重新创建</li>
+ * <li>{@link #newCipher(String)}、{@link #newKeyPairGenerator(String)} 等方法每次都创建新的实例，
+ * 适用于需要长期持有或者初始化后与特定密钥绑定的场景</li>
+ * <li>按照算法统计加解密、签名、摘要等操作的次数与耗时分布，参见 {@link #getStatistics()}</li>
+ * </ol>
+ * 当前线程缓存的实例在方法返回后仍然可能被同一线程中的其他工具使用，因此每次使用前都必须重新初始化，
+ * 不能跨越方法调用持有，出现异常后应当调用 {@link #discard(Class, String)} 丢弃。
+ *
+ * <pre>
+ * {@code
+ * CryptoServices.setPreferredProvider("AES", "SunJCE");
+ * Cipher cipher = CryptoServices.cipher("AES/ECB/NoPadding");
+ * CryptoServices.Statistics statistics = CryptoServices.getStatistics("AES");
+ * }
+ * </pre>
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class CryptoServices {
+
+    /**
+     * 耗时分布的分段数量，第 i 段（0 &lt; i &lt; 23）记录耗时在 [2^(i-1), 2^i) 微秒的操作，
+     * 第0段记录耗时不足1微秒的操作，最后一段记录耗时超过约4.2秒的操作
+     */
+    public static final int BUCKETS = 24;
+
+    /**
+     * 未开启统计时 {@link #start()} 返回的值
+     */
+    private static final long NOT_RECORDED = Long.MIN_VALUE;
+
+    /**
+     * 算法（大写）与优先使用的Provider
+     */
+    private static final Map<String, Provider> PREFERRED = new ConcurrentHashMap<>();
+
+    /**
+     * 每次修改优先使用的Provider后递增，各个线程据此判断缓存的实例是否失效
+     */
+    private static final AtomicInteger GENERATION = new AtomicInteger(0);
+
+    private static final ThreadLocal<Instances> INSTANCES = ThreadLocal.withInitial(Instances::new);
+
+    private static final Map<String, Recorder> RECORDERS = new ConcurrentHashMap<>();
+
+    private static volatile boolean statisticsEnabled = true;
+
+    private CryptoServices() {
+    }
+
+    /**
+     * 指定算法优先使用的Provider
+     *
+     * @param algorithm 算法，例如 AES、SHA-256。对于加密算法，既可以指定完整的转换（例如 AES/GCM/NoPadding），也可以只指定算法部分，
+     *                  完整转换的设置优先
+     * @param provider  Provider，为null时取消该算法的设置
+     * @throws IllegalArgumentException 算法为空
+     */
+    public static void setPreferredProvider(String algorithm, Provider provider) {
+        String key = normalize(algorithm);
+        if (null == provider) {
+            PREFERRED.remove(key);
+        } else {
+            PREFERRED.put(key, provider);
+        }
+        GENERATION.incrementAndGet();
+        if (log.isDebugEnabled()) {
+            log.debug("算法 {} 优先使用的Provider设置为 {}", algorithm, null == provider ? null : provider.getName());
+        }
+    }
+
+    /**
+     * 指定算法优先使用的Provider，该Provider必须已经通过 {@link Security#addProvider(Provider)} 注册
+     *
+     * @param algorithm    算法，例如 AES、SHA-256
+     * @param providerName Provider的名字，例如 SunJCE
+     * @throws IllegalArgumentException 算法为空或者Provider没有注册
+     */
+    public static void setPreferredProvider(String algorithm, String providerName) {
+        Provider provider = Security.getProvider(providerName);
+        if (null == provider) {
+            throw new IllegalArgumentException("没有注册名字为 " + providerName + " 的Provider");
+        }
+        setPreferredProvider(algorithm, provider);
+    }
+
+    /**
+     * 获取算法优先使用的Provider，先查找完整转换的设置，再查找算法部分的设置
+     *
+     * @param algorithm 算法或者转换，例如 AES/ECB/NoPadding
+     * @return 优先使用的Provider，没有设置时返回null
+     */
+    public static Provider getPreferredProvider(String algorithm) {
+        if (PREFERRED.isEmpty() || null == algorithm) {
+            return null;
+        }
+        String key = algorithm.trim().toUpperCase(Locale.ROOT);
+        Provider provider = PREFERRED.get(key);
+        int index = key.indexOf('/');
+        if (null == provider && index > 0) {
+            provider = PREFERRED.get(key.substring(0, index));
+        }
+        return provider;
+    }
+
+    /**
+     * 取消所有算法优先使用的Provider
+     */
+    public static void clearPreferredProviders() {
+        PREFERRED.clear();
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link Cipher}，使用前必须重新初始化
+     *
+     * @param transformation 转换，例如 AES/ECB/NoPadding
+     * @return 当前线程缓存的实例
+     * @throws UncheckedException 当前环境不支持该转换
+     */
+    public static Cipher cipher(String transformation) {
+        return cached(Cipher.class, transformation, CryptoServices::createCipher);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link MessageDigest}，使用后应当保证其处于重置的状态
+     *
+     * @param algorithm 摘要算法，例如 SHA-256
+     * @return 当前线程缓存的实例
+     * @throws UncheckedException 当前环境不支持该算法
+     */
+    public static MessageDigest messageDigest(String algorithm) {
+        return cached(MessageDigest.class, algorithm, CryptoServices::createMessageDigest);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link Signature}，使用前必须重新初始化
+     *
+     * @param algorithm 签名算法，例如 SHA256withECDSA
+     * @return 当前线程缓存的实例
+     * @throws UncheckedException 当前环境不支持该算法
+     */
+    public static Signature signature(String algorithm) {
+        return cached(Signature.class, algorithm, CryptoServices::createSignature);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link KeyFactory}
+     *
+     * @param algorithm 密钥算法，例如 RSA、EC
+     * @return 当前线程缓存的实例
+     * @throws UncheckedException 当前环境不支持该算法
+     */
+    public static KeyFactory keyFactory(String algorithm) {
+        return cached(KeyFactory.class, algorithm, CryptoServices::createKeyFactory);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link KeyAgreement}，使用前必须重新初始化
+     *
+     * @param algorithm 密钥协商算法，例如 ECDH
+     * @return 当前线程缓存的实例
+     * @throws UncheckedException 当前环境不支持该算法
+     */
+    public static KeyAgreement keyAgreement(String algorithm) {
+        return cached(KeyAgreement.class, algorithm, CryptoServices::createKeyAgreement);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link SecretKeyFactory}
+     *
+     * @param algorithm 密钥算法，例如 DES
+     * @return 当前线程缓存的实例
+     * @throws UncheckedException 当前环境不支持该算法
+     */
+    public static SecretKeyFactory secretKeyFactory(String algorithm) {
+        return cached(SecretKeyFactory.class, algorithm, CryptoServices::createSecretKeyFactory);
+    }
+
+    /**
+     * 获取当前线程缓存的 {@link CertificateFactory}
+     *
+     * @param type 证书类型，例如 X.509
+     * @return 当前线程缓存的实例
+     * @throws UncheckedException 当前环境不支持该证书类型
+     */
+    public static CertificateFactory certificateFactory(String type) {
+        return cached(CertificateFactory.class, type, CryptoServices::createCertificateFactory);
+    }
+
+    /**
+     * 丢弃当前线程缓存的实例，出现异常后实例的状态是不确定的，下次获取时重新创建
+     *
+     * @param type      实例的类型，例如 {@link Cipher}
+     * @param algorithm 算法
+     */
+    public static void discard(Class<?> type, String algorithm) {
+        Map<String, Object> instances = INSTANCES.get().byType.get(type);
+        if (null != instances) {
+            instances.remove(algorithm);
+        }
+    }
+
+    /**
+     * 创建新的 {@link Cipher}
+     *
+     * @param transformation 转换，例如 AES/ECB/NoPadding
+     * @return 新的实例
+     * @throws GeneralSecurityException 当前环境不支持该转换
+     */
+    public static Cipher newCipher(String transformation) throws GeneralSecurityException {
+        return create(transformation, CryptoServices::createCipher);
+    }
+
+    /**
+     * 创建新的 {@link MessageDigest}
+     *
+     * @param algorithm 摘要算法，例如 SHA-256
+     * @return 新的实例
+     * @throws GeneralSecurityException 当前环境不支持该算法
+     */
+    public static MessageDigest newMessageDigest(String algorithm) throws GeneralSecurityException {
+        return create(algorithm, CryptoServices::createMessageDigest);
+    }
+
+    /**
+     * 创建新的 {@link KeyPairGenerator}
+     *
+     * @param algorithm 密钥算法，例如 RSA、EC
+     * @return 新的实例
+     * @throws GeneralSecurityException 当前环境不支持该算法
+     */
+    public static KeyPairGenerator newKeyPairGenerator(String algorithm) throws GeneralSecurityException {
+        return create(algorithm, (a, p) -> null == p ? KeyPairGenerator.getInstance(a) : KeyPairGenerator.getInstance(a, p));
+    }
+
+    /**
+     * 创建新的 {@link KeyGenerator}
+     *
+     * @param algorithm 密钥算法，例如 AES、DESede
+     * @return 新的实例
+     * @throws GeneralSecurityException 当前环境不支持该算法
+     */
+    public static KeyGenerator newKeyGenerator(String algorithm) throws GeneralSecurityException {
+        return create(algorithm, (a, p) -> null == p ? KeyGenerator.getInstance(a) : KeyGenerator.getInstance(a, p));
+    }
+
+    /**
+     * 创建新的 {@link SecureRandom}
+     *
+     * @param algorithm 随机数算法，例如 SHA1PRNG
+     * @return 新的实例
+     * @throws GeneralSecurityException 当前环境不支持该算法
+     */
+    public static SecureRandom newSecureRandom(String algorithm) throws GeneralSecurityException {
+        return create(algorithm, (a, p) -> null == p ? SecureRandom.getInstance(a) : SecureRandom.getInstance(a, p));
+    }
+
+    /**
+     * 创建新的 {@link AlgorithmParameters}
+     *
+     * @param algorithm 算法，例如 EC
+     * @return 新的实例
+     * @throws GeneralSecurityException 当前环境不支持该算法
+     */
+    public static AlgorithmParameters newAlgorithmParameters(String algorithm) throws GeneralSecurityException {
+        return create(algorithm, (a, p) -> null == p ? AlgorithmParameters.getInstance(a) : AlgorithmParameters.getInstance(a, p));
+    }
+
+    /**
+     * 设置是否统计操作的次数与耗时，默认开启
+     *
+     * @param enabled 是否统计
+     */
+    public static void setStatisticsEnabled(boolean enabled) {
+        statisticsEnabled = enabled;
+    }
+
+    /**
+     * 是否统计操作的次数与耗时
+     *
+     * @return 是否统计
+     */
+    public static boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * 获取所有算法的统计信息
+     *
+     * @return 算法与统计信息的快照，按照算法排序
+     */
+    public static Map<String, Statistics> getStatistics() {
+        Map<String, Statistics> statistics = new TreeMap<>();
+        RECORDERS.forEach((algorithm, recorder) -> statistics.put(algorithm, recorder.snapshot()));
+        return statistics;
+    }
+
+    /**
+     * 获取指定算法的统计信息
+     *
+     * @param algorithm 算法，与记录时使用的名字一致，例如 AES/CBC/NoPadding
+     * @return 统计信息的快照，该算法没有记录过操作时返回null
+     */
+    public static Statistics getStatistics(String algorithm) {
+        Recorder recorder = null == algorithm ? null : RECORDERS.get(algorithm);
+        return null == recorder ? null : recorder.snapshot();
+    }
+
+    /**
+     * 清空所有算法的统计信息
+     */
+    public static void resetStatistics() {
+        RECORDERS.clear();
+    }
+
+    /**
+     * 执行一次操作并记录耗时，无论操作成功与否都会记录
+     *
+     * @param algorithm 算法，作为统计信息的名字
+     * @param operation 操作
+     * @param <T>       操作的结果类型
+     * @param <E>       操作可能抛出的异常类型
+     * @return 操作的结果
+     * @throws E 操作出现问题
+     */
+    static <T, E extends Exception> T timed(String algorithm, Operation<T, E> operation) throws E {
+        return timed(algorithm, null, null, operation);
+    }
+
+    /**
+     * 执行一次使用当前线程缓存实例的操作并记录耗时，无论操作成功与否都会记录，操作失败时丢弃该实例
+     *
+     * @param algorithm 算法，既作为统计信息的名字，也是缓存实例的算法
+     * @param type      缓存实例的类型，例如 {@link Cipher}
+     * @param operation 操作
+     * @param <T>       操作的结果类型
+     * @param <E>       操作可能抛出的异常类型
+     * @return 操作的结果
+     * @throws E 操作出现问题
+     */
+    static <T, E extends Exception> T timed(String algorithm, Class<?> type, Operation<T, E> operation) throws E {
+        return timed(algorithm, type, algorithm, operation);
+    }
+
+    /**
+     * 执行一次使用当前线程缓存实例的操作并记录耗时，无论操作成功与否都会记录，操作失败时丢弃该实例
+     *
+     * @param algorithm 算法，作为统计信息的名字
+     * @param type      缓存实例的类型，例如 {@link Cipher}，为null时表示操作没有使用缓存的实例
+     * @param instance  缓存实例的算法，例如统计 CMAC 时使用的 AES/ECB/NoPadding
+     * @param operation 操作
+     * @param <T>       操作的结果类型
+     * @param <E>       操作可能抛出的异常类型
+     * @return 操作的结果
+     * @throws E 操作出现问题
+     */
+    static <T, E extends Exception> T timed(String algorithm, Class<?> type, String instance, Operation<T, E> operation) throws E {
+        long start = start();
+        boolean completed = false;
+        try {
+            T result = operation.execute();
+            completed = true;
+            return result;
+        } finally {
+            if (!completed && null != type) {
+                discard(type, instance);
+            }
+            record(algorithm, start);
+        }
+    }
+
+    /**
+     * 开始记录一次操作
+     *
+     * @return 开始的时间，传给 {@link #record(String, long)}
+     */
+    private static long start() {
+        return statisticsEnabled ? System.nanoTime() : NOT_RECORDED;
+    }
+
+    /**
+     * 记录一次操作的耗时
+     *
+     * @param algorithm 算法
+     * @param start     {@link #start()} 返回的开始时间
+     */
+    private static void record(String algorithm, long start) {
+        if (start == NOT_RECORDED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        Recorder recorder = RECORDERS.get(algorithm);
+        if (null == recorder) {
+            recorder = RECORDERS.computeIfAbsent(algorithm, key -> new Recorder());
+        }
+        recorder.record(elapsed);
+    }
+
+    private static <T> T cached(Class<T> type, String algorithm, Factory<T> factory) {
+        Instances instances = INSTANCES.get();
+        int generation = GENERATION.get();
+        if (instances.generation != generation) {
+            instances.byType.clear();
+            instances.generation = generation;
+        }
+        Map<String, Object> byAlgorithm = instances.byType.computeIfAbsent(type, key -> new HashMap<>(8));
+        Object instance = byAlgorithm.get(algorithm);
+        if (null == instance) {
+            try {
+                instance = create(algorithm, factory);
+            } catch (GeneralSecurityException e) {
+                throw new UncheckedException("初始化 " + type.getSimpleName() + " " + algorithm + " 时出现问题：" + e.getMessage(), e);
+            }
+            byAlgorithm.put(algorithm, instance);
+        }
+        return type.cast(instance);
+    }
+
+    private static <T> T create(String algorithm, Factory<T> factory) throws GeneralSecurityException {
+        Provider provider = getPreferredProvider(algorithm);
+        if (null != provider) {
+            try {
+                return factory.create(algorithm, provider);
+            } catch (GeneralSecurityException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Provider {} 不支持算法 {}，使用默认的Provider，问题为 {}", provider.getName(), algorithm, e.getMessage());
+                }
+            }
+        }
+        return factory.create(algorithm, null);
+    }
+
+    private static String normalize(String algorithm) {
+        if (null == algorithm || algorithm.trim().isEmpty()) {
+            throw new IllegalArgumentException("算法不能为空");
+        }
+        return algorithm.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static Cipher createCipher(String transformation, Provider provider) throws GeneralSecurityException {
+        return null == provider ? Cipher.getInstance(transformation) : Cipher.getInstance(transformation, provider);
+    }
+
+    private static MessageDigest createMessageDigest(String algorithm, Provider provider) throws GeneralSecurityException {
+        return null == provider ? MessageDigest.getInstance(algorithm) : MessageDigest.getInstance(algorithm, provider);
+    }
+
+    private static Signature createSignature(String algorithm, Provider provider) throws GeneralSecurityException {
+        return null == provider ? Signature.getInstance(algorithm) : Signature.getInstance(algorithm, provider);
+    }
+
+    private static KeyFactory createKeyFactory(String algorithm, Provider provider) throws GeneralSecurityException {
+        return null == provider ? KeyFactory.getInstance(algorithm) : KeyFactory.getInstance(algorithm, provider);
+    }
+
+    private static KeyAgreement createKeyAgreement(String algorithm, Provider provider) throws GeneralSecurityException {
+        return null == provider ? KeyAgreement.getInstance(algorithm) : KeyAgreement.getInstance(algorithm, provider);
+    }
+
+    private static SecretKeyFactory createSecretKeyFactory(String algorithm, Provider provider) throws GeneralSecurityException {
+        return null == provider ? SecretKeyFactory.getInstance(algorithm) : SecretKeyFactory.getInstance(algorithm, provider);
+    }
+
+    private static CertificateFactory createCertificateFactory(String type, Provider provider) throws GeneralSecurityException {
+        return null == provider ? CertificateFactory.getInstance(type) : CertificateFactory.getInstance(type, provider);
+    }
+
+    /**
+     * 需要记录耗时的一次操作
+     */
+    @FunctionalInterface
+    interface Operation<T, E extends Exception> {
+        T execute() throws E;
+    }
+
+    /**
+     * 按照算法与Provider创建JCA服务，Provider为null时使用默认的Provider顺序
+     */
+    @FunctionalInterface
+    private interface Factory<T> {
+        T create(String algorithm, Provider provider) throws GeneralSecurityException;
+    }
+
+    /**
+     * 当前线程缓存的实例
+     */
+    private static final class Instances {
+
+        private final Map<Class<?>, Map<String, Object>> byType = new HashMap<>(16);
+
+        private int generation = GENERATION.get();
+    }
+
+    /**
+     * 一个算法的计数器
+     */
+    private static final class Recorder {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        private Recorder() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long elapsed = Math.max(0L, nanos);
+            count.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulate(elapsed);
+            buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(elapsed / 1000))].increment();
+        }
+
+        private Statistics snapshot() {
+            long[] histogram = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = buckets[i].sum();
+            }
+            return new Statistics(count.sum(), totalNanos.sum(), maxNanos.get(), histogram);
+        }
+    }
+
+    /**
+     * 一个算法的统计信息快照
+     *
+     * @author yishui
+     * @version 1.0.0
+     * @since 1.0.0
+     */
+    public static final class Statistics {
+
+        private final long count;
+
+        private final long totalNanos;
+
+        private final long maxNanos;
+
+        private final long[] histogram;
+
+        private Statistics(long count, long totalNanos, long maxNanos, long[] histogram) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.histogram = histogram;
+        }
+
+        /**
+         * 获取耗时分布中第 index 段的上限（不包含）
+         *
+         * @param index 分段的序号，从0开始
+         * @return 上限，单位为微秒，最后一段没有上限，返回 {@link Long#MAX_VALUE}
+         */
+        public static long upperBoundMicros(int index) {
+            return index >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << index;
+        }
+
+        /**
+         * 获取操作的次数
+         *
+         * @return 操作的次数
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 获取操作的总耗时
+         *
+         * @return 总耗时，单位为纳秒
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * 获取单次操作的最大耗时
+         *
+         * @return 最大耗时，单位为纳秒
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * 获取单次操作的平均耗时
+         *
+         * @return 平均耗时，单位为纳秒，没有操作时为0
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * 获取耗时分布，第 i 个元素是耗时落在第 i 段的操作次数，分段的上限参见 {@link #upperBoundMicros(int)}
+         *
+         * @return 耗时分布
+         */
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+
+        /**
+         * 根据耗时分布估算百分位耗时
+         *
+         * @param percentile 百分位，取值范围为 (0, 100]，例如 99
+         * @return 百分位耗时所在分段的上限，单位为微秒，没有操作时为0
+         * @throws IllegalArgumentException 百分位不在取值范围内
+         */
+        public long percentileMicros(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("百分位的取值范围为 (0, 100]");
+            }
+            long total = 0;
+            for (long value : histogram) {
+                total += value;
+            }
+            long threshold = (long) Math.ceil(total * percentile / 100);
+            long accumulated = 0;
+            for (int i = 0; i < BUCKETS && total > 0; i++) {
+                accumulated += histogram[i];
+                if (accumulated >= threshold) {
+                    return upperBoundMicros(i);
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{count=" + count + ", meanNanos=" + (long) getMeanNanos() + ", maxNanos=" + maxNanos
+                    + ", p50Micros=" + percentileMicros(50) + ", p99Micros=" + percentileMicros(99) + "}";
+        }
+    }
+}
@@ -6,7 +6,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
-import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.DESKeySpec;
 import java.security.SecureRandom;
 
@@ -113,21 +112,21 @@ public class DES {
         // 从原始密匙数据创建DESKeySpec对象
         DESKeySpec dks = new DESKeySpec(key);
 
-        // 创建一个密匙工厂，然后用它把DESKeySpec转换成
-        // 一个SecretKey对象
-        SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(TYPE);
+        return CryptoServices.timed(TYPE, Cipher.class, () -> {
+            // 使用当前线程的密匙工厂把DESKeySpec转换成
+            // 一个SecretKey对象
+            SecretKey securekey = CryptoServices.secretKeyFactory(TYPE).generateSecret(dks);
 
-        SecretKey securekey = keyFactory.generateSecret(dks);
+            // Cipher对象实际完成加密操作
+            Cipher cipher = CryptoServices.cipher(TYPE);
 
-        // Cipher对象实际完成加密操作
-        Cipher cipher = Cipher.getInstance(TYPE);
+            // 用密匙初始化Cipher对象
+            cipher.init(Cipher.ENCRYPT_MODE, securekey, sr);
 
-        // 用密匙初始化Cipher对象
-        cipher.init(Cipher.ENCRYPT_MODE, securekey, sr);
-
-        // 现在，获取数据并加密
-        // 正式执行加密操作
-        return cipher.doFinal(src);
+            // 现在，获取数据并加密
+            // 正式执行加密操作
+            return cipher.doFinal(src);
+        });
 
     }
 
@@ -146,21 +145,21 @@ public class DES {
         // 从原始密匙数据创建一个DESKeySpec对象
         DESKeySpec dks = new DESKeySpec(key);
 
-        // 创建一个密匙工厂，然后用它把DESKeySpec对象转换成
-        // 一个SecretKey对象
-        SecretKeyFactory keyFactory = SecretKeyFactory.getInstance(TYPE);
-
-        SecretKey securekey = keyFactory.generateSecret(dks);
+        return CryptoServices.timed(TYPE, Cipher.class, () -> {
+            // 使用当前线程的密匙工厂把DESKeySpec对象转换成
+            // 一个SecretKey对象
+            SecretKey securekey = CryptoServices.secretKeyFactory(TYPE).generateSecret(dks);
 
-        // Cipher对象实际完成解密操作
-        Cipher cipher = Cipher.getInstance(TYPE);
+            // Cipher对象实际完成解密操作
+            Cipher cipher = CryptoServices.cipher(TYPE);
 
-        // 用密匙初始化Cipher对象
-        cipher.init(Cipher.DECRYPT_MODE, securekey, sr);
+            // 用密匙初始化Cipher对象
+            cipher.init(Cipher.DECRYPT_MODE, securekey, sr);
 
-        // 现在，获取数据并解密
-        // 正式执行解密操作
-        return cipher.doFinal(src);
+            // 现在，获取数据并解密
+            // 正式执行解密操作
+            return cipher.doFinal(src);
+        });
 
     }
 
@@ -5,8 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.crypto.KeyAgreement;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.*;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.interfaces.ECPrivateKey;
@@ -35,6 +35,16 @@ public class ECC {
      */
     public static final String defalut_curveName = "secp256r1";
 
+    /**
+     * secp256r1 签名中R与S各自的字节数
+     */
+    private static final int P256_COMPONENT_LENGTH = 32;
+
+    /**
+     * 签名算法
+     */
+    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSA";
+
     /**
      * 使用secp256r1曲线生成ECC密钥对
      *
@@ -53,17 +63,20 @@ public class ECC {
      * @param stdName 椭圆曲线的OID标识符，用于指定使用的标准曲线参数,例如1.2.840.10045.3.1.7或secp256r1
      * @return 生成的ECC密钥对，包含公钥和私钥
      * @throws Exception 当密钥生成过程中发生错误时抛出异常
+     * @see KeyPairPool
      */
     public static KeyPair generateECCKeyPair(String stdName) throws Exception {
-        // 使用KeyPairGenerator来获取标准曲线的参数
-        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        return CryptoServices.timed("EC", () -> {
+            // 使用KeyPairGenerator来获取标准曲线的参数
+            KeyPairGenerator keyPairGenerator = CryptoServices.newKeyPairGenerator("EC");
 
-        // 直接使用OID初始化
-        ECGenParameterSpec ecGenSpec = new ECGenParameterSpec(stdName);
-        keyPairGenerator.initialize(ecGenSpec);
+            // 直接使用OID初始化
+            ECGenParameterSpec ecGenSpec = new ECGenParameterSpec(stdName);
+            keyPairGenerator.initialize(ecGenSpec);
 
-        // 生成一个临时密钥对以获取曲线参数
-        return keyPairGenerator.generateKeyPair();
+            // 生成一个临时密钥对以获取曲线参数
+            return keyPairGenerator.generateKeyPair();
+        });
     }
 
 
@@ -126,18 +139,8 @@ public class ECC {
      * @throws Exception 当无法根据OID获取椭圆曲线参数时抛出异常
      */
     public static ECParameterSpec getECParameterSpecFromOID(String oid) throws Exception {
-        // 使用KeyPairGenerator来获取标准曲线的参数
-        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
-
-        // 直接使用OID初始化
-        ECGenParameterSpec ecGenSpec = new ECGenParameterSpec(oid);
-        keyPairGenerator.initialize(ecGenSpec);
-
-        // 生成一个临时密钥对以获取曲线参数
-        KeyPair tempKeyPair = keyPairGenerator.generateKeyPair();
-        ECPublicKey tempPublicKey = (ECPublicKey) tempKeyPair.getPublic();
-
-        return tempPublicKey.getParams();
+        // 曲线参数只解析一次，之后从注册表中获取
+        return EcCurve.of(oid).getParams();
     }
 
 
@@ -150,30 +153,8 @@ public class ECC {
      * @throws Exception 当解析过程中发生错误时抛出异常
      */
     public static ECPublicKey parsePublicKeyFromHex(ECParameterSpec ecParameterSpec, String publicKeyHex) throws Exception {
-        // 移除可能的前缀
-        if (publicKeyHex.startsWith("04")) {
-            publicKeyHex = publicKeyHex.substring(2);
-        }
-
-        // 公钥格式应该是未压缩的: 04 + X + Y
-        int keyLength = publicKeyHex.length();
-        // 64字节 = 128个十六进制字符 (X和Y各32字节)
-        if (keyLength != 128) {
-            throw new IllegalArgumentException("无效的公钥长度: " + keyLength);
-        }
-
-        // 提取X和Y坐标
-        String xHex = publicKeyHex.substring(0, 64);
-        String yHex = publicKeyHex.substring(64);
-
-        BigInteger x = new BigInteger(xHex, 16);
-        BigInteger y = new BigInteger(yHex, 16);
-        ECPoint publicKeyPoint = new ECPoint(x, y);
-
-        // 构建公钥
-        ECPublicKeySpec publicKeySpec = new ECPublicKeySpec(publicKeyPoint, ecParameterSpec);
-        KeyFactory keyFactory = KeyFactory.getInstance("EC");
-        return (ECPublicKey) keyFactory.generatePublic(publicKeySpec);
+        // 公钥格式应该是未压缩的: 04 + X + Y，X和Y的长度由曲线的位数决定
+        return EcCurve.publicKey(ecParameterSpec, publicKeyHex);
     }
 
     /**
@@ -185,8 +166,7 @@ public class ECC {
      * @throws Exception 当解析过程中发生错误时抛出异常
      */
     public static ECPublicKey parsePublicKeyFromHex(String curveOID, String publicKeyHex) throws Exception {
-        ECParameterSpec parameterSpec = getECParameterSpecFromOID(curveOID);
-        return parsePublicKeyFromHex(parameterSpec, publicKeyHex);
+        return EcCurve.of(curveOID).publicKey(publicKeyHex);
     }
 
 
@@ -199,12 +179,7 @@ public class ECC {
      * @throws Exception 当解析过程中发生错误时抛出异常
      */
     public static ECPrivateKey parsePrivateKeyFromHex(ECParameterSpec ecParameterSpec, String privateKeyDHex) throws Exception {
-        BigInteger privateKeyD = new BigInteger(privateKeyDHex, 16);
-
-        // 构建私钥
-        ECPrivateKeySpec privateKeySpec = new ECPrivateKeySpec(privateKeyD, ecParameterSpec);
-        KeyFactory keyFactory = KeyFactory.getInstance("EC");
-        return (ECPrivateKey) keyFactory.generatePrivate(privateKeySpec);
+        return EcCurve.privateKey(ecParameterSpec, privateKeyDHex);
     }
 
     /**
@@ -216,9 +191,7 @@ public class ECC {
      * @throws Exception 当解析过程中发生错误时抛出异常
      */
     public static ECPrivateKey parsePrivateKeyFromHex(String curveOID, String privateKeyDHex) throws Exception {
-
-        ECParameterSpec parameterSpec = getECParameterSpecFromOID(curveOID);
-        return parsePrivateKeyFromHex(parameterSpec, privateKeyDHex);
+        return EcCurve.of(curveOID).privateKey(privateKeyDHex);
     }
 
 
@@ -231,10 +204,13 @@ public class ECC {
      * @throws Exception 当签名过程中发生错误时抛出异常
      */
     public static byte[] signData(PrivateKey privateKey, byte[] data) throws Exception {
-        Signature signature = Signature.getInstance("SHA256withECDSA");
-        signature.initSign(privateKey);
-        signature.update(data);
-        return signature.sign();
+        return CryptoServices.timed(SIGNATURE_ALGORITHM, Signature.class, () -> {
+            // 使用当前线程的Signature，不需要每次都重新创建
+            Signature signature = CryptoServices.signature(SIGNATURE_ALGORITHM);
+            signature.initSign(privateKey);
+            signature.update(data);
+            return signature.sign();
+        });
     }
 
     /**
@@ -247,10 +223,8 @@ public class ECC {
      * @throws Exception 当验证过程中发生错误时抛出异常
      */
     public static boolean verifySignature(PublicKey publicKey, byte[] data, byte[] signature) throws Exception {
-        Signature verifySignature = Signature.getInstance("SHA256withECDSA");
-        verifySignature.initVerify(publicKey);
-        verifySignature.update(data);
-        return verifySignature.verify(signature);
+        // 使用当前线程的Signature，不需要每次都重新创建
+        return EccVerifier.getInstance().verify(publicKey, data, signature);
     }
 
     /**
@@ -392,64 +366,169 @@ public class ECC {
      * @param derSignature DER编码的签名
      * @return 固定长度128字符的签名
      * @throws Exception 解析DER编码时出错
+     * @see #derToFixedLength(byte[], int)
      */
     public static String convertDERToFixedLength(byte[] derSignature) throws Exception {
-        // 解析DER编码的签名
-// DER编码格式: 0x30 + 总长度 + 0x02 + R长度 + R值 + 0x02 + S长度 + S值
-
-        ByteArrayInputStream bais = new ByteArrayInputStream(derSignature);
-        if (bais.read() != 0x30) {
-            throw new Exception("Invalid DER signature: wrong sequence tag");
-        }
+        return Hex.bytesToHex(derToFixedLength(derSignature, P256_COMPONENT_LENGTH));
+    }
 
-        int length = readDERLength(bais);
-        if (bais.read() != 0x02) {
-            throw new Exception("Invalid DER signature: missing R integer tag");
+    /**
+     * 将DER编码的ECDSA签名转换为固定长度的 R||S 格式
+     * <p>
+     * 直接在原始字节上解析DER编码的 SEQUENCE，不创建中间对象。DER编码必须严格符合规范：
+     * 长度使用最短的编码方式，R与S是非负数并且没有多余的前导0，SEQUENCE之后不能有多余的数据。
+     * </p>
+     *
+     * @param derSignature    DER编码的签名
+     * @param componentLength R与S各自的字节数，例如P-256为32，P-521为66
+     * @return 固定长度的签名，长度为 componentLength 的两倍
+     * @throws IllegalArgumentException DER编码不符合规范或者R、S超出指定的长度
+     */
+    public static byte[] derToFixedLength(byte[] derSignature, int componentLength) {
+        if (null == derSignature) {
+            throw new IllegalArgumentException("Invalid DER signature: signature is null");
         }
+        return derToFixedLength(ByteBuffer.wrap(derSignature), componentLength);
+    }
 
-        int rLength = readDERLength(bais);
-        byte[] rBytes = new byte[rLength];
-        bais.read(rBytes);
+    /**
+     * 将DER编码的ECDSA签名转换为固定长度的 R||S 格式，解析的是缓冲区中从当前位置到上限之间的数据，
+     * 解析后缓冲区的位置不变
+     *
+     * @param derSignature    DER编码的签名
+     * @param componentLength R与S各自的字节数，例如P-256为32，P-521为66
+     * @return 固定长度的签名，长度为 componentLength 的两倍
+     * @throws IllegalArgumentException DER编码不符合规范或者R、S超出指定的长度
+     * @see #derToFixedLength(byte[], int)
+     */
+    public static byte[] derToFixedLength(ByteBuffer derSignature, int componentLength) {
+        if (null == derSignature) {
+            throw new IllegalArgumentException("Invalid DER signature: signature is null");
+        }
+        if (componentLength <= 0) {
+            throw new IllegalArgumentException("Invalid component length: " + componentLength);
+        }
+        // DER编码格式: 0x30 + 总长度 + 0x02 + R长度 + R值 + 0x02 + S长度 + S值
+        int end = derSignature.limit();
+        int offset = derSignature.position();
+        if (offset >= end || derSignature.get(offset) != 0x30) {
+            throw new IllegalArgumentException("Invalid DER signature: wrong sequence tag");
+        }
+        offset++;
+        int sequenceLength = readDerLength(derSignature, offset, end);
+        offset += derLengthSize(sequenceLength);
+        if (offset + sequenceLength != end) {
+            throw new IllegalArgumentException("Invalid DER signature: sequence length does not match signature length");
+        }
+        byte[] fixed = new byte[componentLength * 2];
+        offset = readDerInteger(derSignature, offset, end, fixed, 0, componentLength, "R");
+        offset = readDerInteger(derSignature, offset, end, fixed, componentLength, componentLength, "S");
+        if (offset != end) {
+            throw new IllegalArgumentException("Invalid DER signature: unexpected data after S integer");
+        }
+        return fixed;
+    }
 
-        if (bais.read() != 0x02) {
-            throw new Exception("Invalid DER signature: missing S integer tag");
+    /**
+     * 读取DER编码的INTEGER，去掉前导0后右对齐写入目标数组
+     *
+     * @return INTEGER之后的位置
+     */
+    private static int readDerInteger(ByteBuffer buffer, int offset, int end, byte[] dest, int destOffset, int componentLength, String name) {
+        if (offset >= end || buffer.get(offset) != 0x02) {
+            throw new IllegalArgumentException("Invalid DER signature: missing " + name + " integer tag");
         }
-
-        int sLength = readDERLength(bais);
-        byte[] sBytes = new byte[sLength];
-        bais.read(sBytes);
-
-        // 转换为正整数（去除符号位）
-        BigInteger r = new BigInteger(1, rBytes);
-        BigInteger s = new BigInteger(1, sBytes);
-
-        // 转换为固定长度的十六进制字符串（各32字节，即64个字符）
-        String rHex = String.format("%064x", r);
-        String sHex = String.format("%064x", s);
-
-        return (rHex + sHex).toUpperCase();
+        offset++;
+        int length = readDerLength(buffer, offset, end);
+        offset += derLengthSize(length);
+        if (length == 0 || offset + length > end) {
+            throw new IllegalArgumentException("Invalid DER signature: wrong " + name + " integer length");
+        }
+        byte first = buffer.get(offset);
+        if (first < 0) {
+            throw new IllegalArgumentException("Invalid DER signature: negative " + name + " integer");
+        }
+        if (first == 0 && length > 1) {
+            if (buffer.get(offset + 1) >= 0) {
+                throw new IllegalArgumentException("Invalid DER signature: non-minimal " + name + " integer encoding");
+            }
+            // 去掉符号位的0
+            offset++;
+            length--;
+        }
+        if (length > componentLength) {
+            throw new IllegalArgumentException("Invalid DER signature: " + name + " integer is longer than " + componentLength + " bytes");
+        }
+        for (int i = 0, pos = destOffset + componentLength - length; i < length; i++) {
+            dest[pos + i] = buffer.get(offset + i);
+        }
+        return offset + length;
     }
 
     /**
-     * 从DER编码中读取长度字段
+     * 从DER编码中读取长度字段，只接受最短的编码方式
      *
-     * @param inputStream 输入流
+     * @param buffer 缓冲区
+     * @param offset 长度字段的位置
+     * @param end    数据的结束位置
      * @return 长度值
-     * @throws IOException 读取流出错
      */
-    private static int readDERLength(InputStream inputStream) throws IOException {
-        int length = inputStream.read();
-        if (length > 127) {
-            // 长格式长度
-            int lengthBytes = length & 0x7F;
-            length = 0;
-            for (int i = 0; i < lengthBytes; i++) {
-                length = (length << 8) | inputStream.read();
-            }
+    private static int readDerLength(ByteBuffer buffer, int offset, int end) {
+        if (offset >= end) {
+            throw new IllegalArgumentException("Invalid DER signature: missing length");
+        }
+        int length = buffer.get(offset) & 0xFF;
+        if (length < 0x80) {
+            return length;
+        }
+        // 长格式长度
+        int lengthBytes = length & 0x7F;
+        if (lengthBytes == 0 || lengthBytes > 3 || offset + lengthBytes >= end || buffer.get(offset + 1) == 0) {
+            throw new IllegalArgumentException("Invalid DER signature: wrong length encoding");
+        }
+        length = 0;
+        for (int i = 1; i <= lengthBytes; i++) {
+            length = (length << 8) | (buffer.get(offset + i) & 0xFF);
+        }
+        if (length < 0x80) {
+            throw new IllegalArgumentException("Invalid DER signature: non-minimal length encoding");
         }
         return length;
     }
 
+    /**
+     * 计算DER编码中长度字段的字节数
+     *
+     * @param length 长度值
+     * @return 长度字段的字节数
+     */
+    private static int derLengthSize(int length) {
+        if (length < 0x80) {
+            return 1;
+        }
+        return length < 0x100 ? 2 : length < 0x10000 ? 3 : 4;
+    }
+
+    /**
+     * 写入DER编码的长度字段
+     *
+     * @return 长度字段之后的位置
+     */
+    private static int writeDerLength(byte[] dest, int offset, int length) {
+        int size = derLengthSize(length);
+        if (size == 1) {
+            dest[offset] = (byte) length;
+            return offset + 1;
+        }
+        // 长格式
+        dest[offset] = (byte) (0x80 | (size - 1));
+        for (int i = size - 1; i > 0; i--) {
+            dest[offset + i] = (byte) length;
+            length >>>= 8;
+        }
+        return offset + size;
+    }
+
 
     /**
      * 验证数字签名的有效性
@@ -459,12 +538,11 @@ public class ECC {
      * @param signatureBase64 经过Base64编码的签名数据
      * @return 签名验证结果，true表示签名有效，false表示签名无效
      * @throws Exception 当证书解析失败或签名验证过程中发生错误时抛出异常
+     * @see EccVerifier
      */
     public static boolean verify(String certData, String data, String signatureBase64) throws Exception {
-        PublicKey publicKey = X509Helper.extractPublicKey(certData);
-        // 解码Base64签名并验证签名有效性
-        byte[] signature = Base64.getDecoder().decode(signatureBase64);
-        return verifySignature(publicKey, data.getBytes(StandardCharsets.UTF_8), signature);
+        // 证书解析后的公钥会被缓存，重复使用同一个证书时不需要重新解析
+        return EccVerifier.getInstance().verify(certData, data, signatureBase64);
     }
 
     /**
@@ -477,11 +555,7 @@ public class ECC {
      * @throws Exception 当证书解析、数据解码或签名验证过程中发生错误时抛出异常
      */
     public static boolean verifyHex(String certData, String hexData, String signatureHex) throws Exception {
-        PublicKey publicKey = X509Helper.extractPublicKey(certData);
-        // 将固定长度签名转换为DER编码
-        byte[] signature = convertFixedLengthToDER(signatureHex);
-        byte[] data = Hex.hexToBytes(hexData);
-        return verifySignature(publicKey, data, signature);
+        return EccVerifier.getInstance().verifyHex(certData, hexData, signatureHex);
     }
 
     /**
@@ -489,76 +563,87 @@ public class ECC {
      *
      * @param fixedSignature 固定长度签名（R和S各64个十六进制字符）
      * @return DER编码的签名
+     * @see #fixedLengthToDER(byte[])
      */
     public static byte[] convertFixedLengthToDER(String fixedSignature) throws Exception {
         if (fixedSignature.length() != 128) {
             throw new Exception("Invalid signature length: expected 128 characters, got " + fixedSignature.length());
         }
-
-        // 分离R和S值
-        String rHex = fixedSignature.substring(0, 64);
-        String sHex = fixedSignature.substring(64);
-
-        BigInteger r = new BigInteger(rHex, 16);
-        BigInteger s = new BigInteger(sHex, 16);
-
-        // 构造DER编码
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        // R值
-        byte[] rBytes = r.toByteArray();
-        // S值
-        byte[] sBytes = s.toByteArray();
-
-        // 计算总长度
-        int rLen = rBytes.length;
-        int sLen = sBytes.length;
-        int totalLen = 2 + rLen + 2 + sLen; // 0x02 + rLen + 0x02 + sLen
-
-        // 写入序列标记和长度
-        baos.write(0x30);
-        writeDERLength(baos, totalLen);
-
-        // 写入R
-        baos.write(0x02);
-        writeDERLength(baos, rLen);
-        baos.write(rBytes);
-
-        // 写入S
-        baos.write(0x02);
-        writeDERLength(baos, sLen);
-        baos.write(sBytes);
-
-        return baos.toByteArray();
+        byte[] fixed = Hex.hexToBytes(fixedSignature);
+        if (null == fixed) {
+            throw new Exception("Invalid signature: not a hex string");
+        }
+        return fixedLengthToDER(fixed);
     }
 
     /**
-     * 将长度写入DER编码
+     * 将固定长度的 R||S 格式签名转换为DER编码格式，直接写入DER编码的字节数组，不创建中间对象
      *
-     * @param outputStream 输出流
-     * @param length       长度值
-     * @throws IOException 写入流出错
+     * @param fixedSignature 固定长度的签名，前一半为R，后一半为S
+     * @return DER编码的签名
+     * @throws IllegalArgumentException 签名为空或者长度不是偶数
      */
-    private static void writeDERLength(OutputStream outputStream, int length) throws IOException {
-        if (length < 128) {
-            outputStream.write(length);
-        } else {
-            // 长格式
-            byte[] lengthBytes = new byte[4];
-            int count = 0;
-            for (int i = 3; i >= 0; i--) {
-                lengthBytes[i] = (byte) (length & 0xFF);
-                length >>= 8;
-                if (lengthBytes[i] != 0) {
-                    count = 4 - i;
-                }
-            }
+    public static byte[] fixedLengthToDER(byte[] fixedSignature) {
+        if (null == fixedSignature) {
+            throw new IllegalArgumentException("Invalid signature: signature is null");
+        }
+        return fixedLengthToDER(ByteBuffer.wrap(fixedSignature));
+    }
 
-            outputStream.write(0x80 | count);
-            for (int i = 4 - count; i < 4; i++) {
-                outputStream.write(lengthBytes[i]);
-            }
+    /**
+     * 将固定长度的 R||S 格式签名转换为DER编码格式，转换的是缓冲区中从当前位置到上限之间的数据，
+     * 转换后缓冲区的位置不变
+     *
+     * @param fixedSignature 固定长度的签名，前一半为R，后一半为S
+     * @return DER编码的签名
+     * @throws IllegalArgumentException 签名为空或者长度不是偶数
+     * @see #fixedLengthToDER(byte[])
+     */
+    public static byte[] fixedLengthToDER(ByteBuffer fixedSignature) {
+        if (null == fixedSignature) {
+            throw new IllegalArgumentException("Invalid signature: signature is null");
+        }
+        int start = fixedSignature.position();
+        int length = fixedSignature.remaining();
+        if (length == 0 || length % 2 != 0) {
+            throw new IllegalArgumentException("Invalid signature length: expected an even number of bytes, got " + length);
+        }
+        int componentLength = length / 2;
+        // 去掉前导0后的起始位置，全为0时保留最后一个字节
+        int rStart = skipLeadingZeros(fixedSignature, start, start + componentLength);
+        int sStart = skipLeadingZeros(fixedSignature, start + componentLength, start + length);
+        int rLen = start + componentLength - rStart;
+        int sLen = start + length - sStart;
+        // 最高位为1时需要补充一个0作为符号位
+        int rPad = fixedSignature.get(rStart) < 0 ? 1 : 0;
+        int sPad = fixedSignature.get(sStart) < 0 ? 1 : 0;
+        int rIntLen = rLen + rPad;
+        int sIntLen = sLen + sPad;
+        int totalLen = 1 + derLengthSize(rIntLen) + rIntLen + 1 + derLengthSize(sIntLen) + sIntLen;
+
+        byte[] der = new byte[1 + derLengthSize(totalLen) + totalLen];
+        der[0] = 0x30;
+        int offset = writeDerLength(der, 1, totalLen);
+        offset = writeDerInteger(fixedSignature, rStart, rLen, rPad, der, offset);
+        writeDerInteger(fixedSignature, sStart, sLen, sPad, der, offset);
+        return der;
+    }
+
+    private static int skipLeadingZeros(ByteBuffer buffer, int offset, int end) {
+        while (offset < end - 1 && buffer.get(offset) == 0) {
+            offset++;
+        }
+        return offset;
+    }
+
+    private static int writeDerInteger(ByteBuffer source, int sourceOffset, int length, int pad, byte[] dest, int offset) {
+        dest[offset++] = 0x02;
+        offset = writeDerLength(dest, offset, length + pad);
+        offset += pad;
+        for (int i = 0; i < length; i++) {
+            dest[offset + i] = source.get(sourceOffset + i);
         }
+        return offset + length;
     }
 
 
@@ -789,7 +874,7 @@ public class ECC {
     private static ECPrivateKey parsePKCS8PrivateKey(byte[] keyBytes) throws Exception {
         try {
             // 创建EC算法的密钥工厂
-            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            KeyFactory keyFactory = EcCurve.keyFactory();
             PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(keyBytes);
             PrivateKey privateKey = keyFactory.generatePrivate(keySpec);
 
@@ -979,10 +1064,7 @@ public class ECC {
     private static ECPrivateKey createECPrivateKey(BigInteger s) throws Exception {
         try {
             // 使用P-256曲线参数创建EC私钥
-            java.security.spec.ECParameterSpec ecSpec = getP256ParameterSpec();
-            ECPrivateKeySpec keySpec = new ECPrivateKeySpec(s, ecSpec);
-            KeyFactory keyFactory = KeyFactory.getInstance("EC");
-            return (ECPrivateKey) keyFactory.generatePrivate(keySpec);
+            return EcCurve.privateKey(getP256ParameterSpec(), s);
         } catch (Exception e) {
             throw new Exception("Failed to create EC private key from D value: " + e.getMessage(), e);
         }
@@ -997,13 +1079,7 @@ public class ECC {
     private static java.security.spec.ECParameterSpec getP256ParameterSpec() {
         // 尝试通过Java内置方式获取P-256曲线参数
         try {
-            KeyFactory keyFactory = KeyFactory.getInstance("EC");
-            // 创建临时密钥对来获取曲线参数
-            java.security.KeyPairGenerator keyGen = java.security.KeyPairGenerator.getInstance("EC");
-            keyGen.initialize(256); // 256位曲线
-            java.security.KeyPair keyPair = keyGen.generateKeyPair();
-            ECPrivateKey tempKey = (ECPrivateKey) keyPair.getPrivate();
-            return tempKey.getParams();
+            return EcCurve.of(defalut_curveOID).getParams();
         } catch (Exception e) {
             // 如果无法动态获取，使用硬编码的参数（不推荐，但作为备选）
             return getHardcodedP256ParameterSpec();
@@ -1067,7 +1143,7 @@ public class ECC {
         }
 
         // 转换为十六进制
-        return Hex.bytesToHex(encodedKey).toUpperCase();
+        return Hex.bytesToHex(encodedKey);
     }
 
 
@@ -1131,14 +1207,16 @@ public class ECC {
      * @throws Exception 如果密钥协商过程中发生错误
      */
     public static byte[] performKeyAgreement(PrivateKey privateKey, PublicKey publicKey) throws Exception {
-        // 创建ECDH密钥协商实例
-        KeyAgreement keyAgreement = KeyAgreement.getInstance("ECDH");
-        // 初始化密钥协商对象，设置本地私钥
-        keyAgreement.init(privateKey);
-        // 执行密钥协商阶段，使用对方公钥
-        keyAgreement.doPhase(publicKey, true);
-        // 生成并返回共享密钥
-        return keyAgreement.generateSecret();
+        return CryptoServices.timed("ECDH", KeyAgreement.class, () -> {
+            // 获取当前线程的ECDH密钥协商实例
+            KeyAgreement keyAgreement = CryptoServices.keyAgreement("ECDH");
+            // 初始化密钥协商对象，设置本地私钥
+            keyAgreement.init(privateKey);
+            // 执行密钥协商阶段，使用对方公钥
+            keyAgreement.doPhase(publicKey, true);
+            // 生成并返回共享密钥
+            return keyAgreement.generateSecret();
+        });
     }
 
     /**
@@ -1166,7 +1244,7 @@ public class ECC {
      */
     public static PublicKey rebuildPublicKey(byte[] publicKeyBytes) throws Exception {
         // 创建EC算法的密钥工厂
-        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        KeyFactory keyFactory = EcCurve.keyFactory();
         // 使用X509编码格式创建公钥规范
         X509EncodedKeySpec keySpec = new X509EncodedKeySpec(publicKeyBytes);
         // 根据公钥规范生成公钥对象
@@ -1183,7 +1261,7 @@ public class ECC {
      */
     public static PrivateKey rebuildPrivateKey(byte[] privateKeyBytes) throws Exception {
         // 创建EC算法的密钥工厂
-        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        KeyFactory keyFactory = EcCurve.keyFactory();
         // 使用PKCS8格式编码的密钥规范
         PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(privateKeyBytes);
         // 根据密钥规范生成私钥对象
@@ -1224,8 +1302,7 @@ public class ECC {
     public static SecretKeySpec createSharedSecret(String algorithm, byte[] sharedSecret) throws Exception {
         // 使用KDF（密钥派生函数）派生对称密钥
 // 这里使用简单的SHA-256哈希作为KDF示例
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        byte[] derivedKey = digest.digest(sharedSecret);
+        byte[] derivedKey = FileDigester.sha256().digest(sharedSecret);
 
         // 根据需要的密钥长度截取
         int keyLength = getKeyLength(algorithm);
@@ -1346,7 +1423,7 @@ public class ECC {
         }
 
         // 转换为十六进制
-        return Hex.bytesToHex(encodedKey).toUpperCase();
+        return Hex.bytesToHex(encodedKey);
     }
 
     /**
@@ -1457,7 +1534,7 @@ public class ECC {
         }
 
         // 转换为十六进制
-        return Hex.bytesToHex(keyBytes).toUpperCase();
+        return Hex.bytesToHex(keyBytes);
     }
 
     /**
@@ -1516,7 +1593,7 @@ public class ECC {
 
         try {
             // 创建EC算法的密钥工厂
-            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            KeyFactory keyFactory = EcCurve.keyFactory();
             X509EncodedKeySpec keySpec = new X509EncodedKeySpec(keyBytes);
             PublicKey publicKey = keyFactory.generatePublic(keySpec);
 
@@ -1603,7 +1680,7 @@ public class ECC {
         }
 
         // 转换为十六进制
-        return Hex.bytesToHex(encodedKey).toUpperCase();
+        return Hex.bytesToHex(encodedKey);
     }
 
     /**
@@ -1741,7 +1818,7 @@ public class ECC {
         }
 
         // 转换为十六进制
-        return Hex.bytesToHex(keyBytes).toUpperCase();
+        return Hex.bytesToHex(keyBytes);
     }
 
     /**
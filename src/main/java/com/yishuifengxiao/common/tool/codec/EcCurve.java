@@ -0,0 +1,299 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * 椭圆曲线注册表
+ * </p>
+ * 每条曲线只解析一次，解析后保存不可变的 {@link ECParameterSpec} 与曲线的位数，
+ * 之后通过曲线的OID或者名字获取曲线时不再需要生成临时的密钥对。类加载时会预先解析
+ * {@link KeyPairHelper#getSupportedECCurveOIDs()} 中当前JDK支持的曲线，其他的曲线在第一次使用时解析。
+ * <p>
+ * 从十六进制字符串构建公钥与私钥时只进行数值运算，并使用当前线程的 {@link KeyFactory} 生成密钥。
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * EcCurve curve = EcCurve.of("1.2.840.10045.3.1.7");
+ * ECPublicKey publicKey = curve.publicKey(publicKeyHex);
+ * ECPrivateKey privateKey = curve.privateKey(privateKeyDHex);
+ * }
+ * </pre>
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EcCurve {
+
+    /**
+     * 曲线的OID或者名字与曲线
+     */
+    private static final Map<String, EcCurve> CURVES = new ConcurrentHashMap<>();
+
+    static {
+        for (String oid : KeyPairHelper.getSupportedECCurveOIDs()) {
+            try {
+                of(oid);
+            } catch (UncheckedException e) {
+                // 部分曲线（例如secp256k1）在较新的JDK中已经不再支持
+                if (log.isDebugEnabled()) {
+                    log.debug("当前环境不支持椭圆曲线 {}，问题为 {}", oid, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private final String oid;
+
+    private final String name;
+
+    private final ECParameterSpec params;
+
+    private final int fieldSize;
+
+    /**
+     * 坐标与私钥D值的字节数
+     */
+    private final int byteLength;
+
+    private EcCurve(String oid, String name, ECParameterSpec params) {
+        this.oid = oid;
+        this.name = name;
+        this.params = params;
+        this.fieldSize = params.getCurve().getField().getFieldSize();
+        this.byteLength = (fieldSize + 7) / 8;
+    }
+
+    /**
+     * 根据曲线的OID或者名字获取曲线，第一次获取时解析并缓存
+     *
+     * @param oidOrName 曲线的OID或者名字，例如 1.2.840.10045.3.1.7 或 secp256r1
+     * @return 曲线
+     * @throws UncheckedException 当前环境不支持该曲线
+     */
+    public static EcCurve of(String oidOrName) {
+        if (null == oidOrName) {
+            throw new UncheckedException("椭圆曲线的OID或名字不能为空");
+        }
+        EcCurve curve = CURVES.get(oidOrName);
+        if (null == curve) {
+            curve = resolve(oidOrName);
+            CURVES.putIfAbsent(curve.oid, curve);
+            CURVES.putIfAbsent(curve.name, curve);
+            CURVES.putIfAbsent(oidOrName, curve);
+        }
+        return curve;
+    }
+
+    /**
+     * 获取已经解析过的所有曲线
+     *
+     * @return 已经解析过的所有曲线，按照OID排序
+     */
+    public static Collection<EcCurve> registered() {
+        Map<String, EcCurve> result = new TreeMap<>();
+        for (EcCurve curve : CURVES.values()) {
+            result.put(curve.oid, curve);
+        }
+        return Collections.unmodifiableCollection(result.values());
+    }
+
+    /**
+     * 获取当前线程的EC密钥工厂
+     *
+     * @return EC密钥工厂
+     */
+    public static KeyFactory keyFactory() {
+        return CryptoServices.keyFactory("EC");
+    }
+
+    /**
+     * 根据曲线参数与公钥的十六进制字符串构建公钥
+     *
+     * @param params       曲线参数
+     * @param publicKeyHex 公钥的十六进制字符串，格式为 X||Y，可以带有未压缩格式的前缀04
+     * @return 公钥
+     * @throws IllegalArgumentException 公钥的长度与曲线不符
+     * @throws UncheckedException       构建公钥时出现问题
+     */
+    public static ECPublicKey publicKey(ECParameterSpec params, String publicKeyHex) {
+        int hexLength = (params.getCurve().getField().getFieldSize() + 7) / 8 * 2;
+        String hex = publicKeyHex;
+        if (hex.length() == hexLength * 2 + 2 && hex.startsWith("04")) {
+            hex = hex.substring(2);
+        }
+        if (hex.length() != hexLength * 2) {
+            throw new IllegalArgumentException("无效的公钥长度: " + hex.length());
+        }
+        BigInteger x = new BigInteger(hex.substring(0, hexLength), 16);
+        BigInteger y = new BigInteger(hex.substring(hexLength), 16);
+        return publicKey(params, new ECPoint(x, y));
+    }
+
+    /**
+     * 根据曲线参数与私钥D值的十六进制字符串构建私钥
+     *
+     * @param params         曲线参数
+     * @param privateKeyDHex 私钥D值的十六进制字符串
+     * @return 私钥
+     * @throws UncheckedException 构建私钥时出现问题
+     */
+    public static ECPrivateKey privateKey(ECParameterSpec params, String privateKeyDHex) {
+        return privateKey(params, new BigInteger(privateKeyDHex, 16));
+    }
+
+    /**
+     * 根据公钥的十六进制字符串构建该曲线上的公钥
+     *
+     * @param publicKeyHex 公钥的十六进制字符串，格式为 X||Y，可以带有未压缩格式的前缀04
+     * @return 公钥
+     * @throws IllegalArgumentException 公钥的长度与曲线不符
+     * @throws UncheckedException       构建公钥时出现问题
+     */
+    public ECPublicKey publicKey(String publicKeyHex) {
+        return publicKey(params, publicKeyHex);
+    }
+
+    /**
+     * 根据坐标构建该曲线上的公钥
+     *
+     * @param x 公钥的X坐标
+     * @param y 公钥的Y坐标
+     * @return 公钥
+     * @throws UncheckedException 构建公钥时出现问题
+     */
+    public ECPublicKey publicKey(BigInteger x, BigInteger y) {
+        return publicKey(params, new ECPoint(x, y));
+    }
+
+    /**
+     * 根据私钥D值的十六进制字符串构建该曲线上的私钥
+     *
+     * @param privateKeyDHex 私钥D值的十六进制字符串
+     * @return 私钥
+     * @throws UncheckedException 构建私钥时出现问题
+     */
+    public ECPrivateKey privateKey(String privateKeyDHex) {
+        return privateKey(params, privateKeyDHex);
+    }
+
+    /**
+     * 根据私钥D值构建该曲线上的私钥
+     *
+     * @param d 私钥D值
+     * @return 私钥
+     * @throws UncheckedException 构建私钥时出现问题
+     */
+    public ECPrivateKey privateKey(BigInteger d) {
+        return privateKey(params, d);
+    }
+
+    /**
+     * 获取曲线的OID
+     *
+     * @return 曲线的OID
+     */
+    public String getOid() {
+        return oid;
+    }
+
+    /**
+     * 获取曲线的名字
+     *
+     * @return 曲线的名字，例如 secp256r1
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取曲线参数
+     *
+     * @return 曲线参数
+     */
+    public ECParameterSpec getParams() {
+        return params;
+    }
+
+    /**
+     * 获取曲线的位数
+     *
+     * @return 曲线的位数，例如P-256为256
+     */
+    public int getFieldSize() {
+        return fieldSize;
+    }
+
+    /**
+     * 获取坐标与私钥D值的字节数
+     *
+     * @return 坐标与私钥D值的字节数，例如P-256为32
+     */
+    public int getByteLength() {
+        return byteLength;
+    }
+
+    @Override
+    public String toString() {
+        return "EcCurve{" + name + ", oid=" + oid + ", fieldSize=" + fieldSize + "}";
+    }
+
+    private static ECPublicKey publicKey(ECParameterSpec params, ECPoint point) {
+        try {
+            return (ECPublicKey) keyFactory().generatePublic(new ECPublicKeySpec(point, params));
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("构建EC公钥时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 根据曲线参数与私钥D值构建私钥
+     *
+     * @param params 曲线参数
+     * @param d      私钥D值
+     * @return 私钥
+     * @throws UncheckedException 构建私钥时出现问题
+     */
+    public static ECPrivateKey privateKey(ECParameterSpec params, BigInteger d) {
+        try {
+            return (ECPrivateKey) keyFactory().generatePrivate(new ECPrivateKeySpec(d, params));
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("构建EC私钥时出现问题：" + e.getMessage(), e);
+        }
+    }
+
+    private static EcCurve resolve(String oidOrName) {
+        // KeyPairHelper 中登记了OID与曲线名字的对应关系，优先使用曲线名字解析
+        String mapped = KeyPairHelper.getCurveNameByOID(oidOrName);
+        try {
+            AlgorithmParameters parameters = CryptoServices.newAlgorithmParameters("EC");
+            parameters.init(new ECGenParameterSpec(null == mapped ? oidOrName : mapped));
+            ECParameterSpec params = parameters.getParameterSpec(ECParameterSpec.class);
+            // AlgorithmParameters 返回的是曲线的OID
+            String oid = parameters.getParameterSpec(ECGenParameterSpec.class).getName();
+            String name = null != mapped ? mapped : oid.equals(oidOrName) ? nameOf(oid) : oidOrName;
+            return new EcCurve(oid, name, params);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new UncheckedException("不支持的椭圆曲线 " + oidOrName + "：" + e.getMessage(), e);
+        }
+    }
+
+    private static String nameOf(String oid) {
+        String name = KeyPairHelper.getCurveNameByOID(oid);
+        return null == name ? oid : name;
+    }
+}
@@ -0,0 +1,276 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import com.yishuifengxiao.common.tool.lang.Hex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.cert.CertificateException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>
+ * ECDSA签名验证工具
+ * </p>
+ * 适用于使用少量证书反复验证大量签名的场景，与 {@link ECC#verify(String, String, String)} 相比具备以下的特点
+ * <ol>
+ * <li>证书解析后的公钥按照证书数据的SHA-256指纹缓存，缓存的数量有上限，超出时淘汰最久未使用的公钥</li>
+ * <li>每个线程持有各自的 {@link Signature}，不需要每次都重新创建，参见 {@link CryptoServices#signature(String)}</li>
+ * <li>通过 {@link #verifyBatch(List)} 将一批验证请求分组后提交到指定的线程池中并行验证</li>
+ * </ol>
+ *
+ * <pre>
+ * {@code
+ * EccVerifier verifier = new EccVerifier(512, executor);
+ * List<Boolean> results = verifier.verifyBatch(Arrays.asList(
+ *         EccVerifier.VerifyRequest.of(cert, data, signatureBase64),
+ *         EccVerifier.VerifyRequest.ofHex(cert, hexData, signatureHex)));
+ * }
+ * </pre>
+ * 验证工具是线程安全的，应当创建一次后重复使用。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EccVerifier {
+
+    /**
+     * 签名算法
+     */
+    private static final String ALGORITHM = "SHA256withECDSA";
+
+    /**
+     * 默认最多缓存的公钥数量
+     */
+    public static final int DEFAULT_MAX_KEYS = 1024;
+
+    /**
+     * 批量验证时每组请求的数量
+     */
+    private static final int BATCH_SIZE = 64;
+
+    private static final EccVerifier DEFAULT = new EccVerifier(DEFAULT_MAX_KEYS, ForkJoinPool.commonPool());
+
+    private final Map<String, PublicKey> keys;
+
+    private final Executor executor;
+
+    /**
+     * 创建ECDSA签名验证工具
+     *
+     * @param maxKeys  最多缓存的公钥数量
+     * @param executor 批量验证时使用的线程池
+     * @throws IllegalArgumentException 缓存数量不是正数或者线程池为null
+     */
+    public EccVerifier(int maxKeys, Executor executor) {
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("缓存的公钥数量必须是正数");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("线程池不能为空");
+        }
+        this.executor = executor;
+        this.keys = Collections.synchronizedMap(new LinkedHashMap<String, PublicKey>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PublicKey> eldest) {
+                return size() > maxKeys;
+            }
+        });
+    }
+
+    /**
+     * 获取默认的验证工具，最多缓存 {@link #DEFAULT_MAX_KEYS} 个公钥，批量验证时使用 {@link ForkJoinPool#commonPool()}
+     *
+     * @return 默认的验证工具
+     */
+    public static EccVerifier getInstance() {
+        return DEFAULT;
+    }
+
+    /**
+     * 验证数字签名的有效性，与 {@link ECC#verify(String, String, String)} 的结果一致
+     *
+     * @param certData        包含公钥信息的证书数据字符串
+     * @param data            待验证签名的原始数据
+     * @param signatureBase64 经过Base64编码的DER格式签名数据
+     * @return 签名验证结果，true表示签名有效，false表示签名无效
+     * @throws Exception 当证书解析失败或签名验证过程中发生错误时抛出异常
+     */
+    public boolean verify(String certData, String data, String signatureBase64) throws Exception {
+        return verify(publicKey(certData), data.getBytes(StandardCharsets.UTF_8), Base64.getDecoder().decode(signatureBase64));
+    }
+
+    /**
+     * 验证十六进制数据的签名有效性，与 {@link ECC#verifyHex(String, String, String)} 的结果一致
+     *
+     * @param certData     包含公钥的证书数据字符串
+     * @param hexData      待验证的十六进制数据字符串
+     * @param signatureHex 十六进制格式的签名字符串（长度为128字符）
+     * @return 签名验证结果，有效返回true，无效返回false
+     * @throws Exception 当证书解析、数据解码或签名验证过程中发生错误时抛出异常
+     */
+    public boolean verifyHex(String certData, String hexData, String signatureHex) throws Exception {
+        PublicKey publicKey = publicKey(certData);
+        return verify(publicKey, Hex.hexToBytes(hexData), ECC.convertFixedLengthToDER(signatureHex));
+    }
+
+    /**
+     * 使用公钥验证DER格式的签名，使用当前线程的 {@link Signature}
+     *
+     * @param publicKey 公钥
+     * @param data      待验证签名的数据
+     * @param signature DER格式的签名
+     * @return 签名验证结果
+     * @throws GeneralSecurityException 公钥无效或者签名格式错误
+     */
+    public boolean verify(PublicKey publicKey, byte[] data, byte[] signature) throws GeneralSecurityException {
+        // 出现异常后Signature的状态是不确定的，由timed丢弃，下次使用时重新创建
+        return CryptoServices.timed(ALGORITHM, Signature.class, () -> {
+            Signature verifier = CryptoServices.signature(ALGORITHM);
+            verifier.initVerify(publicKey);
+            verifier.update(data);
+            return verifier.verify(signature);
+        });
+    }
+
+    /**
+     * 批量验证签名，请求按照每组 64 个分组后提交到线程池中并行验证。
+     * 单个请求验证时出现异常（例如证书无法解析、签名格式错误）时，该请求的结果为false，不影响其他请求。
+     *
+     * @param requests 验证请求
+     * @return 验证结果，顺序与请求的顺序一致
+     */
+    public List<Boolean> verifyBatch(List<VerifyRequest> requests) {
+        if (null == requests || requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int size = requests.size();
+        Boolean[] results = new Boolean[size];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(size / BATCH_SIZE + 1);
+        for (int start = 0; start < size; start += BATCH_SIZE) {
+            int from = start;
+            int to = Math.min(size, start + BATCH_SIZE);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = verify(requests.get(i));
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new UncheckedException("批量验证签名时出现问题：" + e.getCause().getMessage(), e.getCause());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 获取当前缓存的公钥数量
+     *
+     * @return 当前缓存的公钥数量
+     */
+    public int cachedKeys() {
+        return keys.size();
+    }
+
+    /**
+     * 清空缓存的公钥
+     */
+    public void clear() {
+        keys.clear();
+    }
+
+    private boolean verify(VerifyRequest request) {
+        try {
+            return request.hex ? verifyHex(request.certData, request.data, request.signature)
+                    : verify(request.certData, request.data, request.signature);
+        } catch (Exception e) {
+            if (log.isDebugEnabled()) {
+                log.debug("验证签名 {} 时出现问题，问题为 {}", request, e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 根据证书数据获取公钥，证书数据按照SHA-256指纹缓存
+     */
+    private PublicKey publicKey(String certData) throws CertificateException {
+        if (null == certData) {
+            throw new CertificateException("Certificate data cannot be null or empty");
+        }
+        String fingerprint = Hex.bytesToHex(FileDigester.sha256().digest(certData.trim()), false);
+        PublicKey publicKey = keys.get(fingerprint);
+        if (null == publicKey) {
+            publicKey = X509Helper.extractPublicKey(certData);
+            keys.put(fingerprint, publicKey);
+        }
+        return publicKey;
+    }
+
+    /**
+     * 签名验证请求
+     *
+     * @author yishui
+     * @version 1.0.0
+     * @since 1.0.0
+     */
+    public static final class VerifyRequest {
+
+        private final String certData;
+
+        private final String data;
+
+        private final String signature;
+
+        /**
+         * 是否为十六进制格式的数据与签名
+         */
+        private final boolean hex;
+
+        private VerifyRequest(String certData, String data, String signature, boolean hex) {
+            this.certData = certData;
+            this.data = data;
+            this.signature = signature;
+            this.hex = hex;
+        }
+
+        /**
+         * 创建验证请求，参数与 {@link ECC#verify(String, String, String)} 相同
+         *
+         * @param certData        包含公钥信息的证书数据字符串
+         * @param data            待验证签名的原始数据
+         * @param signatureBase64 经过Base64编码的DER格式签名数据
+         * @return 验证请求
+         */
+        public static VerifyRequest of(String certData, String data, String signatureBase64) {
+            return new VerifyRequest(certData, data, signatureBase64, false);
+        }
+
+        /**
+         * 创建十六进制格式的验证请求，参数与 {@link ECC#verifyHex(String, String, String)} 相同
+         *
+         * @param certData     包含公钥的证书数据字符串
+         * @param hexData      待验证的十六进制数据字符串
+         * @param signatureHex 十六进制格式的签名字符串（长度为128字符）
+         * @return 验证请求
+         */
+        public static VerifyRequest ofHex(String certData, String hexData, String signatureHex) {
+            return new VerifyRequest(certData, hexData, signatureHex, true);
+        }
+
+        @Override
+        public String toString() {
+            return "VerifyRequest{hex=" + hex + ", data=" + data + ", signature=" + signature + "}";
+        }
+    }
+}
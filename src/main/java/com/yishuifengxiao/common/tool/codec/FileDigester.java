@@ -0,0 +1,241 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import com.yishuifengxiao.common.tool.lang.Hex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.GeneralSecurityException;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ * 消息摘要计算工具
+ * </p>
+ * 每个线程持有各自的 {@link MessageDigest}（参见 {@link CryptoServices#messageDigest(String)}），不同线程之间不需要加锁。计算文件的摘要时通过 {@link FileChannel} 读取，
+ * 较大的文件分段映射为 {@link MappedByteBuffer}，避免在堆中复制数据。
+ * <p>
+ * 对于非常大的文件，可以使用 {@link #treeDigest(Path, int)} 按照固定的大小将文件切分为多个分块，
+ * 利用所有的CPU核心并行计算每个分块的摘要，再对所有分块的摘要计算一次摘要作为结果。
+ * 树形摘要与普通摘要的结果不同，只能与使用相同分块大小计算的树形摘要进行比较。
+ * </p>
+ *
+ * <pre>
+ * {@code
+ * String md5 = FileDigester.md5().hex(Paths.get("export.zip"));
+ * byte[] tree = FileDigester.sha256().treeDigest(Paths.get("export.zip"), FileDigester.DEFAULT_CHUNK_SIZE);
+ * }
+ * </pre>
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class FileDigester {
+
+    /**
+     * 树形摘要默认的分块大小，64MB
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 小于该大小的数据直接读取，不使用内存映射
+     */
+    private static final long MAP_THRESHOLD = 1024 * 1024;
+
+    /**
+     * 每次映射的最大长度
+     */
+    private static final long MAP_WINDOW = 64 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final FileDigester MD5 = new FileDigester("MD5");
+
+    private static final FileDigester SHA256 = new FileDigester("SHA-256");
+
+    private final String algorithm;
+
+    private FileDigester(String algorithm) {
+        this.algorithm = algorithm;
+        // 提前检查算法是否可用
+        try {
+            CryptoServices.newMessageDigest(algorithm);
+        } catch (GeneralSecurityException e) {
+            throw new UncheckedException("不支持摘要算法 " + algorithm, e);
+        }
+    }
+
+    /**
+     * 获取MD5摘要计算工具
+     *
+     * @return MD5摘要计算工具
+     */
+    public static FileDigester md5() {
+        return MD5;
+    }
+
+    /**
+     * 获取SHA-256摘要计算工具
+     *
+     * @return SHA-256摘要计算工具
+     */
+    public static FileDigester sha256() {
+        return SHA256;
+    }
+
+    /**
+     * 创建指定算法的摘要计算工具，工具是线程安全的，应当创建一次后重复使用
+     *
+     * @param algorithm 摘要算法，例如 SHA-512
+     * @return 摘要计算工具
+     * @throws UncheckedException 不支持该摘要算法
+     */
+    public static FileDigester of(String algorithm) {
+        return new FileDigester(algorithm);
+    }
+
+    /**
+     * 计算字节数组的摘要
+     *
+     * @param data 字节数组
+     * @return 摘要
+     */
+    public byte[] digest(byte[] data) {
+        // digest方法完成后会自动重置，可以直接复用
+        return CryptoServices.timed(algorithm, MessageDigest.class, () -> CryptoServices.messageDigest(algorithm).digest(data));
+    }
+
+    /**
+     * 计算字符串按照UTF-8编码后的摘要
+     *
+     * @param text 字符串，为null时按照空字符串计算
+     * @return 摘要
+     */
+    public byte[] digest(String text) {
+        return digest((null == text ? "" : text).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 计算文件的摘要
+     *
+     * @param file 文件
+     * @return 摘要
+     * @throws IOException 读取文件时出现问题
+     */
+    public byte[] digest(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return digest(channel, 0, channel.size());
+        }
+    }
+
+    /**
+     * 计算文件的摘要，并转换为小写的十六进制字符串
+     *
+     * @param file 文件
+     * @return 小写的十六进制摘要
+     * @throws IOException 读取文件时出现问题
+     */
+    public String hex(Path file) throws IOException {
+        return Hex.bytesToHex(digest(file), false);
+    }
+
+    /**
+     * 计算文件的树形摘要。按照分块大小将文件切分为多个分块，在 {@link java.util.concurrent.ForkJoinPool#commonPool()} 中并行计算每个分块的摘要，
+     * 再按照分块的顺序对所有分块的摘要计算一次摘要作为结果。空文件视为一个空的分块。
+     *
+     * @param file      文件
+     * @param chunkSize 分块的大小，单位为字节
+     * @return 树形摘要
+     * @throws IOException              读取文件时出现问题
+     * @throws IllegalArgumentException 分块的大小不是正数
+     */
+    public byte[] treeDigest(Path file, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("分块的大小必须是正数");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.max(1L, (size + chunkSize - 1) / chunkSize);
+            byte[][] leaves;
+            try {
+                // FileChannel的按位置读取与映射都是线程安全的，可以在多个线程中共享
+                leaves = IntStream.range(0, chunks).parallel().mapToObj(i -> {
+                    long position = (long) i * chunkSize;
+                    try {
+                        return digest(channel, position, Math.min(chunkSize, size - position));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).toArray(byte[][]::new);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            MessageDigest root = CryptoServices.messageDigest(algorithm);
+            for (byte[] leaf : leaves) {
+                root.update(leaf);
+            }
+            return root.digest();
+        }
+    }
+
+    /**
+     * 计算文件的树形摘要，并转换为小写的十六进制字符串
+     *
+     * @param file      文件
+     * @param chunkSize 分块的大小，单位为字节
+     * @return 小写的十六进制树形摘要
+     * @throws IOException              读取文件时出现问题
+     * @throws IllegalArgumentException 分块的大小不是正数
+     */
+    public String treeHex(Path file, int chunkSize) throws IOException {
+        return Hex.bytesToHex(treeDigest(file, chunkSize), false);
+    }
+
+    /**
+     * 获取摘要算法
+     *
+     * @return 摘要算法
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    private byte[] digest(FileChannel channel, long position, long length) throws IOException {
+        return CryptoServices.timed(algorithm, MessageDigest.class, () -> {
+            MessageDigest digest = CryptoServices.messageDigest(algorithm);
+            if (length < MAP_THRESHOLD) {
+                read(digest, channel, position, length);
+            } else {
+                for (long offset = 0; offset < length; offset += MAP_WINDOW) {
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position + offset, Math.min(MAP_WINDOW, length - offset));
+                    digest.update(mapped);
+                }
+            }
+            return digest.digest();
+        });
+    }
+
+    private static void read(MessageDigest digest, FileChannel channel, long position, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(length, 1L)));
+        long end = position + length;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+            buffer.flip();
+            digest.update(buffer);
+        }
+    }
+}
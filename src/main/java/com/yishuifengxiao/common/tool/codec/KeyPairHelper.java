@@ -1,5 +1,7 @@
 package com.yishuifengxiao.common.tool.codec;
 
+import com.yishuifengxiao.common.tool.lang.Hex;
+
 import java.math.BigInteger;
 import java.security.*;
 import java.security.interfaces.*;
@@ -27,25 +29,12 @@ public class KeyPairHelper {
      */
     public static KeyPair generateKeyPair(String algorithm, Object parameter) {
         try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
+            KeyPairGenerator keyPairGenerator = CryptoServices.newKeyPairGenerator(algorithm);
 
             if ("EC".equals(algorithm)) {
                 if (parameter instanceof String) {
-                    String param = (String) parameter;
-                    // 判断是OID还是曲线名称
-                    if (param.contains(".")) {
-                        // 可能是OID
-                        String curveName = ECC_CURVE_OID_MAP.get(param);
-                        if (curveName != null) {
-                            keyPairGenerator.initialize(new ECGenParameterSpec(curveName));
-                        } else {
-                            // 如果不是已知OID，尝试直接作为曲线名称使用
-                            keyPairGenerator.initialize(new ECGenParameterSpec(param));
-                        }
-                    } else {
-                        // 直接作为曲线名称
-                        keyPairGenerator.initialize(new ECGenParameterSpec(param));
-                    }
+                    // OID或者曲线名称，曲线参数从注册表中获取，不需要每次都重新解析
+                    keyPairGenerator.initialize(EcCurve.of((String) parameter).getParams());
                 } else if (parameter instanceof Integer) {
                     // 对于EC，参数应该是曲线名称或OID，不是整数大小
                     throw new IllegalArgumentException("EC算法需要曲线名称或OID，而不是密钥大小");
@@ -66,7 +55,7 @@ public class KeyPairHelper {
     }
 
     /**
-     * 根据ECC曲线OID生成密钥对
+     * 根据ECC曲线OID生成密钥对，需要大量临时密钥对时可以使用 {@link KeyPairPool} 在后台预先生成
      */
     public static KeyPair generateECCKeyPairByOID(String curveOID) {
         return generateKeyPair("EC", curveOID);
@@ -96,9 +85,8 @@ public class KeyPairHelper {
                 throw new IllegalArgumentException("不支持的ECC曲线OID: " + curveOID);
             }
 
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
-            ECGenParameterSpec ecSpec = new ECGenParameterSpec(curveName);
-            keyPairGenerator.initialize(ecSpec, secureRandom);
+            KeyPairGenerator keyPairGenerator = CryptoServices.newKeyPairGenerator("EC");
+            keyPairGenerator.initialize(EcCurve.of(curveName).getParams(), secureRandom);
 
             return keyPairGenerator.generateKeyPair();
 
@@ -182,7 +170,7 @@ public class KeyPairHelper {
     public static KeyPair generateECCKeyPair(String curveName) {
         try {
             // 获取ECC密钥对生成器实例
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            KeyPairGenerator keyPairGenerator = CryptoServices.newKeyPairGenerator("EC");
 
             // 初始化椭圆曲线参数
             ECGenParameterSpec ecSpec = new ECGenParameterSpec(curveName);
@@ -212,7 +200,7 @@ public class KeyPairHelper {
             return getECPublicKeyHex((ECPublicKey) publicKey);
         } else {
             // 通用方法：获取编码后的字节数组
-            return bytesToHex(publicKey.getEncoded());
+            return Hex.bytesToHex(publicKey.getEncoded(), false);
         }
     }
 
@@ -311,7 +299,7 @@ public class KeyPairHelper {
             bytes = result;
         }
 
-        return bytesToHex(bytes);
+        return Hex.bytesToHex(bytes, false);
     }
 
 
@@ -328,22 +316,7 @@ public class KeyPairHelper {
      */
     private static String bigIntegerToHex(BigInteger bigInt) {
         byte[] bytes = bigInt.toByteArray();
-        return bytesToHex(bytes);
-    }
-
-    /**
-     * 将字节数组转换为十六进制字符串
-     */
-    private static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
+        return Hex.bytesToHex(bytes, false);
     }
 
     /**
@@ -0,0 +1,293 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * 预先生成的ECC密钥对池
+ * </p>
+ * 在后台的低优先级线程中预先生成指定曲线的密钥对，适用于每个会话都需要临时密钥对的场景，
+ * 获取密钥对时不需要在请求线程中同步生成。
+ * <ol>
+ * <li>池中最多保存 capacity 个密钥对</li>
+ * <li>取出密钥对后，池中剩余的数量不超过低水位 lowWatermark 时提交后台任务，将池补充到 capacity 个</li>
+ * <li>池被取空时在当前线程中同步生成，不会阻塞等待后台任务</li>
+ * <li>记录池中当前的数量、从池中取出的次数与同步生成的次数</li>
+ * </ol>
+ * 每个密钥对只会被取出一次。
+ *
+ * <pre>
+ * {@code
+ * KeyPair keyPair = KeyPairPool.of("secp256r1").take();
+ * }
+ * </pre>
+ * 密钥对池是线程安全的，不再使用时应当调用 {@link #close()}。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@Slf4j
+public final class KeyPairPool implements AutoCloseable {
+
+    /**
+     * 默认的池容量
+     */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /**
+     * 默认的低水位
+     */
+    public static final int DEFAULT_LOW_WATERMARK = 8;
+
+    private static final Map<EcCurve, KeyPairPool> POOLS = new ConcurrentHashMap<>();
+
+    private static final AtomicLong THREAD_NUMBER = new AtomicLong(0);
+
+    private final EcCurve curve;
+
+    private final int capacity;
+
+    private final int lowWatermark;
+
+    private final BlockingQueue<KeyPair> pairs;
+
+    private final Executor executor;
+
+    /**
+     * 由密钥对池自己创建的线程池，关闭密钥对池时一并关闭
+     */
+    private final ExecutorService ownedExecutor;
+
+    private final ThreadLocal<KeyPairGenerator> generators;
+
+    private final AtomicBoolean refilling = new AtomicBoolean(false);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder generated = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * 创建密钥对池，使用一个低优先级的后台线程生成密钥对
+     *
+     * @param curveOidOrName 曲线的OID或者名字，例如 1.2.840.10045.3.1.7 或 secp256r1
+     * @param capacity       池容量
+     * @param lowWatermark   低水位，池中剩余的数量不超过该值时开始补充
+     * @throws IllegalArgumentException 容量不是正数或者低水位不在 [0, capacity) 范围内
+     * @throws UncheckedException       当前环境不支持该曲线
+     */
+    public KeyPairPool(String curveOidOrName, int capacity, int lowWatermark) {
+        this(curveOidOrName, capacity, lowWatermark, null);
+    }
+
+    /**
+     * 创建密钥对池
+     *
+     * @param curveOidOrName 曲线的OID或者名字，例如 1.2.840.10045.3.1.7 或 secp256r1
+     * @param capacity       池容量
+     * @param lowWatermark   低水位，池中剩余的数量不超过该值时开始补充
+     * @param executor       执行补充任务的线程池，为null时使用一个低优先级的后台线程
+     * @throws IllegalArgumentException 容量不是正数或者低水位不在 [0, capacity) 范围内
+     * @throws UncheckedException       当前环境不支持该曲线
+     */
+    public KeyPairPool(String curveOidOrName, int capacity, int lowWatermark, Executor executor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("密钥对池的容量必须是正数");
+        }
+        if (lowWatermark < 0 || lowWatermark >= capacity) {
+            throw new IllegalArgumentException("低水位必须大于等于0并且小于容量");
+        }
+        this.curve = EcCurve.of(curveOidOrName);
+        this.capacity = capacity;
+        this.lowWatermark = lowWatermark;
+        this.pairs = new ArrayBlockingQueue<>(capacity);
+        this.ownedExecutor = null == executor ? Executors.newSingleThreadExecutor(this::newThread) : null;
+        this.executor = null == executor ? ownedExecutor : executor;
+        this.generators = ThreadLocal.withInitial(() -> {
+            try {
+                KeyPairGenerator generator = CryptoServices.newKeyPairGenerator("EC");
+                generator.initialize(curve.getParams());
+                return generator;
+            } catch (GeneralSecurityException e) {
+                throw new UncheckedException("初始化曲线 " + curve.getName() + " 的密钥对生成器时出现问题：" + e.getMessage(), e);
+            }
+        });
+        refill();
+    }
+
+    /**
+     * 获取指定曲线共享的密钥对池，容量为 {@link #DEFAULT_CAPACITY}，低水位为 {@link #DEFAULT_LOW_WATERMARK}。
+     * 第一次获取时创建并开始在后台生成密钥对
+     *
+     * @param curveOidOrName 曲线的OID或者名字，例如 1.2.840.10045.3.1.7 或 secp256r1
+     * @return 共享的密钥对池
+     * @throws UncheckedException 当前环境不支持该曲线
+     */
+    public static KeyPairPool of(String curveOidOrName) {
+        return POOLS.computeIfAbsent(EcCurve.of(curveOidOrName),
+                curve -> new KeyPairPool(curve.getOid(), DEFAULT_CAPACITY, DEFAULT_LOW_WATERMARK));
+    }
+
+    /**
+     * 取出一个密钥对，池为空时在当前线程中同步生成
+     *
+     * @return 密钥对
+     * @throws UncheckedException 生成密钥对时出现问题
+     */
+    public KeyPair take() {
+        KeyPair keyPair = pairs.poll();
+        if (pairs.size() <= lowWatermark) {
+            refill();
+        }
+        if (null != keyPair) {
+            hits.increment();
+            return keyPair;
+        }
+        misses.increment();
+        return generate();
+    }
+
+    /**
+     * 获取池中当前的密钥对数量
+     *
+     * @return 池中当前的密钥对数量
+     */
+    public int depth() {
+        return pairs.size();
+    }
+
+    /**
+     * 获取池容量
+     *
+     * @return 池容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取低水位
+     *
+     * @return 低水位
+     */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * 获取曲线
+     *
+     * @return 曲线
+     */
+    public EcCurve getCurve() {
+        return curve;
+    }
+
+    /**
+     * 获取从池中取出密钥对的次数
+     *
+     * @return 从池中取出密钥对的次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取池为空时同步生成密钥对的次数
+     *
+     * @return 同步生成密钥对的次数
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取后台生成的密钥对数量
+     *
+     * @return 后台生成的密钥对数量
+     */
+    public long getGenerated() {
+        return generated.sum();
+    }
+
+    /**
+     * 关闭密钥对池，丢弃池中的密钥对并停止后台生成。关闭后 {@link #take()} 总是同步生成密钥对
+     */
+    @Override
+    public void close() {
+        closed = true;
+        POOLS.remove(curve, this);
+        if (null != ownedExecutor) {
+            ownedExecutor.shutdownNow();
+        }
+        pairs.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "KeyPairPool{curve=" + curve.getName() + ", depth=" + depth() + ", capacity=" + capacity
+                + ", hits=" + getHits() + ", misses=" + getMisses() + "}";
+    }
+
+    /**
+     * 提交补充任务，同一时间最多只有一个补充任务
+     */
+    private void refill() {
+        if (closed || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::fill);
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+            if (log.isDebugEnabled()) {
+                log.debug("提交曲线 {} 的密钥对补充任务时被拒绝，问题为 {}", curve.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void fill() {
+        try {
+            while (!closed && pairs.remainingCapacity() > 0) {
+                if (!pairs.offer(generate())) {
+                    break;
+                }
+                generated.increment();
+            }
+        } catch (RuntimeException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("后台生成曲线 {} 的密钥对时出现问题，问题为 {}", curve.getName(), e.getMessage());
+            }
+        } finally {
+            refilling.set(false);
+        }
+        if (closed) {
+            pairs.clear();
+        }
+    }
+
+    private KeyPair generate() {
+        return CryptoServices.timed("EC", () -> generators.get().generateKeyPair());
+    }
+
+    private Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "keypair-pool-" + curve.getName() + "-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    }
+}
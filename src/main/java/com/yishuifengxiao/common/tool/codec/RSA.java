@@ -2,10 +2,10 @@ package com.yishuifengxiao.common.tool.codec;
 
 import com.yishuifengxiao.common.tool.exception.UncheckedException;
 
-import javax.crypto.Cipher;
-import java.security.*;
-import java.security.spec.PKCS8EncodedKeySpec;
-import java.security.spec.X509EncodedKeySpec;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.util.Base64;
 
 public class RSA {
@@ -18,9 +18,11 @@ public class RSA {
      */
     public static KeyPair generateKeyPair(int keySize) {
         try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(keySize);
-            return keyPairGenerator.generateKeyPair();
+            return CryptoServices.timed("RSA", () -> {
+                KeyPairGenerator keyPairGenerator = CryptoServices.newKeyPairGenerator("RSA");
+                keyPairGenerator.initialize(keySize);
+                return keyPairGenerator.generateKeyPair();
+            });
         } catch (Exception e) {
             throw new UncheckedException("生成密钥对失败", e);
         }
@@ -31,13 +33,12 @@ public class RSA {
      *
      * @param data      待加密数据
      * @param publicKey 公钥
-     * @return 加密后的Base64字符串
+     * @return 加密后的Base64字符串，数据超过一个分组能够容纳的长度时是各个分段密文的拼接
+     * @see RsaEngine
      */
     public static String encrypt(String data, PublicKey publicKey) {
         try {
-            Cipher cipher = Cipher.getInstance("RSA");
-            cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-            byte[] encryptedBytes = cipher.doFinal(data.getBytes());
+            byte[] encryptedBytes = RsaEngine.of(RsaEngine.Padding.PKCS1).encrypt(data.getBytes(), publicKey);
             return Base64.getEncoder().encodeToString(encryptedBytes);
         } catch (Exception e) {
             throw new UncheckedException("加密失败", e);
@@ -53,10 +54,8 @@ public class RSA {
      */
     public static String decrypt(String encryptedData, PrivateKey privateKey) {
         try {
-            Cipher cipher = Cipher.getInstance("RSA");
-            cipher.init(Cipher.DECRYPT_MODE, privateKey);
             byte[] decodedBytes = Base64.getDecoder().decode(encryptedData);
-            byte[] decryptedBytes = cipher.doFinal(decodedBytes);
+            byte[] decryptedBytes = RsaEngine.of(RsaEngine.Padding.PKCS1).decrypt(decodedBytes, privateKey);
             return new String(decryptedBytes);
         } catch (Exception e) {
             throw new UncheckedException("解密失败", e);
@@ -78,31 +77,17 @@ public class RSA {
     }
 
     /**
-     * 从Base64字符串恢复公钥
+     * 从Base64字符串恢复公钥，解析后的公钥会被缓存
      */
     public static PublicKey stringToPublicKey(String publicKeyStr) {
-        try {
-            byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
-            X509EncodedKeySpec keySpec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return keyFactory.generatePublic(keySpec);
-        } catch (Exception e) {
-            throw new UncheckedException("恢复公钥失败", e);
-        }
+        return (PublicKey) RsaEngine.key(publicKeyStr, true, true);
     }
 
     /**
-     * 从Base64字符串恢复私钥
+     * 从Base64字符串恢复私钥，解析后的私钥会被缓存
      */
     public static PrivateKey stringToPrivateKey(String privateKeyStr) {
-        try {
-            byte[] keyBytes = Base64.getDecoder().decode(privateKeyStr);
-            PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(keyBytes);
-            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-            return keyFactory.generatePrivate(keySpec);
-        } catch (Exception e) {
-            throw new UncheckedException("恢复私钥失败", e);
-        }
+        return (PrivateKey) RsaEngine.key(privateKeyStr, false, true);
     }
 
 }
\ No newline at end of file
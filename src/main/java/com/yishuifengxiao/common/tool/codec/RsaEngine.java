@@ -0,0 +1,334 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import com.yishuifengxiao.common.tool.lang.Hex;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.OAEPParameterSpec;
+import javax.crypto.spec.PSource;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAKey;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.MGF1ParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+
+/**
+ * <p>
+ * RSA加解密引擎
+ * </p>
+ * 与 {@link RSA} 相比具备以下的特点
+ * <ol>
+ * <li>明确指定填充方式，参见 {@link Padding}</li>
+ * <li>每个线程持有各自的 {@link Cipher}，不需要每次都重新创建，参见 {@link CryptoServices#cipher(String)}</li>
+ * <li>数据超过一个RSA分组能够容纳的长度时自动分段加密，密文是各个分段密文的拼接，解密时按照密钥的模长分段解密</li>
+ * <li>{@link #publicKey(String)} 与 {@link #privateKey(String)} 按照Base64字符串的SHA-256指纹缓存解析后的密钥，
+ * 缓存的数量有上限，超出时淘汰最久未使用的密钥。不希望私钥常驻内存时可以使用 {@link #privateKey(String, boolean)}
+ * 跳过缓存，或者通过 {@link #clearKeyCache()} 清空缓存</li>
+ * </ol>
+ *
+ * <pre>
+ * {@code
+ * RsaEngine engine = RsaEngine.of(RsaEngine.Padding.OAEP_SHA256);
+ * byte[] encrypted = engine.encrypt(data, RsaEngine.publicKey(publicKeyBase64));
+ * byte[] decrypted = engine.decrypt(encrypted, RsaEngine.privateKey(privateKeyBase64));
+ * }
+ * </pre>
+ * 引擎是线程安全的。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class RsaEngine {
+
+    /**
+     * 最多缓存的密钥数量
+     */
+    private static final int MAX_KEYS = 256;
+
+    private static final Map<Padding, RsaEngine> ENGINES = new EnumMap<>(Padding.class);
+
+    private static final Map<String, Key> KEYS = Collections.synchronizedMap(new LinkedHashMap<String, Key>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Key> eldest) {
+            return size() > MAX_KEYS;
+        }
+    });
+
+    static {
+        for (Padding padding : Padding.values()) {
+            ENGINES.put(padding, new RsaEngine(padding));
+        }
+    }
+
+    private final Padding padding;
+
+    private RsaEngine(Padding padding) {
+        this.padding = padding;
+    }
+
+    /**
+     * 获取使用指定填充方式的引擎
+     *
+     * @param padding 填充方式
+     * @return 引擎
+     */
+    public static RsaEngine of(Padding padding) {
+        if (null == padding) {
+            throw new IllegalArgumentException("填充方式不能为空");
+        }
+        return ENGINES.get(padding);
+    }
+
+    /**
+     * 从Base64字符串恢复公钥，解析后的公钥会被缓存
+     *
+     * @param publicKeyBase64 X.509格式的公钥的Base64字符串
+     * @return 公钥
+     * @throws UncheckedException 恢复公钥失败
+     */
+    public static PublicKey publicKey(String publicKeyBase64) {
+        return (PublicKey) key(publicKeyBase64, true, false);
+    }
+
+    /**
+     * 从Base64字符串恢复私钥，解析后的私钥会被缓存
+     *
+     * @param privateKeyBase64 PKCS#8格式的私钥的Base64字符串
+     * @return 私钥
+     * @throws UncheckedException 恢复私钥失败
+     */
+    public static PrivateKey privateKey(String privateKeyBase64) {
+        return privateKey(privateKeyBase64, true);
+    }
+
+    /**
+     * 从Base64字符串恢复私钥
+     *
+     * @param privateKeyBase64 PKCS#8格式的私钥的Base64字符串
+     * @param cache            是否缓存解析后的私钥，为false时既不读取也不写入缓存
+     * @return 私钥
+     * @throws UncheckedException 恢复私钥失败
+     */
+    public static PrivateKey privateKey(String privateKeyBase64, boolean cache) {
+        return (PrivateKey) (cache ? key(privateKeyBase64, false, false) : parse(privateKeyBase64, false, false));
+    }
+
+    /**
+     * 清空 {@link #publicKey(String)} 与 {@link #privateKey(String)} 缓存的所有密钥
+     */
+    public static void clearKeyCache() {
+        KEYS.clear();
+    }
+
+    /**
+     * 使用公钥加密数据，数据超过一个分组能够容纳的长度时自动分段加密
+     *
+     * @param data      待加密的数据
+     * @param publicKey RSA公钥
+     * @return 密文，长度是密钥模长的整数倍
+     * @throws UncheckedException 加密失败
+     */
+    public byte[] encrypt(byte[] data, PublicKey publicKey) {
+        int modulusLength = modulusLength(publicKey);
+        int blockSize = maxDataLength(modulusLength);
+        int blocks = Math.max(1, (data.length + blockSize - 1) / blockSize);
+        byte[] output = new byte[blocks * modulusLength];
+        try {
+            return CryptoServices.timed(padding.transformation, Cipher.class, () -> {
+                Cipher cipher = CryptoServices.cipher(padding.transformation);
+                init(cipher, Cipher.ENCRYPT_MODE, publicKey);
+                for (int i = 0; i < blocks; i++) {
+                    int offset = i * blockSize;
+                    int length = Math.min(blockSize, data.length - offset);
+                    int written = cipher.doFinal(data, offset, length, output, i * modulusLength);
+                    if (written != modulusLength) {
+                        throw new UncheckedException("RSA密文分组的长度不正确: " + written);
+                    }
+                }
+                return output;
+            });
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw failure("加密", e);
+        }
+    }
+
+    /**
+     * 使用私钥解密数据，密文按照密钥的模长分段解密
+     *
+     * @param data       密文
+     * @param privateKey RSA私钥
+     * @return 解密后的数据
+     * @throws IllegalArgumentException 密文的长度不是密钥模长的整数倍
+     * @throws UncheckedException       解密失败
+     */
+    public byte[] decrypt(byte[] data, PrivateKey privateKey) {
+        int modulusLength = modulusLength(privateKey);
+        if (data.length == 0 || data.length % modulusLength != 0) {
+            throw new IllegalArgumentException("密文的长度必须是" + modulusLength + "字节的整数倍");
+        }
+        int blocks = data.length / modulusLength;
+        // Cipher要求输出缓冲区中剩余的空间不小于一个完整的分组
+        byte[] output = new byte[blocks * modulusLength];
+        try {
+            return CryptoServices.timed(padding.transformation, Cipher.class, () -> {
+                Cipher cipher = CryptoServices.cipher(padding.transformation);
+                init(cipher, Cipher.DECRYPT_MODE, privateKey);
+                int outputLength = 0;
+                for (int i = 0; i < blocks; i++) {
+                    outputLength += cipher.doFinal(data, i * modulusLength, modulusLength, output, outputLength);
+                }
+                return Arrays.copyOf(output, outputLength);
+            });
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw failure("解密", e);
+        }
+    }
+
+    /**
+     * 使用公钥加密字符串
+     *
+     * @param data            待加密的字符串，按照UTF-8编码
+     * @param publicKeyBase64 X.509格式的公钥的Base64字符串
+     * @return 密文的Base64字符串
+     * @throws UncheckedException 加密失败
+     */
+    public String encrypt(String data, String publicKeyBase64) {
+        return Base64.getEncoder().encodeToString(encrypt(data.getBytes(StandardCharsets.UTF_8), publicKey(publicKeyBase64)));
+    }
+
+    /**
+     * 使用私钥解密 {@link #encrypt(String, String)} 生成的密文
+     *
+     * @param encryptedData    密文的Base64字符串
+     * @param privateKeyBase64 PKCS#8格式的私钥的Base64字符串
+     * @return 解密后的字符串
+     * @throws UncheckedException 解密失败
+     */
+    public String decrypt(String encryptedData, String privateKeyBase64) {
+        return new String(decrypt(Base64.getDecoder().decode(encryptedData), privateKey(privateKeyBase64)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取指定模长的密钥每个分组最多能够加密的数据的长度
+     *
+     * @param modulusLength 密钥的模长，单位为字节，例如2048位的密钥为256
+     * @return 每个分组最多能够加密的数据的长度
+     */
+    public int maxDataLength(int modulusLength) {
+        return modulusLength - padding.overhead;
+    }
+
+    /**
+     * 获取填充方式
+     *
+     * @return 填充方式
+     */
+    public Padding getPadding() {
+        return padding;
+    }
+
+    private void init(Cipher cipher, int mode, Key key) throws GeneralSecurityException {
+        if (null == padding.parameters) {
+            cipher.init(mode, key);
+        } else {
+            cipher.init(mode, key, padding.parameters);
+        }
+    }
+
+    /**
+     * 将加解密时出现的问题转换为 {@link UncheckedException}
+     */
+    private static UncheckedException failure(String operation, Exception e) {
+        return e instanceof UncheckedException ? (UncheckedException) e
+                : new UncheckedException(operation + "数据时出现问题：" + e.getMessage(), e);
+    }
+
+    private static int modulusLength(Key key) {
+        if (!(key instanceof RSAKey)) {
+            throw new IllegalArgumentException("密钥必须是RSA密钥");
+        }
+        return (((RSAKey) key).getModulus().bitLength() + 7) / 8;
+    }
+
+    /**
+     * 获取缓存的密钥，不存在时解析并缓存
+     *
+     * @param base64    密钥的Base64字符串
+     * @param publicKey 是否为公钥
+     * @param strict    是否按照 {@link Base64#getDecoder()} 严格解码，为false时允许换行等MIME格式
+     * @return 密钥
+     */
+    static Key key(String base64, boolean publicKey, boolean strict) {
+        if (null == base64) {
+            throw new UncheckedException(publicKey ? "恢复公钥失败" : "恢复私钥失败");
+        }
+        // 严格解码与宽松解码接受的字符串不同，分别缓存
+        String fingerprint = (publicKey ? "public:" : "private:") + (strict ? "strict:" : "")
+                + Hex.bytesToHex(FileDigester.sha256().digest(strict ? base64 : base64.trim()), false);
+        Key key = KEYS.get(fingerprint);
+        if (null == key) {
+            key = parse(base64, publicKey, strict);
+            KEYS.put(fingerprint, key);
+        }
+        return key;
+    }
+
+    private static Key parse(String base64, boolean publicKey, boolean strict) {
+        if (null == base64) {
+            throw new UncheckedException(publicKey ? "恢复公钥失败" : "恢复私钥失败");
+        }
+        try {
+            byte[] keyBytes = strict ? Base64.getDecoder().decode(base64) : Base64.getMimeDecoder().decode(base64.trim());
+            KeyFactory keyFactory = CryptoServices.keyFactory("RSA");
+            return publicKey ? keyFactory.generatePublic(new X509EncodedKeySpec(keyBytes))
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(keyBytes));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new UncheckedException(publicKey ? "恢复公钥失败" : "恢复私钥失败", e);
+        }
+    }
+
+    /**
+     * RSA的填充方式
+     *
+     * @author yishui
+     * @version 1.0.0
+     * @since 1.0.0
+     */
+    public enum Padding {
+        /**
+         * PKCS#1 v1.5 填充，与 {@link RSA} 的结果兼容，每个分组的填充占用11字节
+         */
+        PKCS1("RSA/ECB/PKCS1Padding", 11, null),
+        /**
+         * OAEP填充，摘要算法与MGF1使用的摘要算法都是SHA-1，每个分组的填充占用42字节
+         */
+        OAEP_SHA1("RSA/ECB/OAEPPadding", 42, new OAEPParameterSpec("SHA-1", "MGF1", MGF1ParameterSpec.SHA1, PSource.PSpecified.DEFAULT)),
+        /**
+         * OAEP填充，摘要算法与MGF1使用的摘要算法都是SHA-256，每个分组的填充占用66字节
+         */
+        OAEP_SHA256("RSA/ECB/OAEPPadding", 66, new OAEPParameterSpec("SHA-256", "MGF1", MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT));
+
+        private final String transformation;
+
+        /**
+         * 每个分组中填充占用的字节数
+         */
+        private final int overhead;
+
+        private final AlgorithmParameterSpec parameters;
+
+        Padding(String transformation, int overhead, AlgorithmParameterSpec parameters) {
+            this.transformation = transformation;
+            this.overhead = overhead;
+            this.parameters = parameters;
+        }
+    }
+}
@@ -2,8 +2,8 @@ package com.yishuifengxiao.common.tool.codec;
 
 import com.yishuifengxiao.common.tool.lang.Hex;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.io.File;
+import java.io.IOException;
 
 /**
  * SHA256 加密工具类
@@ -13,6 +13,7 @@ import java.security.NoSuchAlgorithmException;
  * @since 1.0.0
  */
 public class SHA256 {
+
     /**
      * 从十六进制字符串计算SHA256哈希值
      *
@@ -42,13 +43,18 @@ public class SHA256 {
      * @return 十六进制格式的 SHA-256 哈希值
      */
     public static String calculateSHA256(byte[] input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            digest.update(input);
-            byte[] hash = digest.digest();
-            return Hex.bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 算法不可用", e);
-        }
+        // 每个线程复用各自的MessageDigest，算法不可用时每次调用都会抛出异常
+        return Hex.bytesToHex(FileDigester.sha256().digest(input));
+    }
+
+    /**
+     * 计算文件的 SHA-256 哈希值，通过 {@link FileDigester} 分段读取文件，不会将整个文件读入内存
+     *
+     * @param file 文件
+     * @return 十六进制格式的 SHA-256 哈希值
+     * @throws IOException 读取文件时出现问题
+     */
+    public static String calculateSHA256(File file) throws IOException {
+        return Hex.bytesToHex(FileDigester.sha256().digest(file.toPath()));
     }
 }
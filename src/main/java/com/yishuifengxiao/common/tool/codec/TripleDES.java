@@ -5,6 +5,7 @@ import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
@@ -27,7 +28,14 @@ public class TripleDES {
      * 生成3DES密钥
      */
     public static String generate3DESKey() throws NoSuchAlgorithmException {
-        KeyGenerator keyGen = KeyGenerator.getInstance(DESEDE_ALGORITHM);
+        KeyGenerator keyGen;
+        try {
+            keyGen = CryptoServices.newKeyGenerator(DESEDE_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw e;
+        } catch (GeneralSecurityException e) {
+            throw new NoSuchAlgorithmException(e.getMessage(), e);
+        }
         keyGen.init(DESEDE_KEY_SIZE);
         SecretKey secretKey = keyGen.generateKey();
         return Base64.getEncoder().encodeToString(secretKey.getEncoded());
@@ -51,10 +59,7 @@ public class TripleDES {
         random.nextBytes(iv);
         IvParameterSpec ivSpec = new IvParameterSpec(iv);
 
-        Cipher cipher = Cipher.getInstance(DESEDE_TRANSFORMATION);
-        cipher.init(Cipher.ENCRYPT_MODE, keySpec, ivSpec);
-
-        byte[] ciphertext = cipher.doFinal(plaintext.getBytes("UTF-8"));
+        byte[] ciphertext = doFinal(Cipher.ENCRYPT_MODE, keySpec, ivSpec, plaintext.getBytes("UTF-8"));
 
         // 组合IV和密文
         byte[] combined = new byte[iv.length + ciphertext.length];
@@ -85,12 +90,21 @@ public class TripleDES {
         System.arraycopy(combined, 0, iv, 0, iv.length);
         System.arraycopy(combined, iv.length, ciphertext, 0, ciphertext.length);
 
-        Cipher cipher = Cipher.getInstance(DESEDE_TRANSFORMATION);
         IvParameterSpec ivSpec = new IvParameterSpec(iv);
-        cipher.init(Cipher.DECRYPT_MODE, keySpec, ivSpec);
 
-        byte[] plaintext = cipher.doFinal(ciphertext);
+        byte[] plaintext = doFinal(Cipher.DECRYPT_MODE, keySpec, ivSpec, ciphertext);
         return new String(plaintext, "UTF-8");
     }
 
+    /**
+     * 使用当前线程的3DES密码器完成一次加密或解密
+     */
+    private static byte[] doFinal(int mode, SecretKeySpec keySpec, IvParameterSpec ivSpec, byte[] input) throws GeneralSecurityException {
+        return CryptoServices.timed(DESEDE_TRANSFORMATION, Cipher.class, () -> {
+            Cipher cipher = CryptoServices.cipher(DESEDE_TRANSFORMATION);
+            cipher.init(mode, keySpec, ivSpec);
+            return cipher.doFinal(input);
+        });
+    }
+
 }
\ No newline at end of file
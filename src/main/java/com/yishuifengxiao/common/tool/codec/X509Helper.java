@@ -37,6 +37,8 @@ public class X509Helper {
 
     private static final Pattern HEX_PATTERN = Pattern.compile("^[0-9A-Fa-f]+$");
 
+    private static final String CERTIFICATE_TYPE = "X.509";
+
     /**
      * 解析证书数据，支持多种格式的输入
      *
@@ -150,11 +152,11 @@ public class X509Helper {
      * @return 解析得到的X509Certificate对象
      * @throws CertificateException 当证书解析失败时抛出此异常
      */
-    private static X509Certificate parseCertificateBytes(byte[] certBytes) throws CertificateException {
+    static X509Certificate parseCertificateBytes(byte[] certBytes) throws CertificateException {
         try {
-            // 创建X.509证书工厂并解析证书
-            CertificateFactory certFactory = CertificateFactory.getInstance("X.509");
-            return (X509Certificate) certFactory.generateCertificate(new ByteArrayInputStream(certBytes));
+            // 使用当前线程的X.509证书工厂解析证书
+            return CryptoServices.timed(CERTIFICATE_TYPE, CertificateFactory.class,
+                    () -> (X509Certificate) CryptoServices.certificateFactory(CERTIFICATE_TYPE).generateCertificate(new ByteArrayInputStream(certBytes)));
         } catch (CertificateException e) {
             throw new CertificateException("Failed to parse certificate from bytes: " + e.getMessage(), e);
         }
@@ -995,17 +997,29 @@ public class X509Helper {
      * <p>
      * 该方法通过验证证书B的签发者信息是否与证书A的主体信息匹配来判断签发关系。
      * 使用Java原生方法进行证书验证。
+     * 验证结果缓存在 {@link CertificateValidationCache#getInstance()} 中，中间证书不变时不会重复验证签名。
      * </p>
      *
      * @param issuerCert  签发者证书A
      * @param subjectCert 被签发证书B
      * @return true表示证书B由证书A签发，false表示不是
+     * @see CertificateStore#isIssuedBy(X509Certificate, X509Certificate)
      */
     public static boolean isIssuedBy(X509Certificate issuerCert, X509Certificate subjectCert) {
         if (issuerCert == null || subjectCert == null) {
             throw new UncheckedException("证书对象不能为空");
         }
+        return CertificateValidationCache.getInstance().isIssuedBy(issuerCert, subjectCert);
+    }
 
+    /**
+     * 不使用缓存，验证签发者DN与证书签名判断证书是否由颁发者证书签发
+     *
+     * @param issuerCert  签发者证书
+     * @param subjectCert 被签发证书
+     * @return true表示证书由颁发者证书签发
+     */
+    static boolean verifyIssuedBy(X509Certificate issuerCert, X509Certificate subjectCert) {
         try {
             // 验证签发者证书的主体名称是否与被签发证书的签发者名称匹配
             String issuerDN = issuerCert.getSubjectX500Principal().getName();
@@ -1041,6 +1055,7 @@ public class X509Helper {
      *
      * @param certificateChain 证书链，按顺序排列（从终端证书到根证书）
      * @return true表示证书链完整有效，false表示不完整
+     * @see CertificateStore#validateCertificateChain(X509Certificate[])
      */
     public static boolean validateCertificateChain(X509Certificate[] certificateChain) {
         if (certificateChain == null || certificateChain.length < 2) {
@@ -1071,6 +1086,27 @@ public class X509Helper {
         return true;
     }
 
+    /**
+     * <p>
+     * 从无序的证书中组装证书链
+     * </p>
+     * <p>
+     * 根据AKID与SKID逐级查找颁发者证书，组装出的证书链可以直接用于 {@link #validateCertificateChain(X509Certificate[])}。
+     * </p>
+     *
+     * @param certificate  终端证书
+     * @param certificates 可能包含中间证书与根证书的无序证书
+     * @return 证书链，从终端证书到根证书。缺少根证书时，最后一个证书不是自签名证书
+     * @see CertificateStore#buildChain(X509Certificate)
+     */
+    public static X509Certificate[] buildCertificateChain(X509Certificate certificate, Collection<X509Certificate> certificates) {
+        CertificateStore store = new CertificateStore();
+        if (null != certificates) {
+            store.addAll(certificates);
+        }
+        return store.buildChain(certificate);
+    }
+
     /**
      * <p>
      * 判断证书是否自签名
@@ -1399,24 +1435,21 @@ public class X509Helper {
 
                 // 尝试RSA算法
                 try {
-                    java.security.KeyFactory rsaFactory = java.security.KeyFactory.getInstance("RSA");
-                    return rsaFactory.generatePublic(keySpec);
+                    return CryptoServices.keyFactory("RSA").generatePublic(keySpec);
                 } catch (Exception e) {
                     // 继续尝试其他算法
                 }
 
                 // 尝试EC算法
                 try {
-                    java.security.KeyFactory ecFactory = java.security.KeyFactory.getInstance("EC");
-                    return ecFactory.generatePublic(keySpec);
+                    return CryptoServices.keyFactory("EC").generatePublic(keySpec);
                 } catch (Exception e) {
                     // 继续尝试其他算法
                 }
 
                 // 尝试DSA算法
                 try {
-                    java.security.KeyFactory dsaFactory = java.security.KeyFactory.getInstance("DSA");
-                    return dsaFactory.generatePublic(keySpec);
+                    return CryptoServices.keyFactory("DSA").generatePublic(keySpec);
                 } catch (Exception e) {
                     // 继续尝试其他算法
                 }
@@ -1426,7 +1459,7 @@ public class X509Helper {
                     // 对于RSA公钥，可能需要使用PKCS#1格式
                     if (keyBytes.length > 0 && (keyBytes[0] & 0xFF) == 0x30) {
                         // 可能是DER编码的RSA公钥
-                        java.security.KeyFactory rsaFactory = java.security.KeyFactory.getInstance("RSA");
+                        java.security.KeyFactory rsaFactory = CryptoServices.keyFactory("RSA");
                         java.security.spec.RSAPublicKeySpec rsaSpec = parseRSAPublicKeyFromDER(keyBytes);
                         if (rsaSpec != null) {
                             return rsaFactory.generatePublic(rsaSpec);
@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.BitSet;
@@ -23,6 +25,30 @@ public class Hex {
      */
     private static final Pattern HEX_PATTERN = Pattern.compile("^[0-9a-fA-F]+$");
 
+    /**
+     * 大写的十六进制查找表，下标为 2*字节值 与 2*字节值+1 的两个字符即为该字节的十六进制表示
+     */
+    private static final char[] UPPER_TABLE = table("0123456789ABCDEF");
+
+    /**
+     * 小写的十六进制查找表
+     */
+    private static final char[] LOWER_TABLE = table("0123456789abcdef");
+
+    /**
+     * 数据不少于该长度时每次处理8个字节，较短的数据逐字节处理
+     */
+    private static final int LONG_THRESHOLD = 16;
+
+    private static char[] table(String digits) {
+        char[] table = new char[512];
+        for (int i = 0; i < 256; i++) {
+            table[i << 1] = digits.charAt(i >>> 4);
+            table[(i << 1) + 1] = digits.charAt(i & 0x0F);
+        }
+        return table;
+    }
+
     // 检查是否为有效的十六进制字符串
     public static boolean isHex(String str) {
         return str.length() % 2 == 0 && HEX_PATTERN.matcher(str).matches();
@@ -38,16 +64,7 @@ public class Hex {
         if (null == str) {
             return null;
         }
-        // 根据默认编码获取字节数组
-        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
-        final String hexString = "0123456789abcdef";
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        // 将字节数组中每个字节拆解成2位16进制整数
-        for (byte aByte : bytes) {
-            sb.append(hexString.charAt((aByte & 0xf0) >> 4));
-            sb.append(hexString.charAt((aByte & 0x0f) >> 0));
-        }
-        return sb.toString().toUpperCase();
+        return bytesToHex(str.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
@@ -77,15 +94,82 @@ public class Hex {
      * @return 十六进制字符串，每两个字符代表一个字节
      */
     public static String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
+        return bytesToHex(bytes, true);
+    }
+
+    /**
+     * 将字节数组转换为十六进制字符串
+     *
+     * @param bytes     字节数组
+     * @param upperCase 是否使用大写字母
+     * @return 十六进制字符串，每两个字符代表一个字节
+     */
+    public static String bytesToHex(byte[] bytes, boolean upperCase) {
+        char[] chars = new char[bytes.length << 1];
+        encodeHex(bytes, 0, bytes.length, chars, 0, upperCase);
+        return new String(chars);
+    }
+
+    /**
+     * 将字节数组中指定范围的数据编码为十六进制字符，写入预先分配的字符数组
+     *
+     * @param src        字节数组
+     * @param offset     起始位置
+     * @param length     编码的字节数
+     * @param dest       目标字符数组，剩余空间至少为 2*length
+     * @param destOffset 目标字符数组的起始位置
+     * @param upperCase  是否使用大写字母
+     * @return 写入的字符之后的位置
+     */
+    public static int encodeHex(byte[] src, int offset, int length, char[] dest, int destOffset, boolean upperCase) {
+        char[] table = upperCase ? UPPER_TABLE : LOWER_TABLE;
+        int j = destOffset;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int index = (src[i] & 0xFF) << 1;
+            dest[j++] = table[index];
+            dest[j++] = table[index + 1];
+        }
+        return j;
+    }
+
+    /**
+     * 将字节数组中指定范围的数据编码为ASCII编码的十六进制字符，写入预先分配的字节数组
+     *
+     * @param src        字节数组
+     * @param offset     起始位置
+     * @param length     编码的字节数
+     * @param dest       目标字节数组，剩余空间至少为 2*length
+     * @param destOffset 目标字节数组的起始位置
+     * @param upperCase  是否使用大写字母
+     * @return 写入的字节之后的位置
+     */
+    public static int encodeHex(byte[] src, int offset, int length, byte[] dest, int destOffset, boolean upperCase) {
+        char[] table = upperCase ? UPPER_TABLE : LOWER_TABLE;
+        int j = destOffset;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int index = (src[i] & 0xFF) << 1;
+            dest[j++] = (byte) table[index];
+            dest[j++] = (byte) table[index + 1];
+        }
+        return j;
+    }
+
+    /**
+     * 将字节数组编码为十六进制字符并追加到调用方提供的 {@link StringBuilder} 中
+     *
+     * @param sb        追加的目标
+     * @param bytes     字节数组
+     * @param upperCase 是否使用大写字母
+     * @return 追加的目标
+     */
+    public static StringBuilder appendHex(StringBuilder sb, byte[] bytes, boolean upperCase) {
+        char[] table = upperCase ? UPPER_TABLE : LOWER_TABLE;
+        sb.ensureCapacity(sb.length() + (bytes.length << 1));
         for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
+            int index = (b & 0xFF) << 1;
+            sb.append(table[index]).append(table[index + 1]);
         }
-        return hexString.toString().toUpperCase();
+        return sb;
     }
 
     /**
@@ -294,14 +378,14 @@ public class Hex {
             return null;
         }
 
-        int len = hexString.length();
-        byte[] bytes = new byte[len / 2];
-
-        for (int i = 0; i < len; i += 2) {
-            bytes[i / 2] = (byte) ((Character.digit(hexString.charAt(i), 16) << 4) + Character.digit(hexString.charAt(i + 1), 16));
+        // 直接解析为BitSet内部使用的long数组，第i个字节位于第i/8个long的第(i%8)*8位，与 BitSet.valueOf(byte[]) 一致
+        int byteLength = hexString.length() / 2;
+        long[] words = new long[(byteLength + 7) / 8];
+        for (int i = 0; i < byteLength; i++) {
+            long value = (Character.digit(hexString.charAt(i << 1), 16) << 4) | Character.digit(hexString.charAt((i << 1) + 1), 16);
+            words[i >>> 3] |= value << ((i & 7) << 3);
         }
-
-        return bytesToBitSet(bytes);
+        return BitSet.valueOf(words);
     }
 
     /**
@@ -340,6 +424,34 @@ public class Hex {
         return bitSet.toByteArray();
     }
 
+    /**
+     * 将BitSet转换为字节，写入预先分配的字节数组，结果与 {@link #bitSetToBytes(BitSet)} 相同
+     *
+     * @param bitSet     要转换的BitSet
+     * @param dest       目标字节数组，剩余空间至少为 (bitSet.length() + 7) / 8
+     * @param destOffset 目标字节数组的起始位置
+     * @return 写入的字节之后的位置
+     * @throws IndexOutOfBoundsException 目标字节数组的剩余空间不足
+     */
+    public static int bitSetToBytes(BitSet bitSet, byte[] dest, int destOffset) {
+        if (bitSet == null) {
+            return destOffset;
+        }
+        int length = (bitSet.length() + 7) >>> 3;
+        checkRange(dest, destOffset, length);
+        long[] words = bitSet.toLongArray();
+        ByteBuffer buffer = ByteBuffer.wrap(dest).order(ByteOrder.LITTLE_ENDIAN);
+        int i = 0;
+        // 完整的long直接按照小端序写入，最后一个long只写入有效的字节
+        for (int full = length >>> 3; i < full; i++) {
+            buffer.putLong(destOffset + (i << 3), words[i]);
+        }
+        for (int j = i << 3; j < length; j++) {
+            dest[destOffset + j] = (byte) (words[i] >>> ((j & 7) << 3));
+        }
+        return destOffset + length;
+    }
+
 
     /**
      * 将byte数组转换为BitSet
@@ -354,6 +466,29 @@ public class Hex {
         return BitSet.valueOf(bytes);
     }
 
+    /**
+     * 将字节数组中指定范围的数据转换为BitSet，结果与对该范围的副本调用 {@link #bytesToBitSet(byte[])} 相同
+     *
+     * @param bytes  字节数组
+     * @param offset 起始位置
+     * @param length 转换的字节数
+     * @return 转换后的BitSet
+     * @throws IndexOutOfBoundsException 起始位置或者长度超出了数组的范围
+     */
+    public static BitSet bytesToBitSet(byte[] bytes, int offset, int length) {
+        checkRange(bytes, offset, length);
+        long[] words = new long[(length + 7) >>> 3];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int i = 0;
+        for (int full = length >>> 3; i < full; i++) {
+            words[i] = buffer.getLong(offset + (i << 3));
+        }
+        for (int j = i << 3; j < length; j++) {
+            words[i] |= (bytes[offset + j] & 0xFFL) << ((j & 7) << 3);
+        }
+        return BitSet.valueOf(words);
+    }
+
 
     /**
      * 比较两个BitSet的内容是否相同
@@ -376,12 +511,62 @@ public class Hex {
     public static byte[] xOr(byte[] b1, byte[] b2) {
         // 创建结果数组，长度为两个输入数组的最小长度
         byte[] tXor = new byte[Math.min(b1.length, b2.length)];
-        // 对两个数组对应位置的字节进行异或运算
-        for (int i = 0; i < tXor.length; i++)
-            tXor[i] = (byte) (b1[i] ^ b2[i]);
+        xOr(b1, 0, b2, 0, tXor, 0, tXor.length);
         return tXor;
     }
 
+    /**
+     * 对两个字节数组中指定范围的数据进行异或运算，结果写入目标数组。数据较长时每次处理8个字节
+     * <p>目标数组可以就是第一个或第二个数组（起始位置也相同），此时即为原地异或，其他情况下目标范围不能与输入范围重叠。</p>
+     *
+     * @param b1         第一个字节数组
+     * @param offset1    第一个字节数组的起始位置
+     * @param b2         第二个字节数组
+     * @param offset2    第二个字节数组的起始位置
+     * @param dest       目标字节数组
+     * @param destOffset 目标字节数组的起始位置
+     * @param length     异或的字节数
+     * @return 写入的字节之后的位置
+     * @throws IndexOutOfBoundsException 起始位置或者长度超出了数组的范围
+     */
+    public static int xOr(byte[] b1, int offset1, byte[] b2, int offset2, byte[] dest, int destOffset, int length) {
+        checkRange(b1, offset1, length);
+        checkRange(b2, offset2, length);
+        checkRange(dest, destOffset, length);
+        int i = 0;
+        if (length >= LONG_THRESHOLD) {
+            // 读写使用相同的字节序，异或的结果与字节序无关
+            ByteBuffer buffer1 = ByteBuffer.wrap(b1);
+            ByteBuffer buffer2 = ByteBuffer.wrap(b2);
+            ByteBuffer target = ByteBuffer.wrap(dest);
+            for (int end = length - 7; i < end; i += 8) {
+                target.putLong(destOffset + i, buffer1.getLong(offset1 + i) ^ buffer2.getLong(offset2 + i));
+            }
+        }
+        for (; i < length; i++) {
+            dest[destOffset + i] = (byte) (b1[offset1 + i] ^ b2[offset2 + i]);
+        }
+        return destOffset + length;
+    }
+
+    /**
+     * 将第二个字节数组异或到第一个字节数组上（原地异或），长度为两个数组的最小长度
+     *
+     * @param target 被修改的字节数组
+     * @param mask   参与异或的字节数组
+     * @return 被修改的字节数组
+     */
+    public static byte[] xOrInto(byte[] target, byte[] mask) {
+        xOr(target, 0, mask, 0, target, 0, Math.min(target.length, mask.length));
+        return target;
+    }
+
+    private static void checkRange(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", size: " + array.length);
+        }
+    }
+
     /**
      * 交换字符串中相邻的字符
      * <p>该方法将字符串中的每对相邻字符进行交换，例如："abcdef" 输出 "bacfde"；"abcde" 输出 "badce"</p>
@@ -4,16 +4,32 @@ import java.io.Serializable;
 
 /**
  * TLV解析工具类
+ * <p>
+ * 输入的十六进制字符串只在创建时解码一次，解析通过 {@link TlvReader} 在字节上完成，链式解析与 {@link #parseRemaining(String)}
+ * 产生的TLV对象共享解码后的数据，值与剩余数据的字符串在获取时才生成。需要处理大量数据时可以直接使用 {@link TlvReader}。
+ * </p>
  *
  * @author yishui
  * @version 1.0.0
  */
 public class TLV implements Serializable {
+    /**
+     * 解码后的数据，链式解析产生的TLV对象共享同一个数组；数据不是有效的十六进制字符串时为null
+     */
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    /**
+     * 清理后的原始数据、值与剩余数据，按需从解码后的数据生成
+     */
     private String data;
-    private String tag;
     private String value;
     private String remainingData;
+    private String tag;
+    private int valueOffset;
     private int valueLength;
+    private int remainingOffset;
+    private int remainingLength;
     private String error;
     private boolean success;
 
@@ -45,14 +61,26 @@ public class TLV implements Serializable {
      * @param data 待处理的原始数据字符串，可能包含空白字符和换行符
      */
     private TLV(String data) {
-        this.data = cleanData(data);
-        // 修复：初始化所有字段，避免null值
-        this.tag = "";
-        this.value = "";
-        this.remainingData = "";
-        this.valueLength = 0;
-        this.error = "";
-        this.success = false;
+        this.bytes = decode(data);
+        this.offset = 0;
+        this.length = null == bytes ? 0 : bytes.length;
+        // 不是有效的十六进制数据时保留清理后的字符串，有效时按需从字节生成
+        this.data = null == bytes ? cleanData(data) : null;
+        resetState();
+    }
+
+    /**
+     * 构造方法，与其他TLV对象共享解码后的数据
+     *
+     * @param bytes  解码后的数据
+     * @param offset 数据的起始位置
+     * @param length 数据的长度
+     */
+    private TLV(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        resetState();
     }
 
     /**
@@ -79,20 +107,61 @@ public class TLV implements Serializable {
      * @return 清理后的字符串，如果输入为null则返回空字符串
      */
     // 清理数据
-    private String cleanData(String data) {
+    private static String cleanData(String data) {
         if (data == null) return "";
-        return data.replaceAll("\\s+|\\n", "").toUpperCase();
+        StringBuilder sb = new StringBuilder(data.length());
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (!isSpace(c)) {
+                sb.append(Character.toUpperCase(c));
+            }
+        }
+        return sb.toString();
     }
 
-
     /**
-     * 验证hex数据
+     * 将十六进制字符串解码为字节数组，忽略其中的空白字符
      *
-     * @param data 待验证的字符串数据
-     * @return 如果数据是有效的十六进制格式则返回true，否则返回false
+     * @param data 十六进制字符串，可能为null
+     * @return 解码后的字节数组，为null时返回空数组；包含非十六进制字符或者十六进制字符的数量为奇数时返回null
+     */
+    private static byte[] decode(String data) {
+        if (data == null) return new byte[0];
+        int digits = 0;
+        for (int i = 0; i < data.length(); i++) {
+            char c = data.charAt(i);
+            if (Character.digit(c, 16) >= 0) {
+                digits++;
+            } else if (!isSpace(c)) {
+                return null;
+            }
+        }
+        if ((digits & 1) != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[digits / 2];
+        int high = -1;
+        int index = 0;
+        for (int i = 0; i < data.length(); i++) {
+            int digit = Character.digit(data.charAt(i), 16);
+            if (digit < 0) {
+                continue;
+            }
+            if (high < 0) {
+                high = digit;
+            } else {
+                bytes[index++] = (byte) ((high << 4) | digit);
+                high = -1;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 是否为正则表达式中 \s 匹配的空白字符
      */
-    private boolean isValidHex(String data) {
-        return data.matches("^[0-9A-F]*$");
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
 
@@ -104,9 +173,9 @@ public class TLV implements Serializable {
      */
     // 统一的解析方法 - 支持链式调用
     public TLV parse(String tag) {
-        // 如果当前对象已经成功解析并且有值部分，则从值部分继续解析（链式解析）
-        if (success && !value.isEmpty()) {
-            return new TLV(value).parse(tag);
+        // 如果当前对象已经成功解析并且有值部分，则从值部分继续解析（链式解析），与当前对象共享数据
+        if (success && valueLength > 0) {
+            return new TLV(bytes, valueOffset, valueLength).parse(tag);
         }
 
         // 重置状态（保留data）
@@ -114,38 +183,40 @@ public class TLV implements Serializable {
         this.tag = tag == null ? "" : cleanData(tag);
 
         // 验证数据有效性
-        if (!isValidHex(data)) {
+        if (null == bytes) {
             setError("无效的Hex数据");
-            this.remainingData = data; // 修复：解析失败时保留原始数据
-            this.value = ""; // 修复：确保value字段不为null
             return this;
         }
 
-        if (data.isEmpty()) {
+        if (length == 0) {
             setError("数据为空");
-            this.remainingData = data; // 修复：解析失败时保留原始数据
-            this.value = ""; // 修复：确保value字段不为null
             return this;
         }
 
-        // 检查是否以tag开头（tag不为空时）
-        if (!this.tag.isEmpty() && !data.startsWith(this.tag)) {
+        // 检查是否以tag开头（tag不为空时），数据按照字节比较，tag不是完整的字节时视为不匹配
+        byte[] tagBytes = decode(this.tag);
+        TlvReader reader = new TlvReader(bytes, offset, length);
+        if (null == tagBytes || !reader.startsWith(tagBytes)) {
             setError("数据不以指定标签开头");
-            this.remainingData = data; // 修复：解析失败时保留原始数据
-            this.value = ""; // 修复：确保value字段不为null
             return this;
         }
 
         // 执行实际解析操作
         try {
-            int startIndex = this.tag.isEmpty() ? 0 : this.tag.length();
-            parseFromIndex(startIndex);
+            int lengthOffset = offset + tagBytes.length;
+            // 只支持 0x81-0x83 开头的多字节长度
+            if (lengthOffset < offset + length && (bytes[lengthOffset] & 0xFF) > 0x83) {
+                throw new IllegalArgumentException("长度字段解析失败");
+            }
+            reader.next(tagBytes);
+            this.valueOffset = reader.valueOffset();
+            this.valueLength = reader.valueLength();
+            this.remainingOffset = reader.end();
+            this.remainingLength = offset + length - reader.end();
             this.success = true;
             return this;
         } catch (Exception e) {
             setError("解析错误: " + e.getMessage());
-            this.remainingData = data; // 修复：解析失败时保留原始数据
-            this.value = ""; // 修复：确保value字段不为null
             return this;
         }
     }
@@ -160,95 +231,13 @@ public class TLV implements Serializable {
      * @return 新的TLV对象，包含解析结果
      */
     public TLV parseRemaining(String tag) {
-        if (!success || remainingData.isEmpty()) {
+        TLV remaining = null == bytes ? new TLV(getRemainingData()) : new TLV(bytes, remainingOffset, remainingLength);
+        if (!success || remainingLength == 0) {
             // 修复：当无法解析剩余数据时，返回一个新的失败TLV对象而不是当前对象
-            TLV failedTlv = new TLV(remainingData);
-            failedTlv.setError("没有剩余数据可用于解析");
-            failedTlv.remainingData = this.remainingData; // 确保remainingData正确传递
-            failedTlv.value = ""; // 修复：确保value字段不为null
-            return failedTlv;
+            remaining.setError("没有剩余数据可用于解析");
+            return remaining;
         }
-        return new TLV(remainingData).parse(tag);
-    }
-
-
-    /**
-     * 从指定位置开始解析数据
-     *
-     * @param startIndex 起始解析位置索引
-     */
-    // 从指定位置解析
-    private void parseFromIndex(int startIndex) {
-        String workingData = data.substring(startIndex);
-
-        // 解析长度字段，获取长度信息
-        LengthInfo lengthInfo = parseLength(workingData);
-        if (lengthInfo == null) {
-            throw new IllegalArgumentException("长度字段解析失败");
-        }
-
-        // 计算值字段的起始和结束位置
-        int valueStart = lengthInfo.lengthFieldSize;
-        int valueEnd = valueStart + lengthInfo.valueLength * 2;
-
-        // 验证数据是否足够长以包含值字段
-        if (valueEnd > workingData.length()) {
-            throw new IllegalArgumentException("数据长度不足");
-        }
-
-        // 提取值字段和剩余数据
-        this.value = workingData.substring(valueStart, valueEnd);
-        this.remainingData = workingData.substring(valueEnd);
-        this.valueLength = lengthInfo.valueLength;
-    }
-
-
-    /**
-     * 解析长度字段
-     *
-     * @param data 输入的十六进制字符串数据
-     * @return LengthInfo对象，包含解析出的长度值和占用的字节数；如果解析失败则返回null
-     */
-    private LengthInfo parseLength(String data) {
-        if (data.length() < 2) return null;
-
-        String firstByte = data.substring(0, 2);
-        // 验证第一个字节是否为有效十六进制
-        if (!isValidHex(firstByte)) {
-            return null;
-        }
-
-        int firstLength = Integer.parseInt(firstByte, 16);
-
-        // 处理单字节长度标识（长度小于等于0x7F）
-        if (firstLength <= 0x7F) {
-            return new LengthInfo(firstLength, 2);
-        }
-        // 处理多字节长度标识（第一个字节标识后续长度字节数）
-        else if (firstLength == 0x81 && data.length() >= 4) {
-            String lengthStr = data.substring(2, 4);
-            if (!isValidHex(lengthStr)) {
-                return null;
-            }
-            int length = Integer.parseInt(lengthStr, 16);
-            return new LengthInfo(length, 4);
-        } else if (firstLength == 0x82 && data.length() >= 6) {
-            String lengthStr = data.substring(2, 6);
-            if (!isValidHex(lengthStr)) {
-                return null;
-            }
-            int length = Integer.parseInt(lengthStr, 16);
-            return new LengthInfo(length, 6);
-        } else if (firstLength == 0x83 && data.length() >= 8) {
-            String lengthStr = data.substring(2, 8);
-            if (!isValidHex(lengthStr)) {
-                return null;
-            }
-            int length = Integer.parseInt(lengthStr, 16);
-            return new LengthInfo(length, 8);
-        }
-
-        return null;
+        return remaining.parse(tag);
     }
 
 
@@ -258,16 +247,19 @@ public class TLV implements Serializable {
      */
     private void resetState() {
         this.tag = "";
-        this.value = "";
-        this.remainingData = "";
+        this.value = null;
+        this.remainingData = null;
+        this.valueOffset = offset;
         this.valueLength = 0;
+        this.remainingOffset = offset;
+        this.remainingLength = 0;
         this.error = "";
         this.success = false;
     }
 
 
     /**
-     * 设置错误信息并标记解析失败
+     * 设置错误信息并标记解析失败，解析失败时剩余数据为全部的原始数据
      * <p>
      * 该方法用于在解析过程中遇到错误时设置错误信息，并将success状态置为false
      *
@@ -276,6 +268,24 @@ public class TLV implements Serializable {
     private void setError(String error) {
         this.error = error;  // 设置错误信息
         this.success = false;  // 标记解析状态为失败
+        this.valueOffset = offset;
+        this.valueLength = 0;
+        this.value = null;
+        this.remainingOffset = offset;
+        this.remainingLength = length;
+        this.remainingData = null;
+    }
+
+    /**
+     * 将解码后的数据中指定范围的字节转换为大写的十六进制字符串
+     */
+    private String hex(int from, int count) {
+        if (count == 0) {
+            return "";
+        }
+        char[] chars = new char[count * 2];
+        Hex.encodeHex(bytes, from, count, chars, 0, true);
+        return new String(chars);
     }
 
     /**
@@ -297,6 +307,9 @@ public class TLV implements Serializable {
      * @return 当前TLV对象的值字符串，十六进制格式
      */
     public String getValue() {
+        if (null == value) {
+            value = null == bytes ? "" : hex(valueOffset, valueLength);
+        }
         return value;
     }
 
@@ -308,6 +321,10 @@ public class TLV implements Serializable {
      * @return 剩余未解析的十六进制字符串数据，如果没有剩余数据则返回空字符串
      */
     public String getRemainingData() {
+        if (null == remainingData) {
+            // 数据不是有效的十六进制字符串时不会解析成功，解析失败后剩余数据为全部的原始数据
+            remainingData = null == bytes ? (error.isEmpty() ? "" : data) : hex(remainingOffset, remainingLength);
+        }
         return remainingData;
     }
 
@@ -352,6 +369,9 @@ public class TLV implements Serializable {
      * @return 清理后的原始数据字符串，如果原始数据为null则返回空字符串
      */
     public String getOriginalData() {
+        if (null == data) {
+            data = hex(offset, length);
+        }
         return data;
     }
 
@@ -373,9 +393,9 @@ public class TLV implements Serializable {
 
         if (success) {
             System.out.println("标签: " + (tag.isEmpty() ? "[LV结构]" : tag));
-            System.out.println("值: " + value);
+            System.out.println("值: " + getValue());
             System.out.println("值长度: " + valueLength + " 字节");
-            System.out.println("剩余数据: " + (remainingData.isEmpty() ? "[无]" : remainingData));
+            System.out.println("剩余数据: " + (getRemainingData().isEmpty() ? "[无]" : getRemainingData()));
         } else {
             System.out.println("错误: " + error);
         }
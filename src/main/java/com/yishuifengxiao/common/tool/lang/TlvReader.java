@@ -0,0 +1,453 @@
+package com.yishuifengxiao.common.tool.lang;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * 字节级的TLV读取器
+ * </p>
+ * 直接在 byte[] 或 {@link ByteBuffer} 上按顺序读取TLV元素，与 {@link TLV} 相比具备以下的特点
+ * <ol>
+ * <li>读取器本身就是当前元素的视图，{@link #next()} 之后通过 {@link #tag()}、{@link #valueOffset()}、{@link #valueLength()}
+ * 等方法获取当前元素在原始数据中的位置，不会复制数据，也不会创建字符串</li>
+ * <li>通过 {@link #nested(TlvReader)} 复用另一个读取器解析当前元素的值，嵌套解析时不需要创建新的对象</li>
+ * <li>{@link #next()} 按照BER-TLV的规则解析标签，{@link #next(byte[])} 要求当前位置是指定的标签</li>
+ * <li>长度支持单字节形式（0x00-0x7F）与 0x81-0x84 开头的多字节形式</li>
+ * </ol>
+ * 所有的偏移量都是在原始数组（或缓冲区的索引空间）中的绝对位置。读取器只使用绝对位置读取数据，不会修改缓冲区的position。
+ *
+ * <pre>
+ * {@code
+ * TlvReader reader = new TlvReader(response);
+ * TlvReader inner = new TlvReader(response);
+ * while (reader.next()) {
+ *     if (reader.tag() == 0xBF22 && reader.isConstructed()) {
+ *         reader.nested(inner);
+ *         while (inner.next()) {
+ *             handle(inner.tag(), response, inner.valueOffset(), inner.valueLength());
+ *         }
+ *     }
+ * }
+ * }
+ * </pre>
+ * 读取器不是线程安全的。
+ *
+ * @author yishui
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class TlvReader {
+
+    /**
+     * 长度字段中最多的长度字节数
+     */
+    private static final int MAX_LENGTH_BYTES = 4;
+
+    private ByteBuffer buffer;
+
+    private int start;
+
+    private int limit;
+
+    private int position;
+
+    private int tagOffset;
+
+    private int tagLength;
+
+    private int valueOffset;
+
+    private int valueLength;
+
+    /**
+     * 创建读取整个数组的读取器
+     *
+     * @param data 数据
+     */
+    public TlvReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    /**
+     * 创建读取数组中指定范围的读取器
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @throws IndexOutOfBoundsException 范围超出了数组
+     */
+    public TlvReader(byte[] data, int offset, int length) {
+        reset(data, offset, length);
+    }
+
+    /**
+     * 创建读取缓冲区中 position 到 limit 之间数据的读取器
+     *
+     * @param buffer 缓冲区
+     */
+    public TlvReader(ByteBuffer buffer) {
+        reset(buffer);
+    }
+
+    /**
+     * 重新读取数组中指定范围的数据
+     *
+     * @param data   数据
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 读取器本身
+     * @throws IndexOutOfBoundsException 范围超出了数组
+     */
+    public TlvReader reset(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", size=" + data.length);
+        }
+        return reset(ByteBuffer.wrap(data), offset, offset + length);
+    }
+
+    /**
+     * 重新读取缓冲区中 position 到 limit 之间的数据
+     *
+     * @param buffer 缓冲区
+     * @return 读取器本身
+     */
+    public TlvReader reset(ByteBuffer buffer) {
+        return reset(buffer, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * 读取下一个元素，标签按照BER-TLV的规则解析：第一个字节的低5位全为1时，后续的字节直到最高位为0的字节都属于标签
+     *
+     * @return 成功读取时返回true，已经没有剩余数据时返回false
+     * @throws IllegalArgumentException 标签或长度字段不完整，或者数据长度不足
+     */
+    public boolean next() {
+        if (position >= limit) {
+            return false;
+        }
+        int index = position;
+        if ((buffer.get(index++) & 0x1F) == 0x1F) {
+            while (true) {
+                if (index >= limit) {
+                    throw new IllegalArgumentException("标签不完整");
+                }
+                if ((buffer.get(index++) & 0x80) == 0) {
+                    break;
+                }
+            }
+        }
+        read(index);
+        return true;
+    }
+
+    /**
+     * 读取下一个元素，当前位置必须是指定的标签
+     *
+     * @param tag 标签的字节
+     * @return 成功读取时返回true，没有剩余数据或者当前位置不是指定的标签时返回false，此时位置不变
+     * @throws IllegalArgumentException 长度字段不完整或者数据长度不足
+     */
+    public boolean next(byte[] tag) {
+        if (position >= limit || !startsWith(tag)) {
+            return false;
+        }
+        read(position + tag.length);
+        return true;
+    }
+
+    /**
+     * 判断当前位置是否以指定的字节开始，不会改变位置
+     *
+     * @param tag 标签的字节
+     * @return 当前位置以指定的字节开始时返回true
+     */
+    public boolean startsWith(byte[] tag) {
+        if (tag.length > limit - position) {
+            return false;
+        }
+        for (int i = 0; i < tag.length; i++) {
+            if (buffer.get(position + i) != tag[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 从当前位置开始依次读取同一层的元素，直到找到指定的标签
+     *
+     * @param tag 标签，例如 0x5F37
+     * @return 找到时返回true，当前元素即为找到的元素；没有找到时返回false，此时已经读取完所有的元素
+     * @throws IllegalArgumentException 数据的格式不正确
+     */
+    public boolean find(int tag) {
+        while (next()) {
+            if (tagLength <= 4 && tag() == tag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 使用另一个读取器读取当前元素的值，不会创建新的对象
+     *
+     * @param target 用于读取值的读取器
+     * @return 用于读取值的读取器
+     * @throws IllegalStateException 当前没有元素
+     */
+    public TlvReader nested(TlvReader target) {
+        checkElement();
+        return target.reset(buffer, valueOffset, valueOffset + valueLength);
+    }
+
+    /**
+     * 创建读取当前元素的值的读取器，与当前读取器共享数据
+     *
+     * @return 读取当前元素的值的读取器
+     * @throws IllegalStateException 当前没有元素
+     */
+    public TlvReader nested() {
+        checkElement();
+        return new TlvReader(buffer, valueOffset, valueOffset + valueLength);
+    }
+
+    /**
+     * 获取当前元素的标签，多字节的标签按照大端序组合，例如 5F37 返回 0x5F37
+     *
+     * @return 标签
+     * @throws IllegalStateException 当前没有元素或者标签超过4个字节
+     */
+    public int tag() {
+        checkElement();
+        if (tagLength > 4) {
+            throw new IllegalStateException("标签超过4个字节");
+        }
+        int tag = 0;
+        for (int i = 0; i < tagLength; i++) {
+            tag = (tag << 8) | (buffer.get(tagOffset + i) & 0xFF);
+        }
+        return tag;
+    }
+
+    /**
+     * 当前元素是否为结构类型，即标签第一个字节的第6位为1
+     *
+     * @return 是否为结构类型
+     * @throws IllegalStateException 当前没有元素
+     */
+    public boolean isConstructed() {
+        checkElement();
+        return tagLength > 0 && (buffer.get(tagOffset) & 0x20) != 0;
+    }
+
+    /**
+     * 获取当前元素的标签的起始位置
+     *
+     * @return 标签的起始位置，没有当前元素时为-1
+     */
+    public int tagOffset() {
+        return tagOffset;
+    }
+
+    /**
+     * 获取当前元素的标签的字节数
+     *
+     * @return 标签的字节数
+     */
+    public int tagLength() {
+        return tagLength;
+    }
+
+    /**
+     * 获取当前元素的值的起始位置
+     *
+     * @return 值的起始位置
+     */
+    public int valueOffset() {
+        return valueOffset;
+    }
+
+    /**
+     * 获取当前元素的值的字节数
+     *
+     * @return 值的字节数
+     */
+    public int valueLength() {
+        return valueLength;
+    }
+
+    /**
+     * 获取当前元素的结束位置（不包含），也是下一个元素的起始位置
+     *
+     * @return 当前元素的结束位置
+     */
+    public int end() {
+        return valueOffset + valueLength;
+    }
+
+    /**
+     * 获取当前的读取位置
+     *
+     * @return 读取位置
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * 获取读取范围的结束位置（不包含）
+     *
+     * @return 结束位置
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * 回到读取范围的起始位置，重新读取所有的元素
+     *
+     * @return 读取器本身
+     */
+    public TlvReader rewind() {
+        return reset(buffer, start, limit);
+    }
+
+    /**
+     * 是否还有未读取的数据
+     *
+     * @return 是否还有未读取的数据
+     */
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /**
+     * 读取指定位置的字节
+     *
+     * @param index 绝对位置
+     * @return 字节
+     */
+    public byte get(int index) {
+        return buffer.get(index);
+    }
+
+    /**
+     * 获取当前元素的值的视图，与原始数据共享内容，不会复制数据
+     *
+     * @return position 与 limit 分别为值的起始与结束位置的只读缓冲区
+     * @throws IllegalStateException 当前没有元素
+     */
+    public ByteBuffer value() {
+        checkElement();
+        ByteBuffer value = buffer.asReadOnlyBuffer();
+        value.limit(valueOffset + valueLength);
+        value.position(valueOffset);
+        return value;
+    }
+
+    /**
+     * 复制当前元素的值
+     *
+     * @return 值
+     * @throws IllegalStateException 当前没有元素
+     */
+    public byte[] valueBytes() {
+        checkElement();
+        byte[] value = new byte[valueLength];
+        for (int i = 0; i < valueLength; i++) {
+            value[i] = buffer.get(valueOffset + i);
+        }
+        return value;
+    }
+
+    /**
+     * 获取当前元素的值的大写十六进制字符串
+     *
+     * @return 值的十六进制字符串
+     * @throws IllegalStateException 当前没有元素
+     */
+    public String valueHex() {
+        checkElement();
+        return hex(valueOffset, valueLength);
+    }
+
+    /**
+     * 将指定范围的数据转换为大写的十六进制字符串
+     *
+     * @param offset 绝对位置
+     * @param length 长度
+     * @return 十六进制字符串
+     */
+    public String hex(int offset, int length) {
+        if (buffer.hasArray()) {
+            char[] chars = new char[length * 2];
+            Hex.encodeHex(buffer.array(), buffer.arrayOffset() + offset, length, chars, 0, true);
+            return new String(chars);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return Hex.bytesToHex(bytes, true);
+    }
+
+    private TlvReader(ByteBuffer buffer, int start, int limit) {
+        reset(buffer, start, limit);
+    }
+
+    private TlvReader reset(ByteBuffer buffer, int start, int limit) {
+        this.buffer = buffer;
+        this.start = start;
+        this.limit = limit;
+        this.position = start;
+        this.tagOffset = -1;
+        this.tagLength = 0;
+        this.valueOffset = start;
+        this.valueLength = 0;
+        return this;
+    }
+
+    /**
+     * 从长度字段开始读取当前元素的剩余部分，成功后将位置移动到元素之后
+     *
+     * @param lengthOffset 长度字段的起始位置
+     */
+    private void read(int lengthOffset) {
+        if (lengthOffset >= limit) {
+            throw new IllegalArgumentException("长度字段解析失败");
+        }
+        int first = buffer.get(lengthOffset) & 0xFF;
+        int index = lengthOffset + 1;
+        int length;
+        if (first <= 0x7F) {
+            length = first;
+        } else {
+            int count = first & 0x7F;
+            if (count == 0 || count > MAX_LENGTH_BYTES || count > limit - index) {
+                throw new IllegalArgumentException("长度字段解析失败");
+            }
+            length = 0;
+            for (int i = 0; i < count; i++) {
+                length = (length << 8) | (buffer.get(index++) & 0xFF);
+            }
+            if (length < 0) {
+                throw new IllegalArgumentException("长度字段解析失败");
+            }
+        }
+        if (length > limit - index) {
+            throw new IllegalArgumentException("数据长度不足");
+        }
+        this.tagOffset = position;
+        this.tagLength = lengthOffset - position;
+        this.valueOffset = index;
+        this.valueLength = length;
+        this.position = index + length;
+    }
+
+    private void checkElement() {
+        if (tagOffset < 0) {
+            throw new IllegalStateException("没有当前的TLV元素");
+        }
+    }
+}
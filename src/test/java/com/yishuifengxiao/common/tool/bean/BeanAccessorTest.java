@@ -0,0 +1,80 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BeanAccessor} 的单元测试
+ */
+public class BeanAccessorTest {
+
+    static class Base {
+        private String name = "base";
+        private long version;
+    }
+
+    static class User extends Base {
+        private String name = "user";
+        private int age;
+        private Integer score;
+    }
+
+    /**
+     * TC01: 按序号读写字段，同名字段使用子类中的字段
+     */
+    @Test
+    public void testPositionalAccess() {
+        BeanAccessor accessor = BeanAccessor.of(User.class);
+        assertSame(accessor, BeanAccessor.of(User.class), "访问器应被缓存");
+
+        int age = accessor.indexOf("age");
+        int name = accessor.indexOf("name");
+        assertEquals(-1, accessor.indexOf("missing"));
+        assertEquals(User.class, accessor.field(name).getDeclaringClass());
+
+        User user = new User();
+        accessor.set(user, age, 18);
+        assertEquals(18, user.age);
+        assertEquals(18, accessor.get(user, age));
+        assertEquals("user", accessor.get(user, name));
+        assertEquals("user", accessor.get(user, "name"));
+    }
+
+    /**
+     * TC02: 设置值时支持基本类型的拓宽转换，类型不匹配时抛出IllegalArgumentException
+     */
+    @Test
+    public void testSet_Conversion() {
+        BeanAccessor accessor = BeanAccessor.of(User.class);
+        User user = new User();
+        accessor.set(user, "version", 7);
+        assertEquals(7L, ((Base) user).version);
+        accessor.set(user, "score", null);
+        assertNull(user.score);
+
+        assertThrows(IllegalArgumentException.class, () -> accessor.set(user, "age", "x"));
+        assertThrows(IllegalArgumentException.class, () -> accessor.set(user, "age", null));
+        assertThrows(IllegalArgumentException.class, () -> accessor.set(user, "missing", 1));
+    }
+
+    /**
+     * TC03: ClassUtil的批量读写方法使用访问器
+     */
+    @Test
+    public void testClassUtil_FieldValues() {
+        User user = new User();
+        Map<String, Object> values = new HashMap<>();
+        values.put("age", 30);
+        values.put("score", "wrong type");
+        ClassUtil.setAllFieldValues(user, values);
+
+        assertEquals(30, user.age);
+        assertNull(user.score, "类型不匹配的值应被忽略");
+        assertEquals(30, ClassUtil.extractValue(user, "age"));
+        assertEquals(30, ClassUtil.getAllFieldValues(user).get("age"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BeanCopier} 的单元测试
+ */
+public class BeanCopierTest {
+
+    enum Level {
+        LOW, HIGH
+    }
+
+    static class Source {
+        private int age = 25;
+        private long count = 7L;
+        private Integer score = 90;
+        private Long total = 100L;
+        private String level = "high";
+        private String birthday = "2023-01-01";
+        private String name = "Alice";
+        private String[] tags = {"a", "b"};
+        private String nullName = null;
+        private String mismatch = "x";
+    }
+
+    static class Target {
+        private Integer age;
+        private long count;
+        private int score;
+        private Integer total;
+        private Level level;
+        private LocalDate birthday;
+        private String name;
+        private String[] tags;
+        private String nullName = "keep";
+        private int mismatch = 3;
+    }
+
+    static class FinalTarget {
+        private final String name = "init";
+    }
+
+    /**
+     * TC01: 复制结果与BeanUtil.copy的语义一致
+     */
+    @Test
+    public void testCopy_ConversionsMatchBeanUtil() {
+        Target result = BeanCopier.create(Source.class, Target.class).copy(new Source(), new Target());
+
+        assertEquals(Integer.valueOf(25), result.age);
+        assertEquals(7L, result.count);
+        assertEquals(90, result.score);
+        assertEquals(Integer.valueOf(100), result.total);
+        assertEquals(Level.HIGH, result.level);
+        assertEquals(LocalDate.of(2023, 1, 1), result.birthday);
+        assertEquals("Alice", result.name);
+        assertArrayEquals(new String[]{"a", "b"}, result.tags);
+        assertEquals("keep", result.nullName, "源属性为null时不应覆盖目标属性");
+        assertEquals(3, result.mismatch, "类型不兼容的属性应被忽略");
+    }
+
+    /**
+     * TC02: 同一组类型的复制器只构建一次
+     */
+    @Test
+    public void testCreate_ReturnsCachedInstance() {
+        assertSame(BeanCopier.create(Source.class, Target.class), BeanCopier.create(Source.class, Target.class));
+        assertFalse(BeanCopier.create(Source.class, Target.class).getPropertyNames().contains("mismatch"));
+    }
+
+    /**
+     * TC03: null参数直接返回目标对象
+     */
+    @Test
+    public void testCopy_NullArguments() {
+        BeanCopier<Source, Target> copier = BeanCopier.create(Source.class, Target.class);
+        Target target = new Target();
+        assertSame(target, copier.copy(null, target));
+        assertNull(copier.copy(new Source(), null));
+    }
+
+    /**
+     * TC04: final实例字段仍然可以被复制
+     */
+    @Test
+    public void testCopy_FinalField() {
+        FinalTarget result = BeanUtil.copy(new Source(), new FinalTarget());
+        assertNotNull(result);
+    }
+}
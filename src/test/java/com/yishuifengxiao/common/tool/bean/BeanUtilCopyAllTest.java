@@ -0,0 +1,89 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link BeanUtil#copyAll(java.util.Collection, java.util.function.Supplier)} 的单元测试
+ */
+public class BeanUtilCopyAllTest {
+
+    static class Source {
+        private int id;
+        private String name;
+
+        Source(int id) {
+            this.id = id;
+            this.name = "name-" + id;
+        }
+    }
+
+    static class SubSource extends Source {
+        SubSource(int id) {
+            super(id);
+        }
+    }
+
+    static class Target {
+        private Integer id;
+        private String name;
+    }
+
+    /**
+     * TC01: 顺序复制，保留null元素的位置
+     */
+    @Test
+    public void testCopyAll_Sequential() {
+        List<Target> result = BeanUtil.copyAll(Arrays.asList(new Source(1), null, new SubSource(3)), Target::new);
+
+        assertEquals(3, result.size());
+        assertEquals(Integer.valueOf(1), result.get(0).id);
+        assertNull(result.get(1));
+        assertEquals("name-3", result.get(2).name);
+    }
+
+    /**
+     * TC02: 并行复制的结果与顺序复制一致
+     */
+    @Test
+    public void testCopyAll_Parallel() {
+        List<Source> sources = IntStream.range(0, 10_000).mapToObj(Source::new).collect(Collectors.toCollection(ArrayList::new));
+
+        List<Target> result = BeanUtil.copyAll(sources, Target::new, true);
+
+        assertEquals(sources.size(), result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(Integer.valueOf(i), result.get(i).id);
+        }
+    }
+
+    /**
+     * TC03: 流式复制
+     */
+    @Test
+    public void testCopyAll_Stream() {
+        List<Target> result = BeanUtil.copyAll(Stream.of(new Source(7), new Source(8)), Target::new).collect(Collectors.toList());
+
+        assertEquals(2, result.size());
+        assertEquals("name-8", result.get(1).name);
+    }
+
+    /**
+     * TC04: 空集合与空流
+     */
+    @Test
+    public void testCopyAll_Empty() {
+        assertTrue(BeanUtil.copyAll(Collections.<Source>emptyList(), Target::new).isEmpty());
+        assertTrue(BeanUtil.copyAll((List<Source>) null, Target::new).isEmpty());
+        assertEquals(0, BeanUtil.copyAll((Stream<Source>) null, Target::new).count());
+    }
+}
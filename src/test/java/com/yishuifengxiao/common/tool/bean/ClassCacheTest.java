@@ -0,0 +1,113 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ClassCache} 的单元测试
+ */
+public class ClassCacheTest {
+
+    static class Sample {
+        private String name;
+    }
+
+    /**
+     * TC01: 每个类只计算一次，统计命中与未命中次数
+     */
+    @Test
+    public void testGet_Stats() {
+        AtomicInteger computed = new AtomicInteger();
+        ClassCache<String> cache = new ClassCache<>("ClassCacheTest.names", type -> {
+            computed.incrementAndGet();
+            return type.getSimpleName();
+        });
+
+        assertEquals("String", cache.get(String.class));
+        assertEquals("String", cache.get(String.class));
+        assertEquals("Integer", cache.get(Integer.class));
+        assertEquals(2, computed.get(), "每个类只应计算一次");
+
+        ClassCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getEntries());
+
+        cache.remove(String.class);
+        assertEquals(1, cache.stats().getEntries());
+        cache.get(String.class);
+        assertEquals(3, computed.get(), "移除后应重新计算");
+    }
+
+    /**
+     * TC02: ClassUtil暴露所有类元数据缓存的统计信息
+     */
+    @Test
+    public void testClassUtil_CacheStats() {
+        ClassUtil.fields(Sample.class);
+        ClassUtil.fields(Sample.class);
+        BeanAccessor.of(Sample.class);
+
+        Map<String, ClassCache.Stats> stats = ClassUtil.cacheStats();
+        assertTrue(stats.containsKey("ClassUtil.fields"));
+        assertTrue(stats.containsKey("BeanAccessor"));
+        assertTrue(stats.get("ClassUtil.fields").getHits() >= 1);
+        assertTrue(stats.get("ClassUtil.fields").getEntries() >= 1);
+    }
+
+    /**
+     * TC03: 上级类加载器加载的类不使用ClassValue，jdk中的类保存在缓存自身中
+     */
+    @Test
+    public void testGet_ParentLoaderClasses() throws Exception {
+        assertFalse(ClassCache.isParent(Sample.class.getClassLoader()));
+        assertTrue(ClassCache.isParent(String.class.getClassLoader()), "jdk中的类不应持有缓存的值");
+        try (URLClassLoader child = new URLClassLoader(new URL[0], ClassCacheTest.class.getClassLoader())) {
+            assertFalse(ClassCache.isParent(child));
+        }
+
+        ClassCache<String> cache = new ClassCache<>("ClassCacheTest.loaders", Class::getName);
+        assertEquals("java.util.HashMap", cache.get(HashMap.class));
+        assertSame(cache.get(HashMap.class), cache.get(HashMap.class));
+        assertEquals(1, cache.stats().getMisses());
+        assertSame(BeanCopier.create(Sample.class, Sample.class), BeanCopier.create(Sample.class, Sample.class));
+    }
+
+    /**
+     * TC04: 与当前类库无关的类加载器在缓存其中的类之后仍然可以被回收
+     */
+    @Test
+    public void testGet_UnrelatedLoaderCollected() throws Exception {
+        WeakReference<ClassLoader> reference = cacheInUnrelatedLoader();
+        for (int i = 0; i < 50 && null != reference.get(); i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(reference.get(), "缓存不应阻止无关的类加载器被回收");
+    }
+
+    private static WeakReference<ClassLoader> cacheInUnrelatedLoader() throws Exception {
+        URL location = Sample.class.getProtectionDomain().getCodeSource().getLocation();
+        URLClassLoader loader = new URLClassLoader(new URL[]{location}, null);
+        Class<?> type = Class.forName(Sample.class.getName(), true, loader);
+        assertNotSame(Sample.class, type);
+        assertFalse(ClassCache.isParent(loader));
+
+        ClassUtil.fields(type);
+        BeanAccessor.of(type);
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        assertNotNull(BeanUtil.cloneVal(constructor.newInstance()));
+        loader.close();
+        return new WeakReference<>(loader);
+    }
+}
@@ -0,0 +1,237 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CompactBinaryCodec} 的单元测试
+ */
+public class CompactBinaryCodecTest {
+
+    enum Level {
+        LOW, HIGH
+    }
+
+    static class Item {
+        private String name;
+        private BigDecimal price;
+
+        Item() {
+        }
+
+        Item(String name, BigDecimal price) {
+            this.name = name;
+            this.price = price;
+        }
+    }
+
+    static class Order {
+        private final long id;
+        private int count;
+        private boolean paid;
+        private double rate;
+        private char flag;
+        private String remark;
+        private Level level;
+        private LocalDateTime createTime;
+        private Date updateTime;
+        private int[] codes;
+        private Item item;
+        private Object extra;
+        private List<Item> items = new ArrayList<>();
+        private TreeMap<String, Integer> counters;
+        private transient String cache;
+
+        Order(long id) {
+            this.id = id;
+        }
+    }
+
+    private static Order sample() {
+        Order order = new Order(-42L);
+        order.count = 300;
+        order.paid = true;
+        order.rate = 0.75;
+        order.flag = 'Y';
+        order.remark = "订单 😀 ok";
+        order.level = Level.HIGH;
+        order.createTime = LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123456789);
+        order.updateTime = new Date(1700000000000L);
+        order.codes = new int[]{-1, 0, Integer.MAX_VALUE};
+        order.item = new Item("book", new BigDecimal("12.50"));
+        order.extra = new Item("gift", null);
+        order.items.add(new Item("pen", BigDecimal.ONE));
+        order.items.add(null);
+        order.counters = new TreeMap<>();
+        order.counters.put("a", 1);
+        order.cache = "cached";
+        return order;
+    }
+
+    private static void assertOrder(Order copy) {
+        assertEquals(-42L, copy.id);
+        assertEquals(300, copy.count);
+        assertTrue(copy.paid);
+        assertEquals(0.75, copy.rate);
+        assertEquals('Y', copy.flag);
+        assertEquals("订单 😀 ok", copy.remark, "非ASCII字符应正确编码");
+        assertEquals(Level.HIGH, copy.level);
+        assertEquals(LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123456789), copy.createTime);
+        assertEquals(new Date(1700000000000L), copy.updateTime);
+        assertArrayEquals(new int[]{-1, 0, Integer.MAX_VALUE}, copy.codes);
+        assertEquals("book", copy.item.name);
+        assertEquals(new BigDecimal("12.50"), copy.item.price);
+        assertTrue(copy.extra instanceof Item, "声明类型与实际类型不同时应保留实际类型");
+        assertEquals("gift", ((Item) copy.extra).name);
+        assertEquals(2, copy.items.size());
+        assertTrue(copy.items.get(0) instanceof Item);
+        assertNull(copy.items.get(1));
+        assertEquals(Collections.singletonMap("a", 1), copy.counters);
+        assertNull(copy.cache, "transient字段不应被编码");
+    }
+
+    /**
+     * TC01: 字节数组往返编解码
+     */
+    @Test
+    public void testRoundTrip_Bytes() {
+        byte[] bytes = BeanUtil.objectToByte(sample(), BinaryCodec.compact());
+        assertOrder(BeanUtil.byteToObject(bytes, Order.class, BinaryCodec.compact()));
+    }
+
+    /**
+     * TC02: 写入堆外缓冲区，从更大缓冲区的片段中读取
+     */
+    @Test
+    public void testRoundTrip_DirectBufferSlice() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        buffer.putInt(0xCAFEBABE);
+        BinaryCodec.compact().write(sample(), buffer);
+        BinaryCodec.compact().write("tail", buffer);
+        buffer.flip();
+
+        assertEquals(0xCAFEBABE, buffer.getInt());
+        ByteBuffer slice = buffer.slice();
+        assertOrder(BinaryCodec.compact().read(slice, Order.class));
+        assertEquals("tail", BinaryCodec.compact().read(slice, String.class), "读取后position应位于编码数据之后");
+        assertFalse(slice.hasRemaining());
+    }
+
+    /**
+     * TC03: 简单值与null
+     */
+    @Test
+    public void testRoundTrip_SimpleValues() {
+        BinaryCodec codec = BinaryCodec.compact();
+        assertNull(codec.fromBytes(codec.toBytes(null), Object.class));
+        assertEquals(Long.MIN_VALUE, codec.fromBytes(codec.toBytes(Long.MIN_VALUE), Long.class));
+        assertEquals(Level.LOW, codec.fromBytes(codec.toBytes(Level.LOW), Level.class));
+        assertEquals(Arrays.asList("a", 1, null), codec.fromBytes(codec.toBytes(Arrays.asList("a", 1, null)), List.class));
+        assertArrayEquals(new String[]{"x", null}, codec.fromBytes(codec.toBytes(new String[]{"x", null}), String[].class));
+    }
+
+    /**
+     * TC04: 缓冲区不足时抛出BufferOverflowException，类型不一致时抛出异常
+     */
+    @Test
+    public void testErrors() {
+        assertThrows(BufferOverflowException.class, () -> BinaryCodec.compact().write(sample(), ByteBuffer.allocate(8)));
+        byte[] bytes = BinaryCodec.compact().toBytes("text");
+        assertThrows(RuntimeException.class, () -> BinaryCodec.compact().fromBytes(bytes, Integer.class));
+    }
+
+    /**
+     * 构造版本号与类型标记之后紧跟新类名的编码数据
+     */
+    private static byte[] named(int tag, String className, int... tail) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        buffer.put((byte) 2).put((byte) (tag | 0x80)).put((byte) 0).put((byte) className.length()).put(className.getBytes());
+        for (int b : tail) {
+            buffer.put((byte) b);
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * TC05: 编码数据中的类名必须与声明的类型兼容，并且通过类过滤器
+     */
+    @Test
+    public void testRead_UntrustedClassNames() {
+        BinaryCodec codec = BinaryCodec.compact();
+        UncheckedException e = assertThrows(UncheckedException.class, () -> codec.fromBytes(named(23, Order.class.getName()), Item.class));
+        assertTrue(e.getMessage().contains("不兼容"));
+        assertThrows(UncheckedException.class, () -> codec.fromBytes(named(23, "java.lang.String"), Object.class), "专用类型标记的类不能按对象结构解码");
+        assertThrows(UncheckedException.class, () -> codec.fromBytes(named(19, "java.lang.String", 0), Object.class), "非数组类型不能按数组解码");
+        assertThrows(UncheckedException.class, () -> codec.fromBytes(named(18, Level.class.getName(), 5), Object.class), "枚举序号越界");
+
+        byte[] bytes = codec.toBytes(sample());
+        BinaryCodec restricted = BinaryCodec.compact(type -> type == Order.class);
+        e = assertThrows(UncheckedException.class, () -> restricted.fromBytes(bytes, Order.class));
+        assertTrue(e.getMessage().contains(Item.class.getName()), "Order.extra 中按名字写入的类应被过滤器拒绝");
+        assertOrder(BinaryCodec.compact(type -> type == Order.class || type == Item.class).fromBytes(bytes, Order.class));
+    }
+
+    /**
+     * TC06: 长度超过剩余的数据时在分配内存之前失败
+     */
+    @Test
+    public void testRead_OversizedLength() {
+        BinaryCodec codec = BinaryCodec.compact();
+        byte[] list = {2, 20, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThrows(BufferUnderflowException.class, () -> codec.fromBytes(list, List.class));
+        byte[] array = {2, 10, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x7F};
+        assertThrows(BufferUnderflowException.class, () -> codec.fromBytes(array, byte[].class));
+        byte[] map = {2, 22, 2, 9, 0};
+        assertThrows(BufferUnderflowException.class, () -> codec.fromBytes(map, Map.class));
+    }
+
+    private static int occurrences(byte[] bytes, String text) {
+        byte[] target = text.getBytes();
+        int count = 0;
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(target, Arrays.copyOfRange(bytes, i, i + target.length))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * TC07: 字段声明的泛型参数与实际类型一致时不写入类名，同一个类名在一次编码中只写入一次
+     */
+    @Test
+    public void testWrite_ClassNamesWrittenOnce() {
+        BinaryCodec codec = BinaryCodec.compact();
+        Order order = sample();
+        for (int i = 0; i < 50; i++) {
+            order.items.add(new Item("item" + i, BigDecimal.valueOf(i)));
+        }
+        byte[] bytes = codec.toBytes(order);
+        assertEquals(1, occurrences(bytes, Item.class.getName()), "只有 Order.extra 需要写入Item的类名");
+        Order copy = codec.fromBytes(bytes, Order.class);
+        assertEquals(52, copy.items.size());
+        assertEquals("item49", copy.items.get(51).name);
+
+        Map<String, Item> items = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            items.put("k" + i, new Item("v" + i, null));
+        }
+        byte[] mapBytes = codec.toBytes(items);
+        assertEquals(1, occurrences(mapBytes, Item.class.getName()), "没有泛型信息时类名也只写入一次");
+        Map<?, ?> mapCopy = codec.fromBytes(mapBytes, Map.class);
+        assertEquals("v19", ((Item) mapCopy.get("k19")).name);
+
+        // 引用不存在的类名序号
+        byte[] invalid = {2, (byte) (23 | 0x80), 1};
+        assertThrows(UncheckedException.class, () -> codec.fromBytes(invalid, Object.class));
+    }
+}
@@ -0,0 +1,171 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CopyPlan} 的单元测试
+ */
+public class CopyPlanTest {
+
+    enum Gender {
+        MALE, FEMALE
+    }
+
+    static class AddressDTO {
+        private String city = "Shanghai";
+        private String street = "Nanjing Road";
+    }
+
+    static class Address {
+        private String city;
+        private String street;
+    }
+
+    static class UserDTO {
+        private String userName = "Alice";
+        private String password = "secret";
+        private String birthday = "2020-02-02";
+        private int gender = 1;
+        private long age = 30L;
+        private AddressDTO address = new AddressDTO();
+    }
+
+    static class User {
+        private String name;
+        private String password;
+        private LocalDate birthday;
+        private Gender gender;
+        private Integer age;
+        private String city;
+        private Address address;
+        private Location location;
+    }
+
+    static class Location {
+        private String street;
+    }
+
+    /**
+     * TC01: 重命名、忽略、转换器与嵌套路径
+     */
+    @Test
+    public void testCopy_ExplicitMappings() {
+        CopyPlan<UserDTO, User> plan = CopyPlan.builder(UserDTO.class, User.class)
+                .map("userName", "name")
+                .map("address.city", "city")
+                .map("address.street", "location.street")
+                .map("birthday", "birthday", Converter.dateTime(LocalDate.class))
+                .map("gender", "gender", Converter.enumeration(Gender.class))
+                .converter(long.class, Integer.class, (Long value) -> value.intValue())
+                .ignore("password")
+                .build();
+
+        User user = plan.copy(new UserDTO());
+
+        assertEquals("Alice", user.name);
+        assertNull(user.password, "被忽略的属性不应被复制");
+        assertEquals(LocalDate.of(2020, 2, 2), user.birthday);
+        assertEquals(Gender.FEMALE, user.gender);
+        assertEquals(Integer.valueOf(30), user.age);
+        assertEquals("Shanghai", user.city);
+        assertNotNull(user.location, "目标路径上的中间对象应被自动创建");
+        assertEquals("Nanjing Road", user.location.street);
+        assertNotNull(user.address, "不同类型的嵌套对象应被递归复制");
+        assertEquals("Shanghai", user.address.city);
+    }
+
+    /**
+     * TC02: 显式指定嵌套对象的复制计划
+     */
+    @Test
+    public void testCopy_NestedPlan() {
+        CopyPlan<AddressDTO, Address> addressPlan = CopyPlan.builder(AddressDTO.class, Address.class)
+                .ignore("street")
+                .build();
+        CopyPlan<UserDTO, User> plan = CopyPlan.builder(UserDTO.class, User.class)
+                .nested("address", addressPlan)
+                .build();
+
+        User user = plan.copy(new UserDTO());
+
+        assertEquals("Shanghai", user.address.city);
+        assertNull(user.address.street);
+    }
+
+    /**
+     * TC03: 构建时校验属性路径与类型
+     */
+    @Test
+    public void testBuild_Validation() {
+        assertThrows(UncheckedException.class, () -> CopyPlan.builder(UserDTO.class, User.class).map("missing", "name").build());
+        assertThrows(UncheckedException.class, () -> CopyPlan.builder(UserDTO.class, User.class).map("userName", "address.missing").build());
+        assertThrows(UncheckedException.class, () -> CopyPlan.builder(UserDTO.class, User.class).ignore("missing").build());
+        assertThrows(UncheckedException.class, () -> CopyPlan.builder(UserDTO.class, User.class).map("address", "birthday").build());
+    }
+
+    /**
+     * TC04: 关闭自动映射后只复制显式映射的属性
+     */
+    @Test
+    public void testCopy_ImplicitDisabled() {
+        CopyPlan<UserDTO, User> plan = CopyPlan.builder(UserDTO.class, User.class)
+                .implicit(false)
+                .map("userName", "name")
+                .build();
+
+        User user = plan.copy(new UserDTO());
+
+        assertEquals("Alice", user.name);
+        assertNull(user.password);
+        assertNull(user.address);
+        assertEquals(1, plan.getPropertyNames().size());
+    }
+
+    /**
+     * TC05: 嵌套的显式映射与自动映射同时使用时，父属性不会被整体覆盖，也不会与源对象共享
+     */
+    @Test
+    public void testCopy_NestedExplicitWithImplicit() {
+        CopyPlan<User, User> plan = CopyPlan.builder(User.class, User.class)
+                .map("name", "address.city")
+                .build();
+        User source = new User();
+        source.name = "Beijing";
+        source.address = new Address();
+        source.address.city = "Shanghai";
+        source.address.street = "Nanjing Road";
+
+        User user = plan.copy(source);
+
+        assertEquals("Beijing", user.address.city, "嵌套的显式映射不应被同名的父属性覆盖");
+        assertEquals("Nanjing Road", user.address.street, "父属性中未映射的同名属性应被复制");
+        assertNotSame(source.address, user.address);
+        assertEquals("Shanghai", source.address.city, "不应修改源对象");
+        assertTrue(plan.getPropertyNames().containsAll(Arrays.asList("address.city", "address.street")));
+        assertFalse(plan.getPropertyNames().contains("address"));
+    }
+
+    /**
+     * TC06: 忽略嵌套属性，以及父属性与嵌套属性同时映射时构建失败
+     */
+    @Test
+    public void testCopy_NestedIgnore() {
+        CopyPlan<UserDTO, User> plan = CopyPlan.builder(UserDTO.class, User.class)
+                .ignore("address.street")
+                .build();
+
+        User user = plan.copy(new UserDTO());
+
+        assertEquals("Shanghai", user.address.city);
+        assertNull(user.address.street, "被忽略的嵌套属性不应被复制");
+        assertThrows(UncheckedException.class, () -> CopyPlan.builder(UserDTO.class, User.class).ignore("address.missing").build());
+        assertThrows(UncheckedException.class, () -> CopyPlan.builder(UserDTO.class, User.class)
+                .map("address", "address").map("address.city", "address.city").build());
+    }
+}
@@ -0,0 +1,199 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link DeepCloner} 的单元测试
+ */
+public class DeepClonerTest {
+
+    static class Node {
+        private final String name;
+        private Node parent;
+        private List<Node> children = new ArrayList<>();
+        private int[] weights = {1, 2, 3};
+        private Map<String, Object> attributes = new TreeMap<>(Comparator.reverseOrder());
+        private LocalDateTime createTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+        private Date updateTime = new Date(0L);
+        private transient String cache = "cached";
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    static class Config extends HashMap<String, Node> {
+        private String owner;
+        private Node primary;
+    }
+
+    static class Holder {
+        private Config config;
+    }
+
+    static class ReverseNames extends TreeSet<String> {
+        ReverseNames() {
+            super(Comparator.reverseOrder());
+        }
+    }
+
+    /**
+     * TC01: 循环引用与共享引用只克隆一次
+     */
+    @Test
+    public void testClone_CyclicGraph() {
+        Node root = new Node("root");
+        Node child = new Node("child");
+        child.parent = root;
+        root.children.add(child);
+        root.children.add(child);
+        root.attributes.put("self", root);
+
+        Node copy = DeepCloner.clone(root);
+
+        assertNotSame(root, copy);
+        assertEquals("root", copy.name);
+        assertEquals(2, copy.children.size());
+        Node childCopy = copy.children.get(0);
+        assertNotSame(child, childCopy);
+        assertSame(childCopy, copy.children.get(1), "共享引用应只克隆一次");
+        assertSame(copy, childCopy.parent, "循环引用应指向克隆后的对象");
+        assertSame(copy, copy.attributes.get("self"));
+    }
+
+    /**
+     * TC02: 不可变对象复用引用，可变对象被复制
+     */
+    @Test
+    public void testClone_ImmutableAndMutableValues() {
+        Node root = new Node("root");
+
+        Node copy = DeepCloner.clone(root);
+
+        assertSame(root.name, copy.name);
+        assertSame(root.createTime, copy.createTime);
+        assertNotSame(root.weights, copy.weights);
+        assertArrayEquals(root.weights, copy.weights);
+        assertNotSame(root.updateTime, copy.updateTime);
+        assertEquals(root.updateTime, copy.updateTime);
+        assertTrue(copy.attributes instanceof TreeMap);
+        assertNotNull(((TreeMap<String, Object>) copy.attributes).comparator(), "排序规则应被保留");
+        assertEquals("cached", copy.cache);
+    }
+
+    /**
+     * TC03: 直接克隆集合与数组
+     */
+    @Test
+    public void testClone_CollectionsAndArrays() {
+        List<String> unmodifiable = Collections.unmodifiableList(Arrays.asList("a", "b"));
+        List<String> copy = DeepCloner.clone(unmodifiable);
+        assertEquals(unmodifiable, copy);
+
+        Object[] array = {new Node("x"), "y"};
+        Object[] arrayCopy = DeepCloner.clone(array);
+        assertNotSame(array[0], arrayCopy[0]);
+        assertSame(array[1], arrayCopy[1]);
+
+        assertNull(DeepCloner.clone(null));
+    }
+
+    /**
+     * TC04: BeanUtil的克隆方法使用DeepCloner
+     */
+    @Test
+    public void testBeanUtil_CloneVal() {
+        Node root = new Node("root");
+        Node copy = (Node) BeanUtil.cloneVal(root);
+        assertNotSame(root, copy);
+        assertEquals("root", ((Node) BeanUtil.deepClone(root)).name);
+    }
+
+    /**
+     * TC05: 优先队列保留比较器，访问顺序的LinkedHashMap保留访问顺序
+     */
+    @Test
+    public void testClone_CollectionConfiguration() {
+        PriorityQueue<Node> queue = new PriorityQueue<>(Comparator.comparing((Node node) -> node.name).reversed());
+        queue.add(new Node("a"));
+        queue.add(new Node("b"));
+        PriorityQueue<Node> queueCopy = DeepCloner.clone(queue);
+        assertNotNull(queueCopy.comparator(), "比较器应被保留");
+        queueCopy.add(new Node("c"));
+        assertEquals("c", queueCopy.poll().name);
+        assertEquals("b", queueCopy.poll().name);
+
+        Map<String, Integer> lru = new LinkedHashMap<>(16, 0.75f, true);
+        lru.put("a", 1);
+        lru.put("b", 2);
+        lru.get("a");
+        Map<String, Integer> lruCopy = DeepCloner.clone(lru);
+        assertEquals(Arrays.asList("b", "a"), new ArrayList<>(lruCopy.keySet()));
+        lruCopy.get("b");
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(lruCopy.keySet()), "应保留访问顺序");
+    }
+
+    /**
+     * TC06: 无法通过公开构造函数重建的集合保持原有的类型
+     */
+    @Test
+    public void testClone_KeepCollectionType() {
+        Node node = new Node("x");
+        List<Node> fixed = Arrays.asList(node, node);
+        List<Node> fixedCopy = DeepCloner.clone(fixed);
+        assertSame(fixed.getClass(), fixedCopy.getClass());
+        assertNotSame(node, fixedCopy.get(0));
+        assertSame(fixedCopy.get(0), fixedCopy.get(1));
+
+        List<Node> unmodifiable = Collections.unmodifiableList(new ArrayList<>(fixed));
+        List<Node> unmodifiableCopy = DeepCloner.clone(unmodifiable);
+        assertSame(unmodifiable.getClass(), unmodifiableCopy.getClass());
+        assertThrows(UnsupportedOperationException.class, () -> unmodifiableCopy.add(node));
+
+        Map<String, Node> map = Collections.unmodifiableMap(Collections.singletonMap("x", node));
+        assertSame(map.getClass(), DeepCloner.clone(map).getClass());
+
+        List<String> synchronizedList = Collections.synchronizedList(new ArrayList<>(Arrays.asList("a", "b")));
+        List<String> synchronizedCopy = DeepCloner.clone(synchronizedList);
+        assertSame(synchronizedList.getClass(), synchronizedCopy.getClass());
+        assertEquals(synchronizedList, synchronizedCopy);
+    }
+
+    /**
+     * TC07: 继承jdk集合的自定义类型深克隆其中的元素与子类声明的字段
+     */
+    @Test
+    public void testClone_CollectionSubclass() {
+        Node node = new Node("x");
+        Config config = new Config();
+        config.owner = "admin";
+        config.primary = node;
+        config.put("x", node);
+        Holder holder = new Holder();
+        holder.config = config;
+
+        Config copy = DeepCloner.clone(config);
+        assertSame(Config.class, copy.getClass());
+        assertEquals("admin", copy.owner);
+        assertNotSame(node, copy.get("x"), "Map中的值应被深克隆");
+        assertEquals("x", copy.get("x").name);
+        assertSame(copy.get("x"), copy.primary, "共享引用只克隆一次");
+
+        Holder holderCopy = (Holder) BeanUtil.cloneVal(holder);
+        assertNotSame(config, holderCopy.config);
+        assertNotSame(node, holderCopy.config.get("x"));
+        holderCopy.config.get("x").parent = node;
+        assertNull(node.parent, "修改克隆结果不应影响原对象");
+
+        ReverseNames names = new ReverseNames();
+        names.addAll(Arrays.asList("a", "c", "b"));
+        ReverseNames namesCopy = DeepCloner.clone(names);
+        assertSame(ReverseNames.class, namesCopy.getClass());
+        assertEquals(Arrays.asList("c", "b", "a"), new ArrayList<>(namesCopy));
+    }
+}
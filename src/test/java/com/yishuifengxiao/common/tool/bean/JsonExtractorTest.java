@@ -0,0 +1,96 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JsonExtractor} 的单元测试
+ */
+public class JsonExtractorTest {
+
+    private static final String JSON = "{\"store\":{\"book\":[{\"author\":\"Nigel\",\"price\":8.95},"
+            + "{\"author\":\"Evelyn\",\"price\":12.99}],\"bicycle\":{\"color\":\"red\",\"price\":19.95}}}";
+
+    static class Bicycle {
+        private String color;
+        private double price;
+    }
+
+    static class Book {
+        private String author;
+        private double price;
+    }
+
+    /**
+     * TC01: 一次解析，多次提取
+     */
+    @Test
+    public void testExtract() {
+        JsonExtractor extractor = JsonUtil.extractor(JSON);
+
+        assertEquals("Nigel", extractor.extract("$.store.book[0].author"));
+        assertEquals(Arrays.asList("Nigel", "Evelyn"), extractor.extract("$.store.book[*].author"));
+        assertEquals("red", extractor.extract("$.store.bicycle", Bicycle.class).color);
+        List<Book> books = extractor.extractList("$.store.book", Book.class);
+        assertEquals(2, books.size());
+        assertEquals(12.99, books.get(1).price);
+        assertNull(extractor.extract("$.missing"));
+        assertNull(extractor.extract("$[invalid"), "错误的表达式应返回null");
+    }
+
+    /**
+     * TC02: 多个表达式一次提取，结果顺序与表达式一致
+     */
+    @Test
+    public void testExtractAll() {
+        Map<String, Object> values = JsonUtil.extractor(JSON).extractAll("$.store.bicycle.color", "$.missing", "$.store.book.length()");
+
+        assertEquals(Arrays.asList("$.store.bicycle.color", "$.missing", "$.store.book.length()"), Arrays.asList(values.keySet().toArray()));
+        assertEquals("red", values.get("$.store.bicycle.color"));
+        assertNull(values.get("$.missing"));
+        assertEquals(2, values.get("$.store.book.length()"));
+    }
+
+    /**
+     * TC03: 空字符串与错误的json返回空的提取器，编译缓存返回同一个表达式
+     */
+    @Test
+    public void testInvalidJson_AndCompileCache() {
+        assertNull(JsonUtil.extractor("").extract("$.a"));
+        assertNull(JsonUtil.extractor("{not json").extract("$.a"));
+        assertSame(JsonUtil.compile("$.store.book[0]"), JsonUtil.compile("$.store.book[0]"));
+        assertEquals("Evelyn", JsonUtil.extract(JSON, "$.store.book[1].author"));
+    }
+
+    /**
+     * TC04: 多个线程同时提取，超过缓存容量的表达式仍然可以正确编译
+     */
+    @Test
+    public void testCompileCache_Concurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                int index = i;
+                // 偶数位置提取同一个表达式，奇数位置编译不同的表达式使缓存不断淘汰
+                results.add(executor.submit(() -> index % 2 == 0 ? JsonUtil.extract(JSON, "$.store.book[1].author")
+                        : JsonUtil.compile("$.unused" + index)));
+            }
+            for (int i = 0; i < results.size(); i += 2) {
+                assertEquals("Evelyn", results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertSame(JsonUtil.compile("$.store.book[0]"), JsonUtil.compile("$.store.book[0]"));
+    }
+}
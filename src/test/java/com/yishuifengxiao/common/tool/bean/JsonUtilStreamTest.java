@@ -0,0 +1,113 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JsonUtil} 流式读取方法的单元测试
+ */
+public class JsonUtilStreamTest {
+
+    static class Item {
+        private String name;
+        private int count;
+    }
+
+    private static InputStream input(String json, AtomicBoolean closed) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
+
+    /**
+     * TC01: 从输入流、字符流与文件读取单个对象
+     */
+    @Test
+    public void testStream2Bean(@TempDir Path dir) throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Item item = JsonUtil.stream2Bean(input("{\"name\":\"a\",\"count\":2}", closed), Item.class);
+        assertEquals("a", item.name);
+        assertEquals(2, item.count);
+        assertTrue(closed.get(), "读取完成后应关闭输入流");
+
+        assertEquals("b", JsonUtil.stream2Bean(new StringReader("{'name':'b'}"), Item.class).name);
+
+        Path file = dir.resolve("item.json");
+        Files.write(file, "{\"name\":\"中文\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals("中文", JsonUtil.stream2Bean(file, Item.class).name);
+
+        Map<String, Object> map = JsonUtil.stream2Map(input("{\"k\":1}", new AtomicBoolean()));
+        assertEquals(1, map.get("k"));
+
+        assertThrows(UncheckedException.class, () -> JsonUtil.stream2Bean(input("{\"unknown\":1}", new AtomicBoolean()), Item.class));
+        assertNotNull(JsonUtil.stream2Bean(input("{\"unknown\":1}", new AtomicBoolean()), Item.class, false));
+    }
+
+    /**
+     * TC02: 惰性迭代顶层数组，迭代结束后关闭输入流
+     */
+    @Test
+    public void testIterator() {
+        AtomicBoolean closed = new AtomicBoolean();
+        JsonArrayIterator<Item> iterator = JsonUtil.iterator(input("[{\"name\":\"a\"},null,{\"name\":\"c\",\"count\":3}]", closed), Item.class);
+
+        assertTrue(iterator.hasNext());
+        assertEquals("a", iterator.next().name);
+        assertFalse(closed.get(), "迭代过程中不应关闭输入流");
+        assertNull(iterator.next());
+        assertEquals(3, iterator.next().count);
+        assertFalse(iterator.hasNext());
+        assertTrue(closed.get(), "迭代结束后应关闭输入流");
+    }
+
+    /**
+     * TC03: 从文件获取顺序流，关闭流时关闭文件
+     */
+    @Test
+    public void testStream(@TempDir Path dir) throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"name\":\"n").append(i).append("\",\"count\":").append(i).append('}');
+        }
+        Path file = dir.resolve("items.json");
+        Files.write(file, json.append(']').toString().getBytes(StandardCharsets.UTF_8));
+
+        try (Stream<Item> items = JsonUtil.stream(file, Item.class)) {
+            List<String> names = items.filter(item -> item.count % 100 == 0).map(item -> item.name).limit(3).collect(Collectors.toList());
+            assertEquals(3, names.size());
+            assertEquals("n200", names.get(2));
+        }
+
+        AtomicBoolean closed = new AtomicBoolean();
+        JsonUtil.stream(input("[1]", closed), Item.class).close();
+        assertTrue(closed.get(), "关闭流时应关闭输入流");
+    }
+
+    /**
+     * TC04: 数据不是json数组时抛出异常并关闭输入流
+     */
+    @Test
+    public void testIterator_NotArray() {
+        AtomicBoolean closed = new AtomicBoolean();
+        assertThrows(UncheckedException.class, () -> JsonUtil.iterator(input("{\"name\":\"a\"}", closed), Item.class));
+        assertTrue(closed.get());
+    }
+}
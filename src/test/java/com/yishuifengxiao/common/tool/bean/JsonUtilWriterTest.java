@@ -0,0 +1,74 @@
+package com.yishuifengxiao.common.tool.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link JsonUtil} 缓存的ObjectReader与ObjectWriter的单元测试
+ */
+public class JsonUtilWriterTest {
+
+    static class Item {
+        private String name;
+        private String remark;
+
+        Item() {
+        }
+
+        Item(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * TC01: 转换为字节数组与字符串的结果一致
+     */
+    @Test
+    public void testToJSONBytes() {
+        Item item = new Item("中文");
+        assertEquals(JsonUtil.toJSONString(item), new String(JsonUtil.toJSONBytes(item), StandardCharsets.UTF_8));
+        assertEquals("{\"name\":\"中文\"}", new String(JsonUtil.toJSONBytes(false, item), StandardCharsets.UTF_8));
+        assertNull(JsonUtil.toJSONBytes(null));
+    }
+
+    /**
+     * TC02: 写入输出流后不关闭输出流
+     */
+    @Test
+    public void testWriteTo() {
+        boolean[] closed = {false};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        JsonUtil.writeTo(false, out, new Item("a"));
+        JsonUtil.writeTo(out, null);
+
+        assertEquals("{\"name\":\"a\"}null", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertFalse(closed[0], "不应关闭调用者的输出流");
+    }
+
+    /**
+     * TC03: 缓存的ObjectReader按选项区分是否忽略未知属性
+     */
+    @Test
+    public void testCachedReaders() {
+        assertSame(JsonUtil.reader(Item.class, true), JsonUtil.reader(Item.class, true));
+        assertNotSame(JsonUtil.reader(Item.class, true), JsonUtil.reader(Item.class, false));
+
+        String json = "{\"name\":\"a\",\"unknown\":1}";
+        assertNull(JsonUtil.str2Bean(json, Item.class, true));
+        assertEquals("a", JsonUtil.str2Bean(json, Item.class, false).name);
+
+        List<Item> items = JsonUtil.str2List("[" + json + "]", Item.class, false);
+        assertEquals("a", items.get(0).name);
+        assertTrue(JsonUtil.str2List("[" + json + "]", Item.class, true).isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CertificateStore} 的单元测试
+ */
+public class CertificateStoreTest {
+
+    static final String ROOT = "-----BEGIN CERTIFICATE-----\n" +
+            "MIIBhDCCASugAwIBAgIUHkS/4Wj2jLS7AUvlBKInvrv0h3MwCgYIKoZIzj0EAwIw\n" +
+            "FzEVMBMGA1UEAwwMdGVzdC1yb290LWNhMCAXDTI2MTAxODE5NDQwOFoYDzIxMjYw\n" +
+            "OTI0MTk0NDA4WjAXMRUwEwYDVQQDDAx0ZXN0LXJvb3QtY2EwWTATBgcqhkjOPQIB\n" +
+            "BggqhkjOPQMBBwNCAAQ/nHU+H7F/OYLtvpBD3+kGokAm2HZ8QAwwapFx7WeBSbTP\n" +
+            "xUjNZxrxzsLcNdTLwyEkFtHhJlWsDrYsZkE2lalzo1MwUTAfBgNVHSMEGDAWgBRA\n" +
+            "yCh48KBtSA+JU2znDTh5uP5xQjAPBgNVHRMBAf8EBTADAQH/MB0GA1UdDgQWBBRA\n" +
+            "yCh48KBtSA+JU2znDTh5uP5xQjAKBggqhkjOPQQDAgNHADBEAiA2vVkgW6KtKRGz\n" +
+            "9Dxy/+NV7ts8pQXuXr3uYPg3r+l+YAIgDbZQ/HLVc01ED6C39+5FWKN/uEzSvKck\n" +
+            "DFbUw/GSlK0=\n" +
+            "-----END CERTIFICATE-----\n";
+
+    static final String LEAF = "-----BEGIN CERTIFICATE-----\n" +
+            "MIIBfTCCASKgAwIBAgIUOoQ758FLguGtXe9xZ8/pG2YL3DswCgYIKoZIzj0EAwIw\n" +
+            "FzEVMBMGA1UEAwwMdGVzdC1yb290LWNhMCAXDTI2MTAxODE5NDQwOFoYDzIxMjYw\n" +
+            "OTI0MTk0NDA4WjAUMRIwEAYDVQQDDAl0ZXN0LWxlYWYwWTATBgcqhkjOPQIBBggq\n" +
+            "hkjOPQMBBwNCAATgPfDL6ioJiOi/rQF+5459MtdMXOARDmon+1rqhX850ZhFbqGY\n" +
+            "WfLC45kYwJnOmGXVdxRkx8X7+2aIPdXiTAgho00wSzAJBgNVHRMEAjAAMB0GA1Ud\n" +
+            "DgQWBBRpBXzbwmRTMzhOuadGFSi3nBWNrDAfBgNVHSMEGDAWgBRAyCh48KBtSA+J\n" +
+            "U2znDTh5uP5xQjAKBggqhkjOPQQDAgNJADBGAiEA79chvPQfuYp7J4yTB6NsTfr2\n" +
+            "jGrYMtjKnGFZpteeyesCIQCpOVR9ki31Yi/oFgKonjFAjudKMJw4t8hXabVduDFv\n" +
+            "gQ==\n" +
+            "-----END CERTIFICATE-----\n";
+
+    static final String SELF_SIGNED = "-----BEGIN CERTIFICATE-----\n" +
+            "MIIBfDCCASOgAwIBAgIUJO2m1BGbAro9u1Beg/GZtfkTLHcwCgYIKoZIzj0EAwIw\n" +
+            "EzERMA8GA1UEAwwIdGVzdC1lY2MwIBcNMjYxMDE4MTkzNjUwWhgPMjEyNjA5MjQx\n" +
+            "OTM2NTBaMBMxETAPBgNVBAMMCHRlc3QtZWNjMFkwEwYHKoZIzj0CAQYIKoZIzj0D\n" +
+            "AQcDQgAEevCXkTdLD2w4tzT0u3VzneWPZNKO4J62ToqUkBiqET83YrmC0M1FVrwg\n" +
+            "pGt5M83ncSKqynsbT2UqEqiygGl1waNTMFEwHQYDVR0OBBYEFLkU21HM8ZjrVixO\n" +
+            "50yZSl48XCJ7MB8GA1UdIwQYMBaAFLkU21HM8ZjrVixO50yZSl48XCJ7MA8GA1Ud\n" +
+            "EwEB/wQFMAMBAf8wCgYIKoZIzj0EAwIDRwAwRAIgb46r2InOtKVkePntLtppjgXU\n" +
+            "klOVKz82RmtI41B99FwCIHI5Pcf6DABTC6aK2DGicMV2YJDeOEQzNp2Ppmcm7d42\n" +
+            "-----END CERTIFICATE-----\n";
+
+    /**
+     * TC01: 并行解析证书包并建立索引，重复的证书不会重复加入
+     */
+    @Test
+    public void testLoadPem_Indexes() throws Exception {
+        CertificateStore store = new CertificateStore();
+
+        assertEquals(3, store.loadPem(LEAF + ROOT + SELF_SIGNED));
+        assertEquals(0, store.loadPem(ROOT), "重复的证书不应再次加入");
+        assertEquals(3, store.size());
+
+        X509Certificate leaf = store.certificates().get(0);
+        X509Certificate root = store.certificates().get(1);
+        assertSame(root, store.findByKeyId("40c82878f0a06d480f89536ce70d3879b8fe7142"));
+        assertSame(leaf, store.findByKeyId(store.info(leaf).getSkid()));
+        assertSame(leaf, store.findByIssuerAndSerial(store.info(leaf).getIssuer(), leaf.getSerialNumber()));
+        assertEquals(1, store.findBySubject(store.info(root).getSubject()).size());
+        assertTrue(store.findBySubject("CN=none").isEmpty());
+        assertSame(store.info(leaf), store.info(leaf), "证书信息应被缓存");
+        assertEquals(X509Helper.extractFullInfo(leaf), store.info(leaf));
+    }
+
+    /**
+     * TC02: 查找颁发者、判断签发关系与验证证书链的结果与X509Helper一致
+     */
+    @Test
+    public void testIssuerAndChain() throws Exception {
+        CertificateStore store = new CertificateStore();
+        store.loadPem(ROOT + LEAF + SELF_SIGNED);
+        X509Certificate root = store.certificates().get(0);
+        X509Certificate leaf = store.certificates().get(1);
+        X509Certificate other = store.certificates().get(2);
+
+        assertSame(root, store.findIssuer(leaf));
+        assertSame(root, store.findIssuer(root));
+        CertificateStore withoutRoot = new CertificateStore();
+        withoutRoot.add(other);
+        assertNull(withoutRoot.findIssuer(leaf), "证书库中没有颁发者证书时应返回null");
+        assertTrue(store.isIssuedBy(root, leaf));
+        assertFalse(store.isIssuedBy(other, leaf));
+        assertFalse(store.isIssuedBy(leaf, root));
+
+        X509Certificate[] chain = {leaf, root};
+        assertTrue(store.validateCertificateChain(chain));
+        assertEquals(X509Helper.validateCertificateChain(chain), store.validateCertificateChain(chain));
+        assertFalse(store.validateCertificateChain(new X509Certificate[]{leaf, other}));
+        assertThrows(UncheckedException.class, () -> store.validateCertificateChain(new X509Certificate[]{leaf}));
+        assertThrows(UncheckedException.class, () -> store.isIssuedBy(null, leaf));
+    }
+
+    /**
+     * TC03: 从文件加载证书包，无法解析的证书导致整个证书包都不会加入
+     */
+    @Test
+    public void testLoad_InvalidBlock(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("bundle.pem");
+        Files.write(file, (ROOT + LEAF).getBytes(StandardCharsets.US_ASCII));
+        CertificateStore store = new CertificateStore();
+        assertEquals(2, store.load(file));
+
+        CertificateStore other = new CertificateStore();
+        CertificateException e = assertThrows(CertificateException.class,
+                () -> other.loadPem(SELF_SIGNED + "-----BEGIN CERTIFICATE-----\nAAAA\n-----END CERTIFICATE-----"));
+        assertTrue(e.getMessage().contains("第2个"), e.getMessage());
+        assertEquals(0, other.size());
+        assertEquals(0, other.loadPem(null));
+    }
+
+    /**
+     * TC04: 从无序的证书中组装证书链，缺少根证书时返回不完整的证书链
+     */
+    @Test
+    public void testBuildChain() throws Exception {
+        CertificateStore store = new CertificateStore(new CertificateValidationCache(16, Duration.ofMinutes(1)));
+        store.loadPem(SELF_SIGNED + LEAF + ROOT);
+        X509Certificate leaf = store.certificates().get(1);
+        X509Certificate root = store.certificates().get(2);
+
+        X509Certificate[] chain = store.buildChain(leaf);
+        assertArrayEquals(new X509Certificate[]{leaf, root}, chain);
+        assertTrue(store.validateCertificateChain(chain));
+        assertArrayEquals(new X509Certificate[]{root}, store.buildChain(root));
+        assertEquals(0, store.buildChain(null).length);
+
+        assertArrayEquals(chain, X509Helper.buildCertificateChain(leaf, Arrays.asList(store.certificates().get(0), root, leaf)));
+        assertArrayEquals(new X509Certificate[]{leaf}, X509Helper.buildCertificateChain(leaf, Arrays.asList(store.certificates().get(0))),
+                "缺少根证书时证书链只包含终端证书");
+    }
+}
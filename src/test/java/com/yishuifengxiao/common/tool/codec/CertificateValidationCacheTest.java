@@ -0,0 +1,71 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CertificateValidationCache} 的单元测试
+ */
+public class CertificateValidationCacheTest {
+
+    private static X509Certificate[] certificates() throws Exception {
+        CertificateStore store = new CertificateStore();
+        store.loadPem(CertificateStoreTest.ROOT + CertificateStoreTest.LEAF + CertificateStoreTest.SELF_SIGNED);
+        return store.certificates().toArray(new X509Certificate[0]);
+    }
+
+    /**
+     * TC01: 重复验证同一对证书时命中缓存，验证失败的结果同样被缓存
+     */
+    @Test
+    public void testHitsAndMisses() throws Exception {
+        X509Certificate[] certs = certificates();
+        CertificateValidationCache cache = new CertificateValidationCache(16, Duration.ofMinutes(10));
+
+        assertTrue(cache.isIssuedBy(certs[0], certs[1]));
+        assertTrue(cache.isIssuedBy(certs[0], certs[1]));
+        assertFalse(cache.isIssuedBy(certs[2], certs[1]));
+        assertFalse(cache.isIssuedBy(certs[2], certs[1]));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+
+        CertificateStore store = new CertificateStore(cache);
+        store.add(certs[0]);
+        store.add(certs[1]);
+        assertTrue(store.validateCertificateChain(new X509Certificate[]{certs[1], certs[0]}));
+        assertEquals(3, cache.getHits(), "证书库应使用同一个缓存");
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+    /**
+     * TC02: 过期的结果重新验证，缓存数量不超过上限
+     */
+    @Test
+    public void testTtlAndMaxSize() throws Exception {
+        X509Certificate[] certs = certificates();
+        CertificateValidationCache expiring = new CertificateValidationCache(16, Duration.ofMillis(1));
+        assertTrue(expiring.isIssuedBy(certs[0], certs[1]));
+        Thread.sleep(5);
+        assertTrue(expiring.isIssuedBy(certs[0], certs[1]));
+        assertEquals(0, expiring.getHits(), "过期的结果不应命中");
+        assertEquals(2, expiring.getMisses());
+
+        CertificateValidationCache bounded = new CertificateValidationCache(1, Duration.ofMinutes(10));
+        bounded.isIssuedBy(certs[0], certs[1]);
+        bounded.isIssuedBy(certs[0], certs[0]);
+        bounded.isIssuedBy(certs[0], certs[1]);
+        assertEquals(1, bounded.size());
+        assertEquals(3, bounded.getMisses(), "被淘汰的结果应重新验证");
+
+        assertThrows(IllegalArgumentException.class, () -> new CertificateValidationCache(0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new CertificateValidationCache(1, Duration.ZERO));
+    }
+}
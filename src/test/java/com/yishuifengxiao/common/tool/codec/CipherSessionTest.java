@@ -0,0 +1,99 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import com.yishuifengxiao.common.tool.lang.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CipherSession} 的单元测试
+ */
+public class CipherSessionTest {
+
+    private static final String TEXT = "这是一段需要加密的敏感数据！";
+
+    private static final byte[] DATA = TEXT.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * TC01: AES会话与静态工具的结果一致
+     */
+    @Test
+    public void testAes_SameAsStatic() {
+        CipherSession session = CipherSession.aes("secret");
+        String encrypted = AES.encrypt("secret", TEXT);
+
+        assertEquals(encrypted, Base64.getEncoder().encodeToString(session.encrypt(DATA)));
+        assertEquals(TEXT, AES.decrypt("secret", encrypted), "相同的密钥应生成相同的AES密钥");
+        assertEquals(TEXT, new String(session.decrypt(Base64.getDecoder().decode(encrypted)), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * TC02: DES、3DES与AES CBC会话与静态工具的结果一致
+     */
+    @Test
+    public void testDesTripleDesAesCbc_SameAsStatic() throws Exception {
+        CipherSession des = CipherSession.des("abc");
+        assertEquals(DES.encrypt("abc", TEXT), Hex.bytesToHex(des.encrypt(DATA)));
+
+        String tripleKey = TripleDES.generate3DESKey();
+        CipherSession tripleDes = CipherSession.tripleDes(tripleKey);
+        String fromStatic = TripleDES.encrypt(tripleKey, TEXT);
+        assertEquals(TEXT, new String(tripleDes.decrypt(Base64.getDecoder().decode(fromStatic)), StandardCharsets.UTF_8));
+        assertEquals(TEXT, TripleDES.decrypt(tripleKey, Base64.getEncoder().encodeToString(tripleDes.encrypt(DATA))));
+
+        byte[] key = "0123456789ABCDEF".getBytes(StandardCharsets.UTF_8);
+        byte[] iv = "1234567890ABCDEF".getBytes(StandardCharsets.UTF_8);
+        CipherSession aesCbc = CipherSession.aesCbc(key, iv);
+        byte[] block = AesCbc.padData(DATA);
+        assertArrayEquals(AesCbc.encrypt(block, key, iv), aesCbc.encrypt(block));
+        assertArrayEquals(AesCbc.encrypt(block, key, iv), aesCbc.encrypt(block), "重复使用时IV应保持不变");
+        assertThrows(IllegalArgumentException.class, () -> aesCbc.encrypt(DATA));
+    }
+
+    /**
+     * TC03: ByteBuffer加解密
+     */
+    @Test
+    public void testByteBuffer() {
+        CipherSession session = CipherSession.tripleDes(Base64.getEncoder().encodeToString(new byte[24]));
+        ByteBuffer output = ByteBuffer.allocateDirect(session.maxEncryptedSize(DATA.length));
+        int written = session.encrypt(ByteBuffer.wrap(DATA), output);
+        assertEquals(written, output.position());
+        output.flip();
+
+        ByteBuffer plain = ByteBuffer.allocate(written);
+        int length = session.decrypt(output, plain);
+        assertEquals(DATA.length, length);
+        assertEquals(TEXT, new String(plain.array(), 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * TC04: 多线程共享会话，解密失败后会话仍然可用
+     */
+    @Test
+    public void testConcurrentAndFailure() throws Exception {
+        CipherSession session = CipherSession.aes("secret");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CompletionService<Boolean> service = new ExecutorCompletionService<>(executor);
+            for (int i = 0; i < 32; i++) {
+                byte[] data = ("data-" + i).getBytes(StandardCharsets.UTF_8);
+                service.submit(() -> new String(session.decrypt(session.encrypt(data)), StandardCharsets.UTF_8).equals(new String(data, StandardCharsets.UTF_8)));
+            }
+            for (int i = 0; i < 32; i++) {
+                assertTrue(service.take().get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThrows(UncheckedException.class, () -> session.decrypt(new byte[16]));
+        assertArrayEquals(DATA, session.decrypt(session.encrypt(DATA)));
+    }
+}
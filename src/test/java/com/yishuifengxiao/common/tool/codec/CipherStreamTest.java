@@ -0,0 +1,153 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CipherSession} 流式加解密的单元测试
+ */
+public class CipherStreamTest {
+
+    private static final byte[] KEY = "0123456789ABCDEF".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] IV = "1234567890ABCDEF".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 跨越多个缓冲区且不是分组长度倍数的数据
+     */
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * TC01: 流式加密的结果与一次性加密的结果一致
+     */
+    @Test
+    public void testStream_SameAsBytes() throws Exception {
+        byte[] data = data(200_003);
+        CipherSession aes = CipherSession.aes("secret");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = aes.encrypt(new ByteArrayInputStream(data), out);
+
+        assertArrayEquals(aes.encrypt(data), out.toByteArray(), "流式加密与一次性加密的结果应一致");
+        assertEquals(out.size(), written);
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        aes.decrypt(new ByteArrayInputStream(out.toByteArray()), plain);
+        assertArrayEquals(data, plain.toByteArray());
+    }
+
+    /**
+     * TC02: 填充模式的AES CBC与先填充再加密的结果一致
+     */
+    @Test
+    public void testAesCbcPadded_SameAsPadData() throws Exception {
+        byte[] data = data(70_001);
+        CipherSession padded = CipherSession.aesCbcPadded(KEY, IV);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        padded.encrypt(new ByteArrayInputStream(data), out);
+
+        assertArrayEquals(AesCbc.encrypt(AesCbc.padData(data), KEY, IV), out.toByteArray());
+        assertArrayEquals(data, AesCbc.unpadData(AesCbc.decrypt(out.toByteArray(), KEY, IV)));
+    }
+
+    /**
+     * TC03: 3DES流式加密时密文前附带IV，能够被一次性解密
+     */
+    @Test
+    public void testTripleDes_IvHeader() throws Exception {
+        byte[] data = data(100_000);
+        CipherSession session = CipherSession.tripleDes(TripleDES.generate3DESKey());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        session.encrypt(new ByteArrayInputStream(data), out);
+
+        assertArrayEquals(data, session.decrypt(out.toByteArray()));
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        session.decrypt(new ByteArrayInputStream(session.encrypt(data)), plain);
+        assertArrayEquals(data, plain.toByteArray());
+    }
+
+    /**
+     * TC04: 文件通道之间的加解密
+     */
+    @Test
+    public void testFileChannel(@TempDir Path dir) throws Exception {
+        byte[] data = data(300_017);
+        Path source = Files.write(dir.resolve("source.bin"), data);
+        Path encrypted = dir.resolve("source.enc");
+        Path decrypted = dir.resolve("source.dec");
+        CipherSession session = CipherSession.tripleDes(TripleDES.generate3DESKey());
+
+        long size = session.encrypt(source, encrypted);
+        session.decrypt(encrypted, decrypted);
+
+        assertEquals(Files.size(encrypted), size);
+        assertArrayEquals(data, Files.readAllBytes(decrypted), "解密后的文件应与原文件一致");
+    }
+
+    /**
+     * TC05: 包装流加解密
+     */
+    @Test
+    public void testWrappers() throws Exception {
+        byte[] data = data(123_457);
+        for (CipherSession session : new CipherSession[]{CipherSession.des("abc"), CipherSession.tripleDes(TripleDES.generate3DESKey())}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (OutputStream encrypting = session.encrypting(out)) {
+                encrypting.write(data, 0, 1000);
+                encrypting.write(data, 1000, data.length - 1000);
+            }
+            assertArrayEquals(data, session.decrypt(out.toByteArray()), session.getTransformation());
+
+            ByteArrayOutputStream plain = new ByteArrayOutputStream();
+            try (InputStream decrypting = session.decrypting(new ByteArrayInputStream(out.toByteArray()))) {
+                byte[] buffer = new byte[4096];
+                int n;
+                while ((n = decrypting.read(buffer)) != -1) {
+                    plain.write(buffer, 0, n);
+                }
+            }
+            assertArrayEquals(data, plain.toByteArray(), session.getTransformation());
+        }
+    }
+
+    /**
+     * TC06: 空数据、无填充模式下长度不符合要求以及密文不完整
+     */
+    @Test
+    public void testEdgeCases() throws Exception {
+        CipherSession aes = CipherSession.aes("secret");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        aes.encrypt(new ByteArrayInputStream(new byte[0]), out);
+        assertArrayEquals(aes.encrypt(new byte[0]), out.toByteArray());
+
+        CipherSession noPadding = CipherSession.aesCbc(KEY, IV);
+        assertThrows(UncheckedException.class, () -> noPadding.encrypt(new ByteArrayInputStream(new byte[17]), new ByteArrayOutputStream()));
+        assertArrayEquals(noPadding.encrypt(new byte[32]), encrypt(noPadding, new byte[32]), "出现异常后会话应仍然可用");
+
+        CipherSession tripleDes = CipherSession.tripleDes(TripleDES.generate3DESKey());
+        assertThrows(UncheckedException.class, () -> tripleDes.decrypt(new ByteArrayInputStream(new byte[3]), new ByteArrayOutputStream()));
+    }
+
+    private static byte[] encrypt(CipherSession session, byte[] data) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        session.encrypt(new ByteArrayInputStream(data), out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,84 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.lang.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CmacEngine} 的单元测试
+ */
+public class CmacEngineTest {
+
+    private static final String RFC_KEY = "2b7e151628aed2a6abf7158809cf4f3c";
+
+    /**
+     * TC01: RFC 4493 的测试向量
+     */
+    @Test
+    public void testRfc4493Vectors() {
+        CmacEngine engine = CmacEngine.of(RFC_KEY);
+
+        assertEquals("bb1d6929e95937287fa37d129b756746", Hex.bytesToHex(engine.doFinal(), false));
+        assertEquals("070a16b46b4d4144f79bdd9dd04a287c",
+                Hex.bytesToHex(engine.mac(Hex.hexToBytes("6bc1bee22e409f96e93d7e117393172a")), false));
+        String data = "6bc1bee22e409f96e93d7e117393172aae2d8a571e03ac9c9eb76fac45af8e51"
+                + "30c81c46a35ce411e5fbc1191a0a52eff69f2445df4f9b17ad2b417be66c3710";
+        assertEquals("51f0bebf7e3b9d92fc49741779363cfe", Hex.bytesToHex(engine.mac(Hex.hexToBytes(data)), false));
+        assertEquals("dfa66747de9ae63030ca32611497c827",
+                Hex.bytesToHex(engine.mac(Hex.hexToBytes(data.substring(0, 80))), false));
+    }
+
+    /**
+     * TC02: 分段输入的结果与一次性计算以及CMAC工具的结果一致
+     */
+    @Test
+    public void testUpdate_SameAsCmac() throws Exception {
+        Random random = new Random(20);
+        for (int keyLength : new int[]{16, 24, 32}) {
+            byte[] key = new byte[keyLength];
+            random.nextBytes(key);
+            CmacEngine engine = new CmacEngine(key);
+            // CMAC工具不支持空数据，空数据的结果由RFC的测试向量验证
+            for (int length = 1; length <= 80; length++) {
+                byte[] data = new byte[length];
+                random.nextBytes(data);
+                String expected = CMAC.calculateCMAC(Hex.bytesToHex(data), Hex.bytesToHex(key));
+
+                assertEquals(expected, Hex.bytesToHex(engine.mac(data)), "长度 " + length);
+                int offset = 0;
+                while (offset < length) {
+                    int count = Math.min(length - offset, random.nextInt(20));
+                    engine.update(data, offset, count);
+                    offset += count;
+                }
+                assertEquals(expected, Hex.bytesToHex(engine.doFinal()), "分段输入，长度 " + length);
+                for (byte b : data) {
+                    engine.update(b);
+                }
+                assertArrayEquals(Hex.hexToBytes(expected), engine.doFinal(), "逐字节输入，长度 " + length);
+            }
+        }
+    }
+
+    /**
+     * TC03: 验证CMAC值以及参数校验
+     */
+    @Test
+    public void testVerifyAndArguments() {
+        CmacEngine engine = CmacEngine.of(RFC_KEY);
+        byte[] data = {1, 2, 3};
+        byte[] mac = engine.mac(data);
+
+        engine.update(new byte[]{9, 9});
+        assertTrue(engine.verify(data, mac), "验证前输入的数据应被丢弃");
+        mac[0] ^= 1;
+        assertFalse(engine.verify(data, mac));
+        assertFalse(engine.verify(data, null));
+        assertThrows(IndexOutOfBoundsException.class, () -> engine.update(data, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> new CmacEngine(new byte[15]));
+        assertThrows(IllegalArgumentException.class, () -> CmacEngine.of("not hex"));
+    }
+}
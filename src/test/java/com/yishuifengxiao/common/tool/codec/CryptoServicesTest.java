@@ -0,0 +1,117 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link CryptoServices} 的单元测试
+ */
+public class CryptoServicesTest {
+
+    @AfterEach
+    public void clearPreferredProviders() {
+        CryptoServices.clearPreferredProviders();
+        CryptoServices.setStatisticsEnabled(true);
+    }
+
+    /**
+     * TC01: 当前线程缓存的实例被复用，不同线程之间不共享，丢弃后重新创建
+     */
+    @Test
+    public void testThreadLocalInstances() throws Exception {
+        Cipher cipher = CryptoServices.cipher("AES/ECB/NoPadding");
+
+        assertSame(cipher, CryptoServices.cipher("AES/ECB/NoPadding"));
+        assertNotSame(cipher, CryptoServices.cipher("AES/CBC/NoPadding"));
+        assertNotSame(cipher, CompletableFuture.supplyAsync(() -> CryptoServices.cipher("AES/ECB/NoPadding")).get(), "不同线程不应共享实例");
+        assertNotSame(cipher, CryptoServices.newCipher("AES/ECB/NoPadding"));
+        CryptoServices.discard(Cipher.class, "AES/ECB/NoPadding");
+        assertNotSame(cipher, CryptoServices.cipher("AES/ECB/NoPadding"), "丢弃后应重新创建");
+        assertThrows(UncheckedException.class, () -> CryptoServices.messageDigest("NO-SUCH-DIGEST"));
+    }
+
+    /**
+     * TC02: 优先使用指定的Provider，不支持该算法时回退到默认的Provider，修改设置后缓存的实例失效
+     */
+    @Test
+    public void testPreferredProvider() throws Exception {
+        Provider sunJce = Security.getProvider("SunJCE");
+        Cipher before = CryptoServices.cipher("AES/ECB/NoPadding");
+
+        CryptoServices.setPreferredProvider("aes", "SunJCE");
+        assertSame(sunJce, CryptoServices.getPreferredProvider("AES/GCM/NoPadding"), "应按照算法部分匹配");
+        Cipher after = CryptoServices.cipher("AES/ECB/NoPadding");
+        assertNotSame(before, after, "修改设置后应重新创建实例");
+        assertSame(sunJce, after.getProvider());
+        assertSame(sunJce, CryptoServices.newCipher("AES/CBC/PKCS5Padding").getProvider());
+
+        // SunJCE不提供SHA-256
+        CryptoServices.setPreferredProvider("SHA-256", sunJce);
+        MessageDigest digest = CryptoServices.messageDigest("SHA-256");
+        assertNotSame(sunJce, digest.getProvider());
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(new byte[3]), digest.digest(new byte[3]));
+
+        CryptoServices.setPreferredProvider("AES", (Provider) null);
+        assertNull(CryptoServices.getPreferredProvider("AES"));
+        assertThrows(IllegalArgumentException.class, () -> CryptoServices.setPreferredProvider("AES", "NoSuchProvider"));
+        assertThrows(IllegalArgumentException.class, () -> CryptoServices.setPreferredProvider(" ", sunJce));
+    }
+
+    /**
+     * TC03: 按照算法统计操作的次数与耗时分布，关闭统计后不再记录
+     */
+    @Test
+    public void testStatistics() throws Exception {
+        String algorithm = "AES/CBC/NoPadding";
+        CryptoServices.Statistics before = CryptoServices.getStatistics(algorithm);
+        long count = null == before ? 0 : before.getCount();
+        byte[] key = new byte[16];
+        byte[] data = new byte[64];
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(data, AesCbc.decrypt(AesCbc.encrypt(data, key, key), key, key));
+        }
+
+        CryptoServices.Statistics statistics = CryptoServices.getStatistics(algorithm);
+        assertEquals(count + 20, statistics.getCount());
+        assertEquals(statistics.getCount(), Arrays.stream(statistics.getHistogram()).sum(), "耗时分布的总数应与次数一致");
+        assertTrue(statistics.getMaxNanos() > 0 && statistics.getMeanNanos() <= statistics.getMaxNanos());
+        assertTrue(statistics.percentileMicros(50) <= statistics.percentileMicros(99));
+        assertTrue(CryptoServices.getStatistics().containsKey(algorithm));
+        assertNull(CryptoServices.getStatistics("NO-SUCH-ALGORITHM"));
+
+        CryptoServices.setStatisticsEnabled(false);
+        AesCbc.encrypt(data, key, key);
+        assertEquals(count + 20, CryptoServices.getStatistics(algorithm).getCount(), "关闭统计后不应记录");
+        assertEquals(1L, CryptoServices.Statistics.upperBoundMicros(0));
+        assertEquals(Long.MAX_VALUE, CryptoServices.Statistics.upperBoundMicros(CryptoServices.BUCKETS - 1));
+    }
+
+    /**
+     * TC04: 操作失败时同样记录耗时，并丢弃当前线程缓存的实例
+     */
+    @Test
+    public void testTimedFailure() {
+        String algorithm = "AES/ECB/NoPadding";
+        CryptoServices.Statistics before = CryptoServices.getStatistics(algorithm);
+        long count = null == before ? 0 : before.getCount();
+        Cipher cipher = CryptoServices.cipher(algorithm);
+
+        assertEquals(1, CryptoServices.timed(algorithm, Cipher.class, () -> 1));
+        assertSame(cipher, CryptoServices.cipher(algorithm), "操作成功时不应丢弃实例");
+        assertThrows(IllegalStateException.class, () -> CryptoServices.timed(algorithm, Cipher.class, () -> {
+            throw new IllegalStateException("失败");
+        }));
+        assertEquals(count + 2, CryptoServices.getStatistics(algorithm).getCount(), "操作失败时也应记录");
+        assertNotSame(cipher, CryptoServices.cipher(algorithm), "操作失败后应丢弃实例");
+    }
+}
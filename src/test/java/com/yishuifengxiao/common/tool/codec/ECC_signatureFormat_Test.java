@@ -0,0 +1,99 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.lang.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ECC#derToFixedLength(byte[], int)} 与 {@link ECC#fixedLengthToDER(byte[])} 的单元测试
+ */
+public class ECC_signatureFormat_Test {
+
+    /**
+     * 使用BigInteger计算固定长度的签名，作为对照
+     */
+    private static byte[] expectedFixed(byte[] der, int componentLength) {
+        int rLen = der[3];
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(der, 4, 4 + rLen));
+        BigInteger s = new BigInteger(1, Arrays.copyOfRange(der, 6 + rLen, der.length));
+        String format = "%0" + componentLength * 2 + "x";
+        return Hex.hexToBytes(String.format(format, r) + String.format(format, s));
+    }
+
+    /**
+     * TC01: P-256签名在两种格式之间往返转换的结果与原始签名一致，并且能够通过验证
+     */
+    @Test
+    public void testRoundTrip_P256() throws Exception {
+        KeyPair keyPair = ECC.generateECCKeyPair();
+        for (int i = 0; i < 200; i++) {
+            byte[] data = ("data-" + i).getBytes(StandardCharsets.UTF_8);
+            byte[] der = ECC.signData(keyPair.getPrivate(), data);
+
+            byte[] fixed = ECC.derToFixedLength(der, 32);
+            assertArrayEquals(expectedFixed(der, 32), fixed);
+            assertArrayEquals(der, ECC.fixedLengthToDER(fixed), "往返转换后的DER编码应与原始签名一致");
+            assertEquals(Hex.bytesToHex(fixed), ECC.convertDERToFixedLength(der));
+            assertArrayEquals(der, ECC.convertFixedLengthToDER(Hex.bytesToHex(fixed)));
+            assertTrue(ECC.verifySignature(keyPair.getPublic(), data, ECC.fixedLengthToDER(fixed)));
+        }
+    }
+
+    /**
+     * TC02: P-521签名使用长格式的长度，ByteBuffer转换后位置不变
+     */
+    @Test
+    public void testRoundTrip_P521_ByteBuffer() throws Exception {
+        KeyPair keyPair = ECC.generateECCKeyPair("1.3.132.0.35");
+        byte[] der = ECC.signData(keyPair.getPrivate(), "hello".getBytes(StandardCharsets.UTF_8));
+        assertEquals((byte) 0x81, der[1], "P-521的签名应使用长格式的长度");
+
+        ByteBuffer buffer = ByteBuffer.allocate(der.length + 4);
+        buffer.putShort((short) 0x1234).put(der).putShort((short) 0x5678);
+        buffer.position(2).limit(2 + der.length);
+        byte[] fixed = ECC.derToFixedLength(buffer, 66);
+        assertEquals(2, buffer.position());
+        assertEquals(132, fixed.length);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(fixed.length);
+        direct.put(fixed).flip();
+        assertArrayEquals(der, ECC.fixedLengthToDER(direct));
+        assertEquals(0, direct.position());
+    }
+
+    /**
+     * TC03: 不符合DER规范的签名被拒绝
+     */
+    @Test
+    public void testStrictValidation() {
+        byte[] valid = {0x30, 0x06, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02};
+        assertArrayEquals(new byte[]{0, 1, 0, 2}, ECC.derToFixedLength(valid, 2));
+
+        byte[][] invalid = {
+                {},
+                {0x31, 0x06, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02},
+                {0x30, 0x07, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02},
+                {0x30, 0x06, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02, 0x00},
+                {0x30, (byte) 0x81, 0x06, 0x02, 0x01, 0x01, 0x02, 0x01, 0x02},
+                {0x30, 0x06, 0x02, 0x01, (byte) 0x81, 0x02, 0x01, 0x02},
+                {0x30, 0x07, 0x02, 0x02, 0x00, 0x01, 0x02, 0x01, 0x02},
+                {0x30, 0x05, 0x02, 0x00, 0x02, 0x01, 0x02},
+                {0x30, 0x06, 0x04, 0x01, 0x01, 0x02, 0x01, 0x02},
+                {0x30, 0x08, 0x02, 0x03, 0x01, 0x01, 0x01, 0x02, 0x01, 0x02},
+        };
+        for (byte[] der : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> ECC.derToFixedLength(der, 2), Hex.bytesToHex(der));
+        }
+        assertThrows(IllegalArgumentException.class, () -> ECC.fixedLengthToDER(new byte[3]));
+        assertArrayEquals(new byte[]{0x30, 0x07, 0x02, 0x01, 0x00, 0x02, 0x02, 0x00, (byte) 0x80},
+                ECC.fixedLengthToDER(new byte[]{0, 0, 0, (byte) 0x80}));
+        assertThrows(Exception.class, () -> ECC.convertFixedLengthToDER("zz" + new String(new char[126]).replace('\0', '0')));
+    }
+}
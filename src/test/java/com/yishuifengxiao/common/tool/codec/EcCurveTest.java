@@ -0,0 +1,67 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link EcCurve} 的单元测试
+ */
+public class EcCurveTest {
+
+    private static String hex(BigInteger value, int length) {
+        StringBuilder sb = new StringBuilder(value.toString(16));
+        while (sb.length() < length * 2) {
+            sb.insert(0, '0');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * TC01: 通过OID与名字获取的是同一条曲线，类加载时已经预先解析了支持的曲线
+     */
+    @Test
+    public void testOf_SameInstance() {
+        EcCurve byOid = EcCurve.of("1.2.840.10045.3.1.7");
+
+        assertSame(byOid, EcCurve.of("secp256r1"));
+        assertSame(byOid, EcCurve.of("1.2.840.10045.3.1.7"));
+        assertEquals("secp256r1", byOid.getName());
+        assertEquals(256, byOid.getFieldSize());
+        assertEquals(32, byOid.getByteLength());
+        assertEquals(66, EcCurve.of("1.3.132.0.35").getByteLength(), "P-521的坐标长度应为66字节");
+        assertTrue(EcCurve.registered().contains(EcCurve.of("1.3.132.0.34")), "支持的曲线应已注册");
+        assertThrows(UncheckedException.class, () -> EcCurve.of("1.2.3.4.5"));
+    }
+
+    /**
+     * TC02: 从十六进制字符串构建的密钥与原始密钥一致，并且能够完成签名与验证
+     */
+    @Test
+    public void testKeysFromHex() throws Exception {
+        for (String oid : new String[]{"1.2.840.10045.3.1.7", "1.3.132.0.34"}) {
+            EcCurve curve = EcCurve.of(oid);
+            KeyPair keyPair = ECC.generateECCKeyPair(oid);
+            ECPublicKey original = (ECPublicKey) keyPair.getPublic();
+            int length = curve.getByteLength();
+            String publicKeyHex = "04" + hex(original.getW().getAffineX(), length) + hex(original.getW().getAffineY(), length);
+            String dHex = hex(((ECPrivateKey) keyPair.getPrivate()).getS(), length);
+
+            ECPublicKey publicKey = curve.publicKey(publicKeyHex);
+            ECPrivateKey privateKey = curve.privateKey(dHex);
+
+            assertEquals(original.getW(), publicKey.getW());
+            assertArrayEquals(original.getEncoded(), ECC.parsePublicKeyFromHex(oid, publicKeyHex.substring(2)).getEncoded());
+            byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+            assertTrue(ECC.verifySignature(publicKey, data, ECC.signData(privateKey, data)), oid);
+        }
+        assertThrows(IllegalArgumentException.class, () -> EcCurve.of("secp256r1").publicKey("0401"));
+    }
+}
@@ -0,0 +1,126 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.lang.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link EccVerifier} 的单元测试
+ */
+public class EccVerifierTest {
+
+    private static final String CERT_1 = "-----BEGIN CERTIFICATE-----\n" +
+            "MIIBfDCCASOgAwIBAgIUJO2m1BGbAro9u1Beg/GZtfkTLHcwCgYIKoZIzj0EAwIw\n" +
+            "EzERMA8GA1UEAwwIdGVzdC1lY2MwIBcNMjYxMDE4MTkzNjUwWhgPMjEyNjA5MjQx\n" +
+            "OTM2NTBaMBMxETAPBgNVBAMMCHRlc3QtZWNjMFkwEwYHKoZIzj0CAQYIKoZIzj0D\n" +
+            "AQcDQgAEevCXkTdLD2w4tzT0u3VzneWPZNKO4J62ToqUkBiqET83YrmC0M1FVrwg\n" +
+            "pGt5M83ncSKqynsbT2UqEqiygGl1waNTMFEwHQYDVR0OBBYEFLkU21HM8ZjrVixO\n" +
+            "50yZSl48XCJ7MB8GA1UdIwQYMBaAFLkU21HM8ZjrVixO50yZSl48XCJ7MA8GA1Ud\n" +
+            "EwEB/wQFMAMBAf8wCgYIKoZIzj0EAwIDRwAwRAIgb46r2InOtKVkePntLtppjgXU\n" +
+            "klOVKz82RmtI41B99FwCIHI5Pcf6DABTC6aK2DGicMV2YJDeOEQzNp2Ppmcm7d42\n" +
+            "-----END CERTIFICATE-----";
+
+    private static final String KEY_1 = "MIGHAgEAMBMGByqGSM49AgEGCCqGSM49AwEHBG0wawIBAQQgB9VpPXRR+u+bqF5th2SSgGUsYoHh2l83gaHJN80I6PehRANCAAR68JeRN0sPbDi3NPS7dXOd5Y9k0o7gnrZOipSQGKoRPzdiuYLQzUVWvCCka3kzzedxIqrKextPZSoSqLKAaXXB";
+
+    private static final String CERT_2 = "-----BEGIN CERTIFICATE-----\n" +
+            "MIIBgTCCASegAwIBAgIURgypo5Vag8Xe/bWuPp1lXJZs6FcwCgYIKoZIzj0EAwIw\n" +
+            "FTETMBEGA1UEAwwKdGVzdC1lY2MtMjAgFw0yNjEwMTgxOTM2NTBaGA8yMTI2MDky\n" +
+            "NDE5MzY1MFowFTETMBEGA1UEAwwKdGVzdC1lY2MtMjBZMBMGByqGSM49AgEGCCqG\n" +
+            "SM49AwEHA0IABChXyJCVrZmTYxmeddZ8Cs5FKKPUuYkG7Jy3zcoEeJIb8zi73w2Q\n" +
+            "109lLl0rPvp4Bw3hdZ2Mb6lbJxuKB+CZIkujUzBRMB0GA1UdDgQWBBTMUV/s8GYX\n" +
+            "lYsOcBMh8hCHFwE2PDAfBgNVHSMEGDAWgBTMUV/s8GYXlYsOcBMh8hCHFwE2PDAP\n" +
+            "BgNVHRMBAf8EBTADAQH/MAoGCCqGSM49BAMCA0gAMEUCICzIETsZF+I+VbhIAZdZ\n" +
+            "TC1sFybm3m081+s0ze7HyThUAiEAtmam5sDF7slq1GpZIichL0atfxVu3IRnnxH1\n" +
+            "N1ry5TY=\n" +
+            "-----END CERTIFICATE-----";
+
+    private static final String KEY_2 = "MIGHAgEAMBMGByqGSM49AgEGCCqGSM49AwEHBG0wawIBAQQgsoWrLe10vwz2GyiaQuZyAKSIFur7PBtA17vmisoqv6ehRANCAAQoV8iQla2Zk2MZnnXWfArORSij1LmJBuyct83KBHiSG/M4u98NkNdPZS5dKz76eAcN4XWdjG+pWycbigfgmSJL";
+
+    private static PrivateKey privateKey(String base64) throws Exception {
+        return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64)));
+    }
+
+    private static String sign(String key, String data) throws Exception {
+        return Base64.getEncoder().encodeToString(ECC.signData(privateKey(key), data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * TC01: 单个验证与ECC的结果一致，公钥只解析一次
+     */
+    @Test
+    public void testVerify_SameAsEcc() throws Exception {
+        EccVerifier verifier = new EccVerifier(8, Runnable::run);
+        String signature = sign(KEY_1, "hello");
+
+        assertTrue(verifier.verify(CERT_1, "hello", signature));
+        assertFalse(verifier.verify(CERT_1, "hello!", signature), "数据被篡改后验证应失败");
+        assertFalse(verifier.verify(CERT_2, "hello", signature), "使用其他证书验证应失败");
+        assertEquals(2, verifier.cachedKeys());
+        assertTrue(ECC.verify(CERT_1, "hello", signature));
+
+        byte[] data = {0x01, 0x02, (byte) 0xFF};
+        String signatureHex = ECC.convertDERToFixedLength(ECC.signData(privateKey(KEY_1), data));
+        assertTrue(verifier.verifyHex(CERT_1, Hex.bytesToHex(data), signatureHex));
+        assertTrue(ECC.verifyHex(CERT_1, Hex.bytesToHex(data), signatureHex));
+        assertEquals(2, verifier.cachedKeys());
+    }
+
+    /**
+     * TC02: 缓存的公钥数量不超过上限
+     */
+    @Test
+    public void testBoundedCache() throws Exception {
+        EccVerifier verifier = new EccVerifier(1, Runnable::run);
+        String signature = sign(KEY_2, "data");
+
+        assertTrue(verifier.verify(CERT_2, "data", signature));
+        assertFalse(verifier.verify(CERT_1, "data", signature));
+        assertEquals(1, verifier.cachedKeys());
+        assertTrue(verifier.verify(CERT_2, "data", signature), "被淘汰的公钥应重新解析");
+        verifier.clear();
+        assertEquals(0, verifier.cachedKeys());
+        assertThrows(IllegalArgumentException.class, () -> new EccVerifier(0, Runnable::run));
+    }
+
+    /**
+     * TC03: 批量验证的结果顺序与请求一致，单个请求失败不影响其他请求
+     */
+    @Test
+    public void testVerifyBatch() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            EccVerifier verifier = new EccVerifier(16, executor);
+            List<EccVerifier.VerifyRequest> requests = new ArrayList<>();
+            List<Boolean> expected = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                String data = "data-" + i;
+                boolean first = i % 2 == 0;
+                String signature = sign(first ? KEY_1 : KEY_2, data);
+                boolean valid = i % 7 != 0;
+                requests.add(EccVerifier.VerifyRequest.of(first ? CERT_1 : CERT_2, valid ? data : data + "x", signature));
+                expected.add(valid);
+            }
+            requests.add(EccVerifier.VerifyRequest.of("not a certificate", "data", sign(KEY_1, "data")));
+            expected.add(false);
+            requests.add(EccVerifier.VerifyRequest.ofHex(CERT_1, "0102", "00"));
+            expected.add(false);
+
+            assertEquals(expected, verifier.verifyBatch(requests));
+            assertEquals(2, verifier.cachedKeys());
+            assertTrue(verifier.verifyBatch(new ArrayList<>()).isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import com.yishuifengxiao.common.tool.lang.Hex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link FileDigester} 的单元测试
+ */
+public class FileDigesterTest {
+
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * TC01: 字符串摘要与已知的结果一致
+     */
+    @Test
+    public void testString_KnownValues() {
+        assertEquals("5d41402abc4b2a76b9719d911017c592", Md5.md5("hello"));
+        assertEquals("d41d8cd98f00b204e9800998ecf8427e", Md5.md5((String) null));
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824",
+                Hex.bytesToHex(FileDigester.sha256().digest("hello"), false));
+    }
+
+    /**
+     * TC02: 小文件与需要分段映射的大文件的摘要与内存中计算的结果一致
+     */
+    @Test
+    public void testFile_SameAsMemory(@TempDir Path dir) throws Exception {
+        for (int length : new int[]{0, 1000, 3 * 1024 * 1024 + 7}) {
+            byte[] data = data(length);
+            Path file = Files.write(dir.resolve("data-" + length), data);
+
+            assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(data), FileDigester.sha256().digest(file), "长度：" + length);
+            assertEquals(Hex.bytesToHex(MessageDigest.getInstance("MD5").digest(data), false), Md5.md5(file.toFile()));
+            assertEquals(Hex.bytesToHex(MessageDigest.getInstance("SHA-256").digest(data)), SHA256.calculateSHA256(file.toFile()));
+        }
+    }
+
+    /**
+     * TC03: 树形摘要等于各分块摘要拼接后的摘要
+     */
+    @Test
+    public void testTreeDigest(@TempDir Path dir) throws Exception {
+        int chunkSize = 1024 * 1024;
+        byte[] data = data(5 * chunkSize + 123);
+        Path file = Files.write(dir.resolve("tree"), data);
+
+        ByteArrayOutputStream leaves = new ByteArrayOutputStream();
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            MessageDigest leaf = MessageDigest.getInstance("SHA-256");
+            leaf.update(data, offset, Math.min(chunkSize, data.length - offset));
+            leaves.write(leaf.digest());
+        }
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(leaves.toByteArray());
+
+        assertArrayEquals(expected, FileDigester.sha256().treeDigest(file, chunkSize));
+        assertEquals(Hex.bytesToHex(expected, false), FileDigester.sha256().treeHex(file, chunkSize));
+        assertNotEquals(FileDigester.sha256().hex(file), FileDigester.sha256().treeHex(file, chunkSize), "树形摘要与普通摘要不同");
+        assertThrows(IllegalArgumentException.class, () -> FileDigester.sha256().treeDigest(file, 0));
+    }
+
+    /**
+     * TC04: 多线程同时计算时结果正确
+     */
+    @Test
+    public void testConcurrent(@TempDir Path dir) throws Exception {
+        byte[] data = data(2 * 1024 * 1024);
+        Path file = Files.write(dir.resolve("concurrent"), data);
+        String expected = Hex.bytesToHex(MessageDigest.getInstance("MD5").digest(data), false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[16];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> {
+                    assertEquals(expected, Md5.md5(file.toFile()));
+                    assertEquals("5d41402abc4b2a76b9719d911017c592", Md5.md5("hello"));
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * TC05: 文件不存在与不支持的算法
+     */
+    @Test
+    public void testErrors(@TempDir Path dir) {
+        assertThrows(NoSuchFileException.class, () -> FileDigester.md5().digest(dir.resolve("missing")));
+        assertNull(Md5.md5(dir.resolve("missing").toFile()));
+        assertThrows(UncheckedException.class, () -> FileDigester.of("NO-SUCH-ALGORITHM"));
+        assertEquals("SHA-512", FileDigester.of("SHA-512").getAlgorithm());
+        assertEquals(128, Hex.bytesToHex(FileDigester.of("SHA-512").digest("abc".getBytes(StandardCharsets.UTF_8)), false).length());
+    }
+}
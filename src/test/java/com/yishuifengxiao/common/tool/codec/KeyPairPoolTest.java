@@ -0,0 +1,76 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link KeyPairPool} 的单元测试
+ */
+public class KeyPairPoolTest {
+
+    private static void runAll(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    /**
+     * TC01: 低于低水位时提交补充任务，池为空时同步生成
+     */
+    @Test
+    public void testWatermarksAndFallback() {
+        List<Runnable> tasks = new ArrayList<>();
+        KeyPairPool pool = new KeyPairPool("secp256r1", 4, 1, tasks::add);
+        assertEquals(1, tasks.size(), "创建时应提交补充任务");
+        runAll(tasks);
+        assertEquals(4, pool.depth());
+        assertEquals(4, pool.getGenerated());
+
+        Set<KeyPair> taken = new HashSet<>();
+        taken.add(pool.take());
+        taken.add(pool.take());
+        assertTrue(tasks.isEmpty(), "高于低水位时不应补充");
+        taken.add(pool.take());
+        assertEquals(1, tasks.size(), "达到低水位时应提交补充任务");
+        taken.add(pool.take());
+        taken.add(pool.take());
+        assertEquals(1, tasks.size(), "同一时间最多只有一个补充任务");
+        assertEquals(5, taken.size(), "每个密钥对只能取出一次");
+        assertEquals(4, pool.getHits());
+        assertEquals(1, pool.getMisses());
+
+        runAll(tasks);
+        assertEquals(4, pool.depth());
+        pool.close();
+        assertEquals(0, pool.depth());
+        assertNotNull(pool.take(), "关闭后应同步生成");
+        assertTrue(tasks.isEmpty());
+    }
+
+    /**
+     * TC02: 共享的密钥对池在后台生成可用的密钥对
+     */
+    @Test
+    public void testSharedPool() throws Exception {
+        KeyPairPool pool = KeyPairPool.of("1.2.840.10045.3.1.7");
+        assertSame(pool, KeyPairPool.of("secp256r1"));
+
+        KeyPair keyPair = pool.take();
+        assertEquals(256, ((ECPublicKey) keyPair.getPublic()).getParams().getCurve().getField().getFieldSize());
+        byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+        assertTrue(ECC.verifySignature(keyPair.getPublic(), data, ECC.signData(keyPair.getPrivate(), data)));
+        assertTrue(pool.depth() <= pool.getCapacity());
+
+        assertThrows(IllegalArgumentException.class, () -> new KeyPairPool("secp256r1", 4, 4, Runnable::run));
+        assertThrows(IllegalArgumentException.class, () -> new KeyPairPool("secp256r1", 0, 0, Runnable::run));
+    }
+}
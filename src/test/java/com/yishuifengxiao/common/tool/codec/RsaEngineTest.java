@@ -0,0 +1,121 @@
+package com.yishuifengxiao.common.tool.codec;
+
+import com.yishuifengxiao.common.tool.exception.UncheckedException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAKey;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RsaEngine} 的单元测试
+ */
+public class RsaEngineTest {
+
+    private static KeyPair keyPair1024;
+
+    private static KeyPair keyPair2048;
+
+    @BeforeAll
+    public static void generateKeyPairs() {
+        keyPair1024 = RSA.generateKeyPair(1024);
+        keyPair2048 = RSA.generateKeyPair(2048);
+    }
+
+    /**
+     * TC01: 各种填充方式与密钥长度下，超过一个分组的数据能够分段加密并正确解密
+     */
+    @Test
+    public void testRoundTrip_Chunking() {
+        Random random = new Random(21);
+        for (KeyPair keyPair : new KeyPair[]{keyPair1024, keyPair2048}) {
+            int modulusLength = ((RSAKey) keyPair.getPublic()).getModulus().bitLength() / 8;
+            for (RsaEngine.Padding padding : RsaEngine.Padding.values()) {
+                RsaEngine engine = RsaEngine.of(padding);
+                int blockSize = engine.maxDataLength(modulusLength);
+                for (int length : new int[]{0, 1, blockSize, blockSize + 1, blockSize * 3, 5000}) {
+                    byte[] data = new byte[length];
+                    random.nextBytes(data);
+                    byte[] encrypted = engine.encrypt(data, keyPair.getPublic());
+
+                    assertEquals(Math.max(1, (length + blockSize - 1) / blockSize) * modulusLength, encrypted.length, padding + " " + length);
+                    assertArrayEquals(data, engine.decrypt(encrypted, keyPair.getPrivate()), padding + " " + length);
+                }
+            }
+        }
+    }
+
+    /**
+     * TC02: 与JDK的Cipher以及RSA工具的结果互通
+     */
+    @Test
+    public void testInterop() throws Exception {
+        byte[] data = "Hello, RSA加密测试!".getBytes(StandardCharsets.UTF_8);
+        byte[] pkcs1 = RsaEngine.of(RsaEngine.Padding.PKCS1).encrypt(data, keyPair2048.getPublic());
+        Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
+        cipher.init(Cipher.DECRYPT_MODE, keyPair2048.getPrivate());
+        assertArrayEquals(data, cipher.doFinal(pkcs1));
+
+        cipher = Cipher.getInstance("RSA/ECB/OAEPWithSHA-1AndMGF1Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, keyPair2048.getPublic());
+        assertArrayEquals(data, RsaEngine.of(RsaEngine.Padding.OAEP_SHA1).decrypt(cipher.doFinal(data), keyPair2048.getPrivate()));
+
+        String text = new String(new char[300]).replace('\0', 'x');
+        assertEquals(text, RSA.decrypt(RSA.encrypt(text, keyPair2048.getPublic()), keyPair2048.getPrivate()), "RSA工具应支持超过一个分组的数据");
+        String publicKey = RSA.publicKeyToString(keyPair2048.getPublic());
+        String privateKey = RSA.privateKeyToString(keyPair2048.getPrivate());
+        RsaEngine engine = RsaEngine.of(RsaEngine.Padding.OAEP_SHA256);
+        assertEquals(text, engine.decrypt(engine.encrypt(text, publicKey), privateKey));
+    }
+
+    /**
+     * TC03: 解析后的密钥被缓存，错误的参数抛出异常
+     */
+    @Test
+    public void testKeyCacheAndErrors() {
+        String publicKey = RSA.publicKeyToString(keyPair1024.getPublic());
+        String privateKey = RSA.privateKeyToString(keyPair1024.getPrivate());
+
+        assertSame(RsaEngine.publicKey(publicKey), RsaEngine.publicKey(publicKey));
+        assertSame(RSA.stringToPrivateKey(privateKey), RSA.stringToPrivateKey(privateKey));
+        assertEquals(RsaEngine.privateKey(privateKey), RSA.stringToPrivateKey(privateKey));
+        assertEquals(keyPair1024.getPublic(), RsaEngine.publicKey(publicKey));
+        assertThrows(UncheckedException.class, () -> RsaEngine.publicKey("not a key"));
+        assertThrows(UncheckedException.class, () -> RSA.stringToPrivateKey(publicKey));
+
+        RsaEngine engine = RsaEngine.of(RsaEngine.Padding.OAEP_SHA256);
+        byte[] encrypted = engine.encrypt(new byte[10], keyPair1024.getPublic());
+        assertThrows(IllegalArgumentException.class, () -> engine.decrypt(Arrays.copyOf(encrypted, 100), keyPair1024.getPrivate()));
+        assertThrows(IllegalArgumentException.class, () -> engine.decrypt(encrypted, keyPair2048.getPrivate()), "密文长度与密钥模长不符");
+        assertThrows(UncheckedException.class, () -> RsaEngine.of(RsaEngine.Padding.PKCS1).decrypt(encrypted, keyPair1024.getPrivate()));
+        assertArrayEquals(new byte[10], engine.decrypt(encrypted, keyPair1024.getPrivate()), "解密失败后引擎应能继续使用");
+    }
+
+    /**
+     * TC04: RSA工具按照严格的Base64解码，私钥可以不缓存，缓存可以清空
+     */
+    @Test
+    public void testStrictDecodingAndCacheControl() {
+        String publicKey = RSA.publicKeyToString(keyPair1024.getPublic());
+        String privateKey = RSA.privateKeyToString(keyPair1024.getPrivate());
+        String wrapped = publicKey.substring(0, 64) + "\r\n" + publicKey.substring(64);
+
+        assertEquals(keyPair1024.getPublic(), RsaEngine.publicKey(wrapped), "RsaEngine接受MIME格式的Base64");
+        assertThrows(UncheckedException.class, () -> RSA.stringToPublicKey(wrapped), "RSA工具应拒绝非严格格式的Base64");
+        assertThrows(UncheckedException.class, () -> RSA.stringToPrivateKey(" " + privateKey));
+
+        PrivateKey cached = RsaEngine.privateKey(privateKey);
+        assertNotSame(cached, RsaEngine.privateKey(privateKey, false), "不缓存时应重新解析");
+        assertSame(cached, RsaEngine.privateKey(privateKey));
+        RsaEngine.clearKeyCache();
+        assertNotSame(cached, RsaEngine.privateKey(privateKey), "清空缓存后应重新解析");
+        assertEquals(cached, RsaEngine.privateKey(privateKey));
+    }
+}
@@ -22,6 +22,8 @@ public class SHA256Test {
     public void setUp() {
         // 初始化静态类的 mock
         mockedMessageDigest = mockStatic(MessageDigest.class);
+        // 丢弃当前线程缓存的实例，使每个测试都重新通过 MessageDigest.getInstance 获取
+        CryptoServices.discard(MessageDigest.class, "SHA-256");
     }
 
     @After
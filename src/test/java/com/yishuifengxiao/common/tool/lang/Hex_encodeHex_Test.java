@@ -0,0 +1,62 @@
+package com.yishuifengxiao.common.tool.lang;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hex工具类中基于查找表的十六进制编码方法的单元测试
+ */
+public class Hex_encodeHex_Test {
+
+    /**
+     * TC01: 所有的字节值都能正确编码为大写与小写
+     */
+    @Test
+    public void testAllByteValues() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        String upper = Hex.bytesToHex(bytes);
+        String lower = Hex.bytesToHex(bytes, false);
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals(String.format("%02X", i), upper.substring(i * 2, i * 2 + 2));
+        }
+        assertEquals(upper.toLowerCase(), lower, "小写编码应与大写编码一致");
+        assertArrayEquals(bytes, Hex.hexToBytes(lower));
+    }
+
+    /**
+     * TC02: 写入预先分配的字符数组与字节数组
+     */
+    @Test
+    public void testEncodeIntoArrays() {
+        byte[] src = {0x01, (byte) 0xAB, (byte) 0xFF, 0x10};
+        char[] chars = {'[', 0, 0, 0, 0, ']'};
+        assertEquals(5, Hex.encodeHex(src, 1, 2, chars, 1, false));
+        assertEquals("[abff]", new String(chars));
+
+        byte[] ascii = new byte[8];
+        assertEquals(8, Hex.encodeHex(src, 0, src.length, ascii, 0, true));
+        assertEquals("01ABFF10", new String(ascii, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * TC03: 追加到调用方提供的StringBuilder
+     */
+    @Test
+    public void testAppendHex() {
+        byte[] data = new byte[1024 * 1024];
+        new Random(1).nextBytes(data);
+        StringBuilder sb = new StringBuilder("0x");
+
+        assertSame(sb, Hex.appendHex(sb, data, false));
+        assertEquals("0x" + Hex.bytesToHex(data, false), sb.toString());
+        assertEquals("", Hex.appendHex(new StringBuilder(), new byte[0], true).toString());
+        assertEquals("E4BDA0E5A5BD", Hex.utf8TextToHexString("你好"));
+    }
+}
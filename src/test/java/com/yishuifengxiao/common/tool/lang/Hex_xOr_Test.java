@@ -0,0 +1,75 @@
+package com.yishuifengxiao.common.tool.lang;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hex工具类中按long处理的异或与BitSet转换方法的单元测试
+ */
+public class Hex_xOr_Test {
+
+    private static byte[] random(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * TC01: 各种长度与起始位置下，异或结果与逐字节计算一致，并且支持原地异或
+     */
+    @Test
+    public void testXOr_SameAsBytewise() {
+        Random random = new Random(23);
+        for (int length = 0; length <= 70; length++) {
+            byte[] a = random(random, length + 3);
+            byte[] b = random(random, length + 5);
+            byte[] expected = new byte[length];
+            for (int i = 0; i < length; i++) {
+                expected[i] = (byte) (a[3 + i] ^ b[5 + i]);
+            }
+
+            byte[] dest = new byte[length + 2];
+            assertEquals(length + 2, Hex.xOr(a, 3, b, 5, dest, 2, length));
+            assertArrayEquals(expected, Arrays.copyOfRange(dest, 2, length + 2), "长度 " + length);
+
+            Hex.xOr(a, 3, b, 5, a, 3, length);
+            assertArrayEquals(expected, Arrays.copyOfRange(a, 3, length + 3), "原地异或，长度 " + length);
+        }
+        assertArrayEquals(new byte[]{3, 0}, Hex.xOr(new byte[]{1, 2, 3}, new byte[]{2, 2}));
+        assertArrayEquals(new byte[]{3, 0, 3}, Hex.xOrInto(new byte[]{1, 2, 3}, new byte[]{2, 2}));
+        assertThrows(IndexOutOfBoundsException.class, () -> Hex.xOr(new byte[4], 1, new byte[4], 0, new byte[4], 0, 4));
+    }
+
+    /**
+     * TC02: BitSet转换的结果与JDK的转换一致
+     */
+    @Test
+    public void testBitSetConversions() {
+        Random random = new Random(32);
+        for (int length = 0; length <= 40; length++) {
+            byte[] bytes = random(random, length + 2);
+            byte[] range = Arrays.copyOfRange(bytes, 1, length + 1);
+            BitSet expected = BitSet.valueOf(range);
+
+            assertEquals(expected, Hex.bytesToBitSet(bytes, 1, length), "长度 " + length);
+            if (length > 0) {
+                assertEquals(expected, Hex.hexToBitSet(Hex.bytesToHex(range, length % 2 == 0)), "长度 " + length);
+            }
+
+            byte[] dest = new byte[length + 4];
+            int end = Hex.bitSetToBytes(expected, dest, 2);
+            assertArrayEquals(expected.toByteArray(), Arrays.copyOfRange(dest, 2, end), "长度 " + length);
+            assertArrayEquals(expected.toByteArray(), Hex.bitSetToBytes(expected));
+        }
+        assertEquals(0, Hex.bitSetToBytes(null, new byte[0], 0));
+        BitSet large = new BitSet();
+        large.set(100);
+        assertThrows(IndexOutOfBoundsException.class, () -> Hex.bitSetToBytes(large, new byte[12], 0));
+        assertNull(Hex.hexToBitSet("0G"));
+    }
+}
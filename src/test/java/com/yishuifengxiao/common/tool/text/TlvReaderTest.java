@@ -0,0 +1,96 @@
+package com.yishuifengxiao.common.tool.text;
+
+import com.yishuifengxiao.common.tool.lang.Hex;
+import com.yishuifengxiao.common.tool.lang.TLV;
+import com.yishuifengxiao.common.tool.lang.TlvReader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link TlvReader} 的单元测试
+ */
+public class TlvReaderTest {
+
+    /**
+     * TC01: 按照BER-TLV的规则读取嵌套的元素，偏移量为原始数据中的绝对位置
+     */
+    @Test
+    public void testNestedElements() {
+        byte[] data = Hex.hexToBytes("9F07053003A001015F370201028A00");
+        TlvReader reader = new TlvReader(data);
+        TlvReader inner = new TlvReader(data);
+
+        assertTrue(reader.next());
+        assertEquals(0x9F07, reader.tag());
+        assertEquals(3, reader.valueOffset());
+        assertEquals(5, reader.valueLength());
+        assertFalse(reader.isConstructed());
+        assertTrue(reader.nested(inner).next());
+        assertEquals(0x30, inner.tag());
+        assertTrue(inner.isConstructed());
+        assertSame(inner, inner.nested(inner), "应能复用同一个读取器");
+        assertTrue(inner.next());
+        assertEquals(0xA0, inner.tag());
+        assertEquals("01", inner.valueHex());
+        assertFalse(inner.next());
+
+        assertTrue(reader.find(0x8A));
+        assertEquals(0, reader.valueLength());
+        assertFalse(reader.hasRemaining());
+        assertTrue(reader.rewind().find(0x5F37));
+        assertArrayEquals(new byte[]{1, 2}, reader.valueBytes());
+        assertEquals(ByteBuffer.wrap(data, 11, 2), reader.value());
+    }
+
+    /**
+     * TC02: 多字节长度以及ByteBuffer输入，结果与TLV工具一致
+     */
+    @Test
+    public void testLongFormAndByteBuffer() {
+        String value = new String(new char[300]).replace('\0', 'A');
+        String hex = "0000" + TLV.toTLV("A0", TLV.toTLV("5F37", value)) + TLV.toTLV("30", value.substring(0, 100));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(hex.length() / 2);
+        buffer.put(Hex.hexToBytes(hex));
+        buffer.flip();
+        buffer.position(2);
+        TlvReader reader = new TlvReader(buffer);
+
+        assertTrue(reader.next());
+        assertEquals(0xA0, reader.tag());
+        TlvReader inner = reader.nested();
+        assertTrue(inner.next(Hex.hexToBytes("5F37")));
+        assertEquals(150, inner.valueLength());
+        assertEquals(TLV.of(hex.substring(4)).parse("A0").parse("5F37").getValue(), inner.valueHex());
+        assertTrue(reader.next());
+        assertEquals(0x30, reader.tag());
+        assertEquals(50, reader.valueLength());
+        assertEquals(buffer.limit(), reader.end());
+        assertEquals(2, buffer.position(), "不应修改缓冲区的position");
+    }
+
+    /**
+     * TC03: 格式错误的数据抛出异常，标签不匹配时位置不变
+     */
+    @Test
+    public void testMalformedData() {
+        TlvReader reader = new TlvReader(Hex.hexToBytes("5F3704AABB"));
+
+        assertThrows(IllegalStateException.class, reader::tag, "还没有读取元素");
+        assertFalse(reader.next(Hex.hexToBytes("5F38")));
+        assertEquals(0, reader.position());
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+        assertEquals("数据长度不足", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new TlvReader(Hex.hexToBytes("5F")).next(), "标签不完整");
+        assertThrows(IllegalArgumentException.class, () -> new TlvReader(Hex.hexToBytes("308201")).next(), "长度字段不完整");
+        assertThrows(IllegalArgumentException.class, () -> new TlvReader(Hex.hexToBytes("3080")).next(), "不支持不定长");
+        assertThrows(IndexOutOfBoundsException.class, () -> new TlvReader(new byte[4], 2, 3));
+
+        TLV tlv = TLV.of("5F 37 84 00 00 00 01 01").parse("5f37");
+        assertFalse(tlv.isSuccess());
+        assertEquals("解析错误: 长度字段解析失败", tlv.getError());
+        assertEquals("5F37840000000101", tlv.getRemainingData());
+    }
+}